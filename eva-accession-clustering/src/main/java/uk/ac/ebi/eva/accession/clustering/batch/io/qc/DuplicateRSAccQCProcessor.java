@@ -1,10 +1,10 @@
 package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
 
-import com.google.common.collect.Sets;
-import com.google.common.graph.GraphBuilder;
-import com.google.common.graph.MutableGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -14,25 +14,49 @@ import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
-public class DuplicateRSAccQCProcessor implements ItemProcessor<List<Long>, List<DuplicateRSAccQCResult>> {
+/**
+ * The EVA and dbSNP collections are queried at the same time, using an executor owned by the step. As the processor
+ * of the step it is also registered as a step listener, and the executor is shut down when the step ends.
+ */
+public class DuplicateRSAccQCProcessor implements ItemProcessor<List<Long>, List<DuplicateRSAccQCResult>>,
+        StepExecutionListener {
     private static final Logger logger = LoggerFactory.getLogger(DuplicateRSAccQCProcessor.class);
 
     private static final String ACCESSION_FIELD = "accession";
     private static final String SVE_RS_FIELD = "rs";
     private MongoTemplate mongoTemplate;
 
-    public DuplicateRSAccQCProcessor(MongoTemplate mongoTemplate) {
+    private ExecutorService executor;
+
+    /**
+     * @param executor runs the dbSNP queries while the EVA ones run in the calling thread, one thread is enough
+     */
+    public DuplicateRSAccQCProcessor(MongoTemplate mongoTemplate, ExecutorService executor) {
         this.mongoTemplate = mongoTemplate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        executor.shutdown();
+        return null;
     }
 
     @Override
@@ -75,27 +99,7 @@ public class DuplicateRSAccQCProcessor implements ItemProcessor<List<Long>, List
          iii) check if all the sets form a linked chain in such a way that set1->intersect_>set2, set2->intersect->set3
          */
         sveGroupedDocuments.forEach((cveAcc, groupMap) -> {
-            MutableGraph<String> graph = GraphBuilder.undirected().build();
-            List<String> groupKeys = new ArrayList<>(groupMap.keySet());
-
-            groupKeys.forEach(graph::addNode);
-
-            for (int i = 0; i < groupKeys.size(); i++) {
-                for (int j = i + 1; j < groupKeys.size(); j++) {
-                    Set<Long> ssIdSet1 = groupMap.get(groupKeys.get(i)).stream()
-                            .map(sve -> sve.getAccession())
-                            .collect(Collectors.toSet());
-                    Set<Long> ssIdSet2 = groupMap.get(groupKeys.get(j)).stream()
-                            .map(sve -> sve.getAccession())
-                            .collect(Collectors.toSet());
-
-                    if (!Sets.intersection(ssIdSet1, ssIdSet2).isEmpty()) {
-                        graph.putEdge(groupKeys.get(i), groupKeys.get(j));
-                    }
-                }
-            }
-
-            if (!isSingleConnectedComponent(graph)) {
+            if (!isSingleConnectedComponent(groupMap.values())) {
                 logger.warn("Found Duplicate RS Accession {}", cveAcc);
                 duplicateRSAccQCResultList.add(new DuplicateRSAccQCResult(cveAcc, cveAccessionToEntitiesMap.get(cveAcc), groupMap));
             }
@@ -104,41 +108,68 @@ public class DuplicateRSAccQCProcessor implements ItemProcessor<List<Long>, List
         return duplicateRSAccQCResultList;
     }
 
-    private boolean isSingleConnectedComponent(MutableGraph<String> graph) {
-        if (graph.nodes().isEmpty()) {
-            return true;
+    /**
+     * Two groups are linked if they share an SS ID. Instead of intersecting every pair of groups, every SS ID is
+     * mapped to the first group that contains it, and the groups that contain an SS ID already seen are joined with
+     * union-find, so the components are found in time linear in the number of SS.
+     */
+    static boolean isSingleConnectedComponent(Collection<Set<SubmittedVariantEntity>> groups) {
+        int[] parents = new int[groups.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
         }
-
-        Set<String> visited = new HashSet<>();
-        String startNode = graph.nodes().iterator().next();
-        traverse(graph, startNode, visited);
-
-        return visited.size() == graph.nodes().size();
+        int numComponents = groups.size();
+        Map<Long, Integer> ssIdToGroup = new HashMap<>();
+        int group = 0;
+        for (Set<SubmittedVariantEntity> submittedVariants : groups) {
+            for (SubmittedVariantEntity submittedVariant : submittedVariants) {
+                Integer previousGroup = ssIdToGroup.putIfAbsent(submittedVariant.getAccession(), group);
+                if (previousGroup != null && union(parents, previousGroup, group)) {
+                    numComponents--;
+                }
+            }
+            group++;
+        }
+        return numComponents <= 1;
     }
 
-    private void traverse(MutableGraph<String> graph, String node, Set<String> visited) {
-        if (visited.contains(node)) {
-            return;
+    private static boolean union(int[] parents, int group1, int group2) {
+        int root1 = find(parents, group1);
+        int root2 = find(parents, group2);
+        if (root1 == root2) {
+            return false;
         }
-        visited.add(node);
-        for (String neighbor : graph.adjacentNodes(node)) {
-            traverse(graph, neighbor, visited);
+        parents[root2] = root1;
+        return true;
+    }
+
+    private static int find(int[] parents, int group) {
+        while (parents[group] != group) {
+            parents[group] = parents[parents[group]];
+            group = parents[group];
         }
+        return group;
     }
 
     private List<ClusteredVariantEntity> getClusteredVariantEntityList(List<Long> cveAccessions) {
         Query query = query(where(ACCESSION_FIELD).in(cveAccessions));
         logger.info("Issuing find in EVA collections for CVEs containing the given CVE accessions : {}", query);
+        // the EVA and dbSNP collections are queried at the same time
+        CompletableFuture<List<DbsnpClusteredVariantEntity>> dbsnpResults = CompletableFuture.supplyAsync(
+                () -> mongoTemplate.find(query, DbsnpClusteredVariantEntity.class), executor);
         List<ClusteredVariantEntity> evaResults = mongoTemplate.find(query, ClusteredVariantEntity.class);
-        List<DbsnpClusteredVariantEntity> dbsnpResults = mongoTemplate.find(query, DbsnpClusteredVariantEntity.class);
-        return Stream.concat(evaResults.stream(), dbsnpResults.stream()).collect(Collectors.toList());
+        return Stream.concat(evaResults.stream(), dbsnpResults.join().stream()).collect(Collectors.toList());
     }
 
     private List<SubmittedVariantEntity> getAllSubmittedVariantEntitiesForCVEAccs(Set<Long> cveAccs) {
+        if (cveAccs.isEmpty()) {
+            return new ArrayList<>();
+        }
         Query query = query(where(SVE_RS_FIELD).in(cveAccs));
         logger.info("Issuing find in EVA collection for SVEs containing the given CVE accessions : {}", query);
+        CompletableFuture<List<DbsnpSubmittedVariantEntity>> dbsnpResults = CompletableFuture.supplyAsync(
+                () -> mongoTemplate.find(query, DbsnpSubmittedVariantEntity.class), executor);
         List<SubmittedVariantEntity> evaResults = mongoTemplate.find(query, SubmittedVariantEntity.class);
-        List<DbsnpSubmittedVariantEntity> dbsnpResults = mongoTemplate.find(query, DbsnpSubmittedVariantEntity.class);
-        return Stream.concat(evaResults.stream(), dbsnpResults.stream()).collect(Collectors.toList());
+        return Stream.concat(evaResults.stream(), dbsnpResults.join().stream()).collect(Collectors.toList());
     }
 }
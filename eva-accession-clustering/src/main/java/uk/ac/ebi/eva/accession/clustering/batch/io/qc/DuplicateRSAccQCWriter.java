@@ -49,20 +49,25 @@ public class DuplicateRSAccQCWriter implements ItemStreamWriter<List<DuplicateRS
 
     @Override
     public void write(List<? extends List<DuplicateRSAccQCResult>> listOfDuplicateRSAccQCResultLists) throws Exception {
+        // the results of the whole chunk are serialized first and appended with a single write
+        StringBuilder output = new StringBuilder();
+        int numDuplicates = 0;
         for (List<DuplicateRSAccQCResult> duplicateRSAccQCResultList : listOfDuplicateRSAccQCResultLists) {
-            if (duplicateRSAccQCResultList != null && !duplicateRSAccQCResultList.isEmpty()) {
-                appendToFile(duplicateRSAccQCResultList);
-            } else {
-                logger.info("No duplicate RS IDs in the batch to append");
+            if (duplicateRSAccQCResultList == null) {
+                continue;
+            }
+            for (DuplicateRSAccQCResult duplicateRSAccQCResult : duplicateRSAccQCResultList) {
+                output.append(duplicateRSAccQCResult.getCveAccession().toString()).append(' ')
+                      .append(gson.toJson(duplicateRSAccQCResult)).append(System.lineSeparator());
+                numDuplicates++;
             }
         }
-    }
-
-    private void appendToFile(List<DuplicateRSAccQCResult> duplicateRSAccQCResultsList) throws IOException {
-        for (DuplicateRSAccQCResult duplicateRSAccQCResult : duplicateRSAccQCResultsList) {
-            writer.write(duplicateRSAccQCResult.getCveAccession().toString() + " " + gson.toJson(duplicateRSAccQCResult));
-            writer.newLine();
+        if (numDuplicates == 0) {
+            logger.info("No duplicate RS IDs in the batch to append");
+            return;
         }
-        logger.warn("Appended {} duplicate RS IDs to the file", duplicateRSAccQCResultsList.size());
+        writer.write(output.toString());
+        writer.flush();
+        logger.warn("Appended {} duplicate RS IDs to the file", numDuplicates);
     }
-}
\ No newline at end of file
+}
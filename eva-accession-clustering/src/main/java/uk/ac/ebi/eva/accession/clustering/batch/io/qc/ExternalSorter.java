@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts lines of text that may not fit in memory. The lines are kept in a buffer that, when full, is sorted and
+ * written to a temporary run file. The runs are then merged to read all the lines in order, without duplicates.
+ */
+class ExternalSorter implements Closeable {
+
+    interface LineConsumer {
+        void accept(String line) throws IOException;
+    }
+
+    private final File tempDirectory;
+
+    private final int maxLinesInMemory;
+
+    private final List<String> buffer;
+
+    private final List<File> runs;
+
+    ExternalSorter(File tempDirectory, int maxLinesInMemory) {
+        if (maxLinesInMemory < 1) {
+            throw new IllegalArgumentException("At least 1 line must be kept in memory, but it was "
+                                                       + maxLinesInMemory);
+        }
+        this.tempDirectory = tempDirectory;
+        this.maxLinesInMemory = maxLinesInMemory;
+        this.buffer = new ArrayList<>();
+        this.runs = new ArrayList<>();
+    }
+
+    void add(String line) throws IOException {
+        buffer.add(line);
+        if (buffer.size() >= maxLinesInMemory) {
+            writeRun();
+        }
+    }
+
+    private void writeRun() throws IOException {
+        Collections.sort(buffer);
+        File run = File.createTempFile("sorted-run-", ".txt", tempDirectory);
+        runs.add(run);
+        try (BufferedWriter writer = Files.newBufferedWriter(run.toPath())) {
+            String previousLine = null;
+            for (String line : buffer) {
+                if (!line.equals(previousLine)) {
+                    writer.write(line);
+                    writer.newLine();
+                    previousLine = line;
+                }
+            }
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Passes every distinct line added so far to the consumer, in natural order
+     */
+    void forEachSorted(LineConsumer consumer) throws IOException {
+        if (runs.isEmpty()) {
+            Collections.sort(buffer);
+            String previousLine = null;
+            for (String line : buffer) {
+                if (!line.equals(previousLine)) {
+                    consumer.accept(line);
+                    previousLine = line;
+                }
+            }
+            return;
+        }
+        if (!buffer.isEmpty()) {
+            writeRun();
+        }
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator.comparing(RunReader::getLine));
+            for (File run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            String previousLine = null;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (!reader.getLine().equals(previousLine)) {
+                    consumer.accept(reader.getLine());
+                    previousLine = reader.getLine();
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.clear();
+        for (File run : runs) {
+            Files.deleteIfExists(run.toPath());
+        }
+        runs.clear();
+    }
+
+    private static class RunReader implements Closeable {
+
+        private final BufferedReader reader;
+
+        private String line;
+
+        RunReader(File run) throws IOException {
+            this.reader = Files.newBufferedReader(run.toPath());
+        }
+
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            return line != null;
+        }
+
+        String getLine() {
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
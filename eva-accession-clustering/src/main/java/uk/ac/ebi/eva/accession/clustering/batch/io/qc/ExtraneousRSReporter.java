@@ -16,37 +16,141 @@
 package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
 
 import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import org.apache.commons.collections.CollectionUtils;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionCouldNotBeGeneratedException;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.QCMongoCollections.qcRSIdInSS;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 
-public class ExtraneousRSReporter implements ItemWriter<ClusteredVariantEntity> {
+/**
+ * Reports the RS IDs that are not assigned to any submitted variant in the assembly.
+ *
+ * When the step starts, the RS IDs of the submitted variants in the assembly are loaded in memory with a projected
+ * scan of the submitted variant collections, and every chunk is checked without querying the database. If there are
+ * more than maxRSIdsInMemory RS IDs, the chunks are checked against the qcRSIdInSS collection instead, or, if that
+ * collection was not filled (e.g. the pending merges and splits were reported to a file), against the submitted
+ * variant collections directly.
+ */
+public class ExtraneousRSReporter implements ItemStreamWriter<ClusteredVariantEntity> {
 
     private static final Logger logger = LoggerFactory.getLogger(ExtraneousRSReporter.class);
 
     private static final String IDAttribute = "_id";
 
+    private static final String ASSEMBLY_FIELD = "seq";
+
+    private static final String MAPPING_WEIGHT_FIELD = "mapWeight";
+
+    private static final String RS_FIELD = "rs";
+
+    private static final int SCAN_BATCH_SIZE = 10_000;
+
+    public static final String EXTRANEOUS_RS_COUNT_KEY = "extraneousRSCount";
+
     private final String assemblyAccession;
 
     private final MongoTemplate mongoTemplate;
 
+    private final int maxRSIdsInMemory;
+
+    private final boolean qcRSIdInSSFilled;
+
+    private SortedLongSet rsIdsInSS;
+
+    private long extraneousRSCount;
+
     public ExtraneousRSReporter(String assemblyAccession, MongoTemplate mongoTemplate) {
+        this(assemblyAccession, mongoTemplate, 0);
+    }
+
+    public ExtraneousRSReporter(String assemblyAccession, MongoTemplate mongoTemplate, int maxRSIdsInMemory) {
+        this(assemblyAccession, mongoTemplate, maxRSIdsInMemory, true);
+    }
+
+    /**
+     * @param qcRSIdInSSFilled whether the previous step filled the qcRSIdInSS collection. If it didn't, the RS IDs
+     *                         that are not loaded in memory are looked up in the submitted variant collections
+     */
+    public ExtraneousRSReporter(String assemblyAccession, MongoTemplate mongoTemplate, int maxRSIdsInMemory,
+                                boolean qcRSIdInSSFilled) {
         this.assemblyAccession = assemblyAccession;
         this.mongoTemplate = mongoTemplate;
+        this.maxRSIdsInMemory = maxRSIdsInMemory;
+        this.qcRSIdInSSFilled = qcRSIdInSSFilled;
+    }
+
+    @Override
+    public void open(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        extraneousRSCount = executionContext.getLong(EXTRANEOUS_RS_COUNT_KEY, 0);
+        rsIdsInSS = maxRSIdsInMemory > 0 ? loadRSIdsInSS() : null;
+    }
+
+    // same submitted variants as the ones read by SSReader to fill the qcRSIdInSS collection
+    private Bson getSubmittedVariantsInAssemblyQuery() {
+        return Filters.and(Filters.in(ASSEMBLY_FIELD, assemblyAccession),
+                           Filters.not(Filters.exists(MAPPING_WEIGHT_FIELD)),
+                           Filters.exists(RS_FIELD));
+    }
+
+    private SortedLongSet loadRSIdsInSS() {
+        Bson query = getSubmittedVariantsInAssemblyQuery();
+        SortedLongSet.Builder builder = new SortedLongSet.Builder(maxRSIdsInMemory);
+        for (Class<?> entityClass : Arrays.asList(DbsnpSubmittedVariantEntity.class, SubmittedVariantEntity.class)) {
+            String collectionName = mongoTemplate.getCollectionName(entityClass);
+            logger.info("Loading the RS IDs of the submitted variants in {}: {}", collectionName, query);
+            try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collectionName)
+                                                             .find(query)
+                                                             .projection(Projections.include(RS_FIELD))
+                                                             .noCursorTimeout(true)
+                                                             .batchSize(SCAN_BATCH_SIZE)
+                                                             .iterator()) {
+                while (cursor.hasNext()) {
+                    if (!builder.add(cursor.next().get(RS_FIELD, Number.class).longValue())) {
+                        logger.warn("There are more than {} RS IDs in the submitted variants of the assembly {}, " +
+                                            "they will be looked up in the database", maxRSIdsInMemory,
+                                    assemblyAccession);
+                        return null;
+                    }
+                }
+            }
+        }
+        SortedLongSet rsIds = builder.build();
+        logger.info("Loaded {} distinct RS IDs of the submitted variants in the assembly {}", rsIds.size(),
+                    assemblyAccession);
+        return rsIds;
+    }
+
+    @Override
+    public void update(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(EXTRANEOUS_RS_COUNT_KEY, extraneousRSCount);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        rsIdsInSS = null;
     }
 
     @Override
@@ -56,6 +160,18 @@ public class ExtraneousRSReporter implements ItemWriter<ClusteredVariantEntity>
     }
 
     private void reportExtraneousRS(List<? extends ClusteredVariantEntity> clusteredVariantEntities) {
+        if (rsIdsInSS != null) {
+            clusteredVariantEntities.stream()
+                                    .map(ClusteredVariantEntity::getAccession)
+                                    .distinct()
+                                    .filter(rsId -> !rsIdsInSS.contains(rsId))
+                                    .forEach(this::logExtraneousRS);
+            return;
+        }
+        if (!qcRSIdInSSFilled) {
+            reportExtraneousRSFromSubmittedVariants(clusteredVariantEntities);
+            return;
+        }
         String assemblyAccessionPrefix = QCMongoCollections.getAssemblyAccessionPrefix(this.assemblyAccession);
         List<String> idsFromRSIDCollection = clusteredVariantEntities.stream().map(
                 entity -> assemblyAccessionPrefix + entity.getAccession()).distinct().collect(Collectors.toList());
@@ -68,8 +184,30 @@ public class ExtraneousRSReporter implements ItemWriter<ClusteredVariantEntity>
 
         Arrays.stream(CollectionUtils.subtract(idsFromRSIDCollection, idsInSSIDCollection).toArray())
                 .map(Object::toString)
-                .forEach(extraneousRS ->
-                        logger.error("RS ID rs{} was not assigned to any SS in the assembly {}",
-                                extraneousRS.replace(assemblyAccessionPrefix, ""), this.assemblyAccession));
+                .forEach(extraneousRS -> logExtraneousRS(
+                        Long.parseLong(extraneousRS.replace(assemblyAccessionPrefix, ""))));
+    }
+
+    private void reportExtraneousRSFromSubmittedVariants(
+            List<? extends ClusteredVariantEntity> clusteredVariantEntities) {
+        Set<Long> rsIds = clusteredVariantEntities.stream()
+                                                  .map(ClusteredVariantEntity::getAccession)
+                                                  .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (rsIds.isEmpty()) {
+            return;
+        }
+        Bson query = Filters.and(getSubmittedVariantsInAssemblyQuery(), Filters.in(RS_FIELD, rsIds));
+        for (Class<?> entityClass : Arrays.asList(DbsnpSubmittedVariantEntity.class, SubmittedVariantEntity.class)) {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                         .distinct(RS_FIELD, query, Long.class)
+                         .forEach(rsIds::remove);
+        }
+        rsIds.forEach(this::logExtraneousRS);
+    }
+
+    private void logExtraneousRS(Long extraneousRS) {
+        extraneousRSCount++;
+        logger.error("RS ID rs{} was not assigned to any SS in the assembly {}", extraneousRS,
+                     this.assemblyAccession);
     }
 }
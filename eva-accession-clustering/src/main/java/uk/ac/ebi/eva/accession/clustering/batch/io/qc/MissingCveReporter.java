@@ -15,9 +15,17 @@
  */
 package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
 
+import com.google.common.hash.Hashing;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 
@@ -25,6 +33,8 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 
 import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,22 +45,113 @@ import java.util.stream.Stream;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
-public class MissingCveReporter implements ItemWriter<RSHashPair> {
+/**
+ * Reports the RS hashes of the RS report that are not in the clustered variant collections, or that have another RS ID.
+ *
+ * When the step starts, a 64-bit fingerprint of every hash and RS ID pair in the clustered variant collections is
+ * loaded in memory with a projected scan, so that the pairs of a chunk found in memory are not queried. Only the
+ * remaining pairs, which are very likely to be reported, are looked up in the database to log the precise error. If
+ * there are more than maxPairsInMemory clustered variants, every pair is looked up in the database.
+ */
+public class MissingCveReporter implements ItemStreamWriter<RSHashPair> {
 
     private static final Logger logger = LoggerFactory.getLogger(MissingCveReporter.class);
 
     private static final String ID_FIELD = "_id";
 
+    private static final String ACCESSION_FIELD = "accession";
+
+    private static final String ASSEMBLY_FIELD = "asm";
+
+    private static final int SCAN_BATCH_SIZE = 10_000;
+
     private final MongoTemplate mongoTemplate;
 
+    private final String assemblyAccession;
+
+    private final int maxPairsInMemory;
+
+    private SortedLongSet hashAndRsFingerprints;
+
     public MissingCveReporter(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, null, 0);
+    }
+
+    /**
+     * @param assemblyAccession if not empty, only the clustered variants of this assembly are loaded in memory
+     */
+    public MissingCveReporter(MongoTemplate mongoTemplate, String assemblyAccession, int maxPairsInMemory) {
         this.mongoTemplate = mongoTemplate;
+        this.assemblyAccession = assemblyAccession;
+        this.maxPairsInMemory = maxPairsInMemory;
+    }
+
+    @Override
+    public void open(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        hashAndRsFingerprints = maxPairsInMemory > 0 ? loadHashAndRsFingerprints() : null;
+    }
+
+    private SortedLongSet loadHashAndRsFingerprints() {
+        Bson query = (assemblyAccession == null || assemblyAccession.isEmpty()) ?
+                new Document() : Filters.eq(ASSEMBLY_FIELD, assemblyAccession);
+        SortedLongSet.Builder builder = new SortedLongSet.Builder(maxPairsInMemory);
+        for (Class<?> entityClass : Arrays.asList(ClusteredVariantEntity.class, DbsnpClusteredVariantEntity.class)) {
+            String collectionName = mongoTemplate.getCollectionName(entityClass);
+            logger.info("Loading the hashes and RS IDs of the clustered variants in {}: {}", collectionName, query);
+            try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collectionName)
+                                                             .find(query)
+                                                             .projection(Projections.include(ACCESSION_FIELD))
+                                                             .noCursorTimeout(true)
+                                                             .batchSize(SCAN_BATCH_SIZE)
+                                                             .iterator()) {
+                while (cursor.hasNext()) {
+                    Document clusteredVariant = cursor.next();
+                    long fingerprint = getFingerprint(clusteredVariant.getString(ID_FIELD),
+                                                      clusteredVariant.get(ACCESSION_FIELD, Number.class).longValue());
+                    if (!builder.add(fingerprint)) {
+                        logger.warn("There are more than {} clustered variants, every RS hash will be looked up in " +
+                                            "the database", maxPairsInMemory);
+                        return null;
+                    }
+                }
+            }
+        }
+        SortedLongSet fingerprints = builder.build();
+        logger.info("Loaded {} hashes and RS IDs of clustered variants", fingerprints.size());
+        return fingerprints;
+    }
+
+    private static long getFingerprint(String hash, long rsId) {
+        return Hashing.murmur3_128().newHasher()
+                      .putString(hash, StandardCharsets.UTF_8)
+                      .putLong(rsId)
+                      .hash()
+                      .asLong();
+    }
+
+    @Override
+    public void update(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        hashAndRsFingerprints = null;
     }
 
     @Override
     public void write(@Nonnull List<? extends RSHashPair> rsHashPairs) {
         Map<String, Long> hashToRs = rsHashPairs.stream()
                                                 .collect(Collectors.toMap(RSHashPair::getHash, RSHashPair::getRsId));
+        if (hashAndRsFingerprints != null) {
+            // a pair found in memory is in the database, except for a fingerprint collision, with a probability of
+            // about 2^-64 per clustered variant
+            hashToRs.entrySet().removeIf(
+                    entry -> hashAndRsFingerprints.contains(getFingerprint(entry.getKey(), entry.getValue())));
+            if (hashToRs.isEmpty()) {
+                return;
+            }
+        }
         Map<String, ClusteredVariantEntity> results = findClusteredVariantsInDb(hashToRs);
 
         for (String hash : hashToRs.keySet()) {
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import uk.ac.ebi.eva.accession.clustering.batch.io.ClusteringWriter;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reports the same pending merges and splits as {@link PendingMergeSplitReporter}, without the scratch QC collections.
+ *
+ * Every RS ID / RS hash pair of the submitted variants is buffered in a {@link ExternalSorter} that spills to disk.
+ * The report is written by {@link #writeReport()}, which is run by a separate step after the one that reads the
+ * submitted variants, so that a failure to write it fails the job. The pairs are read sorted by hash to find the
+ * hashes with several RS IDs (pending merges), and then sorted by RS ID to find the RS IDs with several hashes
+ * (pending splits). Each finding is a line in the report file with the type, the shared hash or RS ID, and the
+ * comma-separated RS IDs or hashes.
+ */
+public class PendingMergeSplitFileReporter implements ItemStreamWriter<SubmittedVariantEntity>, StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingMergeSplitFileReporter.class);
+
+    public static final String MULTIPLE_RS_WITH_SAME_HASH = "MULTIPLE_RS_WITH_SAME_HASH";
+
+    public static final String SAME_RS_WITH_MULTIPLE_HASHES = "SAME_RS_WITH_MULTIPLE_HASHES";
+
+    private static final int DEFAULT_MAX_PAIRS_IN_MEMORY = 1_000_000;
+
+    private static final String SEPARATOR = "\t";
+
+    private interface GroupConsumer {
+        void accept(String key, List<String> values) throws IOException;
+    }
+
+    private final ClusteringWriter clusteringWriter;
+
+    private final File reportFile;
+
+    private final int maxPairsInMemory;
+
+    private ExternalSorter pairsSortedByHash;
+
+    public PendingMergeSplitFileReporter(ClusteringWriter clusteringWriter, String reportPath) {
+        this(clusteringWriter, reportPath, DEFAULT_MAX_PAIRS_IN_MEMORY);
+    }
+
+    public PendingMergeSplitFileReporter(ClusteringWriter clusteringWriter, String reportPath, int maxPairsInMemory) {
+        this.clusteringWriter = clusteringWriter;
+        this.reportFile = new File(reportPath).getAbsoluteFile();
+        this.maxPairsInMemory = maxPairsInMemory;
+    }
+
+    @Override
+    public void open(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        // the SS reader always starts from the beginning, so the pairs of a previous execution are not kept
+        try {
+            discardPairs();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to delete the temporary files of the pending merges and splits", e);
+        }
+        pairsSortedByHash = new ExternalSorter(getTempDirectory(), maxPairsInMemory);
+    }
+
+    private File getTempDirectory() {
+        return reportFile.getParentFile();
+    }
+
+    @Override
+    public void write(@Nonnull List<? extends SubmittedVariantEntity> submittedVariantEntities) throws IOException {
+        for (SubmittedVariantEntity submittedVariantEntity : submittedVariantEntities) {
+            Long rsID = submittedVariantEntity.getClusteredVariantAccession();
+            if (Objects.nonNull(rsID)) {
+                String rsHash = clusteringWriter.toClusteredVariantEntity(submittedVariantEntity).getHashedMessage();
+                pairsSortedByHash.add(rsHash + SEPARATOR + rsID);
+            }
+        }
+    }
+
+    @Override
+    public void update(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        // the pairs are kept until the report is written
+    }
+
+    @Override
+    public void beforeStep(@Nonnull StepExecution stepExecution) {
+
+    }
+
+    @Override
+    public ExitStatus afterStep(@Nonnull StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            try {
+                discardPairs();
+            } catch (IOException e) {
+                logger.warn("Failed to delete the temporary files of the pending merges and splits", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the report with the pairs of the last completed execution of the writer, and deletes them
+     */
+    public void writeReport() throws IOException {
+        if (pairsSortedByHash == null) {
+            throw new IllegalStateException("There are no RS ID / RS hash pairs to report, the submitted variants " +
+                                                    "must be read in the same execution");
+        }
+        try {
+            doWriteReport();
+        } finally {
+            discardPairs();
+        }
+    }
+
+    private void discardPairs() throws IOException {
+        if (pairsSortedByHash != null) {
+            pairsSortedByHash.close();
+            pairsSortedByHash = null;
+        }
+    }
+
+    private void doWriteReport() throws IOException {
+        long[] numMerges = {0};
+        long[] numSplits = {0};
+        try (BufferedWriter report = Files.newBufferedWriter(reportFile.toPath());
+             ExternalSorter pairsSortedByRS = new ExternalSorter(getTempDirectory(), maxPairsInMemory)) {
+            forEachGroup(pairsSortedByHash, (rsHash, rsIDs) -> {
+                if (rsIDs.size() > 1) {
+                    logger.error("Multiple RS IDs rs{} have the same hash {}", String.join(", rs", rsIDs), rsHash);
+                    writeFinding(report, MULTIPLE_RS_WITH_SAME_HASH, rsHash, rsIDs);
+                    numMerges[0]++;
+                }
+                for (String rsID : rsIDs) {
+                    pairsSortedByRS.add(rsID + SEPARATOR + rsHash);
+                }
+            });
+            forEachGroup(pairsSortedByRS, (rsID, rsHashes) -> {
+                if (rsHashes.size() > 1) {
+                    logger.error("Same RS ID rs{} has multiple hashes {}", rsID, String.join(", ", rsHashes));
+                    writeFinding(report, SAME_RS_WITH_MULTIPLE_HASHES, rsID, rsHashes);
+                    numSplits[0]++;
+                }
+            });
+        }
+        logger.info("Found {} hashes with multiple RS IDs and {} RS IDs with multiple hashes, reported in {}",
+                    numMerges[0], numSplits[0], reportFile);
+    }
+
+    /**
+     * The lines are sorted, so all the lines with the same key (the text before the separator) are consecutive
+     */
+    private void forEachGroup(ExternalSorter sorter, GroupConsumer consumer) throws IOException {
+        String[] currentKey = {null};
+        List<String> currentValues = new ArrayList<>();
+        sorter.forEachSorted(line -> {
+            int separatorIndex = line.indexOf(SEPARATOR);
+            String key = line.substring(0, separatorIndex);
+            if (currentKey[0] != null && !currentKey[0].equals(key)) {
+                consumer.accept(currentKey[0], new ArrayList<>(currentValues));
+                currentValues.clear();
+            }
+            currentKey[0] = key;
+            currentValues.add(line.substring(separatorIndex + SEPARATOR.length()));
+        });
+        if (currentKey[0] != null) {
+            consumer.accept(currentKey[0], currentValues);
+        }
+    }
+
+    private void writeFinding(BufferedWriter report, String type, String key, List<String> values)
+            throws IOException {
+        report.write(type + SEPARATOR + key + SEPARATOR + String.join(",", values));
+        report.newLine();
+    }
+}
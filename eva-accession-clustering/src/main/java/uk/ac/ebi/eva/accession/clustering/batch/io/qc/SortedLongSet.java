@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import java.util.Arrays;
+
+/**
+ * Set of longs stored as a sorted array, using 8 bytes per value, with membership tests by binary search.
+ *
+ * It is used by the QC reporters to answer most of the checks of a chunk locally instead of querying the database.
+ * The number of values is limited to a maximum, so that the memory used stays within a budget: when the limit is
+ * exceeded the builder discards the values and the caller falls back to querying the database.
+ */
+final class SortedLongSet {
+
+    private final long[] values;
+
+    private SortedLongSet(long[] values) {
+        this.values = values;
+    }
+
+    boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    static class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final int maxSize;
+
+        private long[] values;
+
+        private int size;
+
+        Builder(int maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("The maximum size of the set can't be negative");
+            }
+            this.maxSize = maxSize;
+            this.values = new long[Math.min(INITIAL_CAPACITY, maxSize)];
+            this.size = 0;
+        }
+
+        /**
+         * @return false if the maximum size is exceeded, in which case all the values are discarded and no more
+         * values can be added
+         */
+        boolean add(long value) {
+            if (values == null) {
+                return false;
+            }
+            if (size == maxSize) {
+                values = null;
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, (int) Math.min((long) maxSize, 2L * values.length));
+            }
+            values[size++] = value;
+            return true;
+        }
+
+        /**
+         * @return the set, or null if the maximum size was exceeded
+         */
+        SortedLongSet build() {
+            if (values == null) {
+                return null;
+            }
+            long[] sortedValues = Arrays.copyOf(values, size);
+            Arrays.sort(sortedValues);
+            int numDistinctValues = 0;
+            for (int i = 0; i < sortedValues.length; i++) {
+                if (i == 0 || sortedValues[i] != sortedValues[i - 1]) {
+                    sortedValues[numDistinctValues++] = sortedValues[i];
+                }
+            }
+            return new SortedLongSet(Arrays.copyOf(sortedValues, numDistinctValues));
+        }
+    }
+}
@@ -6,8 +6,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.DuplicateRSAccQCProcessor;
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static uk.ac.ebi.eva.accession.clustering.configuration.BeanNames.DUPLICATE_RS_ACC_QC_PROCESSOR;
 
 @Configuration
@@ -17,6 +21,8 @@ public class DuplicateRSAccQCProcessorConfiguration {
     @Bean(DUPLICATE_RS_ACC_QC_PROCESSOR)
     @StepScope
     DuplicateRSAccQCProcessor duplicateRSAccQCProcessor(MongoTemplate mongoTemplate) {
-        return new DuplicateRSAccQCProcessor(mongoTemplate);
+        // a new executor for every step execution, shut down by the processor when the step ends
+        ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.named("duplicate-rs-qc"));
+        return new DuplicateRSAccQCProcessor(mongoTemplate, executor);
     }
 }
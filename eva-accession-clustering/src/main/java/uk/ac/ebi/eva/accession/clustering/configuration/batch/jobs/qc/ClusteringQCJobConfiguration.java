@@ -21,10 +21,12 @@ import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -32,6 +34,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import uk.ac.ebi.eva.accession.clustering.batch.io.ClusteringWriter;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.ExtraneousRSReporter;
+import uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitFileReporter;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitReporter;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.RSReader;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.SSReader;
@@ -57,6 +60,7 @@ public class ClusteringQCJobConfiguration {
     public static final String REMAPPED_RS_READER = "REMAPPED_RS_READER";
     public static final String REPORT_EXTRANEOUS_RS_STEP = "REPORT_EXTRANEOUS_RS_STEP";
     public static final String EXTRANEOUS_RS_REPORTER = "EXTRANEOUS_RS_REPORTER";
+    public static final String WRITE_PENDING_MERGE_SPLIT_REPORT_STEP = "WRITE_PENDING_MERGE_SPLIT_REPORT_STEP";
 
     @Bean(REMAPPED_SS_READER)
     public SSReader remappedSSReader(MongoTemplate mongoTemplate, InputParameters parameters) {
@@ -73,17 +77,29 @@ public class ClusteringQCJobConfiguration {
         return new ReportUnclusteredSSProcessor(accessioningMonotonicInitSs);
     }
 
+    // With parameters.pendingMergeSplitReportPath, the pending merges and splits are found by sorting on disk and
+    // written to that file, instead of using the QC collections in Mongo
     @Bean(PENDING_MERGE_AND_SPLIT_REPORTER)
-    public PendingMergeSplitReporter pendingMergeSplitReporter(
+    public ItemWriter<SubmittedVariantEntity> pendingMergeSplitReporter(
             @Qualifier(CLUSTERED_CLUSTERING_WRITER) ClusteringWriter clusteringWriter,
             InputParameters parameters,
             MongoTemplate mongoTemplate) {
+        if (isFileReportEnabled(parameters)) {
+            return new PendingMergeSplitFileReporter(clusteringWriter, parameters.getPendingMergeSplitReportPath());
+        }
         return new PendingMergeSplitReporter(parameters.getAssemblyAccession(), clusteringWriter, mongoTemplate);
     }
 
     @Bean(EXTRANEOUS_RS_REPORTER)
     public ExtraneousRSReporter extraneousRSReporter(InputParameters parameters, MongoTemplate mongoTemplate) {
-        return new ExtraneousRSReporter(parameters.getAssemblyAccession(), mongoTemplate);
+        // the file reporter doesn't fill the qcRSIdInSS collection
+        return new ExtraneousRSReporter(parameters.getAssemblyAccession(), mongoTemplate,
+                                        parameters.getQcMaxKeysInMemory(), !isFileReportEnabled(parameters));
+    }
+
+    private static boolean isFileReportEnabled(InputParameters parameters) {
+        return parameters.getPendingMergeSplitReportPath() != null
+                && !parameters.getPendingMergeSplitReportPath().isEmpty();
     }
 
     // QC step that reports unclustered SS and any pending merges/splits in the clustered assembly
@@ -96,6 +112,7 @@ public class ClusteringQCJobConfiguration {
                     ItemWriter<SubmittedVariantEntity> pendingMergeSplitReporter,
             @Qualifier(PROGRESS_LISTENER) StepExecutionListener progressListener,
             StepBuilderFactory stepBuilderFactory,
+            InputParameters parameters,
             SimpleCompletionPolicy chunkSizeCompletionPolicy) {
         return stepBuilderFactory.get(REPORT_UNCLUSTERED_SS_AND_PENDING_MERGES_AND_SPLITS_STEP)
                 .<SubmittedVariantEntity, SubmittedVariantEntity>chunk(chunkSizeCompletionPolicy)
@@ -103,6 +120,23 @@ public class ClusteringQCJobConfiguration {
                 .processor(reportUnclusteredSSProcessor)
                 .writer(pendingMergeSplitReporter)
                 .listener(progressListener)
+                // the pairs sorted on disk only live during the job execution, so if the report could not be written
+                // they must be collected again when the job is restarted
+                .allowStartIfComplete(isFileReportEnabled(parameters))
+                .build();
+    }
+
+    // Writes the pending merges and splits collected by the previous step. It's a step on its own so that a failure
+    // writing the report fails the job
+    @Bean(WRITE_PENDING_MERGE_SPLIT_REPORT_STEP)
+    public Step writePendingMergeSplitReportStep(
+            @Qualifier(PENDING_MERGE_AND_SPLIT_REPORTER) ItemWriter<SubmittedVariantEntity> pendingMergeSplitReporter,
+            StepBuilderFactory stepBuilderFactory) {
+        return stepBuilderFactory.get(WRITE_PENDING_MERGE_SPLIT_REPORT_STEP)
+                .tasklet((contribution, chunkContext) -> {
+                    ((PendingMergeSplitFileReporter) pendingMergeSplitReporter).writeReport();
+                    return RepeatStatus.FINISHED;
+                })
                 .build();
     }
 
@@ -127,13 +161,19 @@ public class ClusteringQCJobConfiguration {
     public Job ClusteringQCJob(
             @Qualifier(REPORT_UNCLUSTERED_SS_AND_PENDING_MERGES_AND_SPLITS_STEP)
                     Step reportUnclusteredSSAndPendingMergeSplitStep,
+            @Qualifier(WRITE_PENDING_MERGE_SPLIT_REPORT_STEP)
+                    Step writePendingMergeSplitReportStep,
             @Qualifier(REPORT_EXTRANEOUS_RS_STEP)
                     Step reportExtraneousRSStep,
+            InputParameters parameters,
             JobBuilderFactory jobBuilderFactory) {
-        return jobBuilderFactory.get(CLUSTERING_QC_JOB)
-                .incrementer(new RunIdIncrementer())
-                .start(reportUnclusteredSSAndPendingMergeSplitStep)
-                .next(reportExtraneousRSStep)
-                .build();
+        SimpleJobBuilder jobBuilder = jobBuilderFactory.get(CLUSTERING_QC_JOB)
+                                                       .incrementer(new RunIdIncrementer())
+                                                       .start(reportUnclusteredSSAndPendingMergeSplitStep);
+        if (isFileReportEnabled(parameters)) {
+            jobBuilder.next(writePendingMergeSplitReportStep);
+        }
+        return jobBuilder.next(reportExtraneousRSStep)
+                         .build();
     }
 }
@@ -34,6 +34,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.MissingCveReporter;
 import uk.ac.ebi.eva.accession.clustering.batch.io.qc.RSHashPair;
+import uk.ac.ebi.eva.accession.clustering.parameters.InputParameters;
 
 import java.io.File;
 
@@ -71,8 +72,9 @@ public class NewClusteredVariantsQCJobConfiguration {
     }
 
     @Bean(MISSING_CVE_REPORTER)
-    public MissingCveReporter missingCveReporter(MongoTemplate mongoTemplate) {
-        return new MissingCveReporter(mongoTemplate);
+    public MissingCveReporter missingCveReporter(MongoTemplate mongoTemplate, InputParameters parameters) {
+        return new MissingCveReporter(mongoTemplate, parameters.getAssemblyAccession(),
+                                      parameters.getQcMaxKeysInMemory());
     }
 
     @Bean(REPORT_MISSING_CVE_STEP)
@@ -47,6 +47,10 @@ public class InputParameters {
 
     private String duplicateRSAccFile;
 
+    private String pendingMergeSplitReportPath;
+
+    private int qcMaxKeysInMemory = 20_000_000;
+
     public String getVcf() {
         return vcf;
     }
@@ -154,4 +158,20 @@ public class InputParameters {
     public void setDuplicateRSAccFile(String duplicateRSAccFile) {
         this.duplicateRSAccFile = duplicateRSAccFile;
     }
+
+    public String getPendingMergeSplitReportPath() {
+        return pendingMergeSplitReportPath;
+    }
+
+    public void setPendingMergeSplitReportPath(String pendingMergeSplitReportPath) {
+        this.pendingMergeSplitReportPath = pendingMergeSplitReportPath;
+    }
+
+    public int getQcMaxKeysInMemory() {
+        return qcMaxKeysInMemory;
+    }
+
+    public void setQcMaxKeysInMemory(int qcMaxKeysInMemory) {
+        this.qcMaxKeysInMemory = qcMaxKeysInMemory;
+    }
 }
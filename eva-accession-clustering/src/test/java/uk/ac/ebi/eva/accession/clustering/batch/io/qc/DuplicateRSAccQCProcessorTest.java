@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import com.google.common.collect.Sets;
+import com.google.common.graph.GraphBuilder;
+import com.google.common.graph.Graphs;
+import com.google.common.graph.MutableGraph;
+import org.junit.Test;
+
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateRSAccQCProcessorTest {
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    @Test
+    public void noGroups() {
+        assertTrue(DuplicateRSAccQCProcessor.isSingleConnectedComponent(Collections.emptyList()));
+    }
+
+    @Test
+    public void groupsLinkedThroughAChain() {
+        // the first and last groups only share SS with the group in the middle
+        List<Set<SubmittedVariantEntity>> groups = Arrays.asList(createGroup(100L, 1L, 2L),
+                                                                 createGroup(200L, 2L, 3L),
+                                                                 createGroup(300L, 3L, 4L));
+        assertTrue(DuplicateRSAccQCProcessor.isSingleConnectedComponent(groups));
+    }
+
+    @Test
+    public void disconnectedGroups() {
+        List<Set<SubmittedVariantEntity>> groups = Arrays.asList(createGroup(100L, 1L, 2L),
+                                                                 createGroup(200L, 2L, 3L),
+                                                                 createGroup(300L, 4L, 5L));
+        assertFalse(DuplicateRSAccQCProcessor.isSingleConnectedComponent(groups));
+    }
+
+    @Test
+    public void sameResultAsPairwiseGraph() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // few SS IDs shared by many groups, so that there are long chains, cycles and isolated groups
+            int numGroups = 1 + random.nextInt(12);
+            int numSSIds = 1 + random.nextInt(2 * numGroups);
+            List<Set<SubmittedVariantEntity>> groups = new ArrayList<>();
+            for (int group = 0; group < numGroups; group++) {
+                int groupSize = 1 + random.nextInt(3);
+                Long[] ssIds = new Long[groupSize];
+                for (int j = 0; j < groupSize; j++) {
+                    ssIds[j] = (long) random.nextInt(numSSIds);
+                }
+                groups.add(createGroup(100L * (group + 1), ssIds));
+            }
+            assertEquals(groups.toString(), isSingleConnectedComponentInPairwiseGraph(groups),
+                         DuplicateRSAccQCProcessor.isSingleConnectedComponent(groups));
+        }
+    }
+
+    private Set<SubmittedVariantEntity> createGroup(Long start, Long... ssAccessions) {
+        Set<SubmittedVariantEntity> group = new HashSet<>();
+        for (Long ssAccession : ssAccessions) {
+            // the hashes and alleles are different, so that the SS are not equal to each other
+            group.add(new SubmittedVariantEntity(ssAccession, "hash" + ssAccession + "_" + start, ASSEMBLY, 60711,
+                                                 "study", "chr1", start, "A", "T" + ssAccession, 1L, false, false,
+                                                 false, false, 1));
+        }
+        return group;
+    }
+
+    /**
+     * Reference implementation, connecting every pair of groups that share an SS ID
+     */
+    private boolean isSingleConnectedComponentInPairwiseGraph(List<Set<SubmittedVariantEntity>> groups) {
+        MutableGraph<Integer> graph = GraphBuilder.undirected().build();
+        for (int i = 0; i < groups.size(); i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            for (int j = i + 1; j < groups.size(); j++) {
+                if (!Sets.intersection(getSSIds(groups.get(i)), getSSIds(groups.get(j))).isEmpty()) {
+                    graph.putEdge(i, j);
+                }
+            }
+        }
+        return graph.nodes().isEmpty() || Graphs.reachableNodes(graph, 0).size() == graph.nodes().size();
+    }
+
+    private Set<Long> getSSIds(Set<SubmittedVariantEntity> group) {
+        return group.stream().map(SubmittedVariantEntity::getAccession).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import uk.ac.ebi.eva.accession.clustering.batch.io.ClusteringWriter;
+import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitFileReporter.MULTIPLE_RS_WITH_SAME_HASH;
+import static uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitFileReporter.SAME_RS_WITH_MULTIPLE_HASHES;
+
+public class PendingMergeSplitFileReporterTest {
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClusteringWriter clusteringWriter;
+
+    private File reportFile;
+
+    private List<SubmittedVariantEntity> submittedVariants;
+
+    @Before
+    public void setUp() {
+        clusteringWriter = mock(ClusteringWriter.class);
+        when(clusteringWriter.toClusteredVariantEntity(any())).thenAnswer(
+                invocation -> EVAObjectModelUtils.toClusteredVariantEntity(invocation.getArgument(0)));
+        reportFile = new File(temporaryFolder.getRoot(), "pendingMergesAndSplits.txt");
+
+        submittedVariants = Arrays.asList(
+                // rs1 and rs2 have the same hash: pending merge
+                createSS(1L, 1L, 100L, "C", "T"),
+                createSS(2L, 2L, 100L, "C", "A"),
+                // rs3 has two hashes: pending split
+                createSS(3L, 3L, 200L, "G", "A"),
+                createSS(4L, 3L, 300L, "G", "A"),
+                // several SS of rs4 with the same hash, and a SS without RS: nothing to report
+                createSS(5L, 4L, 400L, "T", "C"),
+                createSS(6L, 4L, 400L, "T", "G"),
+                createSS(7L, null, 100L, "C", "G"));
+    }
+
+    private SubmittedVariantEntity createSS(Long ssAccession, Long rsAccession, Long start, String reference,
+                                            String alternate) {
+        return new SubmittedVariantEntity(ssAccession, "hash" + ssAccession, ASSEMBLY, 60711, "study", "chr1", start,
+                                          reference, alternate, rsAccession, false, false, false, false, 1);
+    }
+
+    private String getRSHash(SubmittedVariantEntity submittedVariant) {
+        return EVAObjectModelUtils.getClusteredVariantHash(submittedVariant);
+    }
+
+    @Test
+    public void reportPendingMergesAndSplits() throws Exception {
+        for (int maxPairsInMemory : Arrays.asList(1, 2, 1000)) {
+            runReporter(maxPairsInMemory, 2);
+            Set<String> expectedFindings = new HashSet<>(Arrays.asList(
+                    MULTIPLE_RS_WITH_SAME_HASH + "\t" + getRSHash(submittedVariants.get(0)) + "\t1,2",
+                    SAME_RS_WITH_MULTIPLE_HASHES + "\t3\t" + String.join(",", sorted(
+                            getRSHash(submittedVariants.get(2)), getRSHash(submittedVariants.get(3))))));
+            assertEquals("Max pairs in memory " + maxPairsInMemory, expectedFindings,
+                         new HashSet<>(Files.readAllLines(reportFile.toPath())));
+        }
+    }
+
+    @Test
+    public void temporaryFilesAreDeleted() throws Exception {
+        runReporter(1, 3);
+        File[] files = temporaryFolder.getRoot().listFiles();
+        assertEquals(1, files.length);
+        assertEquals(reportFile, files[0]);
+    }
+
+    @Test
+    public void noReportIfTheStepFails() throws Exception {
+        PendingMergeSplitFileReporter reporter = new PendingMergeSplitFileReporter(clusteringWriter,
+                                                                                   reportFile.getPath(), 1);
+        reporter.open(new ExecutionContext());
+        reporter.write(submittedVariants);
+        StepExecution stepExecution = new StepExecution("step", new JobExecution(1L));
+        stepExecution.setStatus(BatchStatus.FAILED);
+        reporter.afterStep(stepExecution);
+        reporter.close();
+        try {
+            reporter.writeReport();
+            fail("The report should not be written if the step that collects the pairs fails");
+        } catch (IllegalStateException expected) {
+        }
+        assertFalse(reportFile.exists());
+        assertEquals(0, temporaryFolder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void temporaryFilesAreDeletedIfTheReportCannotBeWritten() throws Exception {
+        reportFile = temporaryFolder.newFolder("reportPathIsADirectory");
+        try {
+            runReporter(1, 2);
+            fail("The report can't be written in a directory");
+        } catch (IOException expected) {
+        }
+        File[] files = temporaryFolder.getRoot().listFiles();
+        assertEquals(1, files.length);
+        assertEquals(reportFile, files[0]);
+    }
+
+    @Test
+    public void emptyReportWithoutPendingMergesOrSplits() throws Exception {
+        submittedVariants = Collections.singletonList(submittedVariants.get(4));
+        runReporter(1, 1);
+        assertTrue(reportFile.exists());
+        assertTrue(Files.readAllLines(reportFile.toPath()).isEmpty());
+    }
+
+    private void runReporter(int maxPairsInMemory, int chunkSize) throws IOException {
+        PendingMergeSplitFileReporter reporter = new PendingMergeSplitFileReporter(clusteringWriter,
+                                                                                   reportFile.getPath(),
+                                                                                   maxPairsInMemory);
+        reporter.open(new ExecutionContext());
+        for (int i = 0; i < submittedVariants.size(); i += chunkSize) {
+            reporter.write(submittedVariants.subList(i, Math.min(i + chunkSize, submittedVariants.size())));
+        }
+        StepExecution stepExecution = new StepExecution("step", new JobExecution(1L));
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        reporter.afterStep(stepExecution);
+        reporter.close();
+        reporter.writeReport();
+    }
+
+    private List<String> sorted(String... values) {
+        List<String> sortedValues = Arrays.asList(values);
+        Collections.sort(sortedValues);
+        return sortedValues;
+    }
+}
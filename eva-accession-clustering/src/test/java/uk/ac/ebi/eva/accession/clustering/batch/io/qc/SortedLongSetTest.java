@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.batch.io.qc;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SortedLongSetTest {
+
+    @Test
+    public void containsTheAddedValues() {
+        Random random = new Random(42);
+        Set<Long> expectedValues = new HashSet<>();
+        SortedLongSet.Builder builder = new SortedLongSet.Builder(5000);
+        for (int i = 0; i < 5000; i++) {
+            // values repeated several times, and negative values to check the sort
+            long value = random.nextInt(2000) - 1000L;
+            expectedValues.add(value);
+            assertTrue(builder.add(value));
+        }
+        SortedLongSet set = builder.build();
+
+        assertEquals(expectedValues.size(), set.size());
+        for (long value = -1100; value < 1100; value++) {
+            assertEquals(expectedValues.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    public void emptySet() {
+        SortedLongSet set = new SortedLongSet.Builder(10).build();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void maximumSizeExceeded() {
+        SortedLongSet.Builder builder = new SortedLongSet.Builder(2);
+        assertTrue(builder.add(1));
+        assertTrue(builder.add(2));
+        assertFalse(builder.add(3));
+        assertFalse(builder.add(4));
+        assertNull(builder.build());
+    }
+}
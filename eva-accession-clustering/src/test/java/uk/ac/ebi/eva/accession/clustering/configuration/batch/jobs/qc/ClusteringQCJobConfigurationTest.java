@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc;
+
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import com.mongodb.MongoClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.FileSystemUtils;
+
+import uk.ac.ebi.eva.accession.clustering.test.configuration.BatchTestConfiguration;
+import uk.ac.ebi.eva.accession.clustering.test.configuration.MongoTestConfiguration;
+import uk.ac.ebi.eva.accession.clustering.test.rule.FixSpringMongoDbRule;
+import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static uk.ac.ebi.eva.accession.clustering.batch.io.qc.ExtraneousRSReporter.EXTRANEOUS_RS_COUNT_KEY;
+import static uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitFileReporter.MULTIPLE_RS_WITH_SAME_HASH;
+import static uk.ac.ebi.eva.accession.clustering.batch.io.qc.PendingMergeSplitFileReporter.SAME_RS_WITH_MULTIPLE_HASHES;
+import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.ClusteringQCJobConfiguration.REPORT_EXTRANEOUS_RS_STEP;
+import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.ClusteringQCJobConfiguration.REPORT_UNCLUSTERED_SS_AND_PENDING_MERGES_AND_SPLITS_STEP;
+import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.ClusteringQCJobConfiguration.WRITE_PENDING_MERGE_SPLIT_REPORT_STEP;
+import static uk.ac.ebi.eva.accession.clustering.test.configuration.BatchTestConfiguration.JOB_LAUNCHER_CLUSTERING_QC_JOB;
+
+/**
+ * Runs the whole QC job with the pending merges and splits reported to a file, so the qcRSIdInSS collection is not
+ * filled, and without loading the RS IDs in memory, so the extraneous RS are looked up in the database.
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = {BatchTestConfiguration.class, MongoTestConfiguration.class})
+@TestPropertySource(value = "classpath:clustering-qc-test.properties",
+        properties = {"parameters.pendingMergeSplitReportPath=" + ClusteringQCJobConfigurationTest.REPORT_PATH,
+                "parameters.qcMaxKeysInMemory=0"})
+public class ClusteringQCJobConfigurationTest {
+
+    static final String REPORT_PATH = "src/test/resources/output-files/pendingMergesAndSplits.txt";
+
+    private static final String TEST_DB = "test-db";
+
+    private static final String ASSEMBLY = "asm2";
+
+    @Autowired
+    @Qualifier(JOB_LAUNCHER_CLUSTERING_QC_JOB)
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName(TEST_DB).build());
+
+    private final File reportFile = new File(REPORT_PATH);
+
+    private List<SubmittedVariantEntity> submittedVariants;
+
+    @Before
+    public void setUp() {
+        mongoClient.dropDatabase(TEST_DB);
+        FileSystemUtils.deleteRecursively(reportFile);
+
+        submittedVariants = Arrays.asList(
+                // rs1 and rs2 have the same hash: pending merge
+                createSS(1L, 1L, 100L, "C", "T"),
+                createSS(2L, 2L, 100L, "C", "A"),
+                // rs3 has two hashes: pending split
+                createSS(3L, 3L, 200L, "G", "A"),
+                createSS(4L, 3L, 300L, "G", "A"),
+                createSS(5L, 4L, 400L, "T", "C"));
+        mongoTemplate.insert(submittedVariants, SubmittedVariantEntity.class);
+
+        // rs5 is not assigned to any SS
+        List<SubmittedVariantEntity> clusteredVariantsTemplates = Arrays.asList(
+                submittedVariants.get(0), submittedVariants.get(1), submittedVariants.get(2),
+                submittedVariants.get(4), createSS(6L, 5L, 500L, "A", "T"));
+        List<ClusteredVariantEntity> clusteredVariants = clusteredVariantsTemplates
+                .stream()
+                .map(EVAObjectModelUtils::toClusteredVariantEntity)
+                .collect(Collectors.toList());
+        mongoTemplate.insert(clusteredVariants, ClusteredVariantEntity.class);
+    }
+
+    @After
+    public void tearDown() {
+        mongoClient.dropDatabase(TEST_DB);
+        FileSystemUtils.deleteRecursively(reportFile);
+    }
+
+    private SubmittedVariantEntity createSS(Long ssAccession, Long rsAccession, Long start, String reference,
+                                            String alternate) {
+        return new SubmittedVariantEntity(ssAccession, "hash" + ssAccession, ASSEMBLY, 60711, "study", "chr1", start,
+                                          reference, alternate, rsAccession, false, false, false, false, 1);
+    }
+
+    @Test
+    public void reportPendingMergesSplitsAndExtraneousRSToFile() throws Exception {
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+
+        Map<String, StepExecution> stepExecutions = getStepExecutions(jobExecution);
+        assertEquals(Arrays.asList(REPORT_UNCLUSTERED_SS_AND_PENDING_MERGES_AND_SPLITS_STEP,
+                                   WRITE_PENDING_MERGE_SPLIT_REPORT_STEP, REPORT_EXTRANEOUS_RS_STEP),
+                     getStepNames(jobExecution));
+        assertEquals(1, stepExecutions.get(REPORT_EXTRANEOUS_RS_STEP).getExecutionContext()
+                                      .getLong(EXTRANEOUS_RS_COUNT_KEY));
+
+        Set<String> expectedFindings = new HashSet<>(Arrays.asList(
+                MULTIPLE_RS_WITH_SAME_HASH + "\t" + getRSHash(submittedVariants.get(0)) + "\t1,2",
+                SAME_RS_WITH_MULTIPLE_HASHES + "\t3\t" + getRSHashes(submittedVariants.get(2),
+                                                                      submittedVariants.get(3))));
+        assertEquals(expectedFindings, new HashSet<>(Files.readAllLines(reportFile.toPath())));
+    }
+
+    @Test
+    public void jobFailsIfTheReportCannotBeWritten() throws Exception {
+        assertFalse(reportFile.exists());
+        Files.createDirectories(reportFile.toPath());
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+        assertEquals(BatchStatus.FAILED, jobExecution.getStatus());
+        assertEquals(Arrays.asList(REPORT_UNCLUSTERED_SS_AND_PENDING_MERGES_AND_SPLITS_STEP,
+                                   WRITE_PENDING_MERGE_SPLIT_REPORT_STEP),
+                     getStepNames(jobExecution));
+        assertEquals(BatchStatus.FAILED,
+                     getStepExecutions(jobExecution).get(WRITE_PENDING_MERGE_SPLIT_REPORT_STEP).getStatus());
+    }
+
+    private List<String> getStepNames(JobExecution jobExecution) {
+        return jobExecution.getStepExecutions().stream().map(StepExecution::getStepName).collect(Collectors.toList());
+    }
+
+    private Map<String, StepExecution> getStepExecutions(JobExecution jobExecution) {
+        return jobExecution.getStepExecutions().stream().collect(Collectors.toMap(StepExecution::getStepName,
+                                                                                  Function.identity()));
+    }
+
+    private String getRSHash(SubmittedVariantEntity submittedVariant) {
+        return EVAObjectModelUtils.getClusteredVariantHash(submittedVariant);
+    }
+
+    private String getRSHashes(SubmittedVariantEntity... submittedVariants) {
+        return Arrays.stream(submittedVariants).map(this::getRSHash).sorted().collect(Collectors.joining(","));
+    }
+}
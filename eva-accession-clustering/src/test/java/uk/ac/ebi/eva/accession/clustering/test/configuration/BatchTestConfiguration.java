@@ -45,6 +45,7 @@ import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.ProcessRemapp
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.RSAccessionRecoveryJobConfiguration;
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.ResolveMergeThenSplitCandidatesJobConfiguration;
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.StudyClusteringJobConfiguration;
+import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.ClusteringQCJobConfiguration;
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.DuplicateRSAccQCJobConfiguration;
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.NewClusteredVariantsQCJobConfiguration;
 import uk.ac.ebi.eva.accession.clustering.configuration.batch.listeners.JobExecutionSetterConfiguration;
@@ -69,6 +70,7 @@ import static uk.ac.ebi.eva.accession.clustering.configuration.BeanNames.DUPLICA
 import static uk.ac.ebi.eva.accession.clustering.configuration.BeanNames.PROCESS_REMAPPED_VARIANTS_WITH_RS_JOB;
 import static uk.ac.ebi.eva.accession.clustering.configuration.BeanNames.RS_ACCESSION_RECOVERY_JOB;
 import static uk.ac.ebi.eva.accession.clustering.configuration.BeanNames.STUDY_CLUSTERING_JOB;
+import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.ClusteringQCJobConfiguration.CLUSTERING_QC_JOB;
 import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.NewClusteredVariantsQCJobConfiguration.NEW_CLUSTERED_VARIANTS_QC_JOB;
 
 @EnableAutoConfiguration
@@ -103,7 +105,8 @@ import static uk.ac.ebi.eva.accession.clustering.configuration.batch.jobs.qc.New
         DuplicateRSAccQCStepConfiguration.class,
         DuplicateRSAccQCFileReaderConfiguration.class,
         DuplicateRSAccQCProcessorConfiguration.class,
-        DuplicateRSAccQCWriterConfiguration.class
+        DuplicateRSAccQCWriterConfiguration.class,
+        ClusteringQCJobConfiguration.class
 })
 public class BatchTestConfiguration {
 
@@ -121,6 +124,8 @@ public class BatchTestConfiguration {
 
     public static final String JOB_LAUNCHER_DUPLICATE_RS_ACC_QC_JOB = "JOB_LAUNCHER_DUPLICATE_RS_ACC_QC_JOB";
 
+    public static final String JOB_LAUNCHER_CLUSTERING_QC_JOB = "JOB_LAUNCHER_CLUSTERING_QC_JOB";
+
     @Autowired
     private BatchProperties properties;
 
@@ -220,4 +225,15 @@ public class BatchTestConfiguration {
             }
         };
     }
+
+    @Bean(JOB_LAUNCHER_CLUSTERING_QC_JOB)
+    public JobLauncherTestUtils jobLauncherTestUtilsClusteringQCJob() {
+        return new JobLauncherTestUtils() {
+            @Override
+            @Autowired
+            public void setJob(@Qualifier(CLUSTERING_QC_JOB) Job job) {
+                super.setJob(job);
+            }
+        };
+    }
 }
@@ -17,6 +17,11 @@
 package uk.ac.ebi.eva.accession.core.batch.io;
 
 import com.mongodb.ReadPreference;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,18 +30,20 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.EventDocument;
 
+import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
 import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.SubmittedVariant;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantInactiveEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,9 +55,26 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
 
     private static final Logger logger = LoggerFactory.getLogger(ClusteredVariantDeprecationWriter.class);
 
+    private static final String ID_FIELD = "_id";
+
+    private static final String REFERENCE_SEQUENCE_FIELD = "seq";
+
+    private static final String TAXONOMY_FIELD = "tax";
+
+    private static final String PROJECT_FIELD = "study";
+
+    private static final String CONTIG_FIELD = "contig";
+
+    private static final String START_FIELD = "start";
+
+    private static final String REFERENCE_ALLELE_FIELD = "ref";
+
+    private static final String ALTERNATE_ALLELE_FIELD = "alt";
+
+    private static final String CLUSTERED_VARIANT_ACCESSION_FIELD = "rs";
+
     private final String assemblyAccession;
     private final MongoTemplate mongoTemplate;
-    private final SubmittedVariantAccessioningService submittedVariantAccessioningService;
     private final Long accessioningMonotonicInitRs;
 
     private int numDeprecatedEntities;
@@ -64,7 +88,6 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
     private final String deprecationReason;
 
     public ClusteredVariantDeprecationWriter(String assemblyAccession, MongoTemplate mongoTemplate,
-                                             SubmittedVariantAccessioningService submittedVariantAccessioningService,
                                              Long accessioningMonotonicInitRs,
                                              String deprecationIdSuffix, String deprecationReason) {
         ReadPreference readPreference = mongoTemplate.getMongoDbFactory().getDb().getReadPreference();
@@ -73,7 +96,6 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
         }
         this.assemblyAccession = assemblyAccession;
         this.mongoTemplate = mongoTemplate;
-        this.submittedVariantAccessioningService = submittedVariantAccessioningService;
         this.accessioningMonotonicInitRs = accessioningMonotonicInitRs;
         this.deprecationIdSuffix = deprecationIdSuffix;
         this.deprecationReason = deprecationReason;
@@ -100,17 +122,7 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
             Set<ImmutablePair<String, Long>> rsHashesAndIDsToRemove = cvesToDeprecate.stream().map(
                     cve -> new ImmutablePair<>(cve.getHashedMessage(), cve.getAccession())).collect(Collectors.toSet());
             Set<ImmutablePair<String, Long>> rsHashesAndIDsAssociatedWithExistingSS =
-                    this.submittedVariantAccessioningService.getByClusteredVariantAccessionIn(
-                            rsHashesAndIDsToRemove.stream().map(c -> c.right).collect(Collectors.toList())).stream()
-                            .map(result -> new SubmittedVariantEntity(result.getAccession(), result.getHash(),
-                                    result.getData(), result.getVersion()))
-                            .filter(result -> result.getReferenceSequenceAccession().equals(this.assemblyAccession)
-                                    && rsHashesAndIDsToRemove.contains(
-                                            new ImmutablePair<>(EVAObjectModelUtils.getClusteredVariantHash(result),
-                                                    result.getClusteredVariantAccession())))
-                            .map(result -> new ImmutablePair<>(EVAObjectModelUtils.getClusteredVariantHash(result),
-                                    result.getClusteredVariantAccession()))
-                            .collect(Collectors.toSet());
+                    getRsHashesAndIDsAssociatedWithExistingSS(rsHashesAndIDsToRemove);
             if (rsHashesAndIDsAssociatedWithExistingSS.size() > 0) {
                 logger.warn("The following RS ID/hash combinations are still associated with existing submitted variants. " +
                                     "Hence they will not be deprecated. The combinations are: " +
@@ -131,12 +143,53 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
                     cvoeCollectionToUse = cveCollectionToUse.equals(ClusteredVariantEntity.class) ?
                     ClusteredVariantOperationEntity.class : DbsnpClusteredVariantOperationEntity.class;
             writeDeprecationOperation(cvesToDeprecate, cvoeCollectionToUse);
-            List<? extends ClusteredVariantEntity> removedEntities = this.mongoTemplate.findAllAndRemove(
-                    query(where("_id").in(rsHashesToRemove)), cveCollectionToUse);
-            this.numDeprecatedEntities += removedEntities.size();
+            DeleteResult deleteResult = this.mongoTemplate.remove(query(where(ID_FIELD).in(rsHashesToRemove)),
+                                                                  cveCollectionToUse);
+            this.numDeprecatedEntities += deleteResult.getDeletedCount();
         }
     }
 
+    /**
+     * Only the fields needed to build the clustered variant hash are read from the submitted variants, so the
+     * documents don't need to be fully converted into entities.
+     */
+    private Set<ImmutablePair<String, Long>> getRsHashesAndIDsAssociatedWithExistingSS(
+            Set<ImmutablePair<String, Long>> rsHashesAndIDsToRemove) {
+        Set<Long> rsIDs = rsHashesAndIDsToRemove.stream().map(c -> c.right).collect(Collectors.toSet());
+        Bson filter = Filters.and(Filters.in(CLUSTERED_VARIANT_ACCESSION_FIELD, rsIDs),
+                                  Filters.eq(REFERENCE_SEQUENCE_FIELD, this.assemblyAccession));
+        Bson projection = Projections.fields(Projections.include(CLUSTERED_VARIANT_ACCESSION_FIELD,
+                                                                 REFERENCE_SEQUENCE_FIELD, TAXONOMY_FIELD,
+                                                                 PROJECT_FIELD, CONTIG_FIELD, START_FIELD,
+                                                                 REFERENCE_ALLELE_FIELD, ALTERNATE_ALLELE_FIELD),
+                                             Projections.excludeId());
+        Set<ImmutablePair<String, Long>> rsHashesAndIDsAssociatedWithExistingSS = new HashSet<>();
+        for (Class<?> sveCollection : Arrays.asList(SubmittedVariantEntity.class,
+                                                    DbsnpSubmittedVariantEntity.class)) {
+            for (Document sve : this.mongoTemplate.getCollection(this.mongoTemplate.getCollectionName(sveCollection))
+                                                  .find(filter).projection(projection)) {
+                ImmutablePair<String, Long> rsHashAndID = new ImmutablePair<>(
+                        EVAObjectModelUtils.getClusteredVariantHash(toSubmittedVariant(sve)),
+                        ((Number) sve.get(CLUSTERED_VARIANT_ACCESSION_FIELD)).longValue());
+                if (rsHashesAndIDsToRemove.contains(rsHashAndID)) {
+                    rsHashesAndIDsAssociatedWithExistingSS.add(rsHashAndID);
+                }
+            }
+        }
+        return rsHashesAndIDsAssociatedWithExistingSS;
+    }
+
+    private SubmittedVariant toSubmittedVariant(Document sve) {
+        return new SubmittedVariant(sve.getString(REFERENCE_SEQUENCE_FIELD),
+                                    ((Number) sve.get(TAXONOMY_FIELD)).intValue(),
+                                    sve.getString(PROJECT_FIELD),
+                                    sve.getString(CONTIG_FIELD),
+                                    ((Number) sve.get(START_FIELD)).longValue(),
+                                    sve.getString(REFERENCE_ALLELE_FIELD),
+                                    sve.getString(ALTERNATE_ALLELE_FIELD),
+                                    ((Number) sve.get(CLUSTERED_VARIANT_ACCESSION_FIELD)).longValue());
+    }
+
     private void writeDeprecationOperation(List<? extends ClusteredVariantEntity> cvesToDeprecate,
                                    Class<? extends EventDocument<IClusteredVariant, Long,
                                            ? extends ClusteredVariantInactiveEntity>> cvoeCollectionToUse) {
@@ -148,13 +201,6 @@ public class ClusteredVariantDeprecationWriter implements ItemWriter<ClusteredVa
             cvoe.setId(String.join("_", Arrays.asList("RS_DEPRECATED", this.deprecationIdSuffix, cve.getId())));
             return cvoe;
         }).collect(Collectors.toList());
-        Set<String> operationIdsToWrite = cvoesToWrite.stream().map(EventDocument::getId).collect(Collectors.toSet());
-        Set<String> alreadyExistingIds = this.mongoTemplate.find(query(where("_id").in(operationIdsToWrite)),
-                                                                 cvoeCollectionToUse).stream().map(EventDocument::getId)
-                                                           .collect(Collectors.toSet());
-        operationIdsToWrite.removeAll(alreadyExistingIds);
-        cvoesToWrite = cvoesToWrite.stream().filter(svoe -> operationIdsToWrite.contains(svoe.getId())).collect(
-                Collectors.toList());
-        this.mongoTemplate.insert(cvoesToWrite, cvoeCollectionToUse);
+        DeprecationOperationsWriter.insertIfAbsent(this.mongoTemplate, cvoesToWrite, cvoeCollectionToUse);
     }
 }
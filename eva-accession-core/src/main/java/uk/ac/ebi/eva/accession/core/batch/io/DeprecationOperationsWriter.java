@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.batch.io;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.EventDocument;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Writes deprecation operations, whose ids are deterministic, as unordered upserts that only set the fields when the
+ * operation is inserted. An operation that was already written (e.g. by a previous run of the job) is left untouched,
+ * without having to query the existing ids first.
+ */
+final class DeprecationOperationsWriter {
+
+    private static final String ID_FIELD = "_id";
+
+    private DeprecationOperationsWriter() {
+    }
+
+    /**
+     * @return the number of operations that didn't exist and were inserted
+     */
+    static int insertIfAbsent(MongoTemplate mongoTemplate, List<? extends EventDocument<?, ?, ?>> operations,
+                              Class<?> operationCollectionClass) {
+        if (operations.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                                                              operationCollectionClass);
+        for (EventDocument<?, ?, ?> operation : operations) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(operation, document);
+            Update update = new Update();
+            document.forEach((field, value) -> {
+                if (!ID_FIELD.equals(field)) {
+                    update.setOnInsert(field, value);
+                }
+            });
+            bulkOperations.upsert(query(where(ID_FIELD).is(operation.getId())), update);
+        }
+        BulkWriteResult result = bulkOperations.execute();
+        return result.getUpserts().size();
+    }
+}
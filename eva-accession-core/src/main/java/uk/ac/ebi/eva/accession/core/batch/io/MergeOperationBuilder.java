@@ -9,8 +9,12 @@ import uk.ac.ebi.ampt2d.commons.accession.persistence.repositories.IHistoryRepos
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -18,48 +22,122 @@ import java.util.stream.Stream;
 
 import static uk.ac.ebi.eva.accession.core.exceptions.MongoBulkWriteExceptionUtils.extractUniqueHashesForDuplicateKeyError;
 
+/**
+ * Builds the merge operations for the variants that could not be inserted because another variant with the same hash
+ * but a different accession was already present.
+ *
+ * The variants that were already present, and the merge operations already written for the variants to merge, are
+ * fetched with one query each per chunk, instead of one query per hash and per variant.
+ */
 public class MergeOperationBuilder<ENTITY extends AccessionedDocument<?, Long>,
         OPERATION_ENTITY extends EventDocument<?, Long, ?>> {
 
-    private IHistoryRepository<Long, OPERATION_ENTITY, String> operationRepository;
+    private Function<List<String>, Iterable<ENTITY>> findAllVariantEntitiesById;
 
-    private Function<String, Optional<ENTITY>> findOneVariantEntityById;
+    private Function<List<Long>, List<OPERATION_ENTITY>> findAllOperationsByAccession;
 
     private BiFunction<ENTITY, ENTITY, OPERATION_ENTITY> mergeOperationFactory;
 
     public MergeOperationBuilder(IHistoryRepository<Long, OPERATION_ENTITY, String> operationRepository,
                                  IAccessionedObjectRepository<ENTITY, Long> variantRepository,
                                  BiFunction<ENTITY, ENTITY, OPERATION_ENTITY> mergeOperationFactory) {
-        this(operationRepository, variantRepository::findById, mergeOperationFactory);
+        this(variantRepository::findAllById, findEachAccession(operationRepository), mergeOperationFactory);
     }
 
     public MergeOperationBuilder(IHistoryRepository<Long, OPERATION_ENTITY, String> operationRepository,
                           Function<String, Optional<ENTITY>> findOneVariantEntityById,
                           BiFunction<ENTITY, ENTITY, OPERATION_ENTITY> mergeOperationFactory) {
-        this.operationRepository = operationRepository;
-        this.findOneVariantEntityById = findOneVariantEntityById;
+        this(ids -> ids.stream()
+                       .map(findOneVariantEntityById)
+                       .filter(Optional::isPresent)
+                       .map(Optional::get)
+                       .collect(Collectors.toList()),
+             findEachAccession(operationRepository), mergeOperationFactory);
+    }
+
+    /**
+     * @param findAllVariantEntitiesById returns the variants with any of the given hashes
+     * @param findAllOperationsByAccession returns the operations of any of the given accessions
+     */
+    public MergeOperationBuilder(Function<List<String>, Iterable<ENTITY>> findAllVariantEntitiesById,
+                                 Function<List<Long>, List<OPERATION_ENTITY>> findAllOperationsByAccession,
+                                 BiFunction<ENTITY, ENTITY, OPERATION_ENTITY> mergeOperationFactory) {
+        this.findAllVariantEntitiesById = findAllVariantEntitiesById;
+        this.findAllOperationsByAccession = findAllOperationsByAccession;
         this.mergeOperationFactory = mergeOperationFactory;
     }
 
+    private static <OPERATION_ENTITY extends EventDocument<?, Long, ?>> Function<List<Long>, List<OPERATION_ENTITY>>
+    findEachAccession(IHistoryRepository<Long, OPERATION_ENTITY, String> operationRepository) {
+        return accessions -> accessions.stream()
+                                       .flatMap(accession -> operationRepository.findAllByAccession(accession)
+                                                                                .stream())
+                                       .collect(Collectors.toList());
+    }
+
     public List<OPERATION_ENTITY> buildMergeOperationsFromException(List<ENTITY> variants,
                                                                     MongoBulkWriteException exception) {
-        List<OPERATION_ENTITY> operations = new ArrayList<>();
         checkForNulls(variants);
-        extractUniqueHashesForDuplicateKeyError(exception)
-                .forEach(hash -> {
-                    Optional<ENTITY> mergedInto = findOneVariantEntityById.apply(hash);
-                    if (!mergedInto.isPresent()) {
-                        throwMongoConsistencyException(variants, hash);
-                    }
-                    List<OPERATION_ENTITY> merges = buildMergeOperations(variants,
-                                                                         hash,
-                                                                         mergedInto.get());
-
-                    operations.addAll(merges);
-                });
+        List<String> hashes = extractUniqueHashesForDuplicateKeyError(exception).collect(Collectors.toList());
+        if (hashes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, ENTITY> mergedIntoByHash = new HashMap<>();
+        for (ENTITY mergedInto : findAllVariantEntitiesById.apply(hashes)) {
+            mergedIntoByHash.put(mergedInto.getHashedMessage(), mergedInto);
+        }
+        for (String hash : hashes) {
+            if (!mergedIntoByHash.containsKey(hash)) {
+                throwMongoConsistencyException(variants, hash);
+            }
+        }
+
+        Collection<ENTITY> entities = removeDuplicatesWithSameHashAndAccession(variants.stream());
+        checkForNulls(entities);
+        Map<String, List<ENTITY>> originsByHash = new HashMap<>();
+        for (ENTITY origin : entities) {
+            ENTITY mergedInto = mergedIntoByHash.get(origin.getHashedMessage());
+            if (mergedInto != null && !origin.getAccession().equals(mergedInto.getAccession())) {
+                originsByHash.computeIfAbsent(origin.getHashedMessage(), k -> new ArrayList<>()).add(origin);
+            }
+        }
+        if (originsByHash.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> existingMerges = getExistingMerges(originsByHash.values()
+                                                                    .stream()
+                                                                    .flatMap(List::stream)
+                                                                    .map(AccessionedDocument::getAccession)
+                                                                    .distinct()
+                                                                    .collect(Collectors.toList()));
+        List<OPERATION_ENTITY> operations = new ArrayList<>();
+        for (String hash : hashes) {
+            ENTITY mergedInto = mergedIntoByHash.get(hash);
+            for (ENTITY origin : originsByHash.getOrDefault(hash, Collections.emptyList())) {
+                if (!existingMerges.contains(getMergeKey(origin.getAccession(), mergedInto.getAccession(), hash))) {
+                    operations.add(mergeOperationFactory.apply(origin, mergedInto));
+                }
+            }
+        }
         return operations;
     }
 
+    private Set<String> getExistingMerges(List<Long> accessions) {
+        return findAllOperationsByAccession.apply(accessions)
+                                           .stream()
+                                           .filter(operation -> operation.getEventType().equals(EventType.MERGED))
+                                           .map(operation -> getMergeKey(
+                                                   operation.getAccession(), operation.getMergedInto(),
+                                                   operation.getInactiveObjects().get(0).getHashedMessage()))
+                                           .collect(Collectors.toSet());
+    }
+
+    private String getMergeKey(Long accession, Long mergedInto, String hash) {
+        return accession + "_" + mergedInto + "_" + hash;
+    }
+
     private void throwMongoConsistencyException(List<ENTITY> variants, String hash) {
         String printedVariants = variants
                 .stream()
@@ -74,18 +152,6 @@ public class MergeOperationBuilder<ENTITY extends AccessionedDocument<?, Long>,
                         printedVariants);
     }
 
-    private List<OPERATION_ENTITY> buildMergeOperations(List<ENTITY> variants, String hash, ENTITY mergedInto) {
-        Collection<ENTITY> entities = removeDuplicatesWithSameHashAndAccession(variants.stream());
-        checkForNulls(entities);
-        return entities
-                .stream()
-                .filter(v -> v.getHashedMessage().equals(hash)
-                        && !v.getAccession().equals(mergedInto.getAccession())
-                        && !isAlreadyMergedInto(v, mergedInto))
-                .map(origin -> mergeOperationFactory.apply(origin, mergedInto))
-                .collect(Collectors.toList());
-    }
-
     private void checkForNulls(Collection<ENTITY> entities) {
         int nullCount = 0;
         for (ENTITY entity : entities) {
@@ -107,14 +173,4 @@ public class MergeOperationBuilder<ENTITY extends AccessionedDocument<?, Long>,
                                                             (a, b) -> a))
                                   .values();
     }
-
-    private boolean isAlreadyMergedInto(ENTITY original, ENTITY mergedInto) {
-        List<OPERATION_ENTITY> merges = operationRepository.findAllByAccession(original.getAccession());
-        return merges.stream().anyMatch(
-                operation ->
-                        operation.getEventType().equals(EventType.MERGED)
-                                && mergedInto.getAccession().equals(operation.getMergedInto())
-                                && original.getHashedMessage().equals(
-                                        operation.getInactiveObjects().get(0).getHashedMessage()));
-    }
 }
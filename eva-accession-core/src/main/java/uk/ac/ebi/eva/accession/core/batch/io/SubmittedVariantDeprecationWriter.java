@@ -17,6 +17,7 @@
 package uk.ac.ebi.eva.accession.core.batch.io;
 
 import com.mongodb.ReadPreference;
+import com.mongodb.client.result.DeleteResult;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -32,7 +33,6 @@ import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantInactiveEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
 
 import java.util.*;
@@ -60,7 +60,6 @@ public class SubmittedVariantDeprecationWriter implements ItemWriter<SubmittedVa
     private int numDeprecatedSubmittedEntities;
 
     public SubmittedVariantDeprecationWriter(String assemblyAccession, MongoTemplate mongoTemplate,
-                                             SubmittedVariantAccessioningService submittedVariantAccessioningService,
                                              ClusteredVariantAccessioningService clusteredVariantAccessioningService,
                                              Long accessioningMonotonicInitSs, Long accessioningMonotonicInitRs,
                                              String deprecationIdSuffix, String deprecationReason) {
@@ -77,7 +76,6 @@ public class SubmittedVariantDeprecationWriter implements ItemWriter<SubmittedVa
         this.clusteredVariantDeprecationWriter =
                 new ClusteredVariantDeprecationWriter(this.assemblyAccession,
                                                       this.mongoTemplate,
-                                                      submittedVariantAccessioningService,
                                                       accessioningMonotonicInitRs,
                                                       this.deprecationIdSuffix,
                                                       this.deprecationReason);
@@ -117,9 +115,9 @@ public class SubmittedVariantDeprecationWriter implements ItemWriter<SubmittedVa
                     svoeCollectionToUse = sveCollectionToUse.equals(SubmittedVariantEntity.class) ?
                     SubmittedVariantOperationEntity.class : DbsnpSubmittedVariantOperationEntity.class;
             writeDeprecationOperation(svesToDeprecate, svoeCollectionToUse);
-            List<? extends SubmittedVariantEntity> removedEntities = this.mongoTemplate.findAllAndRemove(
-                    query(where("_id").in(ssHashesToRemove)), sveCollectionToUse);
-            this.numDeprecatedSubmittedEntities += removedEntities.size();
+            DeleteResult deleteResult = this.mongoTemplate.remove(query(where("_id").in(ssHashesToRemove)),
+                                                                  sveCollectionToUse);
+            this.numDeprecatedSubmittedEntities += deleteResult.getDeletedCount();
             this.clusteredVariantDeprecationWriter.write(cvesToDeprecate);
         }
     }
@@ -135,14 +133,7 @@ public class SubmittedVariantDeprecationWriter implements ItemWriter<SubmittedVa
             svoe.setId(String.join("_", Arrays.asList("SS_DEPRECATED", this.deprecationIdSuffix, sve.getId())));
             return svoe;
         }).collect(Collectors.toList());
-        Set<String> operationIds = svoesToWrite.stream().map(EventDocument::getId).collect(Collectors.toSet());
-        Set<String> alreadyExistingIds = this.mongoTemplate.find(query(where("_id").in(operationIds)),
-                                                                 svoeCollectionToUse).stream().map(EventDocument::getId)
-                                                           .collect(Collectors.toSet());
-        operationIds.removeAll(alreadyExistingIds);
-        svoesToWrite = svoesToWrite.stream().filter(svoe -> operationIds.contains(svoe.getId())).collect(
-                Collectors.toList());
-        this.mongoTemplate.insert(svoesToWrite, svoeCollectionToUse);
+        DeprecationOperationsWriter.insertIfAbsent(this.mongoTemplate, svoesToWrite, svoeCollectionToUse);
     }
 
     public int getNumDeprecatedSubmittedEntities() {
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads for the background work of readers, writers and generators, so that a step that fails
+ * without closing them doesn't prevent the JVM from exiting.
+ *
+ * The threads are named after a prefix followed by a counter (e.g. "item-processor-1"), or with a fixed name when only
+ * one thread is needed.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String name;
+
+    private final AtomicInteger threadCount;
+
+    private DaemonThreadFactory(String name, AtomicInteger threadCount) {
+        this.name = name;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Names the threads "{namePrefix}1", "{namePrefix}2"...
+     */
+    public static DaemonThreadFactory numbered(String namePrefix) {
+        return new DaemonThreadFactory(namePrefix, new AtomicInteger());
+    }
+
+    /**
+     * Gives all the threads the same name, for executors that use a single thread
+     */
+    public static DaemonThreadFactory named(String name) {
+        return new DaemonThreadFactory(name, null);
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        String threadName = threadCount == null ? name : name + threadCount.incrementAndGet();
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -23,6 +23,8 @@ public class VariantAccessioningProperties {
 
     private long blockSize;
 
+    private boolean prefetchBlocks;
+
     public String getCategoryId() {
         return categoryId;
     }
@@ -31,6 +33,10 @@ public class VariantAccessioningProperties {
         return blockSize;
     }
 
+    public boolean isPrefetchBlocks() {
+        return prefetchBlocks;
+    }
+
     public void setCategoryId(String categoryId) {
         this.categoryId = categoryId;
     }
@@ -39,11 +45,16 @@ public class VariantAccessioningProperties {
         this.blockSize = blockSize;
     }
 
+    public void setPrefetchBlocks(boolean prefetchBlocks) {
+        this.prefetchBlocks = prefetchBlocks;
+    }
+
     @Override
     public String toString() {
         return "VariantAccessioningProperties{" +
                 "categoryId='" + categoryId + '\'' +
                 ", blockSize=" + blockSize +
+                ", prefetchBlocks=" + prefetchBlocks +
                 '}';
     }
 }
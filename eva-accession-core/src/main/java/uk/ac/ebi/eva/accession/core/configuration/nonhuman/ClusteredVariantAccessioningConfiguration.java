@@ -34,6 +34,7 @@ import uk.ac.ebi.eva.accession.core.configuration.ApplicationPropertiesConfigura
 import uk.ac.ebi.eva.accession.core.configuration.ContigAliasConfiguration;
 import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
 import uk.ac.ebi.eva.accession.core.generators.DbsnpMonotonicAccessionGenerator;
+import uk.ac.ebi.eva.accession.core.generators.PrefetchingMonotonicAccessionGenerator;
 import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantInactiveEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
@@ -126,10 +127,15 @@ public class ClusteredVariantAccessioningConfiguration {
     public MonotonicAccessionGenerator<IClusteredVariant> clusteredVariantAccessionGenerator() {
         ApplicationProperties properties = applicationProperties;
         logger.debug("Using application properties: " + properties.toString());
-        return new MonotonicAccessionGenerator<>(
+        MonotonicAccessionGenerator<IClusteredVariant> generator = new MonotonicAccessionGenerator<>(
                 properties.getClustered().getCategoryId(),
                 blockService,
                 clusteredVariantAccessioningDatabaseService());
+        if (!properties.getClustered().isPrefetchBlocks()) {
+            return generator;
+        }
+        return new PrefetchingMonotonicAccessionGenerator<>(categoryId, blockService, generator,
+                                                            blockService.getBlockParameters(categoryId).getBlockSize());
     }
 
     @Bean
@@ -37,6 +37,7 @@ import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
 import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.generators.DbsnpMonotonicAccessionGenerator;
+import uk.ac.ebi.eva.accession.core.generators.PrefetchingMonotonicAccessionGenerator;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.dbsnp.DbsnpSubmittedVariantAccessioningDatabaseService;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpSubmittedVariantAccessioningRepository;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantInactiveEntity;
@@ -125,10 +126,15 @@ public class SubmittedVariantAccessioningConfiguration {
     public MonotonicAccessionGenerator<ISubmittedVariant> submittedVariantAccessionGenerator() {
         ApplicationProperties properties = applicationProperties;
         logger.debug("Using application properties: " + properties.toString());
-        return new MonotonicAccessionGenerator<>(
+        MonotonicAccessionGenerator<ISubmittedVariant> generator = new MonotonicAccessionGenerator<>(
                 properties.getSubmitted().getCategoryId(),
                 blockService,
                 submittedVariantAccessioningDatabaseService());
+        if (!properties.getSubmitted().isPrefetchBlocks()) {
+            return generator;
+        }
+        return new PrefetchingMonotonicAccessionGenerator<>(categoryId, blockService, generator,
+                                                            blockService.getBlockParameters(categoryId).getBlockSize());
     }
 
     @Bean
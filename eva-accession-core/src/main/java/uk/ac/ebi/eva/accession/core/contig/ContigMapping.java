@@ -41,6 +41,12 @@ public class ContigMapping {
 
     Map<String, ContigSynonyms> ucscToSynonyms = new HashMap<>();
 
+    /**
+     * Any name of a contig, in any naming convention, to the row where it appears. Built once all the rows are read, so
+     * that {@link #getContigSynonyms(String)} is a single lookup instead of one per naming convention.
+     */
+    private Map<String, ContigSynonyms> nameToSynonyms;
+
     public ContigMapping(String assemblyReportUrl) throws Exception {
         this(new AssemblyReportReader(assemblyReportUrl));
     }
@@ -50,10 +56,12 @@ public class ContigMapping {
         while ((contigSynonyms = assemblyReportReader.read()) != null) {
             fillContigConventionMaps(contigSynonyms);
         }
+        fillNameToSynonymsMap();
     }
 
     public ContigMapping(List<ContigSynonyms> contigSynonyms) {
         contigSynonyms.forEach(this::fillContigConventionMaps);
+        fillNameToSynonymsMap();
     }
 
     /**
@@ -96,6 +104,21 @@ public class ContigMapping {
 
     }
 
+    /**
+     * A name can appear in several naming conventions (e.g. a sequence name that is also the UCSC name of another
+     * row). The maps are added from the lowest to the highest priority, so that the conventions with a higher priority
+     * overwrite the others, and the result is the same as looking up RefSeq, GenBank, assigned molecule, sequence name
+     * and UCSC in that order.
+     */
+    private void fillNameToSynonymsMap() {
+        nameToSynonyms = new HashMap<>();
+        nameToSynonyms.putAll(ucscToSynonyms);
+        nameToSynonyms.putAll(sequenceNameToSynonyms);
+        nameToSynonyms.putAll(assignedMoleculeToSynonyms);
+        nameToSynonyms.putAll(genBankToSynonyms);
+        nameToSynonyms.putAll(refSeqToSynonyms);
+    }
+
     private void normalizeNames(ContigSynonyms contigSynonyms) {
         if (NOT_AVAILABLE.equals(contigSynonyms.getSequenceName())) {
             contigSynonyms.setSequenceName(null);
@@ -116,23 +139,7 @@ public class ContigMapping {
     }
 
     public ContigSynonyms getContigSynonyms(String contig) {
-        ContigSynonyms contigSynonyms;
-        if ((contigSynonyms = refSeqToSynonyms.get(contig)) != null) {
-            return contigSynonyms;
-        }
-        if ((contigSynonyms = genBankToSynonyms.get(contig)) != null) {
-            return contigSynonyms;
-        }
-        if ((contigSynonyms = assignedMoleculeToSynonyms.get(contig)) != null) {
-            return contigSynonyms;
-        }
-        if ((contigSynonyms = sequenceNameToSynonyms.get(contig)) != null) {
-            return contigSynonyms;
-        }
-        if ((contigSynonyms = ucscToSynonyms.get(contig)) != null) {
-            return contigSynonyms;
-        }
-        return null;
+        return nameToSynonyms.get(contig);
     }
 
     public String getContigSynonym(String contig, ContigSynonyms contigSynonyms, ContigNaming contigNaming) {
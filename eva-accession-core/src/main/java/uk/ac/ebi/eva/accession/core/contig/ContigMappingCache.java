@@ -0,0 +1,134 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.contig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.DigestUtils;
+
+import uk.ac.ebi.eva.accession.core.batch.io.AssemblyReportReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a local copy of the rows of an assembly report, so that jobs run again on the same assembly build their
+ * {@link ContigMapping} without downloading and parsing the report.
+ *
+ * The cache file is named after the assembly report URL, so a report that changes without changing its URL must have
+ * its cache file removed.
+ */
+public class ContigMappingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContigMappingCache.class);
+
+    static final String CACHE_FILE_EXTENSION = ".contig-synonyms.tsv";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final int COLUMNS = 7;
+
+    private static final String NOT_AVAILABLE = "na";
+
+    private final Path cacheDirectory;
+
+    public ContigMappingCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @param cacheDirectory directory of the cache files, or null to always read the assembly report
+     */
+    public static ContigMapping loadContigMapping(String assemblyReportUrl, String cacheDirectory) throws Exception {
+        if (cacheDirectory == null) {
+            return new ContigMapping(assemblyReportUrl);
+        }
+        return new ContigMappingCache(Paths.get(cacheDirectory)).getContigMapping(assemblyReportUrl);
+    }
+
+    public ContigMapping getContigMapping(String assemblyReportUrl) throws Exception {
+        Path cacheFile = getCacheFile(assemblyReportUrl);
+        if (Files.exists(cacheFile)) {
+            logger.info("Reading the synonyms of {} from {}", assemblyReportUrl, cacheFile);
+            return new ContigMapping(readCacheFile(cacheFile));
+        }
+
+        List<ContigSynonyms> contigSynonyms = new ArrayList<>();
+        AssemblyReportReader assemblyReportReader = new AssemblyReportReader(assemblyReportUrl);
+        ContigSynonyms row;
+        while ((row = assemblyReportReader.read()) != null) {
+            contigSynonyms.add(row);
+        }
+        writeCacheFile(cacheFile, contigSynonyms);
+        logger.info("Saved the synonyms of {} in {}", assemblyReportUrl, cacheFile);
+        return new ContigMapping(contigSynonyms);
+    }
+
+    Path getCacheFile(String assemblyReportUrl) {
+        String urlHash = DigestUtils.md5DigestAsHex(assemblyReportUrl.getBytes(StandardCharsets.UTF_8));
+        return cacheDirectory.resolve(urlHash + CACHE_FILE_EXTENSION);
+    }
+
+    /**
+     * The file is written with a temporary name and then moved, so that a job that fails while writing it, or another
+     * job reading it at the same time, never sees an incomplete file.
+     */
+    private void writeCacheFile(Path cacheFile, List<ContigSynonyms> contigSynonyms) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        Path temporaryFile = Files.createTempFile(cacheDirectory, cacheFile.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            for (ContigSynonyms row : contigSynonyms) {
+                writer.write(String.join(SEPARATOR, toColumn(row.getSequenceName()), toColumn(row.getSequenceRole()),
+                                         toColumn(row.getAssignedMolecule()), toColumn(row.getGenBank()),
+                                         toColumn(row.getRefSeq()), toColumn(row.getUcsc()),
+                                         Boolean.toString(row.isIdenticalGenBankAndRefSeq())));
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String toColumn(String name) {
+        return name == null ? NOT_AVAILABLE : name;
+    }
+
+    private List<ContigSynonyms> readCacheFile(Path cacheFile) throws IOException {
+        List<ContigSynonyms> contigSynonyms = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(SEPARATOR, -1);
+                if (columns.length != COLUMNS) {
+                    throw new IllegalStateException("Contig synonyms cache file " + cacheFile + " is corrupted, "
+                                                    + "please remove it. Wrong line: '" + line + "'");
+                }
+                contigSynonyms.add(new ContigSynonyms(columns[0], columns[1], columns[2], columns[3], columns[4],
+                                                      columns[5], Boolean.parseBoolean(columns[6])));
+            }
+        }
+        return contigSynonyms;
+    }
+}
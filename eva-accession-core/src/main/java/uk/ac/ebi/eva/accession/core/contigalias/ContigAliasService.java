@@ -34,7 +34,11 @@ import uk.ac.ebi.eva.commons.core.models.contigalias.ContigAliasTranslator;
 import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 public class ContigAliasService {
@@ -171,6 +175,21 @@ public class ContigAliasService {
         return clusteredVariantsAfterContigAlias;
     }
 
+    /**
+     * Translate each distinct contig only once. Useful for responses where many variants share a few contigs.
+     *
+     * @return map from each of the given INSDC contigs to its name in the desired naming convention
+     */
+    public Map<String, String> translateContigsFromInsdc(Collection<String> insdcContigs,
+                                                         ContigNamingConvention contigNamingConvention) {
+        Map<String, String> translatedContigs = new HashMap<>();
+        for (String insdcContig : new LinkedHashSet<>(insdcContigs)) {
+            translatedContigs.put(insdcContig, skipContigTranslation(contigNamingConvention) ?
+                    insdcContig : translateContigFromInsdc(insdcContig, contigNamingConvention));
+        }
+        return translatedContigs;
+    }
+
     public AccessionWrapper<IClusteredVariant, String, Long> createClusteredVariantAccessionWrapperWithNewContig(
             AccessionWrapper<IClusteredVariant, String, Long> accessionWrapper, String newContig) {
         IClusteredVariant data = accessionWrapper.getData();
@@ -187,6 +206,21 @@ public class ContigAliasService {
     public List<? extends IEvent<IClusteredVariant, Long>> getEventsWithTranslatedContig(
             List<? extends IEvent<IClusteredVariant, Long>> events, ContigNamingConvention contigNamingConvention) {
         if (skipContigTranslation(contigNamingConvention)) return events;
+        List<String> contigs = new ArrayList<>();
+        for (IEvent<? extends IClusteredVariant, Long> event : events) {
+            for (IAccessionedObject<? extends IClusteredVariant, ?, Long> inactiveObject : event.getInactiveObjects()) {
+                contigs.add(inactiveObject.getModel().getContig());
+            }
+        }
+        return getEventsWithTranslatedContig(events, translateContigsFromInsdc(contigs, contigNamingConvention));
+    }
+
+    /**
+     * @param translatedContigs map from INSDC contig to translated contig, as returned by
+     * {@link #translateContigsFromInsdc}. It must contain all the contigs of the events
+     */
+    public List<ClusteredVariantOperationEntity> getEventsWithTranslatedContig(
+            List<? extends IEvent<? extends IClusteredVariant, Long>> events, Map<String, String> translatedContigs) {
         List<ClusteredVariantOperationEntity> allEventsAfterContigAlias = new ArrayList<>();
         for (IEvent<? extends IClusteredVariant, Long> event : events) {
             List<? extends IAccessionedObject<? extends IClusteredVariant, ?, Long>> inactiveObjects =
@@ -194,7 +228,7 @@ public class ContigAliasService {
             List<ClusteredVariantInactiveEntity> inactiveObjectsAfterContigAlias = new ArrayList<>();
             for (IAccessionedObject<? extends IClusteredVariant, ?, Long> inactiveObject : inactiveObjects) {
                 IClusteredVariant clusteredVariant = inactiveObject.getModel();
-                String translatedContig = translateContigFromInsdc(clusteredVariant.getContig(), contigNamingConvention);
+                String translatedContig = translatedContigs.get(clusteredVariant.getContig());
                 inactiveObjectsAfterContigAlias.add(createClusteredVariantInactiveEntityWithNewContig(
                         inactiveObject, clusteredVariant, translatedContig));
             }
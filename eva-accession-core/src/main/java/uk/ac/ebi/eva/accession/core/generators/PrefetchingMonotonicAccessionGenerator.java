@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.generators;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionIsNotPendingException;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.SaveResponse;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicAccessionGenerator;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRangePriorityQueue;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.jpa.monotonic.service.ContiguousIdBlockService;
+
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monotonic accession generator that reserves the accession blocks in the background, so that the accessioning jobs
+ * don't wait for the block reservation when a block runs out in the middle of a chunk.
+ *
+ * All the calls to the wrapped generator are made from a single background thread, so the callers never wait for the
+ * lock that the wrapped generator holds while it reserves a block in the database. New accessions are taken from a
+ * buffer that the background thread refills with one block worth of accessions, as soon as the accessions left in the
+ * buffer fall under the high-water mark of the current block. The callers only wait for a refill if the buffer runs
+ * out, which happens the first time and after bursts bigger than what is left in the buffer.
+ *
+ * Saved and released accessions are passed to the wrapped generator in the background too, in the same order as they
+ * are received. An exception thrown by the wrapped generator is rethrown by the next call to this generator. On
+ * shutdown, the accessions left in the buffer are released before the wrapped generator is shut down, so the unused
+ * part of the blocks is handed back as usual.
+ */
+public class PrefetchingMonotonicAccessionGenerator<MODEL> extends MonotonicAccessionGenerator<MODEL> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefetchingMonotonicAccessionGenerator.class);
+
+    public static final double DEFAULT_HIGH_WATER_MARK = 0.8;
+
+    private final String categoryId;
+
+    private final MonotonicAccessionGenerator<MODEL> generator;
+
+    private final int refillSize;
+
+    private final int lowWaterMark;
+
+    private final ExecutorService backgroundThread;
+
+    private final Deque<long[]> buffer;
+
+    private int firstBufferedIndex;
+
+    private long accessionsInBuffer;
+
+    private String bufferApplicationInstanceId;
+
+    private Future<long[]> pendingRefill;
+
+    private volatile Exception backgroundException;
+
+    private boolean shutDown;
+
+    private long accessionsGenerated;
+
+    private long refills;
+
+    private long refillsWaitedFor;
+
+    private long millisWaitedForRefills;
+
+    public PrefetchingMonotonicAccessionGenerator(String categoryId, ContiguousIdBlockService contiguousIdBlockService,
+                                                  MonotonicAccessionGenerator<MODEL> generator, long blockSize) {
+        this(categoryId, contiguousIdBlockService, generator, blockSize, DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * @param generator generator that reserves and commits the blocks. It must not be used by anyone else
+     * @param blockSize number of accessions requested to the wrapped generator in every refill
+     * @param highWaterMark fraction of the block that can be used before the next refill starts
+     */
+    public PrefetchingMonotonicAccessionGenerator(String categoryId, ContiguousIdBlockService contiguousIdBlockService,
+                                                  MonotonicAccessionGenerator<MODEL> generator, long blockSize,
+                                                  double highWaterMark) {
+        super(categoryId, contiguousIdBlockService, null);
+        if (blockSize < 1 || blockSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The block size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        if (highWaterMark <= 0 || highWaterMark > 1) {
+            throw new IllegalArgumentException("The high-water mark must be greater than 0 and not greater than 1");
+        }
+        this.categoryId = categoryId;
+        this.generator = generator;
+        this.refillSize = (int) blockSize;
+        this.lowWaterMark = (int) Math.ceil(blockSize * (1 - highWaterMark));
+        this.backgroundThread = Executors.newSingleThreadExecutor(
+                DaemonThreadFactory.named("accession-prefetcher-" + categoryId));
+        this.buffer = new ArrayDeque<>();
+    }
+
+    @Override
+    public synchronized long[] generateAccessions(int numAccessionsToGenerate, String applicationInstanceId) {
+        checkNotShutDown();
+        checkBackgroundException();
+        if (!applicationInstanceId.equals(bufferApplicationInstanceId)) {
+            releaseBuffer();
+            bufferApplicationInstanceId = applicationInstanceId;
+        }
+        addFinishedRefillToBuffer();
+
+        long[] accessions = new long[numAccessionsToGenerate];
+        int generated = 0;
+        while (generated < numAccessionsToGenerate) {
+            if (accessionsInBuffer == 0) {
+                waitForRefill(numAccessionsToGenerate - generated);
+            }
+            generated += pollBuffer(accessions, generated, numAccessionsToGenerate - generated);
+        }
+        accessionsGenerated += numAccessionsToGenerate;
+
+        if (accessionsInBuffer < lowWaterMark && pendingRefill == null) {
+            startRefill(refillSize);
+        }
+        return accessions;
+    }
+
+    @Override
+    public <HASH> List<AccessionWrapper<MODEL, HASH, Long>> generateAccessions(Map<HASH, MODEL> messages,
+                                                                               String applicationInstanceId) {
+        long[] accessions = generateAccessions(messages.size(), applicationInstanceId);
+        List<AccessionWrapper<MODEL, HASH, Long>> accessionedModels = new ArrayList<>(messages.size());
+        int i = 0;
+        for (Map.Entry<HASH, MODEL> entry : messages.entrySet()) {
+            accessionedModels.add(new AccessionWrapper<>(accessions[i++], entry.getKey(), entry.getValue()));
+        }
+        return accessionedModels;
+    }
+
+    private void addFinishedRefillToBuffer() {
+        if (pendingRefill != null && pendingRefill.isDone()) {
+            addRefillToBuffer();
+        }
+    }
+
+    private void waitForRefill(int accessionsNeeded) {
+        if (pendingRefill == null) {
+            startRefill(Math.max(accessionsNeeded, refillSize));
+        }
+        long start = System.currentTimeMillis();
+        addRefillToBuffer();
+        refillsWaitedFor++;
+        millisWaitedForRefills += System.currentTimeMillis() - start;
+    }
+
+    private void startRefill(int size) {
+        String applicationInstanceId = bufferApplicationInstanceId;
+        logger.debug("Prefetching {} accessions of category {}, {} accessions left in the buffer", size, categoryId,
+                     accessionsInBuffer);
+        pendingRefill = backgroundThread.submit(() -> generator.generateAccessions(size, applicationInstanceId));
+        refills++;
+    }
+
+    private void addRefillToBuffer() {
+        long[] accessions;
+        try {
+            accessions = waitFor(pendingRefill);
+        } finally {
+            // a failed refill is not retried until the next call, so the step can decide what to do
+            pendingRefill = null;
+        }
+        buffer.addLast(accessions);
+        accessionsInBuffer += accessions.length;
+    }
+
+    private int pollBuffer(long[] accessions, int offset, int maxAccessions) {
+        long[] firstRange = buffer.getFirst();
+        int polled = Math.min(maxAccessions, firstRange.length - firstBufferedIndex);
+        System.arraycopy(firstRange, firstBufferedIndex, accessions, offset, polled);
+        firstBufferedIndex += polled;
+        accessionsInBuffer -= polled;
+        if (firstBufferedIndex == firstRange.length) {
+            buffer.removeFirst();
+            firstBufferedIndex = 0;
+        }
+        return polled;
+    }
+
+    /**
+     * Gives the accessions that were not used back to the wrapped generator, including the ones of a refill in
+     * progress
+     */
+    private void releaseBuffer() {
+        if (pendingRefill != null) {
+            addRefillToBuffer();
+        }
+        if (accessionsInBuffer == 0) {
+            return;
+        }
+        long[] unusedAccessions = new long[(int) accessionsInBuffer];
+        int released = 0;
+        while (accessionsInBuffer > 0) {
+            released += pollBuffer(unusedAccessions, released, unusedAccessions.length - released);
+        }
+        runInBackground(() -> generator.release(unusedAccessions));
+    }
+
+    @Override
+    public synchronized void commit(long... accessions) throws AccessionIsNotPendingException {
+        checkBackgroundException();
+        runInBackground(() -> generator.commit(accessions));
+    }
+
+    @Override
+    public synchronized void release(long... accessions) throws AccessionIsNotPendingException {
+        checkBackgroundException();
+        runInBackground(() -> generator.release(accessions));
+    }
+
+    @Override
+    public synchronized void postSave(SaveResponse response) {
+        checkBackgroundException();
+        runInBackground(() -> generator.postSave(response));
+    }
+
+    /**
+     * The ranges of the wrapped generator, which don't include the accessions prefetched in the buffer
+     */
+    @Override
+    public synchronized MonotonicRangePriorityQueue getAvailableRanges() {
+        checkBackgroundException();
+        return waitFor(backgroundThread.submit(generator::getAvailableRanges));
+    }
+
+    @Override
+    public synchronized void shutDownAccessionGenerator() {
+        if (shutDown) {
+            return;
+        }
+        try {
+            releaseBuffer();
+            waitFor(backgroundThread.submit(() -> {
+                generator.shutDownAccessionGenerator();
+                return null;
+            }));
+        } finally {
+            shutDown = true;
+            backgroundThread.shutdown();
+            logger.info("Accession generator of category {} shut down: {} accessions generated, {} refills, {} of " +
+                                "them waited for during {} ms", categoryId, accessionsGenerated, refills,
+                        refillsWaitedFor, millisWaitedForRefills);
+        }
+        checkBackgroundException();
+    }
+
+    private void runInBackground(BackgroundTask task) {
+        backgroundThread.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Error in the background thread of the accession generator of category " + categoryId,
+                             e);
+                if (backgroundException == null) {
+                    backgroundException = e;
+                }
+            }
+        });
+    }
+
+    private static <T> T waitFor(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the accession generator", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void checkBackgroundException() {
+        Exception exception = backgroundException;
+        if (exception != null) {
+            throw new IllegalStateException("The accession generator of category " + categoryId + " failed in the " +
+                                                    "background", exception);
+        }
+    }
+
+    private void checkNotShutDown() {
+        if (shutDown) {
+            throw new IllegalStateException("The accession generator of category " + categoryId + " is shut down");
+        }
+    }
+
+    public synchronized long getAccessionsGenerated() {
+        return accessionsGenerated;
+    }
+
+    public synchronized long getAccessionsInBuffer() {
+        return accessionsInBuffer;
+    }
+
+    /**
+     * @return number of times that accessions were requested to the wrapped generator
+     */
+    public synchronized long getRefills() {
+        return refills;
+    }
+
+    /**
+     * @return number of refills that a caller had to wait for, because the buffer ran out
+     */
+    public synchronized long getRefillsWaitedFor() {
+        return refillsWaitedFor;
+    }
+
+    public synchronized long getMillisWaitedForRefills() {
+        return millisWaitedForRefills;
+    }
+
+    private interface BackgroundTask {
+
+        void run() throws Exception;
+    }
+}
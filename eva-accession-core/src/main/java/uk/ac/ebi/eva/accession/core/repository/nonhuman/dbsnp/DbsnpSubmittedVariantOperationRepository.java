@@ -21,7 +21,10 @@ import uk.ac.ebi.ampt2d.commons.accession.persistence.repositories.IHistoryRepos
 
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantOperationEntity;
 
+import java.util.List;
+
 public interface DbsnpSubmittedVariantOperationRepository extends IHistoryRepository<Long,
         DbsnpSubmittedVariantOperationEntity, String> {
 
+    List<DbsnpSubmittedVariantOperationEntity> findAllByAccessionIn(List<Long> accessions);
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.repository.nonhuman.eva;
+
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRange;
+
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Finds the accessions used in ranges of accessions (e.g. the blocks to recover), reading only the accession of each
+ * document.
+ *
+ * Every range is walked in sub-ranges that are scanned in parallel. Each scan is covered by the accession index, and
+ * the accessions found are marked in a bitmap of the sub-range instead of being kept as documents. Documents that
+ * share an accession (e.g. a variant remapped into several assemblies) are returned once per document, like a query
+ * of whole documents would.
+ */
+final class AccessionRangeScanner {
+
+    static final int DEFAULT_SUB_RANGE_SIZE = 100000;
+
+    static final int DEFAULT_THREADS = 4;
+
+    private static final String ACCESSION_FIELD = "accession";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final ThreadFactory THREAD_FACTORY = DaemonThreadFactory.numbered("accession-range-scanner-");
+
+    private final MongoOperations mongoOperations;
+
+    private final String collectionName;
+
+    private final int subRangeSize;
+
+    private final int threads;
+
+    AccessionRangeScanner(MongoOperations mongoOperations, Class<?> entityClass) {
+        this(mongoOperations, entityClass, DEFAULT_SUB_RANGE_SIZE, DEFAULT_THREADS);
+    }
+
+    AccessionRangeScanner(MongoOperations mongoOperations, Class<?> entityClass, int subRangeSize, int threads) {
+        if (subRangeSize < 1) {
+            throw new IllegalArgumentException("The sub-range size must be greater than 0");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be greater than 0");
+        }
+        this.mongoOperations = mongoOperations;
+        this.collectionName = mongoOperations.getCollectionName(entityClass);
+        this.subRangeSize = subRangeSize;
+        this.threads = threads;
+    }
+
+    /**
+     * @return the accessions found in the ranges (both ends included), sorted within each range
+     */
+    long[] findAccessionsInRanges(Collection<MonotonicRange> ranges) {
+        List<UsedAccessions> subRanges = new ArrayList<>();
+        for (MonotonicRange range : ranges) {
+            for (long start = range.getStart(); start <= range.getEnd(); start += subRangeSize) {
+                subRanges.add(new UsedAccessions(start, Math.min(start + subRangeSize - 1, range.getEnd())));
+            }
+        }
+        if (subRanges.size() == 1 || threads == 1) {
+            subRanges.forEach(this::scan);
+        } else {
+            scanInParallel(subRanges);
+        }
+
+        long[] accessions = new long[subRanges.stream().mapToInt(UsedAccessions::count).sum()];
+        int found = 0;
+        for (UsedAccessions subRange : subRanges) {
+            found = subRange.copyTo(accessions, found);
+        }
+        return accessions;
+    }
+
+    private void scanInParallel(List<UsedAccessions> subRanges) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, subRanges.size()), THREAD_FACTORY);
+        try {
+            List<Future<?>> scans = new ArrayList<>(subRanges.size());
+            for (UsedAccessions subRange : subRanges) {
+                scans.add(executor.submit(() -> scan(subRange)));
+            }
+            for (Future<?> scan : scans) {
+                scan.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning accession ranges of " + collectionName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void scan(UsedAccessions subRange) {
+        Query query = query(where(ACCESSION_FIELD).gte(subRange.start).lte(subRange.end));
+        query.fields().include(ACCESSION_FIELD).exclude(ID_FIELD);
+        mongoOperations.executeQuery(query, collectionName,
+                                     document -> subRange.add(((Number) document.get(ACCESSION_FIELD)).longValue()));
+    }
+
+    private static class UsedAccessions {
+
+        private final long start;
+
+        private final long end;
+
+        private final BitSet used;
+
+        /**
+         * Number of documents after the first one that have the same accession. Only accessions used more than once
+         * are present.
+         */
+        private final Map<Integer, Integer> repetitions;
+
+        private int count;
+
+        UsedAccessions(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.used = new BitSet((int) (end - start + 1));
+            this.repetitions = new HashMap<>();
+        }
+
+        void add(long accession) {
+            int offset = (int) (accession - start);
+            if (used.get(offset)) {
+                repetitions.merge(offset, 1, Integer::sum);
+            } else {
+                used.set(offset);
+            }
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int copyTo(long[] accessions, int position) {
+            for (int offset = used.nextSetBit(0); offset >= 0; offset = used.nextSetBit(offset + 1)) {
+                int times = 1 + repetitions.getOrDefault(offset, 0);
+                for (int i = 0; i < times; i++) {
+                    accessions[position++] = start + offset;
+                }
+            }
+            return position;
+        }
+    }
+}
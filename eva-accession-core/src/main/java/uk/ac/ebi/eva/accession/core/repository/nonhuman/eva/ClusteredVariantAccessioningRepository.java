@@ -19,11 +19,13 @@
 package uk.ac.ebi.eva.accession.core.repository.nonhuman.eva;
 
 import org.springframework.stereotype.Repository;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRange;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.models.AccessionProjection;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.repositories.IAccessionedObjectRepository;
 
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,6 +34,12 @@ public interface ClusteredVariantAccessioningRepository extends
 
     List<AccessionProjection<Long>> findByAccessionGreaterThanEqualAndAccessionLessThanEqual(Long start, Long end);
 
+    /**
+     * Same as {@link #findByAccessionGreaterThanEqualAndAccessionLessThanEqual} for several ranges, without loading
+     * the documents nor wrapping every accession
+     */
+    long[] findAccessionsInRanges(Collection<MonotonicRange> ranges);
+
     List<ClusteredVariantEntity> findByAssemblyAccessionAndAccessionIn(String referenceSequenceAccession,
                                                                        List<Long> accession);
 }
@@ -18,11 +18,13 @@
 package uk.ac.ebi.eva.accession.core.repository.nonhuman.eva;
 
 import org.springframework.stereotype.Repository;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRange;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.models.AccessionProjection;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.repositories.IAccessionedObjectRepository;
 
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -35,4 +37,10 @@ public interface SubmittedVariantAccessioningRepository extends
                                                                                 List<Long> accession);
 
     List<AccessionProjection<Long>> findByAccessionGreaterThanEqualAndAccessionLessThanEqual(Long start, Long end);
+
+    /**
+     * Same as {@link #findByAccessionGreaterThanEqualAndAccessionLessThanEqual} for several ranges, without loading
+     * the documents nor wrapping every accession
+     */
+    long[] findAccessionsInRanges(Collection<MonotonicRange> ranges);
 }
@@ -17,37 +17,37 @@
  */
 package uk.ac.ebi.eva.accession.core.repository.nonhuman.eva;
 
-import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRange;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.models.AccessionProjection;
-import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.AccessionedDocument;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.repository.BasicMongoDbAccessionedCustomRepositoryImpl;
 
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class SubmittedVariantAccessioningRepositoryImpl
         extends BasicMongoDbAccessionedCustomRepositoryImpl<Long, SubmittedVariantEntity> {
 
-    private MongoOperations mongoOperations;
+    private final AccessionRangeScanner accessionRangeScanner;
 
     public SubmittedVariantAccessioningRepositoryImpl(MongoTemplate mongoTemplate) {
         super(SubmittedVariantEntity.class, mongoTemplate);
-        mongoOperations = mongoTemplate;
+        accessionRangeScanner = new AccessionRangeScanner(mongoTemplate, SubmittedVariantEntity.class);
     }
 
-    public List<AccessionProjection<Long>> findByAccessionGreaterThanEqualAndAccessionLessThanEqual(Long start, Long end) {
-        Criteria criteria = new Criteria();
-        return mongoOperations.find(Query.query(criteria.andOperator(Criteria.where("accession").gte(start),
-                                                                     Criteria.where("accession").lte(end))),
-                                    SubmittedVariantEntity.class)
-                              .stream()
-                              .map(AccessionedDocument::getAccession)
-                              .map(accession -> (AccessionProjection<Long>) () -> accession)
-                              .collect(Collectors.toList());
+    public List<AccessionProjection<Long>> findByAccessionGreaterThanEqualAndAccessionLessThanEqual(Long start,
+                                                                                                    Long end) {
+        return Arrays.stream(findAccessionsInRanges(Collections.singletonList(new MonotonicRange(start, end))))
+                     .mapToObj(accession -> (AccessionProjection<Long>) () -> accession)
+                     .collect(Collectors.toList());
+    }
+
+    public long[] findAccessionsInRanges(Collection<MonotonicRange> ranges) {
+        return accessionRangeScanner.findAccessionsInRanges(ranges);
     }
 }
@@ -0,0 +1,57 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.history;
+
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.IEvent;
+
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+
+import java.util.List;
+
+public class ClusteredVariantHistory {
+
+    /**
+     * Active variants with the requested accession (or with any accession of its merge chain, if requested), or
+     * the last version of the variant if it was deprecated
+     */
+    private final List<AccessionWrapper<IClusteredVariant, String, Long>> variants;
+
+    /**
+     * Operations involving those accessions, sorted from oldest to newest
+     */
+    private final List<IEvent<? extends IClusteredVariant, Long>> operations;
+
+    public ClusteredVariantHistory(List<AccessionWrapper<IClusteredVariant, String, Long>> variants,
+                                   List<IEvent<? extends IClusteredVariant, Long>> operations) {
+        this.variants = variants;
+        this.operations = operations;
+    }
+
+    public List<AccessionWrapper<IClusteredVariant, String, Long>> getVariants() {
+        return variants;
+    }
+
+    public List<IEvent<? extends IClusteredVariant, Long>> getOperations() {
+        return operations;
+    }
+
+    public boolean isEmpty() {
+        return variants.isEmpty() && operations.isEmpty();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.history;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.IEvent;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.EventDocument;
+
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantInactiveEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Retrieves the active variants and the operations of a clustered variant (RS) with one query per collection, all of
+ * them running concurrently.
+ *
+ * This replaces calling the active and inactive services of each source one after the other, which needs several round
+ * trips per accession and a call to the contig alias service per event. Here each distinct contig in the response is
+ * translated only once.
+ */
+public class ClusteredVariantHistoryService {
+
+    private static final String ACCESSION_FIELD = "accession";
+
+    private static final String MERGE_INTO_FIELD = "mergeInto";
+
+    private static final String SPLIT_INTO_FIELD = "splitInto";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MongoTemplate humanMongoTemplate;
+
+    private final ContigAliasService contigAliasService;
+
+    private final Executor executor;
+
+    /**
+     * @param humanMongoTemplate template for the human database, or null if only non-human variants are served
+     * @param executor runs the queries to the different collections concurrently
+     */
+    public ClusteredVariantHistoryService(MongoTemplate mongoTemplate, MongoTemplate humanMongoTemplate,
+                                          ContigAliasService contigAliasService, Executor executor) {
+        this.mongoTemplate = mongoTemplate;
+        this.humanMongoTemplate = humanMongoTemplate;
+        this.contigAliasService = contigAliasService;
+        this.executor = executor;
+    }
+
+    public ClusteredVariantHistory getHistory(Long accession, ContigNamingConvention contigNamingConvention) {
+        return getHistory(accession, contigNamingConvention, false);
+    }
+
+    /**
+     * @param resolveMergeChain if true, follow the merge operations of the accession (and of the accessions it was
+     *                          merged into, and so on) and return the history of all of them
+     */
+    public ClusteredVariantHistory getHistory(Long accession, ContigNamingConvention contigNamingConvention,
+                                              boolean resolveMergeChain) {
+        Set<Long> visitedAccessions = new LinkedHashSet<>();
+        visitedAccessions.add(accession);
+        List<ClusteredVariantEntity> activeVariants = new ArrayList<>();
+        Map<String, EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity>> operations =
+                new LinkedHashMap<>();
+
+        Set<Long> accessionsToQuery = Collections.singleton(accession);
+        while (!accessionsToQuery.isEmpty()) {
+            HistoryDocuments documents = findDocuments(accessionsToQuery);
+            activeVariants.addAll(documents.activeVariants);
+            documents.operations.forEach(operation -> operations.putIfAbsent(operation.getId(), operation));
+            if (!resolveMergeChain) {
+                break;
+            }
+            Set<Long> mergeDestinations = new HashSet<>();
+            for (EventDocument<IClusteredVariant, Long, ?> operation : documents.operations) {
+                if (operation.getEventType() == EventType.MERGED
+                        && accessionsToQuery.contains(operation.getAccession())
+                        && operation.getMergedInto() != null
+                        && visitedAccessions.add(operation.getMergedInto())) {
+                    mergeDestinations.add(operation.getMergedInto());
+                }
+            }
+            accessionsToQuery = mergeDestinations;
+        }
+
+        List<EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity>> sortedOperations =
+                new ArrayList<>(operations.values());
+        sortedOperations.sort(Comparator.comparing(operation -> operation.getCreatedDate()));
+
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants = new ArrayList<>();
+        for (ClusteredVariantEntity activeVariant : activeVariants) {
+            variants.add(new AccessionWrapper<>(activeVariant.getAccession(), activeVariant.getHashedMessage(),
+                                                activeVariant.getModel()));
+        }
+        variants.addAll(getDeprecatedVariants(visitedAccessions, activeVariants, sortedOperations));
+
+        return translateContigs(variants, sortedOperations, contigNamingConvention);
+    }
+
+    private HistoryDocuments findDocuments(Collection<Long> accessions) {
+        Query activeQuery = query(where(ACCESSION_FIELD).in(accessions));
+        Query operationsQuery = query(new Criteria().orOperator(where(ACCESSION_FIELD).in(accessions),
+                                                                where(MERGE_INTO_FIELD).in(accessions),
+                                                                where(SPLIT_INTO_FIELD).in(accessions)));
+
+        CompletableFuture<List<ClusteredVariantEntity>> evaActive = supplyAsync(
+                () -> mongoTemplate.find(activeQuery, ClusteredVariantEntity.class));
+        CompletableFuture<List<DbsnpClusteredVariantEntity>> dbsnpActive = supplyAsync(
+                () -> mongoTemplate.find(activeQuery, DbsnpClusteredVariantEntity.class));
+        CompletableFuture<List<DbsnpClusteredVariantEntity>> humanActive = humanMongoTemplate == null ?
+                CompletableFuture.completedFuture(Collections.emptyList()) :
+                supplyAsync(() -> humanMongoTemplate.find(activeQuery, DbsnpClusteredVariantEntity.class));
+        CompletableFuture<List<ClusteredVariantOperationEntity>> evaOperations = supplyAsync(
+                () -> mongoTemplate.find(operationsQuery, ClusteredVariantOperationEntity.class));
+        CompletableFuture<List<DbsnpClusteredVariantOperationEntity>> dbsnpOperations = supplyAsync(
+                () -> mongoTemplate.find(operationsQuery, DbsnpClusteredVariantOperationEntity.class));
+
+        HistoryDocuments documents = new HistoryDocuments();
+        documents.activeVariants.addAll(join(evaActive));
+        documents.activeVariants.addAll(join(dbsnpActive));
+        documents.activeVariants.addAll(join(humanActive));
+        documents.operations.addAll(join(dbsnpOperations));
+        documents.operations.addAll(join(evaOperations));
+        return documents;
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Accessions without active variants whose last operation is a deprecation are represented by the variants that
+     * were deprecated, the same way the accessioning services report them.
+     */
+    private List<AccessionWrapper<IClusteredVariant, String, Long>> getDeprecatedVariants(
+            Set<Long> accessions, List<ClusteredVariantEntity> activeVariants,
+            List<EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity>> sortedOperations) {
+        Set<Long> activeAccessions = activeVariants.stream().map(ClusteredVariantEntity::getAccession)
+                                                   .collect(Collectors.toSet());
+        List<AccessionWrapper<IClusteredVariant, String, Long>> deprecatedVariants = new ArrayList<>();
+        for (Long accession : accessions) {
+            if (activeAccessions.contains(accession)) {
+                continue;
+            }
+            EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity> lastOperation = null;
+            for (EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity> operation :
+                    sortedOperations) {
+                if (accession.equals(operation.getAccession())) {
+                    lastOperation = operation;
+                }
+            }
+            if (lastOperation != null && lastOperation.getEventType() == EventType.DEPRECATED) {
+                for (ClusteredVariantInactiveEntity inactiveVariant : lastOperation.getInactiveObjects()) {
+                    deprecatedVariants.add(new AccessionWrapper<>(inactiveVariant.getAccession(),
+                                                                  inactiveVariant.getHashedMessage(),
+                                                                  inactiveVariant.getModel()));
+                }
+            }
+        }
+        return deprecatedVariants;
+    }
+
+    private ClusteredVariantHistory translateContigs(
+            List<AccessionWrapper<IClusteredVariant, String, Long>> variants,
+            List<EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity>> operations,
+            ContigNamingConvention contigNamingConvention) {
+        List<String> contigs = new ArrayList<>();
+        variants.forEach(variant -> contigs.add(variant.getData().getContig()));
+        operations.forEach(operation -> operation.getInactiveObjects()
+                                                 .forEach(inactiveVariant -> contigs.add(inactiveVariant.getContig())));
+        Map<String, String> translatedContigs = contigAliasService.translateContigsFromInsdc(contigs,
+                                                                                            contigNamingConvention);
+        boolean contigsChanged = translatedContigs.entrySet().stream()
+                                                  .anyMatch(entry -> !entry.getKey().equals(entry.getValue()));
+        if (!contigsChanged) {
+            return new ClusteredVariantHistory(variants, new ArrayList<>(operations));
+        }
+
+        List<AccessionWrapper<IClusteredVariant, String, Long>> translatedVariants =
+                variants.stream()
+                        .map(variant -> contigAliasService.createClusteredVariantAccessionWrapperWithNewContig(
+                                variant, translatedContigs.get(variant.getData().getContig())))
+                        .collect(Collectors.toList());
+        return new ClusteredVariantHistory(translatedVariants, new ArrayList<>(
+                contigAliasService.getEventsWithTranslatedContig(operations, translatedContigs)));
+    }
+
+    private static class HistoryDocuments {
+
+        private final List<ClusteredVariantEntity> activeVariants = new ArrayList<>();
+
+        private final List<EventDocument<IClusteredVariant, Long, ? extends ClusteredVariantInactiveEntity>>
+                operations = new ArrayList<>();
+    }
+}
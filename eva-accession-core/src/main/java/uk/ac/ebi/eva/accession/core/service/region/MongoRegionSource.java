@@ -0,0 +1,104 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.AccessionedDocument;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Region queries over one variant collection.
+ *
+ * The query has equality filters on the assembly and contig and a range on the start, and it is sorted by start and
+ * _id, which is the hash. The index on assembly, contig, start and _id created by {@link #ensureIndex()} answers it by
+ * walking the index and stopping after {@code limit} documents, no matter how dense the region is. With an index on
+ * assembly, contig and start only, Mongo would read the rest of the region and keep the first {@code limit} documents
+ * in memory, so every page would cost as much as the remaining region.
+ *
+ * Resuming after a given variant only adds a condition on the _id of the variants at the resumed start, so the query
+ * is still a single range over the index, instead of skipping over the variants already returned.
+ */
+public class MongoRegionSource<MODEL> implements RegionSource<MODEL> {
+
+    public static final String CLUSTERED_VARIANT_ASSEMBLY_FIELD = "asm";
+
+    public static final String SUBMITTED_VARIANT_ASSEMBLY_FIELD = "seq";
+
+    public static final String CONTIG_FIELD = "contig";
+
+    public static final String START_FIELD = "start";
+
+    public static final String ID_FIELD = "_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Class<? extends AccessionedDocument<MODEL, Long>> entityClass;
+
+    private final String assemblyField;
+
+    public MongoRegionSource(MongoTemplate mongoTemplate, Class<? extends AccessionedDocument<MODEL, Long>> entityClass,
+                             String assemblyField) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityClass = entityClass;
+        this.assemblyField = assemblyField;
+    }
+
+    /**
+     * Creates in background the index that serves the region queries in order, if it doesn't exist yet
+     */
+    public void ensureIndex() {
+        mongoTemplate.indexOps(entityClass).ensureIndex(new Index().on(assemblyField, Sort.Direction.ASC)
+                                                                   .on(CONTIG_FIELD, Sort.Direction.ASC)
+                                                                   .on(START_FIELD, Sort.Direction.ASC)
+                                                                   .on(ID_FIELD, Sort.Direction.ASC)
+                                                                   .background());
+    }
+
+    @Override
+    public List<AccessionWrapper<MODEL, String, Long>> findInRegion(String assembly, String contig, long start,
+                                                                    boolean includeStart, String afterHash,
+                                                                    long end, int limit) {
+        Criteria criteria = Criteria.where(assemblyField).is(assembly).and(CONTIG_FIELD).is(contig);
+        if (!includeStart) {
+            criteria.and(START_FIELD).gt(start).lte(end);
+        } else if (afterHash == null) {
+            criteria.and(START_FIELD).gte(start).lte(end);
+        } else {
+            criteria.and(START_FIELD).gte(start).lte(end)
+                    .orOperator(Criteria.where(START_FIELD).gt(start), Criteria.where(ID_FIELD).gt(afterHash));
+        }
+        Query query = new Query(criteria);
+        query.with(Sort.by(START_FIELD, ID_FIELD)).limit(limit);
+        return mongoTemplate.find(query, entityClass)
+                            .stream()
+                            .map(this::toModelWrapper)
+                            .collect(Collectors.toList());
+    }
+
+    private AccessionWrapper<MODEL, String, Long> toModelWrapper(AccessionedDocument<MODEL, Long> entity) {
+        return new AccessionWrapper<>(entity.getAccession(), entity.getHashedMessage(), entity.getModel(),
+                                      entity.getVersion());
+    }
+}
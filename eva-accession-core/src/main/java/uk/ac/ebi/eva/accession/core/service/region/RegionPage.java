@@ -0,0 +1,45 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+
+import java.util.List;
+
+public class RegionPage<MODEL> {
+
+    private final List<AccessionWrapper<MODEL, String, Long>> variants;
+
+    /**
+     * Token to request the next page, or null if this is the last page of the region
+     */
+    private final String nextPageToken;
+
+    public RegionPage(List<AccessionWrapper<MODEL, String, Long>> variants, String nextPageToken) {
+        this.variants = variants;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<AccessionWrapper<MODEL, String, Long>> getVariants() {
+        return variants;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
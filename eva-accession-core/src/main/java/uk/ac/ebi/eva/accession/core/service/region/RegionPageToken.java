@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last variant returned in a page of a region query.
+ *
+ * Variants are returned sorted by start, then by source and then by hash, so the last variant of a page is identified
+ * by its start, the index of its source and its hash.
+ */
+public class RegionPageToken {
+
+    private static final String SEPARATOR = ":";
+
+    private final long start;
+
+    private final int source;
+
+    private final String hash;
+
+    public RegionPageToken(long start, int source, String hash) {
+        this.start = start;
+        this.source = source;
+        this.hash = hash;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String encode() {
+        String token = start + SEPARATOR + source + SEPARATOR + hash;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RegionPageToken decode(String encodedToken) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(encodedToken), StandardCharsets.UTF_8);
+            // the hash is the last field, so it is kept whole even if it contains the separator
+            String[] fields = token.split(SEPARATOR, 3);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Invalid page token: " + encodedToken);
+            }
+            RegionPageToken regionPageToken = new RegionPageToken(Long.parseLong(fields[0]),
+                                                                  Integer.parseInt(fields[1]),
+                                                                  fields[2]);
+            if (regionPageToken.source < 0 || regionPageToken.hash.isEmpty()) {
+                throw new IllegalArgumentException("Invalid page token: " + encodedToken);
+            }
+            return regionPageToken;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are also IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid page token: " + encodedToken, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        RegionPageToken that = (RegionPageToken) o;
+
+        if (start != that.start) {
+            return false;
+        }
+        if (source != that.source) {
+            return false;
+        }
+        return hash.equals(that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (start ^ (start >>> 32));
+        result = 31 * result + source;
+        result = 31 * result + hash.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RegionPageToken{"
+                + "start=" + start
+                + ", source=" + source
+                + ", hash='" + hash + '\''
+                + '}';
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+
+import java.util.List;
+
+/**
+ * A collection that can be queried for the variants in a region of a contig.
+ */
+public interface RegionSource<MODEL> {
+
+    /**
+     * Returns the variants in the given assembly and contig with a start between {@code start} and {@code end}, sorted
+     * by start and then by hash (the document id), so that the iteration can be resumed after any variant.
+     *
+     * @param includeStart whether variants starting exactly at {@code start} should be returned
+     * @param afterHash if not null, only the variants starting exactly at {@code start} with a greater hash are
+     *                  returned. Ignored if includeStart is false
+     * @param limit maximum number of variants to return
+     */
+    List<AccessionWrapper<MODEL, String, Long>> findInRegion(String assembly, String contig, long start,
+                                                             boolean includeStart, String afterHash, long end,
+                                                             int limit);
+}
@@ -0,0 +1,158 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
+import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Paginated retrieval of the variants in a region, merged by position across several collections (e.g. EVA and dbSNP,
+ * human and non-human).
+ *
+ * Each page issues at most one bounded query per source: every source is asked for {@code pageSize + 1} variants after
+ * the variant stored in the page token, and the results are merged by start, source index and hash. The first
+ * {@code pageSize} merged variants are always a correct prefix of the full merged order, because any variant that a
+ * source did not return sorts after all the variants it did return.
+ */
+public class VariantRegionService<MODEL> {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final List<RegionSource<MODEL>> sources;
+
+    private final ToLongFunction<MODEL> startFunction;
+
+    private final BiFunction<AccessionWrapper<MODEL, String, Long>, String, AccessionWrapper<MODEL, String, Long>>
+            contigReplacer;
+
+    private final ContigAliasService contigAliasService;
+
+    /**
+     * @param sources collections to query. The order must not change between deployments, as page tokens store
+     *                indexes into this list
+     * @param contigReplacer creates a copy of a variant with another contig name
+     */
+    public VariantRegionService(List<RegionSource<MODEL>> sources, ToLongFunction<MODEL> startFunction,
+                                BiFunction<AccessionWrapper<MODEL, String, Long>, String,
+                                        AccessionWrapper<MODEL, String, Long>> contigReplacer,
+                                ContigAliasService contigAliasService) {
+        this.sources = sources;
+        this.startFunction = startFunction;
+        this.contigReplacer = contigReplacer;
+        this.contigAliasService = contigAliasService;
+    }
+
+    /**
+     * @param start first position of the region, inclusive
+     * @param end last position of the region, inclusive
+     * @param pageToken token returned in the previous page, or null to get the first page
+     */
+    public RegionPage<MODEL> getPage(String assembly, String contig, long start, long end, String pageToken,
+                                     int pageSize, ContigNamingConvention contigNamingConvention) {
+        if (start > end) {
+            throw new IllegalArgumentException("The start of the region (" + start + ") can't be greater than its end ("
+                                                       + end + ")");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        RegionPageToken previousToken = pageToken == null ? null : RegionPageToken.decode(pageToken);
+        if (previousToken != null && (previousToken.getStart() < start || previousToken.getStart() > end
+                || previousToken.getSource() >= sources.size())) {
+            throw new IllegalArgumentException("The page token doesn't belong to the requested region");
+        }
+
+        String insdcContig = contigAliasService.translateContigToInsdc(contig, assembly, contigNamingConvention);
+        List<SourcedVariant> mergedVariants = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            List<AccessionWrapper<MODEL, String, Long>> variants;
+            if (previousToken == null) {
+                variants = sources.get(i).findInRegion(assembly, insdcContig, start, true, null, end,
+                                                       pageSize + 1);
+            } else {
+                // the variants at the token position were already returned for the sources before the token's
+                // source, returned up to the token's hash for the token's source, and not returned yet for the
+                // sources after it
+                boolean includeTokenStart = i >= previousToken.getSource();
+                String afterHash = i == previousToken.getSource() ? previousToken.getHash() : null;
+                variants = sources.get(i).findInRegion(assembly, insdcContig, previousToken.getStart(),
+                                                       includeTokenStart, afterHash, end, pageSize + 1);
+            }
+            for (AccessionWrapper<MODEL, String, Long> variant : variants) {
+                mergedVariants.add(new SourcedVariant(variant, i));
+            }
+        }
+
+        // hashes are ASCII, so String order matches the order of the _id index in Mongo
+        mergedVariants.sort(Comparator.comparingLong(SourcedVariant::getStart)
+                                      .thenComparingInt(SourcedVariant::getSource)
+                                      .thenComparing(sourcedVariant -> sourcedVariant.getVariant().getHash()));
+        List<SourcedVariant> page = mergedVariants.subList(0, Math.min(pageSize, mergedVariants.size()));
+
+        String nextPageToken = null;
+        if (mergedVariants.size() > pageSize) {
+            SourcedVariant lastVariant = page.get(page.size() - 1);
+            nextPageToken = new RegionPageToken(lastVariant.getStart(), lastVariant.getSource(),
+                                                lastVariant.getVariant().getHash()).encode();
+        }
+
+        boolean renameContig = !insdcContig.equals(contig);
+        List<AccessionWrapper<MODEL, String, Long>> variants =
+                page.stream()
+                    .map(SourcedVariant::getVariant)
+                    .map(variant -> renameContig ? contigReplacer.apply(variant, contig) : variant)
+                    .collect(Collectors.toList());
+        return new RegionPage<>(variants, nextPageToken);
+    }
+
+    private class SourcedVariant {
+
+        private final AccessionWrapper<MODEL, String, Long> variant;
+
+        private final int source;
+
+        private final long start;
+
+        SourcedVariant(AccessionWrapper<MODEL, String, Long> variant, int source) {
+            this.variant = variant;
+            this.source = source;
+            this.start = startFunction.applyAsLong(variant.getData());
+        }
+
+        AccessionWrapper<MODEL, String, Long> getVariant() {
+            return variant;
+        }
+
+        int getSource() {
+            return source;
+        }
+
+        long getStart() {
+            return start;
+        }
+    }
+}
@@ -44,7 +44,6 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
 import uk.ac.ebi.eva.accession.core.test.configuration.nonhuman.MongoTestConfiguration;
 import uk.ac.ebi.eva.accession.core.test.rule.FixSpringMongoDbRule;
@@ -78,9 +77,6 @@ public class ClusteredVariantDeprecationWriterTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
-    @Autowired
-    private SubmittedVariantAccessioningService submittedVariantAccessioningService;
-
     private SubmittedVariantEntity ss1, ss2, ss3, ss4;
     private ClusteredVariantEntity rs1, rs2;
 
@@ -125,7 +121,6 @@ public class ClusteredVariantDeprecationWriterTest {
 
         ClusteredVariantDeprecationWriter cveDeprecationWriter =
                 new ClusteredVariantDeprecationWriter(ASSEMBLY, this.mongoTemplate,
-                                                      this.submittedVariantAccessioningService,
                                                       this.accessioningMonotonicInitRs,
                                                       "TEST", "Deprecation test");
 
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.batch.io;
+
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import com.mongodb.MongoClient;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.EventDocument;
+
+import uk.ac.ebi.eva.accession.core.EVAObjectModelUtils;
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantInactiveEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.core.test.configuration.nonhuman.MongoTestConfiguration;
+import uk.ac.ebi.eva.accession.core.test.rule.FixSpringMongoDbRule;
+import uk.ac.ebi.eva.commons.core.models.VariantType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource("classpath:ss-deprecation-test.properties")
+@EnableAutoConfiguration
+@ContextConfiguration(classes = {MongoConfiguration.class, MongoTestConfiguration.class})
+public class DeprecationOperationsWriterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeprecationOperationsWriterTest.class);
+
+    private static final String BENCHMARK_CHUNKS_PROPERTY = "deprecation.benchmark.chunks";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String TEST_DB = "deprecation-operations-test";
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    private static final int TAXONOMY = 60711;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName(TEST_DB).build());
+
+    @Before
+    public void setUp() {
+        mongoClient.dropDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        mongoClient.dropDatabase(TEST_DB);
+    }
+
+    @Test
+    public void operationsAreOnlyInsertedOnce() {
+        ClusteredVariantOperationEntity operation1 = createOperation(1L, 100L, "First run");
+        ClusteredVariantOperationEntity operation2 = createOperation(2L, 200L, "First run");
+        assertEquals(2, DeprecationOperationsWriter.insertIfAbsent(mongoTemplate,
+                                                                   Arrays.asList(operation1, operation2),
+                                                                   ClusteredVariantOperationEntity.class));
+
+        // a second run writes the same ids, and only the new operation is inserted
+        ClusteredVariantOperationEntity operation1Again = createOperation(1L, 100L, "Second run");
+        ClusteredVariantOperationEntity operation3 = createOperation(3L, 300L, "Second run");
+        assertEquals(1, DeprecationOperationsWriter.insertIfAbsent(mongoTemplate,
+                                                                   Arrays.asList(operation1Again, operation3),
+                                                                   ClusteredVariantOperationEntity.class));
+
+        assertEquals(3, mongoTemplate.count(new Query(), ClusteredVariantOperationEntity.class));
+        ClusteredVariantOperationEntity storedOperation1 = mongoTemplate.findById(
+                operation1.getId(), ClusteredVariantOperationEntity.class);
+        assertEquals("First run", storedOperation1.getReason());
+        assertEquals(EventType.DEPRECATED, storedOperation1.getEventType());
+        assertEquals(Long.valueOf(1L), storedOperation1.getAccession());
+        assertEquals(1, storedOperation1.getInactiveObjects().size());
+        assertEquals("Second run", mongoTemplate.findById(operation3.getId(), ClusteredVariantOperationEntity.class)
+                                                .getReason());
+    }
+
+    @Test
+    public void rerunningTheSameOperationsInsertsNothing() {
+        ClusteredVariantOperationEntity operation1 = createOperation(1L, 100L, "Deprecation test");
+        ClusteredVariantOperationEntity operation2 = createOperation(2L, 200L, "Deprecation test");
+        DeprecationOperationsWriter.insertIfAbsent(mongoTemplate, Arrays.asList(operation1, operation2),
+                                                   ClusteredVariantOperationEntity.class);
+
+        assertEquals(0, DeprecationOperationsWriter.insertIfAbsent(mongoTemplate,
+                                                                   Arrays.asList(operation1, operation2),
+                                                                   ClusteredVariantOperationEntity.class));
+        assertEquals(2, mongoTemplate.count(new Query(), ClusteredVariantOperationEntity.class));
+        assertEquals(0, DeprecationOperationsWriter.insertIfAbsent(mongoTemplate, Collections.emptyList(),
+                                                                   ClusteredVariantOperationEntity.class));
+    }
+
+    /**
+     * Compares the latency per chunk of the upserts with the previous writes, which queried the existing ids and then
+     * inserted the rest. Half of the operations already exist, as when a deprecation job is run again.
+     */
+    @Test
+    public void benchmark() {
+        String chunks = System.getProperty(BENCHMARK_CHUNKS_PROPERTY);
+        Assume.assumeTrue("Set -D" + BENCHMARK_CHUNKS_PROPERTY + " to run the benchmark", chunks != null);
+        List<List<ClusteredVariantOperationEntity>> chunkOperations = createChunks(Integer.parseInt(chunks));
+
+        writeHalfOfTheOperations(chunkOperations);
+        long start = System.nanoTime();
+        int queryAndInsertCount = 0;
+        for (List<ClusteredVariantOperationEntity> operations : chunkOperations) {
+            queryAndInsertCount += insertAfterQueryingExistingIds(operations);
+        }
+        long queryAndInsertMillis = (System.nanoTime() - start) / 1_000_000;
+        long queryAndInsertTotal = mongoTemplate.count(new Query(), ClusteredVariantOperationEntity.class);
+
+        mongoClient.dropDatabase(TEST_DB);
+        writeHalfOfTheOperations(chunkOperations);
+        start = System.nanoTime();
+        int upsertCount = 0;
+        for (List<ClusteredVariantOperationEntity> operations : chunkOperations) {
+            upsertCount += DeprecationOperationsWriter.insertIfAbsent(mongoTemplate, operations,
+                                                                      ClusteredVariantOperationEntity.class);
+        }
+        long upsertMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Wrote {} chunks of {} operations, half of them existing: query and insert {} ms per chunk, "
+                            + "upserts {} ms per chunk", chunkOperations.size(), CHUNK_SIZE,
+                    (double) queryAndInsertMillis / chunkOperations.size(),
+                    (double) upsertMillis / chunkOperations.size());
+        assertEquals(queryAndInsertCount, upsertCount);
+        assertEquals(queryAndInsertTotal, mongoTemplate.count(new Query(), ClusteredVariantOperationEntity.class));
+    }
+
+    private List<List<ClusteredVariantOperationEntity>> createChunks(int chunks) {
+        List<List<ClusteredVariantOperationEntity>> chunkOperations = new ArrayList<>();
+        long accession = 1;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            List<ClusteredVariantOperationEntity> operations = new ArrayList<>();
+            for (int i = 0; i < CHUNK_SIZE; i++, accession++) {
+                operations.add(createOperation(accession, accession * 100, "Deprecation benchmark"));
+            }
+            chunkOperations.add(operations);
+        }
+        return chunkOperations;
+    }
+
+    private void writeHalfOfTheOperations(List<List<ClusteredVariantOperationEntity>> chunkOperations) {
+        for (List<ClusteredVariantOperationEntity> operations : chunkOperations) {
+            mongoTemplate.insert(operations.subList(0, operations.size() / 2), ClusteredVariantOperationEntity.class);
+        }
+    }
+
+    /**
+     * How the deprecation writers wrote the operations before {@link DeprecationOperationsWriter}
+     */
+    private int insertAfterQueryingExistingIds(List<ClusteredVariantOperationEntity> operations) {
+        Set<String> operationIds = operations.stream().map(EventDocument::getId).collect(Collectors.toSet());
+        Set<String> alreadyExistingIds = mongoTemplate.find(query(where("_id").in(operationIds)),
+                                                            ClusteredVariantOperationEntity.class)
+                                                      .stream().map(EventDocument::getId)
+                                                      .collect(Collectors.toSet());
+        operationIds.removeAll(alreadyExistingIds);
+        List<ClusteredVariantOperationEntity> operationsToWrite =
+                operations.stream().filter(operation -> operationIds.contains(operation.getId()))
+                          .collect(Collectors.toList());
+        mongoTemplate.insert(operationsToWrite, ClusteredVariantOperationEntity.class);
+        return operationsToWrite.size();
+    }
+
+    private ClusteredVariantOperationEntity createOperation(Long accession, long start, String reason) {
+        ClusteredVariantEntity cve = EVAObjectModelUtils.toClusteredVariantEntity(
+                accession, new ClusteredVariant(ASSEMBLY, TAXONOMY, "chr1", start, VariantType.SNV, false, null));
+        ClusteredVariantOperationEntity operation = new ClusteredVariantOperationEntity();
+        operation.fill(EventType.DEPRECATED, accession, null, reason,
+                       Collections.singletonList(new ClusteredVariantInactiveEntity(cve)));
+        operation.setId(String.join("_", "RS_DEPRECATED", "TEST", cve.getId()));
+        return operation;
+    }
+}
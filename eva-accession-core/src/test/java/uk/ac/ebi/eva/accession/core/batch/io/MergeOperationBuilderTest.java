@@ -0,0 +1,160 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.batch.io;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.Before;
+import org.junit.Test;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
+
+import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantInactiveEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static uk.ac.ebi.eva.commons.core.models.VariantType.SNV;
+
+public class MergeOperationBuilderTest {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private Map<String, DbsnpClusteredVariantEntity> variantsInDatabase;
+
+    private List<DbsnpClusteredVariantOperationEntity> operationsInDatabase;
+
+    private int variantQueries;
+
+    private int operationQueries;
+
+    private MergeOperationBuilder<DbsnpClusteredVariantEntity, DbsnpClusteredVariantOperationEntity> builder;
+
+    @Before
+    public void setUp() {
+        variantsInDatabase = new HashMap<>();
+        operationsInDatabase = new ArrayList<>();
+        variantQueries = 0;
+        operationQueries = 0;
+        builder = new MergeOperationBuilder<>(
+                hashes -> {
+                    variantQueries++;
+                    return hashes.stream()
+                                 .filter(variantsInDatabase::containsKey)
+                                 .map(variantsInDatabase::get)
+                                 .collect(Collectors.toList());
+                },
+                accessions -> {
+                    operationQueries++;
+                    return operationsInDatabase.stream()
+                                               .filter(operation -> accessions.contains(operation.getAccession()))
+                                               .collect(Collectors.toList());
+                },
+                MergeOperationBuilderTest::buildMergeOperation);
+    }
+
+    private static DbsnpClusteredVariantOperationEntity buildMergeOperation(DbsnpClusteredVariantEntity origin,
+                                                                           DbsnpClusteredVariantEntity mergedInto) {
+        DbsnpClusteredVariantOperationEntity operation = new DbsnpClusteredVariantOperationEntity();
+        operation.fill(EventType.MERGED, origin.getAccession(), mergedInto.getAccession(), "Test merge",
+                       Collections.singletonList(new DbsnpClusteredVariantInactiveEntity(origin)));
+        return operation;
+    }
+
+    private static DbsnpClusteredVariantEntity buildVariant(Long accession, String hash, long start) {
+        return new DbsnpClusteredVariantEntity(accession, hash,
+                                               new ClusteredVariant("GCA_000000001.1", 9606, "CM000001.1", start, SNV,
+                                                                    false, null));
+    }
+
+    private static MongoBulkWriteException buildException(String... hashes) {
+        List<BulkWriteError> errors = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            errors.add(new BulkWriteError(DUPLICATE_KEY_ERROR_CODE,
+                                          "E11000 duplicate key error collection: test.dbsnpClusteredVariantEntity "
+                                                  + "index: _id_ dup key: { : \"" + hashes[i] + "\" }",
+                                          new BsonDocument(), i));
+        }
+        return new MongoBulkWriteException(BulkWriteResult.unacknowledged(), errors, null,
+                                           new ServerAddress("localhost"));
+    }
+
+    @Test
+    public void mergeOperationsAreBuiltWithOneQueryPerCollection() {
+        variantsInDatabase.put("hash1", buildVariant(1L, "hash1", 100));
+        variantsInDatabase.put("hash2", buildVariant(2L, "hash2", 200));
+        variantsInDatabase.put("hash3", buildVariant(3L, "hash3", 300));
+        List<DbsnpClusteredVariantEntity> variants = Arrays.asList(buildVariant(11L, "hash1", 100),
+                                                                   buildVariant(12L, "hash2", 200),
+                                                                   buildVariant(13L, "hash3", 300),
+                                                                   buildVariant(14L, "hash3", 300),
+                                                                   buildVariant(14L, "hash3", 300),
+                                                                   buildVariant(3L, "hash3", 300));
+
+        List<DbsnpClusteredVariantOperationEntity> operations = builder.buildMergeOperationsFromException(
+                variants, buildException("hash1", "hash2", "hash3"));
+
+        assertEquals(4, operations.size());
+        assertEquals(Arrays.asList(11L, 12L, 13L, 14L),
+                     operations.stream().map(DbsnpClusteredVariantOperationEntity::getAccession).sorted()
+                               .collect(Collectors.toList()));
+        assertEquals(1, variantQueries);
+        assertEquals(1, operationQueries);
+    }
+
+    @Test
+    public void existingMergeOperationsAreNotRepeated() {
+        variantsInDatabase.put("hash1", buildVariant(1L, "hash1", 100));
+        DbsnpClusteredVariantEntity alreadyMerged = buildVariant(11L, "hash1", 100);
+        operationsInDatabase.add(buildMergeOperation(alreadyMerged, variantsInDatabase.get("hash1")));
+
+        List<DbsnpClusteredVariantOperationEntity> operations = builder.buildMergeOperationsFromException(
+                Arrays.asList(alreadyMerged, buildVariant(12L, "hash1", 100)), buildException("hash1"));
+
+        assertEquals(1, operations.size());
+        assertEquals(Long.valueOf(12L), operations.get(0).getAccession());
+        assertEquals(Long.valueOf(1L), operations.get(0).getMergedInto());
+    }
+
+    @Test
+    public void noQueriesIfThereAreNoDuplicates() {
+        List<DbsnpClusteredVariantOperationEntity> operations = builder.buildMergeOperationsFromException(
+                Collections.singletonList(buildVariant(11L, "hash1", 100)), buildException());
+
+        assertEquals(0, operations.size());
+        assertEquals(0, variantQueries);
+        assertEquals(0, operationQueries);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void duplicateWithoutVariantInDatabase() {
+        builder.buildMergeOperationsFromException(Collections.singletonList(buildVariant(11L, "hash1", 100)),
+                                                  buildException("hash1"));
+    }
+}
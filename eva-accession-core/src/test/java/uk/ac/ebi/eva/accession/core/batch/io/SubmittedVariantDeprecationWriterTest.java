@@ -47,7 +47,6 @@ import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
 import uk.ac.ebi.eva.accession.core.test.configuration.nonhuman.MongoTestConfiguration;
 import uk.ac.ebi.eva.accession.core.test.rule.FixSpringMongoDbRule;
@@ -86,9 +85,6 @@ public class SubmittedVariantDeprecationWriterTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
-    @Autowired
-    private SubmittedVariantAccessioningService submittedVariantAccessioningService;
-
     @Autowired
     private ClusteredVariantAccessioningService clusteredVariantAccessioningService;
 
@@ -136,7 +132,6 @@ public class SubmittedVariantDeprecationWriterTest {
 
         SubmittedVariantDeprecationWriter sveDeprecationWriter =
                 new SubmittedVariantDeprecationWriter(ASSEMBLY, this.mongoTemplate,
-                                                      this.submittedVariantAccessioningService,
                                                       this.clusteredVariantAccessioningService,
                                                       this.accessioningMonotonicInitSs,
                                                       this.accessioningMonotonicInitRs,
@@ -230,7 +225,6 @@ public class SubmittedVariantDeprecationWriterTest {
 
         SubmittedVariantDeprecationWriter sveDeprecationWriter =
                 new SubmittedVariantDeprecationWriter(ASSEMBLY, this.mongoTemplate,
-                        this.submittedVariantAccessioningService,
                         this.clusteredVariantAccessioningService,
                         this.accessioningMonotonicInitSs,
                         this.accessioningMonotonicInitRs,
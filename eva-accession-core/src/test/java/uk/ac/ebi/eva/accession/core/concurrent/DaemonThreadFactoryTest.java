@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DaemonThreadFactoryTest {
+
+    @Test
+    public void numberedThreads() {
+        ThreadFactory threadFactory = DaemonThreadFactory.numbered("reader-");
+        Thread first = threadFactory.newThread(() -> {});
+        Thread second = threadFactory.newThread(() -> {});
+
+        assertEquals("reader-1", first.getName());
+        assertEquals("reader-2", second.getName());
+        assertTrue(first.isDaemon());
+        assertTrue(second.isDaemon());
+    }
+
+    @Test
+    public void namedThreads() {
+        ThreadFactory threadFactory = DaemonThreadFactory.named("writer");
+        Thread first = threadFactory.newThread(() -> {});
+        Thread second = threadFactory.newThread(() -> {});
+
+        assertEquals("writer", first.getName());
+        assertEquals("writer", second.getName());
+        assertTrue(first.isDaemon());
+        assertTrue(second.isDaemon());
+    }
+}
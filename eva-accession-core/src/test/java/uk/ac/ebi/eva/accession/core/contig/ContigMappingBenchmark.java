@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.contig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ContigMapping#getContigSynonyms(String)}, a single lookup in the map of any contig name, with the
+ * lookup it replaced, which probed the RefSeq, GenBank, assigned molecule, sequence name and UCSC maps in turn. The
+ * contig names are every name of the test assembly report, in every naming convention, plus one unknown name per row,
+ * which is the worst case of the old lookup. Run it from the module directory after compiling the tests, with the
+ * main method or with the JMH command line ({@code org.openjdk.jmh.Main}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContigMappingBenchmark {
+
+    private static final String ASSEMBLY_REPORT =
+            "/input-files/assembly-report/GCA_000001635.8_Mus_musculus-grcm38.p6_assembly_report.txt";
+
+    private static final String UNKNOWN_CONTIG_SUFFIX = "_unknown";
+
+    private ContigMapping contigMapping;
+
+    private List<String> contigNames;
+
+    @Setup
+    public void setUp() throws Exception {
+        contigMapping = new ContigMapping(ContigMappingBenchmark.class.getResource(ASSEMBLY_REPORT).toString());
+        contigNames = new ArrayList<>();
+        for (ContigSynonyms contigSynonyms : contigMapping.sequenceNameToSynonyms.values()) {
+            addIfNotNull(contigSynonyms.getSequenceName());
+            addIfNotNull(contigSynonyms.getAssignedMolecule());
+            addIfNotNull(contigSynonyms.getGenBank());
+            addIfNotNull(contigSynonyms.getRefSeq());
+            addIfNotNull(contigSynonyms.getUcsc());
+            contigNames.add(contigSynonyms.getSequenceName() + UNKNOWN_CONTIG_SUFFIX);
+        }
+        for (String contigName : contigNames) {
+            if (contigMapping.getContigSynonyms(contigName) != getContigSynonymsFromEveryMap(contigName)) {
+                throw new IllegalStateException("The lookups return different synonyms for contig " + contigName);
+            }
+        }
+    }
+
+    private void addIfNotNull(String contigName) {
+        if (contigName != null) {
+            contigNames.add(contigName);
+        }
+    }
+
+    @Benchmark
+    public void nameToSynonymsLookup(Blackhole blackhole) {
+        for (int i = 0; i < contigNames.size(); i++) {
+            blackhole.consume(contigMapping.getContigSynonyms(contigNames.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void everyMapLookup(Blackhole blackhole) {
+        for (int i = 0; i < contigNames.size(); i++) {
+            blackhole.consume(getContigSynonymsFromEveryMap(contigNames.get(i)));
+        }
+    }
+
+    /**
+     * The lookup that {@link ContigMapping#getContigSynonyms(String)} used before the map of any contig name
+     */
+    private ContigSynonyms getContigSynonymsFromEveryMap(String contig) {
+        ContigSynonyms contigSynonyms;
+        if ((contigSynonyms = contigMapping.refSeqToSynonyms.get(contig)) != null) {
+            return contigSynonyms;
+        }
+        if ((contigSynonyms = contigMapping.genBankToSynonyms.get(contig)) != null) {
+            return contigSynonyms;
+        }
+        if ((contigSynonyms = contigMapping.assignedMoleculeToSynonyms.get(contig)) != null) {
+            return contigSynonyms;
+        }
+        if ((contigSynonyms = contigMapping.sequenceNameToSynonyms.get(contig)) != null) {
+            return contigSynonyms;
+        }
+        if ((contigSynonyms = contigMapping.ucscToSynonyms.get(contig)) != null) {
+            return contigSynonyms;
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContigMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.contig;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContigMappingCacheTest {
+
+    private static final String GENBANK_CONTIG = "CM000994.2";
+
+    private static final String SEQNAME_CONTIG = "chrom1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String assemblyReportUrl;
+
+    private ContigMappingCache contigMappingCache;
+
+    @Before
+    public void setUp() throws Exception {
+        assemblyReportUrl = ContigMappingCacheTest.class.getResource(
+                "/input-files/assembly-report/GCA_000001635.8_Mus_musculus-grcm38.p6_assembly_report.txt").toString();
+        contigMappingCache = new ContigMappingCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+    }
+
+    @Test
+    public void cachedMappingIsEqualToTheAssemblyReport() throws Exception {
+        Path cacheFile = contigMappingCache.getCacheFile(assemblyReportUrl);
+        assertFalse(Files.exists(cacheFile));
+
+        ContigMapping mappingFromReport = contigMappingCache.getContigMapping(assemblyReportUrl);
+        assertTrue(Files.exists(cacheFile));
+        ContigMapping mappingFromCache = contigMappingCache.getContigMapping(assemblyReportUrl);
+
+        ContigMapping expectedMapping = new ContigMapping(assemblyReportUrl);
+        for (String contig : Arrays.asList(GENBANK_CONTIG, SEQNAME_CONTIG, "1", "chr1", "NC_000067.6", "CM000999.2",
+                                           "CM001000.2", "MMCHR5_RANDOM_CTG5", "NT_without_synonym", "missing")) {
+            assertSameSynonyms(expectedMapping.getContigSynonyms(contig), mappingFromReport.getContigSynonyms(contig));
+            assertSameSynonyms(expectedMapping.getContigSynonyms(contig), mappingFromCache.getContigSynonyms(contig));
+        }
+    }
+
+    @Test
+    public void existingCacheFileIsUsedInsteadOfTheAssemblyReport() throws Exception {
+        Path cacheFile = contigMappingCache.getCacheFile(assemblyReportUrl);
+        Files.createDirectories(cacheFile.getParent());
+        Files.write(cacheFile, Collections.singletonList(
+                String.join("\t", SEQNAME_CONTIG, "assembled-molecule", "1", "CM000001.1", "na", "na", "false")),
+                    StandardCharsets.UTF_8);
+
+        ContigMapping contigMapping = contigMappingCache.getContigMapping(assemblyReportUrl);
+
+        assertEquals("CM000001.1", contigMapping.getContigSynonyms(SEQNAME_CONTIG).getGenBank());
+        assertNull(contigMapping.getContigSynonyms(SEQNAME_CONTIG).getRefSeq());
+        assertNull(contigMapping.getContigSynonyms(GENBANK_CONTIG));
+    }
+
+    @Test
+    public void loadContigMappingOnlyUsesTheCacheIfThereIsADirectory() throws Exception {
+        Path cacheDirectory = temporaryFolder.getRoot().toPath().resolve("cache");
+
+        ContigMapping withoutCache = ContigMappingCache.loadContigMapping(assemblyReportUrl, null);
+        assertFalse(Files.exists(cacheDirectory));
+        ContigMapping withCache = ContigMappingCache.loadContigMapping(assemblyReportUrl, cacheDirectory.toString());
+        assertTrue(Files.exists(contigMappingCache.getCacheFile(assemblyReportUrl)));
+
+        assertSameSynonyms(withoutCache.getContigSynonyms(GENBANK_CONTIG), withCache.getContigSynonyms(GENBANK_CONTIG));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void corruptedCacheFile() throws Exception {
+        Path cacheFile = contigMappingCache.getCacheFile(assemblyReportUrl);
+        Files.createDirectories(cacheFile.getParent());
+        Files.write(cacheFile, Collections.singletonList(SEQNAME_CONTIG + "\tassembled-molecule"),
+                    StandardCharsets.UTF_8);
+
+        contigMappingCache.getContigMapping(assemblyReportUrl);
+    }
+
+    private void assertSameSynonyms(ContigSynonyms expected, ContigSynonyms actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.getSequenceName(), actual.getSequenceName());
+        assertEquals(expected.getSequenceRole(), actual.getSequenceRole());
+        assertEquals(expected.getAssignedMolecule(), actual.getAssignedMolecule());
+        assertEquals(expected.getGenBank(), actual.getGenBank());
+        assertEquals(expected.getRefSeq(), actual.getRefSeq());
+        assertEquals(expected.getUcsc(), actual.getUcsc());
+        assertEquals(expected.isIdenticalGenBankAndRefSeq(), actual.isIdenticalGenBankAndRefSeq());
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.generators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.SaveResponse;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicAccessionGenerator;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.jpa.monotonic.service.ContiguousIdBlockService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrefetchingMonotonicAccessionGeneratorTest {
+
+    private static final String CATEGORY_ID = "test-category";
+
+    private static final String INSTANCE_ID = "test-instance";
+
+    private static final long FIRST_ACCESSION = 1000;
+
+    private static final int BLOCK_SIZE = 100;
+
+    private static final int CHUNK_SIZE = 10;
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ContiguousIdBlockService blockService;
+
+    private BlockReservingGenerator blockReservingGenerator;
+
+    private PrefetchingMonotonicAccessionGenerator<String> generator;
+
+    @Before
+    public void setUp() {
+        blockService = Mockito.mock(ContiguousIdBlockService.class);
+        blockReservingGenerator = new BlockReservingGenerator(blockService);
+        generator = new PrefetchingMonotonicAccessionGenerator<>(CATEGORY_ID, blockService, blockReservingGenerator,
+                                                                 BLOCK_SIZE);
+    }
+
+    @Test
+    public void reservationDoesNotBlockTheWritePathUnderSteadyLoad() throws Exception {
+        int chunks = 50;
+        List<Long> accessions = new ArrayList<>();
+        SaveResponse saveResponse = Mockito.mock(SaveResponse.class);
+        blockReservingGenerator.holdReservations();
+        // the first chunk has to wait for the first block
+        blockReservingGenerator.allowReservation();
+        long reservationsAllowed = 1;
+        for (int i = 0; i < chunks; i++) {
+            for (long accession : generator.generateAccessions(CHUNK_SIZE, INSTANCE_ID)) {
+                accessions.add(accession);
+            }
+            // a reservation started by this chunk can only finish after the chunk got its accessions, so if the
+            // chunk had waited for it, the reservation would have timed out
+            for (; reservationsAllowed < generator.getRefills(); reservationsAllowed++) {
+                blockReservingGenerator.allowReservation();
+            }
+            // writing the chunk: postSave runs in the background after any reservation in progress
+            generator.postSave(saveResponse);
+            blockReservingGenerator.awaitPostSave();
+        }
+
+        // only the first chunk waits for a block, the rest are reserved while the previous chunks are written
+        assertEquals(1, generator.getRefillsWaitedFor());
+        assertEquals(generator.getRefills(), blockReservingGenerator.getBlocksReserved());
+        assertTrue(blockReservingGenerator.getBlocksReserved() >= chunks * CHUNK_SIZE / BLOCK_SIZE);
+        assertEquals(Collections.singleton("accession-prefetcher-" + CATEGORY_ID),
+                     blockReservingGenerator.getThreadNames());
+        for (int i = 0; i < accessions.size(); i++) {
+            assertEquals(FIRST_ACCESSION + i, (long) accessions.get(i));
+        }
+        assertEquals(chunks * CHUNK_SIZE, generator.getAccessionsGenerated());
+    }
+
+    @Test
+    public void unusedAccessionsAreReleasedOnShutdown() {
+        long[] accessions = generator.generateAccessions(15, INSTANCE_ID);
+        generator.shutDownAccessionGenerator();
+
+        assertEquals(FIRST_ACCESSION + 14, accessions[14]);
+        List<Long> expectedReleased = new ArrayList<>();
+        for (long accession = FIRST_ACCESSION + 15; accession < FIRST_ACCESSION + BLOCK_SIZE; accession++) {
+            expectedReleased.add(accession);
+        }
+        assertEquals(expectedReleased, blockReservingGenerator.getReleasedAccessions());
+        assertEquals(Arrays.asList("generate", "release", "shutdown"), blockReservingGenerator.getCalls());
+        assertEquals(0, generator.getAccessionsInBuffer());
+    }
+
+    @Test
+    public void savedAccessionsArePassedInOrder() throws Exception {
+        long[] accessions = generator.generateAccessions(CHUNK_SIZE, INSTANCE_ID);
+        generator.postSave(Mockito.mock(SaveResponse.class));
+        generator.commit(accessions[0]);
+        generator.release(accessions[1]);
+        generator.shutDownAccessionGenerator();
+
+        assertEquals(Arrays.asList("generate", "postSave", "commit", "release", "release", "shutdown"),
+                     blockReservingGenerator.getCalls());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void backgroundExceptionIsRethrown() throws Exception {
+        long[] accessions = generator.generateAccessions(CHUNK_SIZE, INSTANCE_ID);
+        blockReservingGenerator.failNextCommit();
+        generator.commit(accessions[0]);
+        generator.shutDownAccessionGenerator();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void generateAfterShutdown() {
+        generator.shutDownAccessionGenerator();
+        generator.generateAccessions(CHUNK_SIZE, INSTANCE_ID);
+    }
+
+    /**
+     * Issues consecutive accessions, reserving a new block every BLOCK_SIZE accessions. The reservations can be held
+     * until the test allows them, to control when they finish
+     */
+    private static class BlockReservingGenerator extends MonotonicAccessionGenerator<String> {
+
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        private final Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+
+        private final List<Long> releasedAccessions = Collections.synchronizedList(new ArrayList<>());
+
+        private long nextAccession = FIRST_ACCESSION;
+
+        private long blockEnd = FIRST_ACCESSION;
+
+        private int blocksReserved;
+
+        private volatile boolean failNextCommit;
+
+        private final Semaphore reservationPermits = new Semaphore(Integer.MAX_VALUE);
+
+        private final Semaphore postSaves = new Semaphore(0);
+
+        BlockReservingGenerator(ContiguousIdBlockService blockService) {
+            super(CATEGORY_ID, blockService, null);
+        }
+
+        @Override
+        public synchronized long[] generateAccessions(int numAccessionsToGenerate, String applicationInstanceId) {
+            record("generate");
+            long[] accessions = new long[numAccessionsToGenerate];
+            for (int i = 0; i < numAccessionsToGenerate; i++) {
+                if (nextAccession == blockEnd) {
+                    reserveBlock();
+                }
+                accessions[i] = nextAccession++;
+            }
+            return accessions;
+        }
+
+        private void reserveBlock() {
+            try {
+                if (!reservationPermits.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("The block reservation was not allowed");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            blockEnd = nextAccession + BLOCK_SIZE;
+            blocksReserved++;
+        }
+
+        @Override
+        public synchronized void commit(long... accessions) {
+            record("commit");
+            if (failNextCommit) {
+                failNextCommit = false;
+                throw new IllegalArgumentException("Commit failed");
+            }
+        }
+
+        @Override
+        public synchronized void release(long... accessions) {
+            record("release");
+            for (long accession : accessions) {
+                releasedAccessions.add(accession);
+            }
+        }
+
+        @Override
+        public synchronized void postSave(SaveResponse response) {
+            record("postSave");
+            postSaves.release();
+        }
+
+        @Override
+        public synchronized void shutDownAccessionGenerator() {
+            record("shutdown");
+        }
+
+        private void record(String call) {
+            calls.add(call);
+            threadNames.add(Thread.currentThread().getName());
+        }
+
+        void holdReservations() {
+            reservationPermits.drainPermits();
+        }
+
+        void allowReservation() {
+            reservationPermits.release();
+        }
+
+        void awaitPostSave() throws InterruptedException {
+            assertTrue("postSave was not called in the background",
+                       postSaves.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        void failNextCommit() {
+            failNextCommit = true;
+        }
+
+        List<String> getCalls() {
+            return calls;
+        }
+
+        Set<String> getThreadNames() {
+            return threadNames;
+        }
+
+        List<Long> getReleasedAccessions() {
+            return releasedAccessions;
+        }
+
+        synchronized int getBlocksReserved() {
+            return blocksReserved;
+        }
+    }
+}
@@ -27,9 +27,11 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicRange;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.models.AccessionProjection;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.AccessionedDocument;
 
@@ -45,6 +47,7 @@ import java.util.List;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static uk.ac.ebi.eva.accession.core.model.ISubmittedVariant.DEFAULT_ASSEMBLY_MATCH;
 import static uk.ac.ebi.eva.accession.core.model.ISubmittedVariant.DEFAULT_SUPPORTED_BY_EVIDENCE;
@@ -67,6 +70,9 @@ public class SubmittedVariantAccessioningRepositoryTest {
     @Autowired
     private SubmittedVariantAccessioningRepository repository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Rule
     public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
             MongoDbConfigurationBuilder.mongoDb().databaseName("submitted-variants-test").build());
@@ -116,6 +122,36 @@ public class SubmittedVariantAccessioningRepositoryTest {
                                repository.findByAccessionGreaterThanEqualAndAccessionLessThanEqual(1001L, 1005L));
     }
 
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void findAccessionsInRanges() {
+        // accession 1002 is used twice, like a variant remapped into another assembly
+        List<SubmittedVariantEntity> variants = Arrays.asList(
+                new SubmittedVariantEntity(1000L, "hash-1", submittedVariant, 1),
+                new SubmittedVariantEntity(1002L, "hash-2", submittedVariant, 1),
+                new SubmittedVariantEntity(1002L, "hash-3", newSubmittedVariant, 1),
+                new SubmittedVariantEntity(1005L, "hash-4", submittedVariant, 1),
+                new SubmittedVariantEntity(1010L, "hash-5", submittedVariant, 1),
+                new SubmittedVariantEntity(1020L, "hash-6", submittedVariant, 1));
+        repository.saveAll(variants);
+
+        List<MonotonicRange> ranges = Arrays.asList(new MonotonicRange(1000L, 1005L),
+                                                    new MonotonicRange(1008L, 1010L));
+        long[] expectedAccessions = {1000L, 1002L, 1002L, 1005L, 1010L};
+        assertArrayEquals(expectedAccessions, repository.findAccessionsInRanges(ranges));
+        for (int subRangeSize = 1; subRangeSize <= 7; subRangeSize++) {
+            AccessionRangeScanner scanner = new AccessionRangeScanner(mongoTemplate, SubmittedVariantEntity.class,
+                                                                      subRangeSize, 3);
+            assertArrayEquals("Sub-range size " + subRangeSize, expectedAccessions,
+                              scanner.findAccessionsInRanges(ranges));
+        }
+
+        assertArrayEquals(new long[0],
+                          repository.findAccessionsInRanges(Collections.singletonList(new MonotonicRange(1006L,
+                                                                                                         1009L))));
+        assertEquals(3, repository.findByAccessionGreaterThanEqualAndAccessionLessThanEqual(1001L, 1005L).size());
+    }
+
     private void assertAccessionsEquals(List<Long> expectedAccessions,
                                         List<AccessionProjection<Long>> accessionsProjection) {
         assertEquals(new TreeSet<>(expectedAccessions),
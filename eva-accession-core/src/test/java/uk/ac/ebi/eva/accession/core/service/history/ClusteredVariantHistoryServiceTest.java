@@ -0,0 +1,286 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.history;
+
+import com.lordofthejars.nosqlunit.annotation.UsingDataSet;
+import com.lordofthejars.nosqlunit.core.LoadStrategyEnum;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionDeprecatedException;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionDoesNotExistException;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionMergedException;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.IEvent;
+import uk.ac.ebi.ampt2d.commons.accession.hashing.SHA1HashingFunction;
+
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.ClusteredVariantAccessioningConfiguration;
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
+import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantInactiveEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantInactiveEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
+import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantOperationService;
+import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
+import uk.ac.ebi.eva.accession.core.test.configuration.nonhuman.MongoTestConfiguration;
+import uk.ac.ebi.eva.accession.core.test.rule.FixSpringMongoDbRule;
+import uk.ac.ebi.eva.commons.core.models.VariantType;
+import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource("classpath:rs-accession-test.properties")
+@ContextConfiguration(classes = {ClusteredVariantAccessioningConfiguration.class, MongoTestConfiguration.class})
+public class ClusteredVariantHistoryServiceTest {
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    private static final String CONTIG = "CM000001.1";
+
+    private static final long MERGED_RS = 10L;
+
+    private static final long INTERMEDIATE_RS = 11L;
+
+    private static final long ACTIVE_RS = 12L;
+
+    private static final int MERGES_INTO_ACTIVE_RS = 200;
+
+    private static final long DEPRECATED_RS = 3000000001L;
+
+    /**
+     * Active variants and operations of EVA and dbSNP, as there is no human database in these tests
+     */
+    private static final int QUERIES_PER_ROUND = 4;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ContigAliasService contigAliasService;
+
+    @Autowired
+    private ClusteredVariantOperationService operationService;
+
+    @Autowired
+    @Qualifier("nonhumanActiveService")
+    private ClusteredVariantAccessioningService activeService;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName("clustered-variants-test").build());
+
+    private Function<IClusteredVariant, String> hashingFunction =
+            new ClusteredVariantSummaryFunction().andThen(new SHA1HashingFunction());
+
+    private ExecutorService executor;
+
+    private ClusteredVariantHistoryService historyService;
+
+    private LocalDateTime nextDate = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(QUERIES_PER_ROUND);
+        historyService = new ClusteredVariantHistoryService(mongoTemplate, null, contigAliasService, executor);
+
+        // MERGED_RS -> INTERMEDIATE_RS -> ACTIVE_RS, and many other RSs also merged into ACTIVE_RS
+        mongoTemplate.insert(new DbsnpClusteredVariantEntity(ACTIVE_RS, hash(1000), variant(1000)));
+        insertDbsnpMerge(MERGED_RS, INTERMEDIATE_RS, 1000);
+        insertDbsnpMerge(INTERMEDIATE_RS, ACTIVE_RS, 1000);
+        for (int i = 0; i < MERGES_INTO_ACTIVE_RS; i++) {
+            insertDbsnpMerge(100 + i, ACTIVE_RS, 1000 + i);
+        }
+
+        ClusteredVariantEntity deprecatedVariant = new ClusteredVariantEntity(DEPRECATED_RS, hash(5000),
+                                                                              variant(5000));
+        ClusteredVariantOperationEntity deprecation = new ClusteredVariantOperationEntity();
+        deprecation.fill(EventType.DEPRECATED, DEPRECATED_RS, null, "Deprecated",
+                         Collections.singletonList(new ClusteredVariantInactiveEntity(deprecatedVariant)));
+        deprecation.setCreatedDate(nextDate());
+        mongoTemplate.insert(deprecation);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+        mongoTemplate.dropCollection(DbsnpClusteredVariantEntity.class);
+        mongoTemplate.dropCollection(DbsnpClusteredVariantOperationEntity.class);
+        mongoTemplate.dropCollection(ClusteredVariantEntity.class);
+        mongoTemplate.dropCollection(ClusteredVariantOperationEntity.class);
+    }
+
+    private ClusteredVariant variant(long start) {
+        return new ClusteredVariant(ASSEMBLY, 9606, CONTIG, start, VariantType.SNV, false, null);
+    }
+
+    private String hash(long start) {
+        return hashingFunction.apply(variant(start));
+    }
+
+    private LocalDateTime nextDate() {
+        nextDate = nextDate.plusDays(1);
+        return nextDate;
+    }
+
+    private void insertDbsnpMerge(long origin, long destination, long start) {
+        DbsnpClusteredVariantEntity mergedVariant = new DbsnpClusteredVariantEntity(origin, hash(start),
+                                                                                    variant(start));
+        DbsnpClusteredVariantOperationEntity merge = new DbsnpClusteredVariantOperationEntity();
+        merge.fill(EventType.MERGED, origin, destination, "Identical clustered variant received multiple RS",
+                   Collections.singletonList(new DbsnpClusteredVariantInactiveEntity(mergedVariant)));
+        merge.setCreatedDate(nextDate());
+        mongoTemplate.insert(merge);
+    }
+
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void historyOfHeavilyMergedVariantMatchesCurrentServices() throws Exception {
+        ClusteredVariantHistory history = historyService.getHistory(ACTIVE_RS, ContigNamingConvention.INSDC);
+
+        assertEquals(getAccessions(activeService.getAllByAccession(ACTIVE_RS)), getAccessions(history.getVariants()));
+        assertEquals(MERGES_INTO_ACTIVE_RS + 1, history.getOperations().size());
+        assertEquals(summarise(operationService.getAllOperations(ACTIVE_RS)), summarise(history.getOperations()));
+    }
+
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void onlyDirectOperationsWithoutMergeChain() {
+        ClusteredVariantHistory history = historyService.getHistory(MERGED_RS, ContigNamingConvention.INSDC);
+
+        assertTrue(history.getVariants().isEmpty());
+        assertEquals(summarise(operationService.getAllOperations(MERGED_RS)), summarise(history.getOperations()));
+        assertEquals(1, history.getOperations().size());
+    }
+
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void mergeChainIsResolved() {
+        ClusteredVariantHistory history = historyService.getHistory(MERGED_RS, ContigNamingConvention.INSDC, true);
+
+        assertEquals(Collections.singletonList(ACTIVE_RS), getAccessions(history.getVariants()));
+        List<IEvent<? extends IClusteredVariant, Long>> expectedOperations = new ArrayList<>();
+        expectedOperations.addAll(operationService.getAllOperations(MERGED_RS));
+        expectedOperations.addAll(operationService.getAllOperations(ACTIVE_RS));
+        assertEquals(summarise(expectedOperations).stream().distinct().sorted().collect(Collectors.toList()),
+                     summarise(history.getOperations()).stream().sorted().collect(Collectors.toList()));
+    }
+
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void deprecatedVariantIsReturned() {
+        ClusteredVariantHistory history = historyService.getHistory(DEPRECATED_RS, ContigNamingConvention.INSDC);
+
+        assertEquals(Collections.singletonList(DEPRECATED_RS), getAccessions(history.getVariants()));
+        assertEquals(activeService.getLastInactive(DEPRECATED_RS).getModel(), history.getVariants().get(0).getData());
+        assertEquals(1, history.getOperations().size());
+    }
+
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void unknownAccessionHasEmptyHistory() {
+        assertTrue(historyService.getHistory(999L, ContigNamingConvention.INSDC, true).isEmpty());
+    }
+
+    /**
+     * Every query of a round waits until all of them have started, which can only happen if they are issued
+     * concurrently instead of one after the other.
+     */
+    @UsingDataSet(loadStrategy = LoadStrategyEnum.DELETE_ALL)
+    @Test
+    public void queriesAreIssuedConcurrently() throws Exception {
+        CountDownLatch queriesStarted = new CountDownLatch(QUERIES_PER_ROUND);
+        AtomicBoolean queriesOverlapped = new AtomicBoolean(true);
+        Executor latchExecutor = task -> executor.execute(() -> {
+            queriesStarted.countDown();
+            try {
+                if (!queriesStarted.await(10, TimeUnit.SECONDS)) {
+                    queriesOverlapped.set(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        });
+        ClusteredVariantHistoryService concurrentHistoryService = new ClusteredVariantHistoryService(
+                mongoTemplate, null, contigAliasService, latchExecutor);
+
+        ClusteredVariantHistory history = concurrentHistoryService.getHistory(ACTIVE_RS,
+                                                                              ContigNamingConvention.INSDC);
+
+        assertTrue(queriesOverlapped.get());
+        assertEquals(getAccessions(activeService.getAllByAccession(ACTIVE_RS, ContigNamingConvention.INSDC)),
+                     getAccessions(history.getVariants()));
+        assertEquals(summarise(getHistoryWithCurrentServices(ACTIVE_RS)), summarise(history.getOperations()));
+    }
+
+    private List<IEvent<? extends IClusteredVariant, Long>> getHistoryWithCurrentServices(Long accession)
+            throws AccessionMergedException, AccessionDoesNotExistException, AccessionDeprecatedException {
+        activeService.getAllByAccession(accession, ContigNamingConvention.INSDC);
+        return operationService.getAllOperations(accession, ContigNamingConvention.INSDC);
+    }
+
+    private List<Long> getAccessions(List<AccessionWrapper<IClusteredVariant, String, Long>> variants) {
+        return variants.stream().map(AccessionWrapper::getAccession).collect(Collectors.toList());
+    }
+
+    private List<String> summarise(List<IEvent<? extends IClusteredVariant, Long>> operations) {
+        return operations.stream()
+                         .map(operation -> operation.getEventType() + " " + operation.getAccession() + " "
+                                 + operation.getDestinationAccession() + " " + operation.getCreatedDate() + " "
+                                 + operation.getInactiveObjects().get(0).getModel())
+                         .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.core.test.rule.FixSpringMongoDbRule;
+import uk.ac.ebi.eva.commons.core.models.VariantType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@EnableAutoConfiguration
+@ContextConfiguration(classes = {MongoConfiguration.class})
+@TestPropertySource("classpath:test-model.properties")
+public class MongoRegionSourceTest {
+
+    private static final String TEST_DB = "test-db";
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    private static final String OTHER_ASSEMBLY = "GCA_000000002.1";
+
+    private static final String CONTIG = "CM000001.1";
+
+    private static final String OTHER_CONTIG = "CM000002.1";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName(TEST_DB).build());
+
+    private MongoRegionSource<IClusteredVariant> clusteredVariantSource;
+
+    private MongoRegionSource<ISubmittedVariant> submittedVariantSource;
+
+    @Before
+    public void setUp() {
+        // inserted out of order, so that the results are only sorted if the query sorts them
+        mongoTemplate.insert(Arrays.asList(createClusteredVariant(5L, "hashE", ASSEMBLY, CONTIG, 200),
+                                           createClusteredVariant(3L, "hashC", ASSEMBLY, CONTIG, 100),
+                                           createClusteredVariant(1L, "hashA", ASSEMBLY, CONTIG, 100),
+                                           createClusteredVariant(4L, "hashB", ASSEMBLY, CONTIG, 150),
+                                           createClusteredVariant(2L, "hashD", ASSEMBLY, CONTIG, 100),
+                                           createClusteredVariant(6L, "hashF", ASSEMBLY, CONTIG, 50),
+                                           createClusteredVariant(7L, "hashG", ASSEMBLY, CONTIG, 250),
+                                           createClusteredVariant(8L, "hashH", ASSEMBLY, OTHER_CONTIG, 100),
+                                           createClusteredVariant(9L, "hashI", OTHER_ASSEMBLY, CONTIG, 100)),
+                             ClusteredVariantEntity.class);
+        mongoTemplate.insert(Arrays.asList(createSubmittedVariant(12L, "hashL", ASSEMBLY, CONTIG, 100),
+                                           createSubmittedVariant(11L, "hashK", ASSEMBLY, CONTIG, 100),
+                                           createSubmittedVariant(13L, "hashM", OTHER_ASSEMBLY, CONTIG, 100)),
+                             SubmittedVariantEntity.class);
+
+        clusteredVariantSource = new MongoRegionSource<>(mongoTemplate, ClusteredVariantEntity.class,
+                                                         MongoRegionSource.CLUSTERED_VARIANT_ASSEMBLY_FIELD);
+        submittedVariantSource = new MongoRegionSource<>(mongoTemplate, SubmittedVariantEntity.class,
+                                                         MongoRegionSource.SUBMITTED_VARIANT_ASSEMBLY_FIELD);
+        clusteredVariantSource.ensureIndex();
+        submittedVariantSource.ensureIndex();
+    }
+
+    @After
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+    }
+
+    private ClusteredVariantEntity createClusteredVariant(Long accession, String hash, String assembly, String contig,
+                                                          long start) {
+        return new ClusteredVariantEntity(accession, hash, assembly, 9606, contig, start, VariantType.SNV, false,
+                                          null, 1);
+    }
+
+    private SubmittedVariantEntity createSubmittedVariant(Long accession, String hash, String assembly, String contig,
+                                                          long start) {
+        return new SubmittedVariantEntity(accession, hash, assembly, 9606, "project", contig, start, "A", "T", null,
+                                          false, false, false, false, 1);
+    }
+
+    @Test
+    public void regionIndexIsEnsured() {
+        assertTrue(getIndexedFields(ClusteredVariantEntity.class).contains(
+                Arrays.asList(MongoRegionSource.CLUSTERED_VARIANT_ASSEMBLY_FIELD, MongoRegionSource.CONTIG_FIELD,
+                              MongoRegionSource.START_FIELD, MongoRegionSource.ID_FIELD)));
+        assertTrue(getIndexedFields(SubmittedVariantEntity.class).contains(
+                Arrays.asList(MongoRegionSource.SUBMITTED_VARIANT_ASSEMBLY_FIELD, MongoRegionSource.CONTIG_FIELD,
+                              MongoRegionSource.START_FIELD, MongoRegionSource.ID_FIELD)));
+    }
+
+    private List<List<String>> getIndexedFields(Class<?> entityClass) {
+        return mongoTemplate.indexOps(entityClass)
+                            .getIndexInfo()
+                            .stream()
+                            .map(index -> index.getIndexFields()
+                                               .stream()
+                                               .map(IndexField::getKey)
+                                               .collect(Collectors.toList()))
+                            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void variantsAreSortedByStartAndHash() {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants =
+                clusteredVariantSource.findInRegion(ASSEMBLY, CONTIG, 100, true, null, 200, 10);
+        assertEquals(Arrays.asList("hashA", "hashC", "hashD", "hashB", "hashE"), getHashes(variants));
+        assertEquals(Arrays.asList(1L, 3L, 2L, 4L, 5L),
+                     variants.stream().map(AccessionWrapper::getAccession).collect(Collectors.toList()));
+        assertEquals(CONTIG, variants.get(0).getData().getContig());
+        assertEquals(100, variants.get(0).getData().getStart());
+    }
+
+    @Test
+    public void startCanBeExcluded() {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants =
+                clusteredVariantSource.findInRegion(ASSEMBLY, CONTIG, 100, false, null, 200, 10);
+        assertEquals(Arrays.asList("hashB", "hashE"), getHashes(variants));
+    }
+
+    @Test
+    public void resumeAfterHash() {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants =
+                clusteredVariantSource.findInRegion(ASSEMBLY, CONTIG, 100, true, "hashC", 200, 10);
+        assertEquals(Arrays.asList("hashD", "hashB", "hashE"), getHashes(variants));
+    }
+
+    @Test
+    public void resumeAfterLastHashOfStart() {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants =
+                clusteredVariantSource.findInRegion(ASSEMBLY, CONTIG, 100, true, "hashD", 200, 10);
+        assertEquals(Arrays.asList("hashB", "hashE"), getHashes(variants));
+    }
+
+    @Test
+    public void limitIsApplied() {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants =
+                clusteredVariantSource.findInRegion(ASSEMBLY, CONTIG, 50, true, null, 250, 3);
+        assertEquals(Arrays.asList("hashF", "hashA", "hashC"), getHashes(variants));
+    }
+
+    @Test
+    public void otherAssembliesAndContigsAreNotReturned() {
+        assertEquals(Arrays.asList("hashI"),
+                     getHashes(clusteredVariantSource.findInRegion(OTHER_ASSEMBLY, CONTIG, 1, true, null, 1000, 10)));
+        assertEquals(Arrays.asList("hashH"),
+                     getHashes(clusteredVariantSource.findInRegion(ASSEMBLY, OTHER_CONTIG, 1, true, null, 1000, 10)));
+    }
+
+    @Test
+    public void submittedVariantsAreFilteredBySequence() {
+        List<AccessionWrapper<ISubmittedVariant, String, Long>> variants =
+                submittedVariantSource.findInRegion(ASSEMBLY, CONTIG, 1, true, null, 1000, 10);
+        assertEquals(Arrays.asList("hashK", "hashL"), getHashes(variants));
+        assertEquals("project", variants.get(0).getData().getProjectAccession());
+    }
+
+    private <MODEL> List<String> getHashes(List<AccessionWrapper<MODEL, String, Long>> variants) {
+        return variants.stream().map(AccessionWrapper::getHash).collect(Collectors.toList());
+    }
+}
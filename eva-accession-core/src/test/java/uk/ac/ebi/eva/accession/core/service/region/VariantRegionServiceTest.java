@@ -0,0 +1,229 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.core.service.region;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import uk.ac.ebi.ampt2d.commons.accession.core.models.AccessionWrapper;
+
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
+import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.commons.core.models.VariantType;
+import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VariantRegionServiceTest {
+
+    private static final String ASSEMBLY = "GCA_000000001.1";
+
+    private static final String CONTIG = "CM000001.1";
+
+    private static final String UCSC_CONTIG = "chr1";
+
+    private InMemoryRegionSource evaSource;
+
+    private InMemoryRegionSource dbsnpSource;
+
+    private InMemoryRegionSource humanSource;
+
+    private ContigAliasService contigAliasService;
+
+    private VariantRegionService<IClusteredVariant> service;
+
+    @Before
+    public void setUp() {
+        long accession = 1;
+        evaSource = new InMemoryRegionSource();
+        dbsnpSource = new InMemoryRegionSource();
+        humanSource = new InMemoryRegionSource();
+        // several variants per position in every source, so that pages end in the middle of a position. The hashes
+        // are "hash" + accession, so "hash10" sorts before "hash9" and the order by hash is not the accession order
+        for (long start : Arrays.asList(100L, 100L, 100L, 150L, 200L, 200L, 300L)) {
+            evaSource.add(accession++, CONTIG, start);
+        }
+        for (long start : Arrays.asList(50L, 100L, 100L, 200L, 250L, 250L, 250L, 250L)) {
+            dbsnpSource.add(accession++, CONTIG, start);
+        }
+        for (long start : Arrays.asList(100L, 200L, 400L)) {
+            humanSource.add(accession++, CONTIG, start);
+        }
+        // variants outside the region or in other contigs should never be returned
+        evaSource.add(accession++, CONTIG, 10);
+        evaSource.add(accession++, CONTIG, 1000);
+        dbsnpSource.add(accession++, "CM000002.1", 100);
+
+        contigAliasService = Mockito.mock(ContigAliasService.class);
+        when(contigAliasService.translateContigToInsdc(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(contigAliasService.translateContigToInsdc(UCSC_CONTIG, ASSEMBLY, ContigNamingConvention.UCSC))
+                .thenReturn(CONTIG);
+
+        service = new VariantRegionService<>(Arrays.asList(evaSource, dbsnpSource, humanSource),
+                                             IClusteredVariant::getStart, VariantRegionServiceTest::replaceContig,
+                                             contigAliasService);
+    }
+
+    private static AccessionWrapper<IClusteredVariant, String, Long> replaceContig(
+            AccessionWrapper<IClusteredVariant, String, Long> wrapper, String contig) {
+        IClusteredVariant variant = wrapper.getData();
+        return new AccessionWrapper<>(wrapper.getAccession(), wrapper.getHash(),
+                                      new ClusteredVariant(variant.getAssemblyAccession(),
+                                                           variant.getTaxonomyAccession(), contig, variant.getStart(),
+                                                           variant.getType(), variant.isValidated(),
+                                                           variant.getCreatedDate()));
+    }
+
+    @Test
+    public void pagesReturnTheWholeRegionMergedByPosition() {
+        List<Long> expectedAccessions = getExpectedAccessions(50, 400);
+        assertEquals(18, expectedAccessions.size());
+
+        for (int pageSize = 1; pageSize <= expectedAccessions.size() + 1; pageSize++) {
+            assertEquals("Page size " + pageSize, expectedAccessions, getAllAccessionsInRegion(50, 400, pageSize));
+        }
+    }
+
+    @Test
+    public void regionBoundariesAreInclusive() {
+        List<Long> expectedAccessions = getExpectedAccessions(100, 250);
+        assertEquals(15, expectedAccessions.size());
+
+        for (int pageSize = 1; pageSize <= 4; pageSize++) {
+            assertEquals("Page size " + pageSize, expectedAccessions, getAllAccessionsInRegion(100, 250, pageSize));
+        }
+    }
+
+    @Test
+    public void lastPageHasNoToken() {
+        RegionPage<IClusteredVariant> page = service.getPage(ASSEMBLY, CONTIG, 300, 400, null, 10,
+                                                             ContigNamingConvention.INSDC);
+        assertEquals(2, page.getVariants().size());
+        assertNull(page.getNextPageToken());
+    }
+
+    @Test
+    public void emptyRegion() {
+        RegionPage<IClusteredVariant> page = service.getPage(ASSEMBLY, CONTIG, 500, 900, null, 10,
+                                                             ContigNamingConvention.INSDC);
+        assertTrue(page.getVariants().isEmpty());
+        assertNull(page.getNextPageToken());
+    }
+
+    @Test
+    public void contigIsTranslatedOncePerPage() {
+        RegionPage<IClusteredVariant> page = service.getPage(ASSEMBLY, UCSC_CONTIG, 50, 400, null, 5,
+                                                             ContigNamingConvention.UCSC);
+        assertEquals(5, page.getVariants().size());
+        assertTrue(page.getVariants().stream().allMatch(v -> v.getData().getContig().equals(UCSC_CONTIG)));
+        verify(contigAliasService, times(1)).translateContigToInsdc(UCSC_CONTIG, ASSEMBLY,
+                                                                    ContigNamingConvention.UCSC);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPageToken() {
+        service.getPage(ASSEMBLY, CONTIG, 50, 400, "not a token", 5, ContigNamingConvention.INSDC);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageTokenOutsideOfRegion() {
+        String token = new RegionPageToken(500, 0, "hash1").encode();
+        service.getPage(ASSEMBLY, CONTIG, 50, 400, token, 5, ContigNamingConvention.INSDC);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSizeTooBig() {
+        service.getPage(ASSEMBLY, CONTIG, 50, 400, null, VariantRegionService.MAX_PAGE_SIZE + 1,
+                        ContigNamingConvention.INSDC);
+    }
+
+    @Test
+    public void tokenCanBeDecoded() {
+        RegionPageToken token = new RegionPageToken(123456789012L, 2, "hash:with:separators");
+        assertEquals(token, RegionPageToken.decode(token.encode()));
+    }
+
+    private List<Long> getAllAccessionsInRegion(long start, long end, int pageSize) {
+        List<Long> accessions = new ArrayList<>();
+        String pageToken = null;
+        do {
+            RegionPage<IClusteredVariant> page = service.getPage(ASSEMBLY, CONTIG, start, end, pageToken, pageSize,
+                                                                 ContigNamingConvention.INSDC);
+            assertTrue(page.getVariants().size() <= pageSize);
+            page.getVariants().stream().map(AccessionWrapper::getAccession).forEach(accessions::add);
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        return accessions;
+    }
+
+    private List<Long> getExpectedAccessions(long start, long end) {
+        List<AccessionWrapper<IClusteredVariant, String, Long>> variants = new ArrayList<>();
+        for (InMemoryRegionSource source : Arrays.asList(evaSource, dbsnpSource, humanSource)) {
+            variants.addAll(source.findInRegion(ASSEMBLY, CONTIG, start, true, null, end, Integer.MAX_VALUE));
+        }
+        // the sort is stable, so the variants that share a start stay sorted by source and then by hash
+        variants.sort(Comparator.comparingLong(wrapper -> wrapper.getData().getStart()));
+        return variants.stream().map(AccessionWrapper::getAccession).collect(Collectors.toList());
+    }
+
+    private static class InMemoryRegionSource implements RegionSource<IClusteredVariant> {
+
+        private final List<AccessionWrapper<IClusteredVariant, String, Long>> variants = new ArrayList<>();
+
+        void add(long accession, String contig, long start) {
+            IClusteredVariant variant = new ClusteredVariant(ASSEMBLY, 9606, contig, start, VariantType.SNV, false,
+                                                             null);
+            variants.add(new AccessionWrapper<>(accession, "hash" + accession, variant));
+        }
+
+        @Override
+        public List<AccessionWrapper<IClusteredVariant, String, Long>> findInRegion(String assembly, String contig,
+                                                                                   long start,
+                                                                                   boolean includeStart,
+                                                                                   String afterHash, long end,
+                                                                                   int limit) {
+            return variants.stream()
+                           .filter(v -> v.getData().getAssemblyAccession().equals(assembly))
+                           .filter(v -> v.getData().getContig().equals(contig))
+                           .filter(v -> includeStart ? v.getData().getStart() >= start
+                                                     : v.getData().getStart() > start)
+                           .filter(v -> !includeStart || afterHash == null || v.getData().getStart() > start
+                                   || v.getHash().compareTo(afterHash) > 0)
+                           .filter(v -> v.getData().getStart() <= end)
+                           .sorted(Comparator.<AccessionWrapper<IClusteredVariant, String, Long>>comparingLong(
+                                   v -> v.getData().getStart()).thenComparing(AccessionWrapper::getHash))
+                           .limit(limit)
+                           .collect(Collectors.toList());
+        }
+    }
+}
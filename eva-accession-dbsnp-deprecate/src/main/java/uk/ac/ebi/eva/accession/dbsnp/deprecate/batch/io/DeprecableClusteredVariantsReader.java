@@ -17,11 +17,9 @@ package uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.io;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.MongoClient;
-import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -37,13 +35,23 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
- * Read all ClusteredVariants in the dbsnpClusteredVariantEntityDeclustered collection that are not in the main
- * collection dbsnpClusteredVariantEntity
+ * Read all ClusteredVariants in the dbsnpClusteredVariantEntityDeclustered collection that are not referenced by any
+ * submitted variant in the collection dbsnpSubmittedVariantEntity
  *
- * DeprecableClusteredVariantsReader = dbsnpClusteredVariantEntityDeclustered - dbsnpClusteredVariantEntity
+ * DeprecableClusteredVariantsReader = dbsnpClusteredVariantEntityDeclustered - dbsnpSubmittedVariantEntity.rs
+ *
+ * The declustered variants are read in batches of chunkSize, and the accessions of each batch that are still
+ * referenced are found with a single distinct query on the "rs" field of the submitted variants, which only needs its
+ * index.
+ * This is equivalent to a $lookup of every declustered variant into the submitted variants, but avoids running one
+ * nested query per declustered variant.
  */
 public class DeprecableClusteredVariantsReader implements ItemStreamReader<DbsnpClusteredVariantEntity> {
 
@@ -57,8 +65,6 @@ public class DeprecableClusteredVariantsReader implements ItemStreamReader<Dbsnp
 
     private static final String CLUSTERED_VARIANT_ACCESSION_FIELD = "rs";
 
-    private static final String ACTIVE = "active";
-
     private static final String ASSEMBLY_FIELD = "asm";
 
     private MongoClient mongoClient;
@@ -69,8 +75,12 @@ public class DeprecableClusteredVariantsReader implements ItemStreamReader<Dbsnp
 
     private MongoCursor<Document> cursor;
 
+    private MongoCollection<Document> submittedVariantsCollection;
+
+    private Iterator<Document> deprecableVariants;
+
     private MongoTemplate mongoTemplate;
-    
+
     private MongoConverter converter;
 
     private int chunkSize;
@@ -99,31 +109,80 @@ public class DeprecableClusteredVariantsReader implements ItemStreamReader<Dbsnp
     public void open(ExecutionContext executionContext) throws ItemStreamException {
         MongoDatabase db = mongoClient.getDatabase(database);
         MongoCollection<Document> collection = db.getCollection(DBSNP_CLUSTERED_VARIANT_ENTITY_DECLUSTERED);
-        AggregateIterable<Document> declusteredVariants = collection.aggregate(buildAggregation())
-                                                                    .allowDiskUse(true)
-                                                                    .useCursor(true)
-                                                                    .batchSize(chunkSize);
-        cursor = declusteredVariants.iterator();
+        Bson filter = buildFilter();
+        logger.info("Issuing find: {}", filter);
+        cursor = collection.find(filter)
+                           .noCursorTimeout(true)
+                           .batchSize(chunkSize)
+                           .iterator();
+        submittedVariantsCollection = db.getCollection(DBSNP_SUBMITTED_VARIANT_ENTITY);
+        deprecableVariants = Collections.emptyIterator();
         converter = mongoTemplate.getConverter();
     }
 
-    private List<Bson> buildAggregation() {
-        List<Bson> aggregation = new ArrayList<>();
+    private Bson buildFilter() {
         if (assemblies != null && !assemblies.isEmpty()) {
-            aggregation.add(Aggregates.match(Filters.in(ASSEMBLY_FIELD, assemblies)));
+            return Filters.in(ASSEMBLY_FIELD, assemblies);
         }
-        aggregation.add(
-                Aggregates.lookup(DBSNP_SUBMITTED_VARIANT_ENTITY, ACCESSION_FIELD, CLUSTERED_VARIANT_ACCESSION_FIELD,
-                                  ACTIVE));
-        aggregation.add(Aggregates.match(Filters.eq(ACTIVE, Collections.EMPTY_LIST)));
-
-        logger.info("Issuing aggregation: {}", aggregation);
-        return aggregation;
+        return new Document();
     }
 
     @Override
     public DbsnpClusteredVariantEntity read() {
-        return cursor.hasNext() ? getDbsnpClusteredVariantEntity(cursor.next()) : null;
+        while (!deprecableVariants.hasNext()) {
+            if (!cursor.hasNext()) {
+                return null;
+            }
+            deprecableVariants = readNextBatchOfDeprecableVariants().iterator();
+        }
+        return getDbsnpClusteredVariantEntity(deprecableVariants.next());
+    }
+
+    private List<Document> readNextBatchOfDeprecableVariants() {
+        List<Document> declusteredVariants = new ArrayList<>();
+        Set<Long> accessions = new TreeSet<>();
+        while (declusteredVariants.size() < chunkSize && cursor.hasNext()) {
+            Document declusteredVariant = cursor.next();
+            declusteredVariants.add(declusteredVariant);
+            Long accession = getAccession(declusteredVariant, ACCESSION_FIELD);
+            if (accession != null) {
+                accessions.add(accession);
+            }
+        }
+
+        Set<Long> referencedAccessions = getReferencedAccessions(accessions);
+        List<Document> deprecableVariants = new ArrayList<>();
+        for (Document declusteredVariant : declusteredVariants) {
+            // a variant without accession would be matched against the submitted variants without RS, which always
+            // exist, so it is never deprecable
+            Long accession = getAccession(declusteredVariant, ACCESSION_FIELD);
+            if (accession != null && !referencedAccessions.contains(accession)) {
+                deprecableVariants.add(declusteredVariant);
+            }
+        }
+        return deprecableVariants;
+    }
+
+    /**
+     * The distinct values are decoded as Long, whether they are stored as 32 or 64 bit integers
+     */
+    private Set<Long> getReferencedAccessions(Set<Long> accessions) {
+        Set<Long> referencedAccessions = new HashSet<>();
+        if (accessions.isEmpty()) {
+            return referencedAccessions;
+        }
+        submittedVariantsCollection.distinct(CLUSTERED_VARIANT_ACCESSION_FIELD,
+                                             Filters.in(CLUSTERED_VARIANT_ACCESSION_FIELD, accessions), Long.class)
+                                   .into(referencedAccessions);
+        return referencedAccessions;
+    }
+
+    /**
+     * The accessions may be stored as 32 or 64 bit integers, which are equal for MongoDB but not for Java
+     */
+    private Long getAccession(Document document, String field) {
+        Object accession = document.get(field);
+        return accession instanceof Number ? ((Number) accession).longValue() : null;
     }
 
     private DbsnpClusteredVariantEntity getDbsnpClusteredVariantEntity(Document deprecableClusteredVariant) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.partitioners;
+
+import com.mongodb.MongoClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Creates one partition per assembly of the declustered variants, either the assemblies given as parameters or all the
+ * assemblies present in the dbsnpClusteredVariantEntityDeclustered collection.
+ *
+ * The partitions can be deprecated concurrently because each one only removes its own documents from the declustered
+ * collection (the hash includes the assembly), and whether an accession is deprecable doesn't depend on the assembly.
+ * An accession declustered in several assemblies is removed from the clustered collection by whichever partition
+ * deprecates it first, which leaves the same result as a sequential run.
+ */
+public class AssemblyPartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssemblyPartitioner.class);
+
+    public static final String ASSEMBLY_ACCESSION = "assemblyAccession";
+
+    private static final String DBSNP_CLUSTERED_VARIANT_ENTITY_DECLUSTERED = "dbsnpClusteredVariantEntityDeclustered";
+
+    private static final String ASSEMBLY_FIELD = "asm";
+
+    private static final String PARTITION_PREFIX = "partition-";
+
+    private final MongoClient mongoClient;
+
+    private final String database;
+
+    private final List<String> assemblies;
+
+    public AssemblyPartitioner(MongoClient mongoClient, String database, List<String> assemblies) {
+        this.mongoClient = mongoClient;
+        this.database = database;
+        this.assemblies = assemblies;
+    }
+
+    /**
+     * The number of partitions is the number of assemblies, so the gridSize is ignored
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        for (String assembly : getAssemblies()) {
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putString(ASSEMBLY_ACCESSION, assembly);
+            partitions.put(PARTITION_PREFIX + assembly, executionContext);
+        }
+        logger.info("Split the deprecation into {} partitions, one per assembly: {}", partitions.size(),
+                    partitions.keySet());
+        return partitions;
+    }
+
+    /**
+     * The assemblies are sorted so the partition names are the same when the job is restarted
+     */
+    private List<String> getAssemblies() {
+        if (assemblies != null && !assemblies.isEmpty()) {
+            return new ArrayList<>(new TreeSet<>(assemblies));
+        }
+        TreeSet<String> declusteredAssemblies = new TreeSet<>();
+        mongoClient.getDatabase(database)
+                   .getCollection(DBSNP_CLUSTERED_VARIANT_ENTITY_DECLUSTERED)
+                   .distinct(ASSEMBLY_FIELD, String.class)
+                   .into(declusteredAssemblies);
+        return new ArrayList<>(declusteredAssemblies);
+    }
+}
@@ -23,6 +23,11 @@ public class BeanNames {
 
     public static final String DEPRECATE_CLUSTERED_VARIANTS_STEP = "DEPRECATE_CLUSTERED_VARIANTS_STEP";
 
+    public static final String DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP =
+            "DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP";
+
+    public static final String ASSEMBLY_PARTITIONER = "ASSEMBLY_PARTITIONER";
+
     public static final String DEPRECATE_CLUSTERED_VARIANTS_JOB = "DEPRECATE_CLUSTERED_VARIANTS_JOB";
 
     public static final String DEPRECATION_PROGRESS_LISTENER = "DEPRECATION_PROGRESS_LISTENER";
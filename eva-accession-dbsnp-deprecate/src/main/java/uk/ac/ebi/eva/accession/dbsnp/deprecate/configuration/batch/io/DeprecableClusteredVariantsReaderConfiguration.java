@@ -17,6 +17,7 @@ package uk.ac.ebi.eva.accession.dbsnp.deprecate.configuration.batch.io;
 
 import com.mongodb.MongoClient;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.mongo.MongoProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,16 +29,20 @@ import uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.io.DeprecableClusteredVaria
 import uk.ac.ebi.eva.accession.dbsnp.deprecate.configuration.BeanNames;
 import uk.ac.ebi.eva.accession.dbsnp.deprecate.parameters.InputParameters;
 
+import java.util.Collections;
+
+import static uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.partitioners.AssemblyPartitioner.ASSEMBLY_ACCESSION;
+
 @Configuration
 @Import({MongoConfiguration.class})
 public class DeprecableClusteredVariantsReaderConfiguration {
 
     @Bean(BeanNames.DEPRECABLE_CLUSTERED_VARIANTS_READER)
     @StepScope
-    DeprecableClusteredVariantsReader deprecableClusteredVariantsReader(MongoClient mongoClient,
-                                                                        MongoProperties mongoProperties,
-                                                                        MongoTemplate mongoTemplate,
-                                                                        InputParameters parameters) {
+    DeprecableClusteredVariantsReader deprecableClusteredVariantsReader(
+            MongoClient mongoClient, MongoProperties mongoProperties, MongoTemplate mongoTemplate,
+            InputParameters parameters,
+            @Value("#{stepExecutionContext['" + ASSEMBLY_ACCESSION + "']}") String partitionAssembly) {
         boolean assembliesProvided =
                 parameters.getAssemblyAccession() != null && !parameters.getAssemblyAccession().isEmpty();
 
@@ -46,6 +51,11 @@ public class DeprecableClusteredVariantsReaderConfiguration {
                     "Please provide either: 1) parameters.deprecateAll=true and empty parameters.assemblyAccession or"
                     + " 2) parameters.deprecateAll=false and parameters.assemblyAccession=<comma-separated-accessions>");
         }
+        if (partitionAssembly != null) {
+            return new DeprecableClusteredVariantsReader(mongoClient, mongoProperties.getDatabase(), mongoTemplate,
+                                                         Collections.singletonList(partitionAssembly),
+                                                         parameters.getChunkSize());
+        }
         if (assembliesProvided) {
             return new DeprecableClusteredVariantsReader(mongoClient, mongoProperties.getDatabase(), mongoTemplate,
                                                          parameters.getAssemblyAccession(), parameters.getChunkSize());
@@ -27,6 +27,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import uk.ac.ebi.eva.accession.dbsnp.deprecate.configuration.BeanNames;
+import uk.ac.ebi.eva.accession.dbsnp.deprecate.parameters.InputParameters;
 import uk.ac.ebi.eva.commons.batch.configuration.SpringBoot1CompatibilityConfiguration;
 
 import javax.persistence.EntityManagerFactory;
@@ -40,11 +41,17 @@ public class DeprecateClusteredVariantsJobConfiguration {
     @Qualifier(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_STEP)
     private Step deprecateClusteredVariantsStep;
 
+    @Autowired
+    @Qualifier(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP)
+    private Step deprecateClusteredVariantsPartitionedStep;
+
     @Bean(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_JOB)
-    public Job accessionReleaseJob(JobBuilderFactory jobBuilderFactory) {
+    public Job accessionReleaseJob(JobBuilderFactory jobBuilderFactory, InputParameters parameters) {
+        Step deprecationStep = parameters.getPartitionThreads() > 1 ? deprecateClusteredVariantsPartitionedStep
+                                                                    : deprecateClusteredVariantsStep;
         return jobBuilderFactory.get(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_JOB)
                                 .incrementer(new RunIdIncrementer())
-                                .start(deprecateClusteredVariantsStep)
+                                .start(deprecationStep)
                                 .build();
     }
 
@@ -15,21 +15,27 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp.deprecate.configuration.batch.steps;
 
+import com.mongodb.MongoClient;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.step.tasklet.TaskletStep;
 import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.partitioners.AssemblyPartitioner;
 import uk.ac.ebi.eva.accession.dbsnp.deprecate.configuration.BeanNames;
+import uk.ac.ebi.eva.accession.dbsnp.deprecate.parameters.InputParameters;
 
 @Configuration
 @EnableBatchProcessing
@@ -58,4 +64,30 @@ public class DeprecateClusteredVariantsStepConfiguration {
                 .build();
         return step;
     }
+
+    /**
+     * Runs the deprecation step once per assembly, using up to parameters.partitionThreads threads at the same time.
+     * The read and write counts of all the partitions are added up in the execution of this step.
+     */
+    @Bean(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP)
+    public Step deprecateClusteredVariantsPartitionedStep(
+            StepBuilderFactory stepBuilderFactory, InputParameters parameters,
+            @Qualifier(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_STEP) Step deprecateClusteredVariantsStep,
+            @Qualifier(BeanNames.ASSEMBLY_PARTITIONER) Partitioner partitioner) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(
+                BeanNames.DEPRECATE_CLUSTERED_VARIANTS_STEP + "-");
+        taskExecutor.setConcurrencyLimit(parameters.getPartitionThreads());
+        return stepBuilderFactory.get(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP)
+                .partitioner(BeanNames.DEPRECATE_CLUSTERED_VARIANTS_STEP, partitioner)
+                .step(deprecateClusteredVariantsStep)
+                .taskExecutor(taskExecutor)
+                .listener(progressListener)
+                .build();
+    }
+
+    @Bean(BeanNames.ASSEMBLY_PARTITIONER)
+    public Partitioner assemblyPartitioner(MongoClient mongoClient, MongoProperties mongoProperties,
+                                           InputParameters parameters) {
+        return new AssemblyPartitioner(mongoClient, mongoProperties.getDatabase(), parameters.getAssemblyAccession());
+    }
 }
@@ -25,6 +25,8 @@ public class InputParameters {
 
     private boolean deprecateAll;
 
+    private int partitionThreads = 1;
+
     public int getChunkSize() {
         return chunkSize;
     }
@@ -48,4 +50,12 @@ public class InputParameters {
     public void setDeprecateAll(Boolean deprecateAll) {
         this.deprecateAll = deprecateAll;
     }
+
+    public int getPartitionThreads() {
+        return partitionThreads;
+    }
+
+    public void setPartitionThreads(int partitionThreads) {
+        this.partitionThreads = partitionThreads;
+    }
 }
@@ -40,6 +40,8 @@ import uk.ac.ebi.eva.accession.dbsnp.deprecate.test.rule.FixSpringMongoDbRule;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -109,6 +111,20 @@ public class DeprecableClusteredVariantsReaderTest {
         assertTrue(variants.stream().anyMatch(x -> x.getId().equals(ID_2)));
     }
 
+    @Test
+    public void batchSizeDoesNotChangeTheDeprecableVariants() {
+        Set<String> expectedIds = readIntoList().stream().map(DbsnpClusteredVariantEntity::getId)
+                                                .collect(Collectors.toSet());
+        for (int chunkSize = 1; chunkSize < CHUNK_SIZE; chunkSize++) {
+            reader.close();
+            reader = new DeprecableClusteredVariantsReader(mongoClient, TEST_DB, mongoTemplate, chunkSize);
+            reader.open(executionContext);
+            Set<String> ids = readIntoList().stream().map(DbsnpClusteredVariantEntity::getId)
+                                            .collect(Collectors.toSet());
+            assertEquals("Chunk size " + chunkSize, expectedIds, ids);
+        }
+    }
+
     private List<DbsnpClusteredVariantEntity> readIntoList() {
         DbsnpClusteredVariantEntity variant;
         List<DbsnpClusteredVariantEntity> variants = new ArrayList<>();
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.partitioners;
+
+import com.lordofthejars.nosqlunit.annotation.UsingDataSet;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import com.mongodb.MongoClient;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp.deprecate.test.configuration.MongoTestConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp.deprecate.test.rule.FixSpringMongoDbRule;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static uk.ac.ebi.eva.accession.dbsnp.deprecate.batch.partitioners.AssemblyPartitioner.ASSEMBLY_ACCESSION;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource("classpath:application.properties")
+@UsingDataSet(locations = {"/test-data/dbsnpClusteredVariantEntityDeclustered.json"})
+@ContextConfiguration(classes = {MongoConfiguration.class, MongoTestConfiguration.class})
+public class AssemblyPartitionerTest {
+
+    private static final String TEST_DB = "test-db";
+
+    private static final String ASM_1 = "GCA_000000001.1";
+
+    private static final String ASM_2 = "GCA_000000002.1";
+
+    private static final String ASM_3 = "GCA_000000003.1";
+
+    private static final String ASM_4 = "GCA_000000004.1";
+
+    private static final String ASM_5 = "GCA_000331145.1";
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName(TEST_DB).build());
+
+    @After
+    public void tearDown() {
+        mongoClient.dropDatabase(TEST_DB);
+    }
+
+    @Test
+    public void onePartitionPerDeclusteredAssembly() {
+        AssemblyPartitioner partitioner = new AssemblyPartitioner(mongoClient, TEST_DB, null);
+        assertEquals(Arrays.asList(ASM_1, ASM_2, ASM_3, ASM_4, ASM_5), getPartitionAssemblies(partitioner));
+    }
+
+    @Test
+    public void onePartitionPerGivenAssembly() {
+        AssemblyPartitioner partitioner = new AssemblyPartitioner(mongoClient, TEST_DB, Arrays.asList(ASM_3, ASM_1));
+        assertEquals(Arrays.asList(ASM_1, ASM_3), getPartitionAssemblies(partitioner));
+    }
+
+    @Test
+    public void partitionNamesDoNotDependOnTheGridSize() {
+        AssemblyPartitioner partitioner = new AssemblyPartitioner(mongoClient, TEST_DB, null);
+        assertEquals(partitioner.partition(1).keySet(), partitioner.partition(10).keySet());
+    }
+
+    private List<String> getPartitionAssemblies(AssemblyPartitioner partitioner) {
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+        return partitions.values().stream().map(context -> context.getString(ASSEMBLY_ACCESSION))
+                         .collect(Collectors.toList());
+    }
+}
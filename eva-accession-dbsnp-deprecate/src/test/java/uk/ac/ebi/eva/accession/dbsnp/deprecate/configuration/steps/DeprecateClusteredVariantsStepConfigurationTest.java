@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -97,6 +98,21 @@ public class DeprecateClusteredVariantsStepConfigurationTest {
         assertNumDeprecatedOperations();
     }
 
+    @Test
+    public void partitionedStepDeprecatesTheSameVariants() {
+        JobExecution jobExecution = jobLauncherTestUtils.launchStep(
+                BeanNames.DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP);
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        assertEquals(EXPECTED_VARIANTS_TO_BE_NOT_FULLY_DECLUSTERED,
+                     mongoTemplate.getCollection(DBSNP_CLUSTERED_VARIANT_ENTITY_DECLUSTERED).count());
+        assertNumDeprecatedOperations();
+
+        StepExecution partitionedStepExecution = jobExecution.getStepExecutions().stream().filter(
+                stepExecution -> stepExecution.getStepName().equals(
+                        BeanNames.DEPRECATE_CLUSTERED_VARIANTS_PARTITIONED_STEP)).findFirst().get();
+        assertEquals(EXPECTED_OPERATIONS, partitionedStepExecution.getWriteCount());
+    }
+
     private void assertNumDeprecatedOperations() {
         List<DbsnpClusteredVariantOperationEntity> operations = mongoTemplate
                 .find(new Query(), DbsnpClusteredVariantOperationEntity.class);
@@ -19,6 +19,7 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -27,13 +28,34 @@ import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.Index;
 
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
- * Read all SubmittedVariants for a given study
+ * Read all SubmittedVariants for a given study, both from the EVA and the dbSNP collections.
+ *
+ * Each collection is read by its own cursor in a background thread, and the variants are interleaved through a bounded
+ * queue, so the deprecation of one chunk overlaps with the reading of the next ones. Only the fields mapped in
+ * {@link SubmittedVariantEntity} are fetched, as the deprecation writer copies all of them into the deprecation
+ * operation.
+ *
+ * Each cursor is sorted by _id, so the last _id returned from each collection is saved in the execution context, and a
+ * restarted job continues after it. The reader ensures an index on {seq, study, _id} in both collections, so that the
+ * variants of the study, and the ones after the last _id read, are returned in order from the index instead of
+ * scanning the whole _id index or sorting the study in memory.
  */
 public class StudySubmittedVariantsReader implements ItemStreamReader<SubmittedVariantEntity> {
 
@@ -43,19 +65,37 @@ public class StudySubmittedVariantsReader implements ItemStreamReader<SubmittedV
 
     static final String STUDY_FIELD = "study";
 
+    static final String LAST_READ_ID_KEY_PREFIX = "StudySubmittedVariantsReader.lastReadId.";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final List<String> SUBMITTED_VARIANT_FIELDS = Arrays.asList(
+            "accession", "version", "createdDate", ASSEMBLY_FIELD, "tax", STUDY_FIELD, "contig", "start", "ref", "alt",
+            "rs", "evidence", "asmMatch", "allelesMatch", "validated", "remappedFrom", "remappedDate", "remappingId",
+            "mapWeight", SubmittedVariantEntity.backPropagatedRSAttribute);
+
+    private static final List<Class<? extends SubmittedVariantEntity>> ENTITY_CLASSES = Arrays.asList(
+            SubmittedVariantEntity.class, DbsnpSubmittedVariantEntity.class);
+
     String assembly;
 
     String study;
 
-    MongoCursor<Document> evaCursor;
-
     MongoConverter converter;
 
     MongoTemplate mongoTemplate;
 
     int chunkSize;
 
-    private static final String ID_FIELD = "_id";
+    private String[] collectionNames;
+
+    private String[] lastReadIds;
+
+    private BlockingQueue<QueuedDocument> queue;
+
+    private ExecutorService executor;
+
+    private int finishedCollections;
 
     public StudySubmittedVariantsReader(String assembly, String study, MongoTemplate mongoTemplate, int chunkSize) {
         this.assembly = assembly;
@@ -66,37 +106,99 @@ public class StudySubmittedVariantsReader implements ItemStreamReader<SubmittedV
 
     @Override
     public SubmittedVariantEntity read() {
-        Document nextElement = null;
-        if (evaCursor != null && evaCursor.hasNext()) {
-            nextElement = evaCursor.next();
-        }
-        if (nextElement != null) {
-            return getSubmittedVariantEntity(nextElement);
+        while (queue != null && finishedCollections < ENTITY_CLASSES.size()) {
+            QueuedDocument next = takeFromQueue();
+            if (next.error != null) {
+                throw new ItemStreamException("Error reading submitted variants from collection "
+                                                      + collectionNames[next.collectionIndex], next.error);
+            }
+            if (next.document == null) {
+                finishedCollections++;
+                continue;
+            }
+            lastReadIds[next.collectionIndex] = next.document.getString(ID_FIELD);
+            return getSubmittedVariantEntity(next.document);
         }
         return null;
     }
 
-    private SubmittedVariantEntity getSubmittedVariantEntity(Document notClusteredSubmittedVariants) {
-        return converter.read(SubmittedVariantEntity.class, new BasicDBObject(notClusteredSubmittedVariants));
+    private QueuedDocument takeFromQueue() {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItemStreamException("Interrupted while reading submitted variants", e);
+        }
+    }
+
+    private SubmittedVariantEntity getSubmittedVariantEntity(Document submittedVariant) {
+        return converter.read(SubmittedVariantEntity.class, new BasicDBObject(submittedVariant));
     }
 
     @Override
     public void open(ExecutionContext executionContext) throws ItemStreamException {
+        converter = mongoTemplate.getConverter();
+        collectionNames = new String[ENTITY_CLASSES.size()];
+        lastReadIds = new String[ENTITY_CLASSES.size()];
+        for (int i = 0; i < ENTITY_CLASSES.size(); i++) {
+            collectionNames[i] = mongoTemplate.getCollectionName(ENTITY_CLASSES.get(i));
+            lastReadIds[i] = executionContext.getString(LAST_READ_ID_KEY_PREFIX + collectionNames[i], null);
+        }
+        ensureIndexes();
         initializeReader();
     }
 
+    private void ensureIndexes() {
+        for (String collectionName : collectionNames) {
+            mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(ASSEMBLY_FIELD, Sort.Direction.ASC)
+                                                                          .on(STUDY_FIELD, Sort.Direction.ASC)
+                                                                          .on(ID_FIELD, Sort.Direction.ASC)
+                                                                          .background());
+        }
+    }
+
     public void initializeReader() {
+        queue = new ArrayBlockingQueue<>(2 * chunkSize);
+        finishedCollections = 0;
+        executor = Executors.newFixedThreadPool(ENTITY_CLASSES.size(),
+                                                DaemonThreadFactory.numbered("study-variants-reader-"));
+        BlockingQueue<QueuedDocument> collectionsQueue = queue;
+        for (int i = 0; i < ENTITY_CLASSES.size(); i++) {
+            int collectionIndex = i;
+            executor.submit(() -> readCollection(collectionIndex, collectionsQueue));
+        }
+    }
+
+    private void readCollection(int collectionIndex, BlockingQueue<QueuedDocument> queue) {
         Bson query = Filters.and(Filters.eq(ASSEMBLY_FIELD, assembly), Filters.eq(STUDY_FIELD, this.study));
-        FindIterable<Document> submittedVariantsEVA;
-        logger.info("Issuing find in EVA collection: {}", query);
-        submittedVariantsEVA = getSubmittedVariants(query, SubmittedVariantEntity.class);
-        evaCursor = submittedVariantsEVA.iterator();
-        converter = mongoTemplate.getConverter();
+        if (lastReadIds[collectionIndex] != null) {
+            query = Filters.and(query, Filters.gt(ID_FIELD, lastReadIds[collectionIndex]));
+        }
+        logger.info("Issuing find in {} collection: {}", collectionNames[collectionIndex], query);
+        QueuedDocument endOfCollection;
+        try (MongoCursor<Document> cursor = getSubmittedVariants(query, collectionNames[collectionIndex])
+                .iterator()) {
+            while (cursor.hasNext()) {
+                queue.put(new QueuedDocument(collectionIndex, cursor.next(), null));
+            }
+            endOfCollection = new QueuedDocument(collectionIndex, null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            endOfCollection = new QueuedDocument(collectionIndex, null, e);
+        }
+        try {
+            queue.put(endOfCollection);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private FindIterable<Document> getSubmittedVariants(Bson query, Class<?> entityClass) {
-        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+    private FindIterable<Document> getSubmittedVariants(Bson query, String collectionName) {
+        return mongoTemplate.getCollection(collectionName)
                             .find(query)
+                            .projection(Projections.include(SUBMITTED_VARIANT_FIELDS))
                             .sort(Sorts.ascending(ID_FIELD))
                             .noCursorTimeout(true)
                             .batchSize(chunkSize);
@@ -104,11 +206,40 @@ public class StudySubmittedVariantsReader implements ItemStreamReader<SubmittedV
 
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
-
+        if (lastReadIds == null) {
+            return;
+        }
+        for (int i = 0; i < lastReadIds.length; i++) {
+            if (lastReadIds[i] != null) {
+                executionContext.putString(LAST_READ_ID_KEY_PREFIX + collectionNames[i], lastReadIds[i]);
+            }
+        }
     }
 
     @Override
     public void close() throws ItemStreamException {
-        evaCursor.close();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        queue = null;
+    }
+
+    /**
+     * A document read from one of the collections. A null document marks the end of that collection, and a non-null
+     * error means that the collection could not be read.
+     */
+    private static class QueuedDocument {
+
+        private final int collectionIndex;
+
+        private final Document document;
+
+        private final RuntimeException error;
+
+        QueuedDocument(int collectionIndex, Document document, RuntimeException error) {
+            this.collectionIndex = collectionIndex;
+            this.document = document;
+            this.error = error;
+        }
     }
 }
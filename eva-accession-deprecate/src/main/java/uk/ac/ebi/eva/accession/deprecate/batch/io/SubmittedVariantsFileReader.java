@@ -16,7 +16,6 @@
 package uk.ac.ebi.eva.accession.deprecate.batch.io;
 
 import com.mongodb.BasicDBObject;
-import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
 import org.bson.Document;
@@ -28,122 +27,230 @@ import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * Read all SubmittedVariants for a given assembly whose ids are given in the input file
+ * Read all SubmittedVariants for a given assembly whose ids are given in the input file.
+ *
+ * The ids are read in batches of chunkSize. The ids assigned by EVA are looked up in the EVA collection and the ones
+ * imported from dbSNP (below accessioningMonotonicInitSs) in the dbSNP collection, both queries running at the same
+ * time. The next batch is loaded in the background while the variants of the current batch are being deprecated.
+ *
+ * The file offset where the current batch starts is saved in the execution context, so a restarted job continues from
+ * that batch. The variants of that batch that were already deprecated are no longer in the collections, so reading the
+ * batch again only returns the pending ones.
  */
 public class SubmittedVariantsFileReader implements ItemStreamReader<SubmittedVariantEntity> {
 
     private static final Logger logger = LoggerFactory.getLogger(SubmittedVariantsFileReader.class);
 
+    static final String BATCH_START_OFFSET_KEY = "SubmittedVariantsFileReader.batchStartOffset";
+    static final String BATCH_INDEX_KEY = "SubmittedVariantsFileReader.batchIndex";
+
     private static final String ASSEMBLY_FIELD = "seq";
     private static final String ACCESSION_FIELD = "accession";
 
-    private BufferedReader reader;
-    private boolean endOfFile = false;
     private String assembly;
     private String variantIdFile;
-    private MongoCursor<Document> evaCursor;
     private MongoConverter converter;
     private MongoTemplate mongoTemplate;
     private int chunkSize;
+    private Long accessioningMonotonicInitSs;
 
-    public SubmittedVariantsFileReader(String assembly, String variantIdFile, MongoTemplate mongoTemplate, int chunkSize) {
+    private InputStream input;
+    private long fileOffset;
+    private int nextBatchIndex;
+    private ExecutorService executor;
+    private Future<Batch> nextBatch;
+    private Batch currentBatch;
+    private Iterator<SubmittedVariantEntity> currentVariants;
+
+    public SubmittedVariantsFileReader(String assembly, String variantIdFile, MongoTemplate mongoTemplate,
+                                       int chunkSize, Long accessioningMonotonicInitSs) {
         this.assembly = assembly;
         this.variantIdFile = variantIdFile;
         this.mongoTemplate = mongoTemplate;
         this.chunkSize = chunkSize;
+        this.accessioningMonotonicInitSs = accessioningMonotonicInitSs;
     }
 
     @Override
     public SubmittedVariantEntity read() {
-        if (evaCursor == null || !evaCursor.hasNext()) {
-            if (endOfFile) {
+        while (currentVariants == null || !currentVariants.hasNext()) {
+            if (nextBatch == null) {
                 return null;
             }
-
-            loadNextBatchAndQuery();
-
-            if (evaCursor == null || !evaCursor.hasNext()) {
+            Batch batch = getNextBatch();
+            if (batch == null) {
+                nextBatch = null;
                 return null;
             }
+            currentBatch = batch;
+            currentVariants = batch.variants.iterator();
+            nextBatch = executor.submit(this::loadBatch);
         }
-
-        Document nextElement = evaCursor.next();
-        return getSubmittedVariantEntity(nextElement);
+        return currentVariants.next();
     }
 
-    private SubmittedVariantEntity getSubmittedVariantEntity(Document document) {
-        return converter.read(SubmittedVariantEntity.class, new BasicDBObject(document));
+    private Batch getNextBatch() {
+        try {
+            return nextBatch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ItemStreamException("Interrupted while reading a batch of variant IDs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ItemStreamException("Error reading a batch of variant IDs", e.getCause());
+        }
     }
 
     @Override
     public void open(ExecutionContext executionContext) throws ItemStreamException {
+        converter = mongoTemplate.getConverter();
+        fileOffset = executionContext.getLong(BATCH_START_OFFSET_KEY, 0);
+        nextBatchIndex = executionContext.getInt(BATCH_INDEX_KEY, 0);
         try {
-            reader = new BufferedReader(new FileReader(variantIdFile));
+            FileInputStream fileInputStream = new FileInputStream(variantIdFile);
+            fileInputStream.getChannel().position(fileOffset);
+            input = new BufferedInputStream(fileInputStream);
         } catch (IOException e) {
             throw new ItemStreamException("Failed to open the file (" + variantIdFile + ") with variant IDs", e);
         }
-        initializeReader();
-    }
+        if (fileOffset > 0) {
+            logger.info("Restarting from batch {} of variant IDs, at byte {} of {}", nextBatchIndex, fileOffset,
+                        variantIdFile);
+        }
 
-    public void initializeReader() {
-        converter = mongoTemplate.getConverter();
-        loadNextBatchAndQuery();
+        executor = Executors.newFixedThreadPool(2, DaemonThreadFactory.numbered("variant-ids-reader-"));
+        nextBatch = executor.submit(this::loadBatch);
     }
 
-    private void loadNextBatchAndQuery() {
-        List<Long> variantIds = new ArrayList<>();
+    /**
+     * Only one batch is loaded at a time, so the file is always read sequentially. One of the two threads of the
+     * executor loads the batch and the other one queries the dbSNP collection.
+     */
+    private Batch loadBatch() throws Exception {
+        long batchStartOffset = fileOffset;
+        List<Long> evaIds = new ArrayList<>();
+        List<Long> dbsnpIds = new ArrayList<>();
         String line;
-
-        try {
-            while (variantIds.size() < chunkSize && (line = reader.readLine()) != null) {
-                variantIds.add(Long.parseLong(line.trim()));
+        while (evaIds.size() + dbsnpIds.size() < chunkSize && (line = readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
             }
-            if (variantIds.isEmpty()) {
-                endOfFile = true;
-                return;
+            long id = Long.parseLong(line.trim());
+            if (id >= accessioningMonotonicInitSs) {
+                evaIds.add(id);
+            } else {
+                dbsnpIds.add(id);
             }
-        } catch (IOException e) {
-            throw new ItemStreamException("Error reading variant IDs from file", e);
+        }
+        if (evaIds.isEmpty() && dbsnpIds.isEmpty()) {
+            return null;
         }
 
-        Bson query = Filters.and(Filters.in(ACCESSION_FIELD, variantIds), Filters.eq(ASSEMBLY_FIELD, assembly));
-        logger.info("Issuing find in EVA collection for a batch of IDs: {}", query);
-        FindIterable<Document> submittedVariantsEVA = getSubmittedVariants(query, SubmittedVariantEntity.class);
-        evaCursor = submittedVariantsEVA.iterator();
+        Future<List<SubmittedVariantEntity>> dbsnpVariants = null;
+        if (!dbsnpIds.isEmpty()) {
+            dbsnpVariants = executor.submit(() -> findSubmittedVariants(dbsnpIds, DbsnpSubmittedVariantEntity.class));
+        }
+        List<SubmittedVariantEntity> variants = new ArrayList<>();
+        if (!evaIds.isEmpty()) {
+            variants.addAll(findSubmittedVariants(evaIds, SubmittedVariantEntity.class));
+        }
+        if (dbsnpVariants != null) {
+            variants.addAll(dbsnpVariants.get());
+        }
+        return new Batch(nextBatchIndex++, batchStartOffset, variants);
+    }
+
+    /**
+     * Reads a line counting the bytes consumed, so the offset of every batch is known. The IDs are ASCII, so every
+     * byte is a character.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int character;
+        while ((character = input.read()) != -1) {
+            fileOffset++;
+            if (character == '\n') {
+                return line.toString();
+            }
+            line.append((char) character);
+        }
+        return line.length() == 0 ? null : line.toString();
     }
 
-    private FindIterable<Document> getSubmittedVariants(Bson query, Class<?> entityClass) {
-        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
-                .find(query)
-                .noCursorTimeout(true)
-                .batchSize(chunkSize);
+    private List<SubmittedVariantEntity> findSubmittedVariants(List<Long> variantIds,
+                                                               Class<? extends SubmittedVariantEntity> entityClass) {
+        Bson query = Filters.and(Filters.in(ACCESSION_FIELD, variantIds), Filters.eq(ASSEMBLY_FIELD, assembly));
+        String collectionName = mongoTemplate.getCollectionName(entityClass);
+        logger.info("Issuing find in {} collection for a batch of IDs: {}", collectionName, query);
+        List<SubmittedVariantEntity> variants = new ArrayList<>();
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collectionName)
+                                                         .find(query)
+                                                         .batchSize(chunkSize)
+                                                         .iterator()) {
+            while (cursor.hasNext()) {
+                variants.add(converter.read(entityClass, new BasicDBObject(cursor.next())));
+            }
+        }
+        return variants;
     }
 
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
-
+        if (currentBatch != null) {
+            executionContext.putLong(BATCH_START_OFFSET_KEY, currentBatch.startOffset);
+            executionContext.putInt(BATCH_INDEX_KEY, currentBatch.index);
+        }
     }
 
     @Override
     public void close() throws ItemStreamException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        nextBatch = null;
+        currentBatch = null;
+        currentVariants = null;
         try {
-            if (evaCursor != null) {
-                evaCursor.close();
-            }
-            if (reader != null) {
-                reader.close();
+            if (input != null) {
+                input.close();
             }
         } catch (IOException e) {
             throw new ItemStreamException("Exception while closing resources", e);
         }
     }
+
+    private static class Batch {
+
+        private final int index;
+
+        private final long startOffset;
+
+        private final List<SubmittedVariantEntity> variants;
+
+        Batch(int index, long startOffset, List<SubmittedVariantEntity> variants) {
+            this.index = index;
+            this.startOffset = startOffset;
+            this.variants = Collections.unmodifiableList(variants);
+        }
+    }
 }
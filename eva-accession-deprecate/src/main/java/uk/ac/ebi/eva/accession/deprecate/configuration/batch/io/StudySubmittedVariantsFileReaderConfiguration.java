@@ -21,18 +21,20 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.SubmittedVariantAccessioningConfiguration;
 import uk.ac.ebi.eva.accession.deprecate.batch.io.SubmittedVariantsFileReader;
 import uk.ac.ebi.eva.accession.deprecate.configuration.BeanNames;
 import uk.ac.ebi.eva.accession.deprecate.parameters.InputParameters;
 
 @Configuration
-@Import({MongoConfiguration.class})
+@Import({MongoConfiguration.class, SubmittedVariantAccessioningConfiguration.class})
 public class StudySubmittedVariantsFileReaderConfiguration {
 
     @Bean(BeanNames.SUBMITTED_VARIANTS_FILE_READER)
     @StepScope
-    SubmittedVariantsFileReader submittedVariantsFileReader(MongoTemplate mongoTemplate, InputParameters parameters) {
+    SubmittedVariantsFileReader submittedVariantsFileReader(MongoTemplate mongoTemplate, InputParameters parameters,
+                                                            Long accessioningMonotonicInitSs) {
         return new SubmittedVariantsFileReader(parameters.getAssemblyAccession(), parameters.getVariantIdFile(),
-                mongoTemplate, parameters.getChunkSize());
+                mongoTemplate, parameters.getChunkSize(), accessioningMonotonicInitSs);
     }
 }
@@ -26,7 +26,6 @@ import uk.ac.ebi.eva.accession.core.configuration.nonhuman.ClusteredVariantAcces
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.SubmittedVariantAccessioningConfiguration;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.deprecate.configuration.BeanNames;
 import uk.ac.ebi.eva.accession.deprecate.parameters.InputParameters;
 
@@ -39,12 +38,10 @@ public class SubmittedVariantDeprecationWriterConfiguration {
     @StepScope
     SubmittedVariantDeprecationWriter deprecationWriter
             (MongoTemplate mongoTemplate, InputParameters parameters,
-             SubmittedVariantAccessioningService submittedVariantAccessioningService,
              ClusteredVariantAccessioningService clusteredVariantAccessioningService,
              Long accessioningMonotonicInitSs,
              Long accessioningMonotonicInitRs) {
         return new SubmittedVariantDeprecationWriter(parameters.getAssemblyAccession(), mongoTemplate,
-                                                     submittedVariantAccessioningService,
                                                      clusteredVariantAccessioningService,
                                                      accessioningMonotonicInitSs, accessioningMonotonicInitRs,
                                                      parameters.getDeprecationIdSuffix(),
@@ -27,23 +27,31 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.deprecate.test.configuration.MongoTestConfiguration;
 import uk.ac.ebi.eva.accession.deprecate.test.rule.FixSpringMongoDbRule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.ASSEMBLY;
 import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.populateTestDB;
 import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.STUDY1;
+import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.STUDY2;
 
 @RunWith(SpringRunner.class)
 @TestPropertySource("classpath:study-submitted-variants-test.properties")
@@ -58,6 +66,8 @@ public class StudySubmittedVariantsReaderTest {
 
     private static final String ID_3 = "hash7";
 
+    private static final String DBSNP_ID = "hash2";
+
     private static final int CHUNK_SIZE = 5;
 
     private ExecutionContext executionContext;
@@ -101,6 +111,57 @@ public class StudySubmittedVariantsReaderTest {
         assertTrue(variants.stream().anyMatch(x -> x.getId().equals(ID_3)));
     }
 
+    @Test
+    public void readStudySubmittedVariantsFromDbsnpCollection() {
+        mongoTemplate.insert(new DbsnpSubmittedVariantEntity(2L, DBSNP_ID, ASSEMBLY, 60711, STUDY1, "chr1", 90L, "A",
+                                                             "G", 1L, false, false, false, false, 1),
+                             mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class));
+        mongoTemplate.insert(new DbsnpSubmittedVariantEntity(3L, "hash3", ASSEMBLY, 60711, STUDY2, "chr1", 90L, "A",
+                                                             "C", 1L, false, false, false, false, 1),
+                             mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class));
+        reader.close();
+        reader = new StudySubmittedVariantsReader(ASSEMBLY, STUDY1, mongoTemplate, CHUNK_SIZE);
+        reader.open(executionContext);
+
+        List<SubmittedVariantEntity> variants = readIntoList();
+        assertEquals(4, variants.size());
+        SubmittedVariantEntity dbsnpVariant = variants.stream().filter(x -> x.getId().equals(DBSNP_ID)).findFirst()
+                                                      .orElse(null);
+        assertNotNull(dbsnpVariant);
+        assertEquals(Long.valueOf(2L), dbsnpVariant.getAccession());
+        assertEquals(Long.valueOf(1L), dbsnpVariant.getClusteredVariantAccession());
+    }
+
+    @Test
+    public void restartAfterTheLastReadVariant() {
+        Set<String> readIds = new HashSet<>();
+        readIds.add(reader.read().getId());
+        readIds.add(reader.read().getId());
+        reader.update(executionContext);
+        reader.close();
+
+        reader = new StudySubmittedVariantsReader(ASSEMBLY, STUDY1, mongoTemplate, CHUNK_SIZE);
+        reader.open(executionContext);
+        List<SubmittedVariantEntity> remainingVariants = readIntoList();
+        assertEquals(1, remainingVariants.size());
+        readIds.addAll(remainingVariants.stream().map(SubmittedVariantEntity::getId).collect(Collectors.toSet()));
+        assertEquals(3, readIds.size());
+    }
+
+    @Test
+    public void studyIndexIsEnsuredInBothCollections() {
+        for (Class<?> entityClass : Arrays.asList(SubmittedVariantEntity.class, DbsnpSubmittedVariantEntity.class)) {
+            List<List<String>> indexedFields = mongoTemplate
+                    .indexOps(entityClass)
+                    .getIndexInfo()
+                    .stream()
+                    .map(index -> index.getIndexFields().stream().map(IndexField::getKey).collect(Collectors.toList()))
+                    .collect(Collectors.toList());
+            assertTrue(indexedFields.contains(Arrays.asList(StudySubmittedVariantsReader.ASSEMBLY_FIELD,
+                                                            StudySubmittedVariantsReader.STUDY_FIELD, "_id")));
+        }
+    }
+
     private List<SubmittedVariantEntity> readIntoList() {
         SubmittedVariantEntity variant;
         List<SubmittedVariantEntity> variants = new ArrayList<>();
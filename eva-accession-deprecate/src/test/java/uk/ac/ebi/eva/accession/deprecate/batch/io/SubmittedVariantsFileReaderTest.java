@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.deprecate.batch.io;
+
+import com.lordofthejars.nosqlunit.mongodb.MongoDbConfigurationBuilder;
+import com.lordofthejars.nosqlunit.mongodb.MongoDbRule;
+import com.mongodb.MongoClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.deprecate.test.configuration.MongoTestConfiguration;
+import uk.ac.ebi.eva.accession.deprecate.test.rule.FixSpringMongoDbRule;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.ASSEMBLY;
+import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.STUDY1;
+import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.createSS;
+import static uk.ac.ebi.eva.accession.deprecate.MongoTestDatabaseSetup.populateTestDBForFile;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource("classpath:deprecate-submitted-variants-from-file-test.properties")
+@ContextConfiguration(classes = {MongoConfiguration.class, MongoTestConfiguration.class})
+public class SubmittedVariantsFileReaderTest {
+
+    private static final String TEST_DB = "test-db";
+
+    private static final int CHUNK_SIZE = 2;
+
+    private static final Long ACCESSIONING_MONOTONIC_INIT_SS = 4L;
+
+    private static final Long DBSNP_SS_ACCESSION = 2L;
+
+    private String variantIdFile;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    //Required by nosql-unit
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Rule
+    public MongoDbRule mongoDbRule = new FixSpringMongoDbRule(
+            MongoDbConfigurationBuilder.mongoDb().databaseName(TEST_DB).build());
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() throws Exception {
+        populateTestDBForFile(mongoTemplate);
+        SubmittedVariantEntity dbsnpVariant = createSS(STUDY1, DBSNP_SS_ACCESSION, null, 200L, "A", "G");
+        mongoTemplate.insert(dbsnpVariant, mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class));
+
+        File file = temporaryFolder.newFile("variant-ids.txt");
+        Files.write(file.toPath(), Arrays.asList("5", "2", "7", "6"), StandardCharsets.US_ASCII);
+        variantIdFile = file.getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() {
+        mongoClient.dropDatabase(TEST_DB);
+    }
+
+    @Test
+    public void readEvaAndDbsnpVariants() {
+        SubmittedVariantsFileReader reader = createReader();
+        reader.open(new ExecutionContext());
+        List<SubmittedVariantEntity> variants = readIntoList(reader, Integer.MAX_VALUE);
+        reader.close();
+
+        assertEquals(4, variants.size());
+        assertEquals(new HashSet<>(Arrays.asList(5L, 2L, 7L, 6L)), getAccessions(variants));
+    }
+
+    @Test
+    public void restartFromTheLastBatchBeingRead() {
+        SubmittedVariantsFileReader reader = createReader();
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        // the third variant belongs to the second batch of IDs
+        readIntoList(reader, 3);
+        reader.update(executionContext);
+        reader.close();
+
+        assertEquals(1, executionContext.getInt(SubmittedVariantsFileReader.BATCH_INDEX_KEY));
+        assertEquals("5\n2\n".length(), executionContext.getLong(SubmittedVariantsFileReader.BATCH_START_OFFSET_KEY));
+
+        SubmittedVariantsFileReader restartedReader = createReader();
+        restartedReader.open(executionContext);
+        List<SubmittedVariantEntity> variants = readIntoList(restartedReader, Integer.MAX_VALUE);
+        restartedReader.close();
+
+        assertEquals(new HashSet<>(Arrays.asList(7L, 6L)), getAccessions(variants));
+    }
+
+    private SubmittedVariantsFileReader createReader() {
+        return new SubmittedVariantsFileReader(ASSEMBLY, variantIdFile, mongoTemplate, CHUNK_SIZE,
+                                               ACCESSIONING_MONOTONIC_INIT_SS);
+    }
+
+    private List<SubmittedVariantEntity> readIntoList(SubmittedVariantsFileReader reader, int maxVariants) {
+        SubmittedVariantEntity variant;
+        List<SubmittedVariantEntity> variants = new ArrayList<>();
+        while (variants.size() < maxVariants && (variant = reader.read()) != null) {
+            variants.add(variant);
+        }
+        return variants;
+    }
+
+    private Set<Long> getAccessions(List<SubmittedVariantEntity> variants) {
+        return variants.stream().map(SubmittedVariantEntity::getAccession).collect(Collectors.toSet());
+    }
+}
@@ -18,7 +18,9 @@ package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
 import com.mongodb.MongoBulkWriteException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.dao.DuplicateKeyException;
 import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
 
@@ -30,53 +32,256 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantInactiveEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVariantOperationRepository;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.ContigClaims;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Writes a clustered variant to mongo DB collection: dbsnpClusteredVariantEntity
  * The writer skips the duplicates, and lists those in logger error messages for reporting
+ *
+ * Duplicates are resolved before writing: the chunk is grouped by hash, the variants that already exist with those
+ * hashes are retrieved in one query, and the merge operations already written for the duplicates are retrieved in
+ * another one. Only the variants with new hashes are inserted, so the insertion doesn't fail because of duplicates,
+ * and the merge operations of the whole chunk are written in one bulk operation. If another process inserts one of
+ * the hashes after it was looked up, the duplicate key error is resolved like before, with one query per hash.
+ *
+ * When importing several files in partitions, the writer claims each contig before writing it for the first time, so
+ * that duplicates across files are merged in the same order as in a sequential import (see {@link ContigClaims}).
+ *
+ * The counts of duplicate key errors and queries avoided are kept in the step execution context, so they survive a
+ * restart, and are logged when the step finishes.
  */
-public class DbsnpJsonClusteredVariantsWriter implements ItemWriter<DbsnpClusteredVariantEntity> {
+public class DbsnpJsonClusteredVariantsWriter implements ItemStreamWriter<DbsnpClusteredVariantEntity> {
 
     private static final Logger logger = LoggerFactory.getLogger(DbsnpJsonClusteredVariantsWriter.class);
 
+    static final String DUPLICATE_KEY_ERRORS_AVOIDED_KEY = "DbsnpJsonClusteredVariantsWriter.duplicateKeyErrorsAvoided";
+
+    static final String SINGLE_QUERIES_AVOIDED_KEY = "DbsnpJsonClusteredVariantsWriter.singleQueriesAvoided";
+
+    static final String CHUNK_QUERIES_KEY = "DbsnpJsonClusteredVariantsWriter.chunkQueries";
+
     private DbsnpClusteredVariantWriter dbsnpClusteredVariantWriter;
 
     private DbsnpClusteredVariantOperationWriter dbsnpClusteredVariantOperationWriter;
 
+    private DbsnpClusteredVariantOperationRepository clusteredOperationRepository;
+
+    private DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository;
+
     private MergeOperationBuilder<DbsnpClusteredVariantEntity, DbsnpClusteredVariantOperationEntity>
             clusteredOperationBuilder;
 
+    private ContigClaims contigClaims;
+
+    private Integer partitionIndex;
+
+    private Set<String> claimedContigs;
+
+    /**
+     * Chunks with duplicate hashes that were written without getting a duplicate key error
+     */
+    private long duplicateKeyErrorsAvoided;
+
+    /**
+     * Queries for a single hash or accession that resolving duplicate key errors would have needed
+     */
+    private long singleQueriesAvoided;
+
+    /**
+     * Queries issued to look up variants and merge operations of whole chunks
+     */
+    private long chunkQueries;
+
     public DbsnpJsonClusteredVariantsWriter(DbsnpClusteredVariantWriter dbsnpClusteredVariantWriter,
                                             DbsnpClusteredVariantOperationWriter dbsnpClusteredVariantOperationWriter,
                                             DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
                                             DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository) {
+        this(dbsnpClusteredVariantWriter, dbsnpClusteredVariantOperationWriter, clusteredOperationRepository,
+             clusteredVariantRepository, null, null);
+    }
+
+    /**
+     * @param contigClaims contigs claimed by the partitions of the import, or null if the import is not partitioned
+     * @param partitionIndex position of the file of this partition among all the imported files
+     */
+    public DbsnpJsonClusteredVariantsWriter(DbsnpClusteredVariantWriter dbsnpClusteredVariantWriter,
+                                            DbsnpClusteredVariantOperationWriter dbsnpClusteredVariantOperationWriter,
+                                            DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
+                                            DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository,
+                                            ContigClaims contigClaims, Integer partitionIndex) {
         this.dbsnpClusteredVariantWriter = dbsnpClusteredVariantWriter;
         this.dbsnpClusteredVariantOperationWriter = dbsnpClusteredVariantOperationWriter;
+        this.clusteredOperationRepository = clusteredOperationRepository;
+        this.clusteredVariantRepository = clusteredVariantRepository;
         this.clusteredOperationBuilder = new MergeOperationBuilder<>(
                 clusteredOperationRepository, clusteredVariantRepository, this::buildClusteredMergeOperation);
+        this.contigClaims = contigClaims;
+        this.partitionIndex = partitionIndex;
+        this.claimedContigs = new HashSet<>();
+    }
 
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        duplicateKeyErrorsAvoided = executionContext.getLong(DUPLICATE_KEY_ERRORS_AVOIDED_KEY, 0);
+        singleQueriesAvoided = executionContext.getLong(SINGLE_QUERIES_AVOIDED_KEY, 0);
+        chunkQueries = executionContext.getLong(CHUNK_QUERIES_KEY, 0);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(DUPLICATE_KEY_ERRORS_AVOIDED_KEY, duplicateKeyErrorsAvoided);
+        executionContext.putLong(SINGLE_QUERIES_AVOIDED_KEY, singleQueriesAvoided);
+        executionContext.putLong(CHUNK_QUERIES_KEY, chunkQueries);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        logger.info("Duplicate key errors avoided: {}, single queries avoided: {}, chunk queries issued: {}",
+                    duplicateKeyErrorsAvoided, singleQueriesAvoided, chunkQueries);
     }
 
     @Override
     public void write(List<? extends DbsnpClusteredVariantEntity> clusteredVariants) throws Exception {
-        try {
-            if (!clusteredVariants.isEmpty()) {
-                dbsnpClusteredVariantWriter.write(clusteredVariants);
+        if (clusteredVariants.isEmpty()) {
+            logger.warn("Could not find any clustered variants to write in the current chunk!");
+            return;
+        }
+        Map<String, List<DbsnpClusteredVariantEntity>> variantsByHash = groupByHash(clusteredVariants);
+        claimContigs(clusteredVariants);
+        Map<String, DbsnpClusteredVariantEntity> existingVariants = findExistingVariants(variantsByHash.keySet());
+
+        List<DbsnpClusteredVariantEntity> newVariants = new ArrayList<>();
+        List<MergeCandidate> mergeCandidates = new ArrayList<>();
+        for (Map.Entry<String, List<DbsnpClusteredVariantEntity>> hashAndVariants : variantsByHash.entrySet()) {
+            List<DbsnpClusteredVariantEntity> variants = hashAndVariants.getValue();
+            DbsnpClusteredVariantEntity mergedInto = existingVariants.get(hashAndVariants.getKey());
+            if (mergedInto == null) {
+                // the first variant with a hash is the one that the insertion would have kept
+                mergedInto = variants.get(0);
+                newVariants.add(mergedInto);
             }
-            else {
-                logger.warn("Could not find any clustered variants to write in the current chunk!");
+            if (variants.size() > 1 || existingVariants.containsKey(hashAndVariants.getKey())) {
+                // inserting this hash would have raised a duplicate key error, which needed a query to find the
+                // variant with the hash and another one for each variant to merge
+                singleQueriesAvoided++;
+                for (DbsnpClusteredVariantEntity variant : variants) {
+                    if (!variant.getAccession().equals(mergedInto.getAccession())) {
+                        mergeCandidates.add(new MergeCandidate(variant, mergedInto));
+                    }
+                }
             }
+        }
+        boolean hasDuplicates = newVariants.size() < clusteredVariants.size();
+
+        List<DbsnpClusteredVariantOperationEntity> mergeOperations = buildMergeOperations(mergeCandidates);
+        if (!newVariants.isEmpty()) {
+            mergeOperations.addAll(insertNewVariants(newVariants));
+        }
+        if (hasDuplicates) {
+            duplicateKeyErrorsAvoided++;
+        }
+        if (!mergeOperations.isEmpty()) {
+            dbsnpClusteredVariantOperationWriter.write(mergeOperations);
+        }
+        logger.debug("Duplicate key errors avoided: {}, single queries avoided: {}, chunk queries issued: {}",
+                     duplicateKeyErrorsAvoided, singleQueriesAvoided, chunkQueries);
+    }
+
+    private Map<String, List<DbsnpClusteredVariantEntity>> groupByHash(
+            List<? extends DbsnpClusteredVariantEntity> clusteredVariants) {
+        Map<String, List<DbsnpClusteredVariantEntity>> variantsByHash = new LinkedHashMap<>();
+        for (DbsnpClusteredVariantEntity variant : clusteredVariants) {
+            if (variant == null) {
+                throw new IllegalStateException(
+                        "Could not complete writing clustered variants, as some variants were actually null");
+            }
+            variantsByHash.computeIfAbsent(variant.getHashedMessage(), hash -> new ArrayList<>()).add(variant);
+        }
+        return variantsByHash;
+    }
+
+    private void claimContigs(List<? extends DbsnpClusteredVariantEntity> clusteredVariants)
+            throws InterruptedException {
+        if (contigClaims == null || partitionIndex == null) {
+            return;
+        }
+        for (DbsnpClusteredVariantEntity variant : clusteredVariants) {
+            if (claimedContigs.add(variant.getContig())) {
+                contigClaims.claim(variant.getContig(), partitionIndex);
+            }
+        }
+    }
+
+    private Map<String, DbsnpClusteredVariantEntity> findExistingVariants(Set<String> hashes) {
+        chunkQueries++;
+        Map<String, DbsnpClusteredVariantEntity> existingVariants = new HashMap<>();
+        for (DbsnpClusteredVariantEntity variant : clusteredVariantRepository.findAllById(hashes)) {
+            existingVariants.put(variant.getHashedMessage(), variant);
+        }
+        return existingVariants;
+    }
+
+    /**
+     * Builds the merge operations that haven't been written yet, looking up the existing operations of all the
+     * candidates in a single query
+     */
+    private List<DbsnpClusteredVariantOperationEntity> buildMergeOperations(List<MergeCandidate> mergeCandidates) {
+        List<DbsnpClusteredVariantOperationEntity> operations = new ArrayList<>();
+        if (mergeCandidates.isEmpty()) {
+            return operations;
+        }
+        List<Long> accessions = mergeCandidates.stream()
+                                               .map(candidate -> candidate.getOrigin().getAccession())
+                                               .distinct()
+                                               .collect(Collectors.toList());
+        chunkQueries++;
+        singleQueriesAvoided += accessions.size();
+        Set<String> existingMerges = new HashSet<>();
+        for (DbsnpClusteredVariantOperationEntity operation :
+                clusteredOperationRepository.findAllByAccessionIn(accessions)) {
+            if (operation.getEventType().equals(EventType.MERGED)) {
+                existingMerges.add(getMergeKey(operation.getAccession(), operation.getMergedInto(),
+                                               operation.getInactiveObjects().get(0).getHashedMessage()));
+            }
+        }
+
+        for (MergeCandidate candidate : mergeCandidates) {
+            DbsnpClusteredVariantEntity origin = candidate.getOrigin();
+            DbsnpClusteredVariantEntity mergedInto = candidate.getMergedInto();
+            // adding the key also skips the variants repeated with the same accession in the chunk
+            if (existingMerges.add(getMergeKey(origin.getAccession(), mergedInto.getAccession(),
+                                               origin.getHashedMessage()))) {
+                operations.add(buildClusteredMergeOperation(origin, mergedInto));
+            }
+        }
+        return operations;
+    }
+
+    private String getMergeKey(Long accession, Long mergedInto, String hash) {
+        return accession + "_" + mergedInto + "_" + hash;
+    }
+
+    /**
+     * @return merge operations for the variants that were inserted by someone else after being looked up
+     */
+    private List<DbsnpClusteredVariantOperationEntity> insertNewVariants(
+            List<DbsnpClusteredVariantEntity> newVariants) {
+        try {
+            dbsnpClusteredVariantWriter.write(newVariants);
+            return new ArrayList<>();
         } catch (DuplicateKeyException exception) {
             MongoBulkWriteException writeException = ((MongoBulkWriteException) exception.getCause());
-            List<DbsnpClusteredVariantOperationEntity> mergeClusteredOperations =
-                    clusteredOperationBuilder.buildMergeOperationsFromException(
-                            (List<DbsnpClusteredVariantEntity>) clusteredVariants, writeException);
-            if (!mergeClusteredOperations.isEmpty()) {
-                dbsnpClusteredVariantOperationWriter.write(mergeClusteredOperations);
-            }
+            return clusteredOperationBuilder.buildMergeOperationsFromException(newVariants, writeException);
         }
     }
 
@@ -91,4 +296,36 @@ public class DbsnpJsonClusteredVariantsWriter implements ItemWriter<DbsnpCluster
 
         return operation;
     }
+
+    public long getDuplicateKeyErrorsAvoided() {
+        return duplicateKeyErrorsAvoided;
+    }
+
+    public long getSingleQueriesAvoided() {
+        return singleQueriesAvoided;
+    }
+
+    public long getChunkQueries() {
+        return chunkQueries;
+    }
+
+    private static class MergeCandidate {
+
+        private final DbsnpClusteredVariantEntity origin;
+
+        private final DbsnpClusteredVariantEntity mergedInto;
+
+        MergeCandidate(DbsnpClusteredVariantEntity origin, DbsnpClusteredVariantEntity mergedInto) {
+            this.origin = origin;
+            this.mergedInto = mergedInto;
+        }
+
+        DbsnpClusteredVariantEntity getOrigin() {
+            return origin;
+        }
+
+        DbsnpClusteredVariantEntity getMergedInto() {
+            return mergedInto;
+        }
+    }
 }
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.utils.IOUtils;
+
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decompresses a bzip2 file using several threads, returning exactly the same bytes as a sequential decompression.
+ * <p>
+ * A bzip2 stream is a sequence of blocks that can be decompressed independently, but blocks are not aligned to bytes.
+ * A scanner thread looks for the 48-bit block and end of stream markers at every bit offset, and each block is sent
+ * to a pool of decompressors as a standalone single-block bzip2 stream. The decompressed blocks are returned in their
+ * original order, and at most {@code readAheadBlocks} blocks are kept in memory ahead of the reader.
+ * <p>
+ * The CRC of each block is still verified by the decompressor, but the combined CRC of the whole stream is not. A
+ * marker may appear by chance inside the compressed data; in that case the pieces of the block fail to decompress,
+ * and they are merged with the following segments until the block decompresses. The bits after an end of stream
+ * marker are kept as a segment too, and they are only skipped if they are a real end of stream: zero padding after the
+ * combined CRC, followed by the end of the file or the header of a concatenated stream. Otherwise they are part of a
+ * block and they are merged like the pieces split by a false block marker. Concatenated bzip2 streams are supported.
+ */
+public class ParallelBzip2InputStream extends InputStream {
+
+    private static final long BLOCK_MAGIC = 0x314159265359L;
+
+    private static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+
+    private static final int MAGIC_BITS = 48;
+
+    private static final long MAGIC_MASK = (1L << MAGIC_BITS) - 1;
+
+    private static final int CRC_BITS = 32;
+
+    /**
+     * Upper bound of the compressed size of a block. A block holds at most 900k bytes before the Huffman coding, and
+     * the coding never expands it that much, so a failing segment is not merged beyond this size
+     */
+    private static final long MAX_BLOCK_BITS = 2L * 1024 * 1024 * 8;
+
+    /**
+     * Header of the standalone streams. The maximum block size (900k) is used, which can also hold blocks compressed
+     * with smaller block sizes
+     */
+    private static final byte[] STREAM_HEADER = {'B', 'Z', 'h', '9'};
+
+    private static final int SCANNER_BUFFER_SIZE = 1 << 20;
+
+    private static final PendingBlock END_OF_FILE = new PendingBlock(null, null);
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final ExecutorService decompressors;
+
+    private final BlockingQueue<PendingBlock> pendingBlocks;
+
+    private final Thread scanner;
+
+    private byte[] currentBlock = new byte[0];
+
+    private int position;
+
+    private boolean finished;
+
+    private boolean closed;
+
+    public ParallelBzip2InputStream(File file, int threads, int readAheadBlocks) throws IOException {
+        if (threads < 1 || readAheadBlocks < 1) {
+            throw new IllegalArgumentException("At least one decompression thread and one read-ahead block are required");
+        }
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        checkStreamHeader();
+
+        this.decompressors = Executors.newFixedThreadPool(threads, DaemonThreadFactory.numbered("bzip2-decompressor-"));
+        this.pendingBlocks = new ArrayBlockingQueue<>(readAheadBlocks);
+        this.scanner = DaemonThreadFactory.named("bzip2-block-scanner").newThread(this::scanBlocks);
+        this.scanner.start();
+    }
+
+    private void checkStreamHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(3);
+        channel.read(header, 0);
+        if (header.position() < 3 || header.get(0) != 'B' || header.get(1) != 'Z' || header.get(2) != 'h') {
+            channel.close();
+            throw new IOException("The input file is not compressed in bzip2 format");
+        }
+    }
+
+    private void scanBlocks() {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), SCANNER_BUFFER_SIZE)) {
+            byte[] buffer = new byte[SCANNER_BUFFER_SIZE];
+            long window = 0;
+            long bitsRead = 0;
+            long blockStart = -1;
+            boolean blockStartsAtEndOfStream = false;
+            int bytesInBuffer;
+            while ((bytesInBuffer = input.read(buffer)) != -1) {
+                for (int i = 0; i < bytesInBuffer; i++) {
+                    window = (window << 8) | (buffer[i] & 0xff);
+                    bitsRead += 8;
+                    // check the 8 possible alignments of a marker ending in this byte, from left to right
+                    for (int shift = 7; shift >= 0; shift--) {
+                        long markerStart = bitsRead - shift - MAGIC_BITS;
+                        long candidate = (window >>> shift) & MAGIC_MASK;
+                        if (markerStart >= 0 && (candidate == BLOCK_MAGIC || candidate == END_OF_STREAM_MAGIC)) {
+                            if (blockStart >= 0) {
+                                submit(new Segment(blockStart, markerStart, blockStartsAtEndOfStream));
+                            }
+                            blockStart = markerStart;
+                            blockStartsAtEndOfStream = candidate == END_OF_STREAM_MAGIC;
+                        }
+                    }
+                }
+            }
+            if (blockStart >= 0) {
+                // either the end of the last stream or a truncated file, which the decompressor will report
+                submit(new Segment(blockStart, bitsRead, blockStartsAtEndOfStream));
+            }
+            pendingBlocks.put(END_OF_FILE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            CompletableFuture<byte[]> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            try {
+                pendingBlocks.put(new PendingBlock(null, failure));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void submit(Segment segment) throws InterruptedException, IOException {
+        if (segment.endOfStream && isEndOfStream(segment)) {
+            return;
+        }
+        CompletableFuture<byte[]> data = CompletableFuture.supplyAsync(() -> {
+            try {
+                return decompress(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, decompressors);
+        pendingBlocks.put(new PendingBlock(segment, data));
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return currentBlock[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int bytesToCopy = Math.min(length, currentBlock.length - position);
+        System.arraycopy(currentBlock, position, bytes, offset, bytesToCopy);
+        position += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    @Override
+    public int available() {
+        return currentBlock.length - position;
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (position == currentBlock.length) {
+            if (finished) {
+                return false;
+            }
+            PendingBlock pendingBlock = takePendingBlock();
+            if (pendingBlock == END_OF_FILE) {
+                finished = true;
+                return false;
+            }
+            currentBlock = getDecompressedBlock(pendingBlock);
+            position = 0;
+        }
+        return true;
+    }
+
+    private PendingBlock takePendingBlock() throws IOException {
+        try {
+            return pendingBlocks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a bzip2 block");
+        }
+    }
+
+    private byte[] getDecompressedBlock(PendingBlock pendingBlock) throws IOException {
+        try {
+            return pendingBlock.get();
+        } catch (IOException e) {
+            if (pendingBlock.segment == null) {
+                throw e;
+            }
+            // the end of this segment may be a marker found by chance in the compressed data, and there may be more
+            // than one in the same block, so the following segments are merged one at a time until it decompresses
+            Segment mergedSegment = pendingBlock.segment;
+            while (mergedSegment.end - mergedSegment.start < MAX_BLOCK_BITS) {
+                PendingBlock nextBlock = takePendingBlock();
+                if (nextBlock == END_OF_FILE) {
+                    finished = true;
+                    throw e;
+                }
+                if (nextBlock.segment == null) {
+                    throw e;
+                }
+                nextBlock.data.cancel(false);
+                mergedSegment = new Segment(mergedSegment.start, nextBlock.segment.end);
+                try {
+                    return decompress(mergedSegment);
+                } catch (IOException mergedSegmentException) {
+                    // the merged segment still ends at a false marker or the block is corrupted, keep merging
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a segment that starts with the end of stream magic is a real end of stream, or the magic was found
+     * by chance inside a block
+     */
+    private boolean isEndOfStream(Segment segment) throws IOException {
+        long crcEnd = segment.start + MAGIC_BITS + CRC_BITS;
+        long paddedEnd = (crcEnd + 7) & ~7L;
+        boolean atEndOfFile = segment.end == paddedEnd && segment.end == channel.size() * 8;
+        boolean beforeStreamHeader = segment.end == paddedEnd + STREAM_HEADER.length * 8;
+        if (!atEndOfFile && !beforeStreamHeader) {
+            return false;
+        }
+        long firstByte = segment.start >>> 3;
+        byte[] data = readBytes(firstByte, segment.end >>> 3);
+        int offset = (int) (segment.start - firstByte * 8);
+        if (readBits(data, offset + crcEnd - segment.start, (int) (paddedEnd - crcEnd)) != 0) {
+            return false;
+        }
+        if (atEndOfFile) {
+            return true;
+        }
+        int headerIndex = (int) ((paddedEnd >>> 3) - firstByte);
+        return data[headerIndex] == 'B' && data[headerIndex + 1] == 'Z' && data[headerIndex + 2] == 'h'
+                && data[headerIndex + 3] >= '1' && data[headerIndex + 3] <= '9';
+    }
+
+    private byte[] decompress(Segment segment) throws IOException {
+        if (segment.endOfStream) {
+            throw new IOException("End of stream magic found inside a bzip2 block at bit " + segment.start);
+        }
+        long length = segment.end - segment.start;
+        if (length < MAGIC_BITS + CRC_BITS) {
+            throw new IOException("Invalid bzip2 block of " + length + " bits at bit " + segment.start);
+        }
+        long firstByte = segment.start >>> 3;
+        byte[] compressed = readBytes(firstByte, (segment.end + 7) >>> 3);
+        int offset = (int) (segment.start - firstByte * 8);
+
+        BitWriter stream = new BitWriter(compressed.length + STREAM_HEADER.length + 11);
+        for (byte headerByte : STREAM_HEADER) {
+            stream.writeBits(headerByte, 8);
+        }
+        stream.copyBits(compressed, offset, length);
+        stream.writeBits(END_OF_STREAM_MAGIC, MAGIC_BITS);
+        // the combined CRC of a stream with one block is the CRC of that block, found right after the block magic
+        stream.writeBits(readBits(compressed, offset + MAGIC_BITS, CRC_BITS), CRC_BITS);
+
+        try (InputStream decompressed = new BZip2CompressorInputStream(
+                new ByteArrayInputStream(stream.toByteArray()))) {
+            return IOUtils.toByteArray(decompressed);
+        }
+    }
+
+    private byte[] readBytes(long firstByte, long lastByte) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (lastByte - firstByte));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, firstByte + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file reading bzip2 data at byte " + firstByte);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static long readBits(byte[] data, long bitOffset, int bits) {
+        long value = 0;
+        for (long bit = bitOffset; bit < bitOffset + bits; bit++) {
+            value = (value << 1) | ((data[(int) (bit >>> 3)] >>> (7 - (bit & 7))) & 1);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scanner.interrupt();
+        decompressors.shutdownNow();
+        pendingBlocks.clear();
+        channel.close();
+    }
+
+    /**
+     * Range of bits of the file, from the start of a block or end of stream magic until the next marker
+     */
+    private static class Segment {
+
+        private final long start;
+
+        private final long end;
+
+        private final boolean endOfStream;
+
+        Segment(long start, long end) {
+            this(start, end, false);
+        }
+
+        Segment(long start, long end, boolean endOfStream) {
+            this.start = start;
+            this.end = end;
+            this.endOfStream = endOfStream;
+        }
+    }
+
+    private static class PendingBlock {
+
+        private final Segment segment;
+
+        private final CompletableFuture<byte[]> data;
+
+        PendingBlock(Segment segment, CompletableFuture<byte[]> data) {
+            this.segment = segment;
+            this.data = data;
+        }
+
+        byte[] get() throws IOException {
+            try {
+                return data.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while decompressing a bzip2 block");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    private static class BitWriter {
+
+        private final ByteArrayOutputStream output;
+
+        private long buffer;
+
+        private int bufferedBits;
+
+        BitWriter(int expectedBytes) {
+            this.output = new ByteArrayOutputStream(expectedBytes);
+        }
+
+        void writeBits(long value, int bits) {
+            buffer = (buffer << bits) | (value & ((1L << bits) - 1));
+            bufferedBits += bits;
+            while (bufferedBits >= 8) {
+                output.write((int) (buffer >>> (bufferedBits - 8)));
+                bufferedBits -= 8;
+            }
+        }
+
+        void copyBits(byte[] data, long bitOffset, long bits) {
+            long bit = bitOffset;
+            long end = bitOffset + bits;
+            int shift = (int) (bitOffset & 7);
+            for (; bit + 8 <= end; bit += 8) {
+                int index = (int) (bit >>> 3);
+                int value = (data[index] & 0xff) << shift;
+                if (shift > 0) {
+                    value |= (data[index + 1] & 0xff) >>> (8 - shift);
+                }
+                writeBits(value, 8);
+            }
+            if (bit < end) {
+                writeBits(readBits(data, bit, (int) (end - bit)), (int) (end - bit));
+            }
+        }
+
+        byte[] toByteArray() {
+            if (bufferedBits > 0) {
+                writeBits(0, 8 - bufferedBits);
+            }
+            return output.toByteArray();
+        }
+    }
+}
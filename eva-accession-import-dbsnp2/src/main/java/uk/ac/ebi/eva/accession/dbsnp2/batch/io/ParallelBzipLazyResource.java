@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Same as {@link BzipLazyResource}, but decompressing the bzip2 blocks in parallel with a
+ * {@link ParallelBzip2InputStream}. Decompression is usually the bottleneck when reading the dbSNP JSON dumps.
+ */
+public class ParallelBzipLazyResource extends BzipLazyResource {
+
+    private final int threads;
+
+    private final int readAheadBlocks;
+
+    /**
+     * @param threads number of blocks decompressed at the same time
+     * @param readAheadBlocks maximum number of blocks (up to 900 KB each once decompressed) kept in memory ahead of
+     *                        the reader
+     */
+    public ParallelBzipLazyResource(File file, int threads, int readAheadBlocks) {
+        super(file);
+        this.threads = threads;
+        this.readAheadBlocks = readAheadBlocks;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new ParallelBzip2InputStream(getFile(), threads, readAheadBlocks);
+    }
+}
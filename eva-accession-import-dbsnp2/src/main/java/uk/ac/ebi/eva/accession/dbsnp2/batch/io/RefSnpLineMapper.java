@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.batch.item.file.LineMapper;
+
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps a line in a new-line delimited (ND)JSON file to a {@link RefSnp}, reading the line as a stream of tokens.
+ *
+ * Only the attributes needed to build a clustered variant are kept, and every other subtree is skipped without being
+ * materialised, which avoids building a whole {@link com.fasterxml.jackson.databind.JsonNode} tree for lines that can
+ * be hundreds of KB long. Values are converted with the same rules as the asText, asInt, asLong and asBoolean methods
+ * of {@link com.fasterxml.jackson.databind.JsonNode}, so that the variants are the same as when the whole line is read
+ * as a tree.
+ */
+public class RefSnpLineMapper implements LineMapper<RefSnp> {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public RefSnp mapLine(String line, int lineNumber) throws Exception {
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() == null) {
+                throw new JsonParseException(parser, "No JSON content in line " + lineNumber);
+            }
+            RefSnp refSnp = new RefSnp();
+            readFields(parser, (fieldName, valueParser) -> {
+                switch (fieldName) {
+                    case "refsnp_id":
+                        refSnp.setRefsnpId(readText(valueParser));
+                        break;
+                    case "create_date":
+                        refSnp.setCreateDate(readText(valueParser));
+                        break;
+                    case "present_obs_movements":
+                        refSnp.setMovementBuilds(readMovementBuilds(valueParser));
+                        break;
+                    case "primary_snapshot_data":
+                        readPrimarySnapshotData(valueParser, refSnp);
+                        break;
+                    default:
+                        valueParser.skipChildren();
+                }
+            });
+            return refSnp;
+        }
+    }
+
+    private List<Integer> readMovementBuilds(JsonParser parser) throws IOException {
+        List<Integer> movementBuilds = new ArrayList<>();
+        readElements(parser, movementParser -> {
+            Integer[] lastAddedBuild = new Integer[1];
+            readFields(movementParser, (fieldName, valueParser) -> {
+                if (fieldName.equals("last_added_to_this_rs")) {
+                    lastAddedBuild[0] = valueParser.getValueAsInt(0);
+                }
+                valueParser.skipChildren();
+            });
+            if (lastAddedBuild[0] != null) {
+                movementBuilds.add(lastAddedBuild[0]);
+            }
+        });
+        return movementBuilds;
+    }
+
+    private void readPrimarySnapshotData(JsonParser parser, RefSnp refSnp) throws IOException {
+        readFields(parser, (fieldName, valueParser) -> {
+            switch (fieldName) {
+                case "variant_type":
+                    refSnp.setVariantType(readText(valueParser));
+                    break;
+                case "placements_with_allele":
+                    refSnp.setPtlpPlacement(readPtlpPlacement(valueParser));
+                    break;
+                default:
+                    valueParser.skipChildren();
+            }
+        });
+    }
+
+    /**
+     * @return the first primary top level placement with assembly traits, or null if there is none. The placements
+     * after it are skipped
+     */
+    private RefSnp.Placement readPtlpPlacement(JsonParser parser) throws IOException {
+        RefSnp.Placement[] ptlpPlacement = new RefSnp.Placement[1];
+        readElements(parser, placementParser -> {
+            if (ptlpPlacement[0] != null) {
+                placementParser.skipChildren();
+                return;
+            }
+            RefSnp.Placement placement = readPlacement(placementParser);
+            if (placement.isPtlp() && !placement.getAssemblyAccessions().isEmpty()) {
+                ptlpPlacement[0] = placement;
+            }
+        });
+        return ptlpPlacement[0];
+    }
+
+    private RefSnp.Placement readPlacement(JsonParser parser) throws IOException {
+        RefSnp.Placement placement = new RefSnp.Placement();
+        readFields(parser, (fieldName, valueParser) -> {
+            switch (fieldName) {
+                case "is_ptlp":
+                    placement.setPtlp(valueParser.getValueAsBoolean(false));
+                    valueParser.skipChildren();
+                    break;
+                case "placement_annot":
+                    placement.setAssemblyAccessions(readAssemblyAccessions(valueParser));
+                    break;
+                case "alleles":
+                    readFirstAllele(valueParser, placement);
+                    break;
+                default:
+                    valueParser.skipChildren();
+            }
+        });
+        return placement;
+    }
+
+    /**
+     * Reads placement_annot.seq_id_traits_by_assembly[].assembly_accession
+     */
+    private List<String> readAssemblyAccessions(JsonParser parser) throws IOException {
+        List<String> assemblyAccessions = new ArrayList<>();
+        readFields(parser, (fieldName, valueParser) -> {
+            if (!fieldName.equals("seq_id_traits_by_assembly")) {
+                valueParser.skipChildren();
+                return;
+            }
+            assemblyAccessions.clear();
+            readElements(valueParser, traitsParser -> {
+                String[] assemblyAccession = {""};
+                readFields(traitsParser, (traitName, traitParser) -> {
+                    if (traitName.equals("assembly_accession")) {
+                        assemblyAccession[0] = readText(traitParser);
+                    } else {
+                        traitParser.skipChildren();
+                    }
+                });
+                assemblyAccessions.add(assemblyAccession[0]);
+            });
+        });
+        return assemblyAccessions;
+    }
+
+    /**
+     * Reads the contig and position from alleles[0].allele.spdi
+     */
+    private void readFirstAllele(JsonParser parser, RefSnp.Placement placement) throws IOException {
+        placement.setAllelePresent(false);
+        placement.setContig("");
+        placement.setPosition(0);
+        readElements(parser, alleleParser -> {
+            if (placement.isAllelePresent()) {
+                alleleParser.skipChildren();
+                return;
+            }
+            placement.setAllelePresent(true);
+            readFields(alleleParser, (fieldName, valueParser) -> {
+                if (!fieldName.equals("allele")) {
+                    valueParser.skipChildren();
+                    return;
+                }
+                readFields(valueParser, (alleleField, spdiParser) -> {
+                    if (alleleField.equals("spdi")) {
+                        readSpdi(spdiParser, placement);
+                    } else {
+                        spdiParser.skipChildren();
+                    }
+                });
+            });
+        });
+    }
+
+    private void readSpdi(JsonParser parser, RefSnp.Placement placement) throws IOException {
+        readFields(parser, (fieldName, valueParser) -> {
+            switch (fieldName) {
+                case "seq_id":
+                    placement.setContig(readText(valueParser));
+                    break;
+                case "position":
+                    placement.setPosition(valueParser.getValueAsLong(0));
+                    valueParser.skipChildren();
+                    break;
+                default:
+                    valueParser.skipChildren();
+            }
+        });
+    }
+
+    /**
+     * Calls the field reader with the parser positioned at the value of each field of the current object. The field
+     * reader must consume the whole value. If the current value is not an object it is skipped, as it has no fields.
+     */
+    private void readFields(JsonParser parser, FieldReader fieldReader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            fieldReader.read(fieldName, parser);
+        }
+    }
+
+    /**
+     * Calls the element reader with the parser positioned at each element of the current array. The element reader
+     * must consume the whole element. If the current value is not an array it is skipped, as it has no elements.
+     */
+    private void readElements(JsonParser parser, ElementReader elementReader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elementReader.read(parser);
+        }
+    }
+
+    /**
+     * Same as {@link com.fasterxml.jackson.databind.JsonNode#asText()}: objects and arrays are skipped and read as an
+     * empty string, and scalars are read as their textual representation
+     */
+    private String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getText();
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+
+        void read(String fieldName, JsonParser parser) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+
+        void read(JsonParser parser) throws IOException;
+    }
+}
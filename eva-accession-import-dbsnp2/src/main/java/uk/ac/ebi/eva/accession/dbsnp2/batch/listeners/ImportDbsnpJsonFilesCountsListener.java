@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.ExecutionContext;
+
+import uk.ac.ebi.eva.accession.core.batch.listeners.ImportCounts;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds up the import counts of all the partitions of a partitioned import, and stores the totals in the execution
+ * context of the partitioned step.
+ *
+ * Each partition keeps its own counts in its execution context, so that a partition can be restarted on its own. The
+ * partitions completed in previous executions of the job are not re-run, so the last execution of every partition is
+ * looked up in all the executions of the job instance.
+ */
+public class ImportDbsnpJsonFilesCountsListener implements StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportDbsnpJsonFilesCountsListener.class);
+
+    private final JobExplorer jobExplorer;
+
+    private final String partitionStepName;
+
+    /**
+     * @param partitionStepName name of the step run by each partition
+     */
+    public ImportDbsnpJsonFilesCountsListener(JobExplorer jobExplorer, String partitionStepName) {
+        this.jobExplorer = jobExplorer;
+        this.partitionStepName = partitionStepName;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Map<String, StepExecution> lastPartitionExecutions = new HashMap<>();
+        for (JobExecution jobExecution : jobExplorer.getJobExecutions(stepExecution.getJobExecution()
+                                                                                   .getJobInstance())) {
+            for (StepExecution partitionExecution : jobExecution.getStepExecutions()) {
+                if (partitionExecution.getStepName().startsWith(partitionStepName + ":")) {
+                    lastPartitionExecutions.merge(partitionExecution.getStepName(), partitionExecution,
+                                                  (a, b) -> a.getId() > b.getId() ? a : b);
+                }
+            }
+        }
+
+        ImportCounts totalCounts = new ImportCounts();
+        for (StepExecution partitionExecution : lastPartitionExecutions.values()) {
+            ExecutionContext executionContext = partitionExecution.getExecutionContext();
+            if (executionContext.containsKey(ImportCounts.CLUSTERED_VARIANTS_WRITTEN)) {
+                totalCounts.addClusteredVariantsWritten(
+                        executionContext.getLong(ImportCounts.CLUSTERED_VARIANTS_WRITTEN));
+                totalCounts.addOperationsWritten(executionContext.getLong(ImportCounts.OPERATIONS_WRITTEN));
+            }
+        }
+
+        logger.info("Step {} finished: files = {}, rs written = {}, operations written = {}",
+                    stepExecution.getStepName(), lastPartitionExecutions.size(),
+                    totalCounts.getClusteredVariantsWritten(), totalCounts.getOperationsWritten());
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putLong(ImportCounts.CLUSTERED_VARIANTS_WRITTEN, totalCounts.getClusteredVariantsWritten());
+        executionContext.putLong(ImportCounts.OPERATIONS_WRITTEN, totalCounts.getOperationsWritten());
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps the merge operations of a partitioned import the same as those of a sequential import, when several files
+ * contain variants in the same contig.
+ *
+ * Duplicate hashes can only happen in the same contig, as the contig is part of the hash. In a sequential import, the
+ * variant from the earlier file keeps the hash and the later ones are merged into it. Before writing a contig for the
+ * first time, a partition claims it, and waits until all the partitions of earlier files that claimed it have
+ * completed. If a partition of a later file has already written the contig, the order of a sequential import can't be
+ * honoured anymore and the claim fails; those files should be imported with a single partition thread, which imports
+ * the files in order.
+ *
+ * dbSNP releases have one file per chromosome, so usually every contig is claimed by one partition and no partition
+ * waits.
+ */
+public class ContigClaims implements StepExecutionListener {
+
+    private final Map<String, SortedSet<Integer>> partitionsByContig = new HashMap<>();
+
+    private final Map<Integer, BatchStatus> finishedPartitions = new HashMap<>();
+
+    /**
+     * Blocks until the partitions of earlier files that claimed the contig have finished.
+     *
+     * @throws IllegalStateException if a partition of a later file already claimed the contig, or a partition of an
+     * earlier file that claimed it did not complete
+     */
+    public synchronized void claim(String contig, int partitionIndex) throws InterruptedException {
+        SortedSet<Integer> partitions = partitionsByContig.computeIfAbsent(contig, key -> new TreeSet<>());
+        if (partitions.add(partitionIndex) && partitions.last() != partitionIndex) {
+            throw new IllegalStateException(
+                    "Contig " + contig + " is present in the files of partitions " + partitions + ", and a later file "
+                            + "was imported first. Please import these files with parameters.partitionThreads=1");
+        }
+        for (Integer earlierPartition : partitions.headSet(partitionIndex)) {
+            while (!finishedPartitions.containsKey(earlierPartition)) {
+                wait();
+            }
+            if (finishedPartitions.get(earlierPartition) != BatchStatus.COMPLETED) {
+                throw new IllegalStateException(
+                        "Contig " + contig + " is also present in the file of partition " + earlierPartition
+                                + ", which did not complete. Please restart the job to import it before this one");
+            }
+        }
+    }
+
+    /**
+     * Forgets the claims of a previous import when the step that imports all the files starts. It must be registered
+     * both in that step and in the step that imports each file.
+     */
+    @Override
+    public synchronized void beforeStep(StepExecution stepExecution) {
+        if (!stepExecution.getExecutionContext().containsKey(DbsnpJsonFilesPartitioner.PARTITION_INDEX)) {
+            partitionsByContig.clear();
+            finishedPartitions.clear();
+        }
+    }
+
+    @Override
+    public synchronized ExitStatus afterStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (executionContext.containsKey(DbsnpJsonFilesPartitioner.PARTITION_INDEX)) {
+            finishedPartitions.put(executionContext.getInt(DbsnpJsonFilesPartitioner.PARTITION_INDEX),
+                                   stepExecution.getStatus());
+            notifyAll();
+        }
+        return null;
+    }
+}
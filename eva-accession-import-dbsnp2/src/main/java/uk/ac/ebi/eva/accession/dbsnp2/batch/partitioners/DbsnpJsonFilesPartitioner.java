@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates one partition per dbSNP JSON file. The input can be:
+ * <ul>
+ *     <li>a single bzip2-compressed JSON file (*.json.bz2)</li>
+ *     <li>a directory, from which all the *.json.bz2 files are imported, sorted by name</li>
+ *     <li>a manifest listing one file per line. Relative paths are resolved against the directory of the manifest, and
+ *     empty lines and lines starting with '#' are ignored</li>
+ * </ul>
+ *
+ * Each partition stores the path of its file and its position in that order, which is the order a sequential import
+ * would follow. The partition names only depend on that position and the file name, so a restarted job matches the
+ * partitions of the failed execution and only re-runs the ones that didn't complete.
+ */
+public class DbsnpJsonFilesPartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbsnpJsonFilesPartitioner.class);
+
+    public static final String INPUT_FILE = "inputFile";
+
+    public static final String PARTITION_INDEX = "partitionIndex";
+
+    private static final String JSON_BZIP2_SUFFIX = ".json.bz2";
+
+    private static final String MANIFEST_COMMENT = "#";
+
+    private final String input;
+
+    public DbsnpJsonFilesPartitioner(String input) {
+        this.input = input;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<File> files = getInputFiles();
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putString(INPUT_FILE, files.get(i).getAbsolutePath());
+            executionContext.putInt(PARTITION_INDEX, i);
+            partitions.put(String.format("%05d-%s", i, files.get(i).getName()), executionContext);
+        }
+        logger.info("Created {} partitions to import the dbSNP JSON files in {}", partitions.size(), input);
+        return partitions;
+    }
+
+    List<File> getInputFiles() {
+        File inputFile = new File(input);
+        List<File> files;
+        if (inputFile.isDirectory()) {
+            File[] jsonFiles = inputFile.listFiles((directory, name) -> name.endsWith(JSON_BZIP2_SUFFIX));
+            files = jsonFiles == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(jsonFiles));
+            files.sort(Comparator.comparing(File::getName));
+        } else if (inputFile.getName().endsWith(JSON_BZIP2_SUFFIX)) {
+            files = new ArrayList<>(Arrays.asList(inputFile));
+        } else {
+            files = readManifest(inputFile);
+        }
+
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No dbSNP JSON files (*" + JSON_BZIP2_SUFFIX + ") found in " + input);
+        }
+        Set<File> uniqueFiles = new HashSet<>();
+        for (File file : files) {
+            if (!file.isFile()) {
+                throw new IllegalArgumentException("dbSNP JSON file " + file + " does not exist");
+            }
+            if (!uniqueFiles.add(file.getAbsoluteFile())) {
+                throw new IllegalArgumentException("dbSNP JSON file " + file + " is listed more than once in "
+                                                           + input);
+            }
+        }
+        return files;
+    }
+
+    private List<File> readManifest(File manifest) {
+        List<File> files = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+                String path = line.trim();
+                if (path.isEmpty() || path.startsWith(MANIFEST_COMMENT)) {
+                    continue;
+                }
+                File file = new File(path);
+                files.add(file.isAbsolute() ? file : new File(manifest.getAbsoluteFile().getParentFile(), path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the manifest of dbSNP JSON files " + manifest, e);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Submits the partitions to the task executor in the order of their files, so that with a FIFO executor the files
+ * start in the same order as in a sequential import. The partitions created by {@link DbsnpJsonFilesPartitioner} are
+ * otherwise submitted in no particular order.
+ */
+public class OrderedTaskExecutorPartitionHandler extends TaskExecutorPartitionHandler {
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution masterStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        Set<StepExecution> sortedStepExecutions = new TreeSet<>(
+                Comparator.comparingInt(OrderedTaskExecutorPartitionHandler::getPartitionIndex));
+        sortedStepExecutions.addAll(partitionStepExecutions);
+        return super.doHandle(masterStepExecution, new LinkedHashSet<>(sortedStepExecutions));
+    }
+
+    private static int getPartitionIndex(StepExecution stepExecution) {
+        return stepExecution.getExecutionContext().getInt(DbsnpJsonFilesPartitioner.PARTITION_INDEX);
+    }
+}
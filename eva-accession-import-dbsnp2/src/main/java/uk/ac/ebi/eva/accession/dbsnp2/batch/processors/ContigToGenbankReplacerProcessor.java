@@ -27,8 +27,9 @@ import uk.ac.ebi.eva.accession.core.contig.ContigSynonyms;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -42,45 +43,54 @@ public class ContigToGenbankReplacerProcessor
 
     private ContigMapping contigMapping;
 
-    private Set<String> processedContigs;
+    private Function<IClusteredVariant, String> hashingFunction;
+
+    /**
+     * GenBank accession that replaces each contig, or empty if the contig is kept as is. The decision only depends on
+     * the contig, so the assembly report is checked once per contig instead of once per variant.
+     */
+    private Map<String, Optional<String>> genbankContigs;
 
     public ContigToGenbankReplacerProcessor(ContigMapping contigMapping) {
         this.contigMapping = contigMapping;
-        this.processedContigs = new HashSet<>();
+        this.hashingFunction = new ClusteredVariantSummaryFunction().andThen(new SHA1HashingFunction());
+        // the processor is shared by the partitions that import several files at the same time
+        this.genbankContigs = new ConcurrentHashMap<>();
     }
 
     @Override
     public DbsnpClusteredVariantEntity process(DbsnpClusteredVariantEntity variant) throws IllegalStateException {
-        String contigName = variant.getContig();
+        Optional<String> genbankContig = genbankContigs.computeIfAbsent(
+                variant.getContig(), contigName -> getGenbankContig(contigName, variant.getAssemblyAccession()));
+        if (!genbankContig.isPresent()) {
+            return variant;
+        }
+        ClusteredVariant newVariant = new ClusteredVariant(variant.getAssemblyAccession(),
+                                                           variant.getTaxonomyAccession(),
+                                                           genbankContig.get(),
+                                                           variant.getStart(),
+                                                           variant.getType(),
+                                                           variant.isValidated(),
+                                                           variant.getCreatedDate());
+        return new DbsnpClusteredVariantEntity(variant.getAccession(),
+                                               hashingFunction.apply(newVariant),
+                                               newVariant,
+                                               variant.getVersion());
+    }
+
+    private Optional<String> getGenbankContig(String contigName, String assemblyAccession) {
         ContigSynonyms contigSynonyms = contigMapping.getContigSynonyms(contigName);
-        boolean contigPresentInAssemblyReport = contigSynonyms != null; 
+        boolean contigPresentInAssemblyReport = contigSynonyms != null;
         if (!contigPresentInAssemblyReport) {
             throw new IllegalStateException(
                     "Contig '" + contigName + "' was not found in the assembly report! "
-                            + "Is the assembly accession '" + variant.getAssemblyAccession() + "' correct?");
+                            + "Is the assembly accession '" + assemblyAccession + "' correct?");
         }
         StringBuilder message = new StringBuilder();
         if (contigMapping.isGenbankReplacementPossible(contigName, contigSynonyms, message)) {
-            ClusteredVariant newVariant = new ClusteredVariant(variant.getAssemblyAccession(),
-                                                               variant.getTaxonomyAccession(),
-                                                               contigSynonyms.getGenBank(),
-                                                               variant.getStart(),
-                                                               variant.getType(),
-                                                               variant.isValidated(),
-                                                               variant.getCreatedDate());
-
-            Function<IClusteredVariant, String> hashingFunction =
-                    new ClusteredVariantSummaryFunction().andThen(new SHA1HashingFunction());
-            return new DbsnpClusteredVariantEntity(variant.getAccession(),
-                                                   hashingFunction.apply(newVariant),
-                                                   newVariant,
-                                                   variant.getVersion());
-        } else {
-            if (!processedContigs.contains(contigName)) {
-                logger.warn(message.toString());
-                processedContigs.add(contigName);
-            }
-            return variant;
+            return Optional.of(contigSynonyms.getGenBank());
         }
+        logger.warn(message.toString());
+        return Optional.empty();
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.processors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemProcessor;
+import uk.ac.ebi.ampt2d.commons.accession.hashing.SHA1HashingFunction;
+
+import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
+import uk.ac.ebi.eva.commons.core.models.VariantType;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * Processes a dbSNP RefSNP read by {@link uk.ac.ebi.eva.accession.dbsnp2.batch.io.RefSnpLineMapper} to produce a
+ * clustered variant entity. The entities are the same that were built from the whole JSON line parsed as a
+ * {@link com.fasterxml.jackson.databind.JsonNode} tree.
+ */
+public class RefSnpToClusteredVariantProcessor implements ItemProcessor<RefSnp, DbsnpClusteredVariantEntity> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefSnpToClusteredVariantProcessor.class);
+
+    // @see <a href=https://www.ncbi.nlm.nih.gov/Taxonomy/Browser/wwwtax.cgi?mode=Info&id=9606>Human Tax ID.</a>
+    private static final int TAXONOMY_ACCESSION = 9606;
+
+    // JSON date in ISO-8601 format
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-d'T'HH:mm'Z'");
+
+    private Function<IClusteredVariant, String> hashingFunction =
+            new ClusteredVariantSummaryFunction().andThen(new SHA1HashingFunction());
+
+    private String refseqAssembly;
+
+    private String genbankAssembly;
+
+    private int previousImportedBuild;
+
+    private boolean incrementalImport;
+
+    public RefSnpToClusteredVariantProcessor(String refseqAssembly, String genbankAssembly,
+                                             int previousImportedBuild, boolean incrementalImport) {
+        this.refseqAssembly = refseqAssembly;
+        this.genbankAssembly = genbankAssembly;
+        this.previousImportedBuild = previousImportedBuild;
+        this.incrementalImport = incrementalImport;
+    }
+
+    @Override
+    public DbsnpClusteredVariantEntity process(RefSnp refSnp) {
+        long accession = Long.parseLong(refSnp.getRefsnpId());
+        // If we are doing incremental import, ignore record if it is not a new RS
+        if (incrementalImport && !isNewRS(refSnp)) {
+            logger.debug("Variant with RS ID {} skipped because it is not a new RS added after build {}",
+                         refSnp.getRefsnpId(), previousImportedBuild);
+            return null;
+        }
+        ClusteredVariant clusteredVariant = toClusteredVariant(refSnp);
+        if (clusteredVariant == null) {
+            return null;
+        }
+        String hashedMessage = hashingFunction.apply(clusteredVariant);
+        return new DbsnpClusteredVariantEntity(accession, hashedMessage, clusteredVariant);
+    }
+
+    private boolean isNewRS(RefSnp refSnp) {
+        // If there are movements between the previous and current release, look at the earliest build. Otherwise we
+        // might as well try importing the RS, as a duplicate RS will be ignored anyway
+        // See https://api.ncbi.nlm.nih.gov/variation/v0/var_service.yaml for definition
+        return refSnp.getMovementBuilds().stream().mapToInt(Integer::intValue).min().orElse(Integer.MAX_VALUE)
+                > previousImportedBuild;
+    }
+
+    private ClusteredVariant toClusteredVariant(RefSnp refSnp) {
+        LocalDateTime createdDate = LocalDateTime.parse(refSnp.getCreateDate(), DATE_FORMATTER);
+        VariantType type = translateVariantType(refSnp.getVariantType());
+        RefSnp.Placement placement = refSnp.getPtlpPlacement();
+        if (placement == null) {
+            // Absence of primary top level placement (PLTP) data
+            logger.error("Primary top level placement data not present for accession refSNP ID: {}",
+                         refSnp.getRefsnpId());
+            return null;
+        }
+
+        // Ignore variant if its assembly accession doesn't match the one supplied in input parameters
+        if (!placement.getAssemblyAccessions().contains(refseqAssembly)) {
+            logger.error("Variant with RS ID {} does not have any mappings for"
+                                 + " the RefSeq assembly {} supplied in the input parameters",
+                         refSnp.getRefsnpId(), refseqAssembly);
+            return null;
+        }
+        if (!placement.isAllelePresent()) {
+            throw new IllegalArgumentException(
+                    "The primary top level placement of RS ID " + refSnp.getRefsnpId() + " has no alleles");
+        }
+        // DbSNP JSON in 0 base, EVA in 1 base
+        // @see <a href=https://api.ncbi.nlm.nih.gov/variation/v0/>DbSNP JSON 2.0 schema specification</a>
+        long start = placement.getPosition() + 1;
+        return new ClusteredVariant(genbankAssembly, TAXONOMY_ACCESSION, placement.getContig(), start, type,
+                                    Boolean.FALSE, createdDate);
+    }
+
+    /**
+     * Translates a dbSNP variant type to the corresponding EVA one
+     * @see <a href=https://api.ncbi.nlm.nih.gov/variation/v0/>DbSNP JSON 2.0 schema specification</a>
+     * @param variantType DbSNP2.0 JSON variant type
+     * @return EVA variant type representation
+     */
+    static VariantType translateVariantType(String variantType) {
+        switch (variantType.toUpperCase()) {
+            case "SNV":
+                return VariantType.SNV;
+            case "MNV":
+                return VariantType.MNV;
+            case "INS":
+                return VariantType.INS;
+            case "DEL":
+                return VariantType.DEL;
+            case "DELINS":
+                return VariantType.INDEL;
+            case "IDENTITY":
+                return VariantType.NO_SEQUENCE_ALTERATION;
+            default:
+                throw new IllegalArgumentException(
+                        "The dbSNP variant type provided doesn't have a direct mapping to an EVA type");
+        }
+    }
+}
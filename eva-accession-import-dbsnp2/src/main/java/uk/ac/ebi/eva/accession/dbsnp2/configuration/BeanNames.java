@@ -30,4 +30,12 @@ public class BeanNames {
     public static final String IMPORT_DBSNP_JSON_VARIANTS_FLOW = "IMPORT_DBSNP_JSON_VARIANTS_FLOW";
 
     public static final String IMPORT_DBSNP_JSON_VARIANTS_PROGRESS_LISTENER = "IMPORT_DBSNP_JSON_VARIANTS_PROGRESS_LISTENER";
+
+    public static final String IMPORT_DBSNP_JSON_FILES_JOB = "IMPORT_DBSNP_JSON_FILES_JOB";
+
+    public static final String IMPORT_DBSNP_JSON_FILES_STEP = "IMPORT_DBSNP_JSON_FILES_STEP";
+
+    public static final String IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER = "IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER";
+
+    public static final String DBSNP_JSON_FILES_PARTITIONER = "DBSNP_JSON_FILES_PARTITIONER";
 }
@@ -15,15 +15,17 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.io;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.ac.ebi.eva.accession.core.configuration.DbsnpDataSource;
-import uk.ac.ebi.eva.accession.dbsnp2.batch.io.BzipLazyResource;
-import uk.ac.ebi.eva.accession.dbsnp2.batch.io.JsonNodeLineMapper;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.ParallelBzipLazyResource;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.RefSnpLineMapper;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.DbsnpJsonFilesPartitioner;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
 import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
 import java.io.File;
 
@@ -36,14 +38,25 @@ import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_
 @EnableConfigurationProperties({DbsnpDataSource.class})
 public class ImportDbsnpJsonVariantsReaderConfiguration {
 
+    private static final int READ_AHEAD_BLOCKS_PER_THREAD = 2;
+
     @Bean(name = DBSNP_JSON_VARIANT_READER)
     @StepScope
-    FlatFileItemReader<JsonNode> dbsnpJsonItemReader(InputParameters parameters) {
-        String sourceFileName = parameters.getInput();
-        FlatFileItemReader<JsonNode> jsonReader = new FlatFileItemReader<>();
+    FlatFileItemReader<RefSnp> dbsnpJsonItemReader(
+            InputParameters parameters,
+            @Value("#{stepExecutionContext['" + DbsnpJsonFilesPartitioner.INPUT_FILE + "']}") String partitionFile) {
+        // when importing several files, each partition reads the file stored in its execution context
+        String sourceFileName = partitionFile != null ? partitionFile : parameters.getInput();
+        FlatFileItemReader<RefSnp> jsonReader = new FlatFileItemReader<>();
         jsonReader.setName("DbsnpJsonItemReader");
-        jsonReader.setResource(new BzipLazyResource(new File(sourceFileName)));
-        jsonReader.setLineMapper(new JsonNodeLineMapper());
+        int threads = parameters.getDecompressionThreads();
+        if (partitionFile != null) {
+            // the partitions decompress their files at the same time, so they share the decompression threads
+            threads = Math.max(1, threads / parameters.getPartitionThreads());
+        }
+        jsonReader.setResource(new ParallelBzipLazyResource(new File(sourceFileName), threads,
+                                                            READ_AHEAD_BLOCKS_PER_THREAD * threads));
+        jsonReader.setLineMapper(new RefSnpLineMapper());
         return jsonReader;
     }
 }
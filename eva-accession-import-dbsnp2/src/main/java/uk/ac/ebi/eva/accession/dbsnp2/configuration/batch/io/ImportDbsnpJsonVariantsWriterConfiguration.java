@@ -18,8 +18,8 @@ package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.io;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -29,9 +29,10 @@ import uk.ac.ebi.eva.accession.core.batch.io.DbsnpClusteredVariantOperationWrite
 import uk.ac.ebi.eva.accession.core.batch.io.DbsnpClusteredVariantWriter;
 import uk.ac.ebi.eva.accession.core.batch.listeners.ImportCounts;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVariantAccessioningRepository;
-import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVariantOperationRepository;
 import uk.ac.ebi.eva.accession.dbsnp2.batch.io.DbsnpJsonClusteredVariantsWriter;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.ContigClaims;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.DbsnpJsonFilesPartitioner;
 import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
 
 import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_VARIANT_WRITER;
@@ -50,16 +51,25 @@ public class ImportDbsnpJsonVariantsWriterConfiguration {
 
     @Bean(name = DBSNP_JSON_VARIANT_WRITER)
     @StepScope
-    public ItemWriter<DbsnpClusteredVariantEntity> writer
+    public DbsnpJsonClusteredVariantsWriter writer
             (InputParameters parameters,
              DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
-             DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository) {
+             DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository,
+             ContigClaims contigClaims,
+             @Value("#{stepExecutionContext['" + DbsnpJsonFilesPartitioner.PARTITION_INDEX + "']}")
+                     Integer partitionIndex) {
         logger.info("Injecting dbsnpClusteredVariantWriter with parameters: {}", parameters);
         DbsnpClusteredVariantWriter dbsnpClusteredVariantWriter = new DbsnpClusteredVariantWriter(mongoTemplate,
                                                                                                   importCounts);
         DbsnpClusteredVariantOperationWriter dbsnpClusteredVariantOperationWriter =
                 new DbsnpClusteredVariantOperationWriter(mongoTemplate, importCounts);
         return new DbsnpJsonClusteredVariantsWriter(dbsnpClusteredVariantWriter, dbsnpClusteredVariantOperationWriter,
-                                                    clusteredOperationRepository, clusteredVariantRepository);
+                                                    clusteredOperationRepository, clusteredVariantRepository,
+                                                    contigClaims, partitionIndex);
+    }
+
+    @Bean
+    public ContigClaims contigClaims() {
+        return new ContigClaims();
     }
 }
\ No newline at end of file
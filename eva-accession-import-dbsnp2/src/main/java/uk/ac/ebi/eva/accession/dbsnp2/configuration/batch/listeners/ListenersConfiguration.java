@@ -16,13 +16,17 @@
 package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.listeners;
 
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.ac.ebi.eva.accession.core.batch.listeners.ImportCounts;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.listeners.ImportDbsnpJsonFilesCountsListener;
 import uk.ac.ebi.eva.accession.dbsnp2.batch.listeners.ImportDbsnpJsonVariantsStepProgressListener;
 import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
 
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER;
 import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_VARIANTS_PROGRESS_LISTENER;
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_VARIANTS_STEP;
 
 @Configuration
 public class ListenersConfiguration {
@@ -34,6 +38,11 @@ public class ListenersConfiguration {
         return new ImportDbsnpJsonVariantsStepProgressListener(parameters.getChunkSize(), importCounts);
     }
 
+    @Bean(name = IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER)
+    public ImportDbsnpJsonFilesCountsListener importDbsnpJsonFilesCountsListener(JobExplorer jobExplorer) {
+        return new ImportDbsnpJsonFilesCountsListener(jobExplorer, IMPORT_DBSNP_JSON_VARIANTS_STEP);
+    }
+
     @Bean
     @StepScope
     public ImportCounts importCounts() {
@@ -15,7 +15,6 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.processors;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
@@ -26,7 +25,8 @@ import org.springframework.context.annotation.Configuration;
 import uk.ac.ebi.eva.accession.core.contig.ContigMapping;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.dbsnp2.batch.processors.ContigToGenbankReplacerProcessor;
-import uk.ac.ebi.eva.accession.dbsnp2.batch.processors.JsonNodeToClusteredVariantProcessor;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.processors.RefSnpToClusteredVariantProcessor;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
 import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
 
 import java.util.Arrays;
@@ -37,29 +37,30 @@ import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_
  * Configuration to convert a dbSNP JSON line to a clustered variant object.
  */
 @Configuration
-public class JsonNodeToClusteredVariantProcessorConfiguration {
+public class RefSnpToClusteredVariantProcessorConfiguration {
 
     private static final Logger logger = LoggerFactory
-        .getLogger(JsonNodeToClusteredVariantProcessorConfiguration.class);
+        .getLogger(RefSnpToClusteredVariantProcessorConfiguration.class);
 
     @Bean(name = DBSNP_JSON_VARIANT_PROCESSOR)
     @StepScope
-    public ItemProcessor<JsonNode, DbsnpClusteredVariantEntity> dbsnpJsonVariantProcessor(
+    public ItemProcessor<RefSnp, DbsnpClusteredVariantEntity> dbsnpJsonVariantProcessor(
             InputParameters parameters,
             ContigToGenbankReplacerProcessor contigToGenbankReplacerProcessor,
-            JsonNodeToClusteredVariantProcessor jsonNodeToClusteredVariantProcessor) {
+            RefSnpToClusteredVariantProcessor refSnpToClusteredVariantProcessor) {
         logger.info("Injecting dbsnpVariantProcessor with parameters: {}", parameters);
-        CompositeItemProcessor<JsonNode, DbsnpClusteredVariantEntity> compositeProcessor =
+        CompositeItemProcessor<RefSnp, DbsnpClusteredVariantEntity> compositeProcessor =
             new CompositeItemProcessor<>();
-        compositeProcessor.setDelegates(Arrays.asList(jsonNodeToClusteredVariantProcessor,
+        compositeProcessor.setDelegates(Arrays.asList(refSnpToClusteredVariantProcessor,
                                                       contigToGenbankReplacerProcessor));
         return compositeProcessor;
     }
 
     @Bean
-    JsonNodeToClusteredVariantProcessor jsonNodeToClusteredVariantProcessor(InputParameters parameters) {
-        return new JsonNodeToClusteredVariantProcessor(parameters.getRefseqAssembly(), parameters.getGenbankAssembly(),
-                parameters.getPreviousImportedBuild(), parameters.isIncrementalImport());
+    RefSnpToClusteredVariantProcessor refSnpToClusteredVariantProcessor(InputParameters parameters) {
+        return new RefSnpToClusteredVariantProcessor(parameters.getRefseqAssembly(), parameters.getGenbankAssembly(),
+                                                     parameters.getPreviousImportedBuild(),
+                                                     parameters.isIncrementalImport());
     }
 
     @Bean
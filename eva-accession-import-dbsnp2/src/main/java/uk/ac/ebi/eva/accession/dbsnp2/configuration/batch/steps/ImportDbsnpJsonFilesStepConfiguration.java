@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.steps;
+
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.ContigClaims;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.DbsnpJsonFilesPartitioner;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.OrderedTaskExecutorPartitionHandler;
+import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
+
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_FILES_PARTITIONER;
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER;
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_FILES_STEP;
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_VARIANTS_STEP;
+
+/**
+ * Configuration for the step that imports several dbSNP JSON files, running the
+ * {@link ImportDbsnpJsonVariantsStepConfiguration import step} of each file in its own partition
+ */
+@Configuration
+@EnableBatchProcessing
+public class ImportDbsnpJsonFilesStepConfiguration {
+
+    @Autowired
+    @Qualifier(IMPORT_DBSNP_JSON_VARIANTS_STEP)
+    private Step importDbsnpJsonVariantsStep;
+
+    @Autowired
+    @Qualifier(IMPORT_DBSNP_JSON_FILES_COUNTS_LISTENER)
+    private StepExecutionListener importDbsnpJsonFilesCountsListener;
+
+    @Autowired
+    private ContigClaims contigClaims;
+
+    @Bean(IMPORT_DBSNP_JSON_FILES_STEP)
+    public Step importDbsnpJsonFilesStep(StepBuilderFactory stepBuilderFactory, InputParameters parameters,
+                                         @Qualifier(DBSNP_JSON_FILES_PARTITIONER) Partitioner partitioner,
+                                         ThreadPoolTaskExecutor partitionTaskExecutor) {
+        OrderedTaskExecutorPartitionHandler partitionHandler = new OrderedTaskExecutorPartitionHandler();
+        partitionHandler.setStep(importDbsnpJsonVariantsStep);
+        partitionHandler.setTaskExecutor(partitionTaskExecutor);
+        partitionHandler.setGridSize(parameters.getPartitionThreads());
+        return stepBuilderFactory.get(IMPORT_DBSNP_JSON_FILES_STEP)
+                                 .partitioner(IMPORT_DBSNP_JSON_VARIANTS_STEP, partitioner)
+                                 .partitionHandler(partitionHandler)
+                                 .listener(importDbsnpJsonFilesCountsListener)
+                                 .listener(contigClaims)
+                                 .build();
+    }
+
+    @Bean(DBSNP_JSON_FILES_PARTITIONER)
+    @StepScope
+    public Partitioner dbsnpJsonFilesPartitioner(InputParameters parameters) {
+        return new DbsnpJsonFilesPartitioner(parameters.getInput());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor partitionTaskExecutor(InputParameters parameters) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(parameters.getPartitionThreads());
+        taskExecutor.setMaxPoolSize(parameters.getPartitionThreads());
+        taskExecutor.setThreadNamePrefix("dbsnp-json-partition-");
+        return taskExecutor;
+    }
+}
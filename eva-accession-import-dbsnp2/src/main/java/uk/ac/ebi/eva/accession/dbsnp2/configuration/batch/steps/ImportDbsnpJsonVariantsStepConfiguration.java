@@ -15,7 +15,6 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.steps;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
@@ -29,6 +28,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.ContigClaims;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
 
 import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_VARIANT_READER;
 import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_VARIANT_PROCESSOR;
@@ -45,11 +46,11 @@ public class ImportDbsnpJsonVariantsStepConfiguration {
 
     @Autowired
     @Qualifier(DBSNP_JSON_VARIANT_READER)
-    private FlatFileItemReader<JsonNode> variantReader;
+    private FlatFileItemReader<RefSnp> variantReader;
 
     @Autowired
     @Qualifier(DBSNP_JSON_VARIANT_PROCESSOR)
-    private ItemProcessor<JsonNode, DbsnpClusteredVariantEntity> variantProcessor;
+    private ItemProcessor<RefSnp, DbsnpClusteredVariantEntity> variantProcessor;
 
     @Autowired
     @Qualifier(DBSNP_JSON_VARIANT_WRITER)
@@ -59,16 +60,20 @@ public class ImportDbsnpJsonVariantsStepConfiguration {
     @Qualifier(IMPORT_DBSNP_JSON_VARIANTS_PROGRESS_LISTENER)
     private StepExecutionListener importDbsnpJsonVariantsProgressListener;
 
+    @Autowired
+    private ContigClaims contigClaims;
+
 
     @Bean(IMPORT_DBSNP_JSON_VARIANTS_STEP)
     public Step importDbsnpJsonVariantsStep(StepBuilderFactory stepBuilderFactory,
                                             SimpleCompletionPolicy chunkSizeCompletionPolicy) {
         return stepBuilderFactory.get(IMPORT_DBSNP_JSON_VARIANTS_STEP)
-            .<JsonNode, DbsnpClusteredVariantEntity>chunk(chunkSizeCompletionPolicy)
+            .<RefSnp, DbsnpClusteredVariantEntity>chunk(chunkSizeCompletionPolicy)
             .reader(variantReader)
             .processor(variantProcessor)
             .writer(variantWriter)
             .listener(importDbsnpJsonVariantsProgressListener)
+            .listener(contigClaims)
             .build();
     }
 }
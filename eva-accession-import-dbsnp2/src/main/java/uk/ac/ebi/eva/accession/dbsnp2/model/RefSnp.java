@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fields of a dbSNP JSON RefSNP line that are needed to build a clustered variant. Missing text fields are represented
+ * by an empty string, as {@link com.fasterxml.jackson.databind.JsonNode#asText()} does for missing nodes.
+ */
+public class RefSnp {
+
+    private String refsnpId = "";
+
+    private String createDate = "";
+
+    /**
+     * Values of present_obs_movements[].last_added_to_this_rs, for the movements that have that attribute
+     */
+    private List<Integer> movementBuilds = new ArrayList<>();
+
+    private String variantType = "";
+
+    /**
+     * First primary top level placement (PTLP) with assembly traits, or null if there is none
+     */
+    private Placement ptlpPlacement;
+
+    public String getRefsnpId() {
+        return refsnpId;
+    }
+
+    public void setRefsnpId(String refsnpId) {
+        this.refsnpId = refsnpId;
+    }
+
+    public String getCreateDate() {
+        return createDate;
+    }
+
+    public void setCreateDate(String createDate) {
+        this.createDate = createDate;
+    }
+
+    public List<Integer> getMovementBuilds() {
+        return movementBuilds;
+    }
+
+    public void setMovementBuilds(List<Integer> movementBuilds) {
+        this.movementBuilds = movementBuilds;
+    }
+
+    public String getVariantType() {
+        return variantType;
+    }
+
+    public void setVariantType(String variantType) {
+        this.variantType = variantType;
+    }
+
+    public Placement getPtlpPlacement() {
+        return ptlpPlacement;
+    }
+
+    public void setPtlpPlacement(Placement ptlpPlacement) {
+        this.ptlpPlacement = ptlpPlacement;
+    }
+
+    public static class Placement {
+
+        private boolean ptlp;
+
+        private List<String> assemblyAccessions = new ArrayList<>();
+
+        /**
+         * Whether the placement has at least one allele. The contig and position are taken from the first one
+         */
+        private boolean allelePresent;
+
+        private String contig = "";
+
+        /**
+         * 0-based position, as in the dbSNP JSON
+         */
+        private long position;
+
+        public boolean isPtlp() {
+            return ptlp;
+        }
+
+        public void setPtlp(boolean ptlp) {
+            this.ptlp = ptlp;
+        }
+
+        public List<String> getAssemblyAccessions() {
+            return assemblyAccessions;
+        }
+
+        public void setAssemblyAccessions(List<String> assemblyAccessions) {
+            this.assemblyAccessions = assemblyAccessions;
+        }
+
+        public boolean isAllelePresent() {
+            return allelePresent;
+        }
+
+        public void setAllelePresent(boolean allelePresent) {
+            this.allelePresent = allelePresent;
+        }
+
+        public String getContig() {
+            return contig;
+        }
+
+        public void setContig(String contig) {
+            this.contig = contig;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public void setPosition(long position) {
+            this.position = position;
+        }
+    }
+}
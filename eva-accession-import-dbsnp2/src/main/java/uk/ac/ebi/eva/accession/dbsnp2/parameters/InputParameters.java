@@ -29,6 +29,8 @@ public class InputParameters {
     private int chunkSize;
     private boolean forceRestart;
     private boolean forceImport;
+    private int decompressionThreads = 4;
+    private int partitionThreads = 1;
 
     public JobParameters toJobParameters() {
         return new JobParametersBuilder()
@@ -110,4 +112,20 @@ public class InputParameters {
     public void setForceImport(boolean forceImport) {
         this.forceImport = forceImport;
     }
+
+    public int getDecompressionThreads() {
+        return decompressionThreads;
+    }
+
+    public void setDecompressionThreads(int decompressionThreads) {
+        this.decompressionThreads = decompressionThreads;
+    }
+
+    public int getPartitionThreads() {
+        return partitionThreads;
+    }
+
+    public void setPartitionThreads(int partitionThreads) {
+        this.partitionThreads = partitionThreads;
+    }
 }
@@ -18,6 +18,7 @@ package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.test.StepScopeTestExecutionListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -186,6 +187,69 @@ public class DbsnpJsonClusteredVariantsWriterTest {
         assertClusteredVariantStored(1, clusteredVariantEntities);
     }
 
+    @Test
+    public void mergeIntoVariantWrittenInPreviousChunk() throws Exception {
+        variantEntity2 = buildClusteredVariantEntity(2L, variantEntity1.getModel());
+        dbsnpJsonClusteredVariantsWriter.write(Collections.singletonList(variantEntity1));
+        dbsnpJsonClusteredVariantsWriter.write(Collections.singletonList(variantEntity2));
+        assertClusteredVariantStored(1, Collections.singletonList(variantEntity1));
+
+        DbsnpClusteredVariantOperationEntity clusteredVariantOperationEntity =
+                new DbsnpClusteredVariantOperationEntity();
+        clusteredVariantOperationEntity.fill(EventType.MERGED, variantEntity2.getAccession(),
+                                             variantEntity1.getAccession(),
+                                             "Identical clustered variant received multiple RS identifiers",
+                                             Arrays.asList(new DbsnpClusteredVariantInactiveEntity(variantEntity2)));
+        assertClusteredVariantOperationStored(1, Collections.singletonList(clusteredVariantOperationEntity));
+        assertEquals(1, dbsnpJsonClusteredVariantsWriter.getDuplicateKeyErrorsAvoided());
+    }
+
+    @Test
+    public void rewriteChunkWithoutDuplicatingMergeOperations() throws Exception {
+        variantEntity2 = buildClusteredVariantEntity(2L, variantEntity1.getModel());
+        List<DbsnpClusteredVariantEntity> clusteredVariantEntities = Arrays.asList(variantEntity1, variantEntity2);
+        dbsnpJsonClusteredVariantsWriter.write(clusteredVariantEntities);
+        dbsnpJsonClusteredVariantsWriter.write(clusteredVariantEntities);
+        assertClusteredVariantStored(1, Collections.singletonList(variantEntity1));
+
+        DbsnpClusteredVariantOperationEntity clusteredVariantOperationEntity =
+                new DbsnpClusteredVariantOperationEntity();
+        clusteredVariantOperationEntity.fill(EventType.MERGED, variantEntity2.getAccession(),
+                                             variantEntity1.getAccession(),
+                                             "Identical clustered variant received multiple RS identifiers",
+                                             Arrays.asList(new DbsnpClusteredVariantInactiveEntity(variantEntity2)));
+        assertClusteredVariantOperationStored(1, Collections.singletonList(clusteredVariantOperationEntity));
+
+        // each chunk looks up the variants and the merge operations, instead of one variant and one merge per query
+        assertEquals(2, dbsnpJsonClusteredVariantsWriter.getDuplicateKeyErrorsAvoided());
+        assertEquals(4, dbsnpJsonClusteredVariantsWriter.getChunkQueries());
+        assertEquals(4, dbsnpJsonClusteredVariantsWriter.getSingleQueriesAvoided());
+    }
+
+    @Test
+    public void countsAreKeptInTheExecutionContext() throws Exception {
+        variantEntity2 = buildClusteredVariantEntity(2L, variantEntity1.getModel());
+        ExecutionContext executionContext = new ExecutionContext();
+        dbsnpJsonClusteredVariantsWriter.open(executionContext);
+        dbsnpJsonClusteredVariantsWriter.write(Arrays.asList(variantEntity1, variantEntity2));
+        dbsnpJsonClusteredVariantsWriter.update(executionContext);
+        dbsnpJsonClusteredVariantsWriter.close();
+
+        assertEquals(1, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.DUPLICATE_KEY_ERRORS_AVOIDED_KEY));
+        assertEquals(2, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.CHUNK_QUERIES_KEY));
+        assertEquals(2, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.SINGLE_QUERIES_AVOIDED_KEY));
+
+        // a restarted step carries on counting
+        dbsnpJsonClusteredVariantsWriter.open(executionContext);
+        dbsnpJsonClusteredVariantsWriter.write(Arrays.asList(variantEntity1, variantEntity2));
+        dbsnpJsonClusteredVariantsWriter.update(executionContext);
+        dbsnpJsonClusteredVariantsWriter.close();
+
+        assertEquals(2, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.DUPLICATE_KEY_ERRORS_AVOIDED_KEY));
+        assertEquals(4, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.CHUNK_QUERIES_KEY));
+        assertEquals(4, executionContext.getLong(DbsnpJsonClusteredVariantsWriter.SINGLE_QUERIES_AVOIDED_KEY));
+    }
+
     private DbsnpClusteredVariantEntity buildClusteredVariantEntity(Long accession,
                                                                     IClusteredVariant clusteredVariant) {
         return new DbsnpClusteredVariantEntity(accession, hashingFuncClustered.apply(clusteredVariant), clusteredVariant);
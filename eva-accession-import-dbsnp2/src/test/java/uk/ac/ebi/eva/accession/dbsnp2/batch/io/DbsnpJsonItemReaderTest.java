@@ -15,7 +15,6 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -31,6 +30,7 @@ import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
 import uk.ac.ebi.eva.accession.dbsnp2.test.BatchTestConfiguration;
 
 import java.io.File;
@@ -50,7 +50,7 @@ public class DbsnpJsonItemReaderTest {
 
     @Autowired
     @Qualifier(DBSNP_JSON_VARIANT_READER)
-    private FlatFileItemReader<JsonNode> reader;
+    private FlatFileItemReader<RefSnp> reader;
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -60,7 +60,7 @@ public class DbsnpJsonItemReaderTest {
         reader.setResource(new BzipLazyResource(
             new File("src/test/resources/input-files/test-dbsnp.json.bz2")));
         reader.open(new ExecutionContext());
-        List<JsonNode> variants = readAll(reader);
+        List<RefSnp> variants = readAll(reader);
         assertEquals(26, variants.size());
     }
 
@@ -71,9 +71,9 @@ public class DbsnpJsonItemReaderTest {
         reader.open(new ExecutionContext());
     }
 
-    private List<JsonNode> readAll(FlatFileItemReader<JsonNode> reader) throws Exception {
-        List<JsonNode> variants = new ArrayList<>();
-        JsonNode variant;
+    private List<RefSnp> readAll(FlatFileItemReader<RefSnp> reader) throws Exception {
+        List<RefSnp> variants = new ArrayList<>();
+        RefSnp variant;
         while ((variant = reader.read()) != null) {
             variants.add(variant);
         }
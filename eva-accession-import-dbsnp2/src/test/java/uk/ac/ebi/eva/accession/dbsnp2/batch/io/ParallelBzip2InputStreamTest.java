@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.io;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.utils.IOUtils;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelBzip2InputStreamTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBzip2InputStreamTest.class);
+
+    /**
+     * Size in MB of the file used to compare the performance with {@link BzipLazyResource}. The benchmark only runs if
+     * this system property is provided, e.g. -Dbzip2.benchmark.size.mb=2048
+     */
+    private static final String BENCHMARK_SIZE_PROPERTY = "bzip2.benchmark.size.mb";
+
+    private static final int THREADS = 4;
+
+    private static final int READ_AHEAD_BLOCKS = 8;
+
+    /**
+     * Bytes whose presence maps are written as the end of stream magic (0x177245385090) in the header of a block. The
+     * header of a block stores which ranges of 16 byte values are used (0x1772: ranges 3, 5, 6, 7, 9, 10, 11 and 14),
+     * followed by the bytes used in each range, and the maps of the first two ranges are 0x4538 and 0x5090
+     */
+    private static final byte[] END_OF_STREAM_MAGIC_ALPHABET = {
+            0x31, 0x35, 0x37, 0x3a, 0x3b, 0x3c, 0x51, 0x53, 0x58, 0x5b, 0x61, 0x71, (byte) 0x91, (byte) 0xa1,
+            (byte) 0xb1, (byte) 0xe1};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void sameContentAsSequentialDecompressionForTestFiles() throws IOException {
+        for (String fileName : new String[]{"test-dbsnp.json.bz2", "test-dbsnp-no-ptlp.json.bz2",
+                "test-dbsnp-not-new-rs.json.bz2"}) {
+            File file = new File("src/test/resources/input-files/" + fileName);
+            assertArrayEquals(fileName, readSequentially(file), readInParallel(file, THREADS, READ_AHEAD_BLOCKS));
+        }
+    }
+
+    @Test
+    public void sameContentAsSequentialDecompressionForManyBlocks() throws IOException {
+        // blocks of 100 KB, so that many blocks are decompressed at the same time and the read-ahead is exhausted
+        File file = createCompressedFile(5_000_000, 1, 1);
+        byte[] expected = readSequentially(file);
+        assertArrayEquals(expected, readInParallel(file, THREADS, READ_AHEAD_BLOCKS));
+        assertArrayEquals(expected, readInParallel(file, 1, 1));
+    }
+
+    @Test
+    public void sameContentAsSequentialDecompressionForConcatenatedStreams() throws IOException {
+        File file = createCompressedFile(1_000_000, 1, 3);
+        assertArrayEquals(readSequentially(file), readInParallel(file, THREADS, READ_AHEAD_BLOCKS));
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        File file = createCompressedFile(0, 9, 1);
+        assertEquals(0, readInParallel(file, THREADS, READ_AHEAD_BLOCKS).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void fileNotCompressed() throws IOException {
+        File file = temporaryFolder.newFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            output.write("{\"refsnp_id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+        }
+        readInParallel(file, THREADS, READ_AHEAD_BLOCKS);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedFile() throws IOException {
+        File file = createCompressedFile(1_000_000, 1, 1);
+        File truncatedFile = temporaryFolder.newFile();
+        try (InputStream input = new FileInputStream(file);
+             OutputStream output = new FileOutputStream(truncatedFile)) {
+            byte[] content = IOUtils.toByteArray(input);
+            output.write(content, 0, content.length / 2);
+        }
+        readInParallel(truncatedFile, THREADS, READ_AHEAD_BLOCKS);
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptedBlockInTheMiddle() throws IOException {
+        // the corrupted block can't be recovered by merging it with the following ones, so the error is reported
+        File file = createCompressedFile(5_000_000, 1, 1);
+        byte[] content;
+        try (InputStream input = new FileInputStream(file)) {
+            content = IOUtils.toByteArray(input);
+        }
+        content[content.length / 2] ^= 0xff;
+        File corruptedFile = temporaryFolder.newFile();
+        try (OutputStream output = new FileOutputStream(corruptedFile)) {
+            output.write(content);
+        }
+        readInParallel(corruptedFile, THREADS, READ_AHEAD_BLOCKS);
+    }
+
+    @Test
+    public void endOfStreamMagicInsideBlocks() throws IOException {
+        File file = temporaryFolder.newFile();
+        Random random = new Random(42);
+        try (OutputStream output = new BZip2CompressorOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)), 1)) {
+            // consecutive bytes are different, so that the run-length encoding doesn't add other byte values
+            int previous = -1;
+            for (int i = 0; i < 500_000; i++) {
+                int next;
+                do {
+                    next = random.nextInt(END_OF_STREAM_MAGIC_ALPHABET.length);
+                } while (next == previous);
+                output.write(END_OF_STREAM_MAGIC_ALPHABET[next]);
+                previous = next;
+            }
+        }
+        byte[] expected = readSequentially(file);
+        assertEquals(500_000, expected.length);
+        assertArrayEquals(expected, readInParallel(file, THREADS, READ_AHEAD_BLOCKS));
+        assertArrayEquals(expected, readInParallel(file, 1, 1));
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        String sizeInMb = System.getProperty(BENCHMARK_SIZE_PROPERTY);
+        Assume.assumeTrue("Set -D" + BENCHMARK_SIZE_PROPERTY + " to run the benchmark", sizeInMb != null);
+        File file = createCompressedFile(Long.parseLong(sizeInMb) * 1024 * 1024, 9, 1);
+
+        long start = System.nanoTime();
+        long sequentialBytes = countBytes(new BzipLazyResource(file).getInputStream());
+        long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        start = System.nanoTime();
+        long parallelBytes = countBytes(new ParallelBzipLazyResource(file, threads, 2 * threads).getInputStream());
+        long parallelMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Decompressed {} bytes: sequential {} ms, parallel with {} threads {} ms", sequentialBytes,
+                    sequentialMillis, threads, parallelMillis);
+        assertEquals(sequentialBytes, parallelBytes);
+    }
+
+    /**
+     * Writes lines similar to the dbSNP JSON in the given number of concatenated bzip2 streams
+     */
+    private File createCompressedFile(long uncompressedSize, int blockSize, int streams) throws IOException {
+        File file = temporaryFolder.newFile();
+        Random random = new Random(42);
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+            for (int stream = 0; stream < streams; stream++) {
+                BZip2CompressorOutputStream compressor = new BZip2CompressorOutputStream(output, blockSize);
+                long written = 0;
+                while (written < uncompressedSize / streams) {
+                    byte[] line = createLine(random);
+                    compressor.write(line);
+                    written += line.length;
+                }
+                compressor.finish();
+            }
+        }
+        return file;
+    }
+
+    private byte[] createLine(Random random) {
+        StringBuilder line = new StringBuilder("{\"refsnp_id\":\"").append(random.nextInt(Integer.MAX_VALUE))
+                                                                   .append("\",\"alleles\":\"");
+        int length = random.nextInt(200);
+        for (int i = 0; i < length; i++) {
+            line.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return line.append("\"}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] readSequentially(File file) throws IOException {
+        try (InputStream input = new BzipLazyResource(file).getInputStream()) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+
+    private byte[] readInParallel(File file, int threads, int readAheadBlocks) throws IOException {
+        try (InputStream input = new ParallelBzip2InputStream(file, threads, readAheadBlocks)) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+
+    private long countBytes(InputStream input) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        long total = 0;
+        try (InputStream stream = input) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ContigClaimsTest {
+
+    private static final String CONTIG = "CM000001.1";
+
+    private static final String OTHER_CONTIG = "CM000002.1";
+
+    private ContigClaims contigClaims;
+
+    private Thread claimingThread;
+
+    @Before
+    public void setUp() {
+        contigClaims = new ContigClaims();
+        contigClaims.beforeStep(new StepExecution("manager", new JobExecution(1L)));
+    }
+
+    @After
+    public void tearDown() {
+        if (claimingThread != null) {
+            claimingThread.interrupt();
+        }
+    }
+
+    @Test
+    public void differentContigsDoNotWait() throws Exception {
+        contigClaims.claim(CONTIG, 0);
+        contigClaims.claim(OTHER_CONTIG, 1);
+        contigClaims.claim(CONTIG, 0);
+    }
+
+    @Test
+    public void laterPartitionWaitsUntilEarlierPartitionCompletes() throws Exception {
+        contigClaims.claim(CONTIG, 0);
+        Future<?> laterClaim = claimInBackground(CONTIG, 1);
+        awaitClaimingThreadBlocked();
+        assertFalse(laterClaim.isDone());
+
+        finishPartition(0, BatchStatus.COMPLETED);
+        laterClaim.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void laterPartitionFailsIfEarlierPartitionFails() throws Exception {
+        contigClaims.claim(CONTIG, 0);
+        Future<?> laterClaim = claimInBackground(CONTIG, 1);
+        awaitClaimingThreadBlocked();
+
+        finishPartition(0, BatchStatus.FAILED);
+        try {
+            laterClaim.get(10, TimeUnit.SECONDS);
+            fail("The claim should fail if an earlier partition with the same contig failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void earlierPartitionFailsIfLaterPartitionAlreadyClaimed() throws Exception {
+        contigClaims.claim(CONTIG, 1);
+        contigClaims.claim(CONTIG, 0);
+    }
+
+    @Test
+    public void newImportForgetsPreviousClaims() throws Exception {
+        contigClaims.claim(CONTIG, 1);
+        finishPartition(1, BatchStatus.COMPLETED);
+
+        contigClaims.beforeStep(new StepExecution("manager", new JobExecution(2L)));
+        contigClaims.claim(CONTIG, 0);
+    }
+
+    private Future<?> claimInBackground(String contig, int partitionIndex) {
+        FutureTask<?> claim = new FutureTask<>(() -> {
+            contigClaims.claim(contig, partitionIndex);
+            return null;
+        });
+        claimingThread = new Thread(claim, "contig-claims-test");
+        claimingThread.start();
+        return claim;
+    }
+
+    private void awaitClaimingThreadBlocked() throws InterruptedException {
+        // the claiming thread only waits (instead of running or being blocked on the monitor) inside claim(), until
+        // an earlier partition finishes
+        while (claimingThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void finishPartition(int partitionIndex, BatchStatus status) {
+        StepExecution stepExecution = new StepExecution("partition" + partitionIndex, new JobExecution(1L));
+        stepExecution.getExecutionContext().putInt(DbsnpJsonFilesPartitioner.PARTITION_INDEX, partitionIndex);
+        stepExecution.setStatus(status);
+        contigClaims.afterStep(stepExecution);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.DbsnpJsonFilesPartitioner.INPUT_FILE;
+import static uk.ac.ebi.eva.accession.dbsnp2.batch.partitioners.DbsnpJsonFilesPartitioner.PARTITION_INDEX;
+
+public class DbsnpJsonFilesPartitionerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File inputFolder;
+
+    private File chromosome1;
+
+    private File chromosome2;
+
+    private File chromosomeX;
+
+    @Before
+    public void setUp() throws IOException {
+        inputFolder = temporaryFolder.newFolder("input");
+        // created out of order, to check that the files in a directory are sorted by name
+        chromosomeX = createFile(inputFolder, "refsnp-chrX.json.bz2");
+        chromosome2 = createFile(inputFolder, "refsnp-chr2.json.bz2");
+        chromosome1 = createFile(inputFolder, "refsnp-chr1.json.bz2");
+        createFile(inputFolder, "refsnp-chr1.json.bz2.md5");
+    }
+
+    private File createFile(File folder, String name) throws IOException {
+        File file = new File(folder, name);
+        Files.write(file.toPath(), new byte[0]);
+        return file;
+    }
+
+    private File createManifest(String... lines) throws IOException {
+        File manifest = new File(inputFolder, "manifest.txt");
+        Files.write(manifest.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return manifest;
+    }
+
+    @Test
+    public void directory() {
+        DbsnpJsonFilesPartitioner partitioner = new DbsnpJsonFilesPartitioner(inputFolder.getAbsolutePath());
+        assertEquals(Arrays.asList(chromosome1, chromosome2, chromosomeX), partitioner.getInputFiles());
+    }
+
+    @Test
+    public void singleFile() {
+        DbsnpJsonFilesPartitioner partitioner = new DbsnpJsonFilesPartitioner(chromosome2.getAbsolutePath());
+        assertEquals(Arrays.asList(chromosome2), partitioner.getInputFiles());
+    }
+
+    @Test
+    public void manifestKeepsItsOrder() throws IOException {
+        File manifest = createManifest("# chromosomes to import", "refsnp-chrX.json.bz2", "",
+                                       chromosome1.getAbsolutePath());
+        DbsnpJsonFilesPartitioner partitioner = new DbsnpJsonFilesPartitioner(manifest.getAbsolutePath());
+        assertEquals(Arrays.asList(chromosomeX.getAbsoluteFile(), chromosome1.getAbsoluteFile()),
+                     partitioner.getInputFiles());
+    }
+
+    @Test
+    public void partitionsStoreTheFileAndItsPosition() {
+        DbsnpJsonFilesPartitioner partitioner = new DbsnpJsonFilesPartitioner(inputFolder.getAbsolutePath());
+        Map<String, ExecutionContext> partitions = partitioner.partition(1);
+
+        assertEquals(Arrays.asList("00000-refsnp-chr1.json.bz2", "00001-refsnp-chr2.json.bz2",
+                                   "00002-refsnp-chrX.json.bz2"), new ArrayList<>(partitions.keySet()));
+        ExecutionContext lastPartition = partitions.get("00002-refsnp-chrX.json.bz2");
+        assertEquals(chromosomeX.getAbsolutePath(), lastPartition.getString(INPUT_FILE));
+        assertEquals(2, lastPartition.getInt(PARTITION_INDEX));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyDirectory() throws IOException {
+        new DbsnpJsonFilesPartitioner(temporaryFolder.newFolder("empty").getAbsolutePath()).getInputFiles();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingFileInManifest() throws IOException {
+        File manifest = createManifest("refsnp-chr1.json.bz2", "refsnp-chrY.json.bz2");
+        new DbsnpJsonFilesPartitioner(manifest.getAbsolutePath()).getInputFiles();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedFileInManifest() throws IOException {
+        File manifest = createManifest("refsnp-chr1.json.bz2", chromosome1.getAbsolutePath());
+        new DbsnpJsonFilesPartitioner(manifest.getAbsolutePath()).getInputFiles();
+    }
+}
@@ -102,6 +102,24 @@ public class ContigToGenbankReplacerProcessorTest {
         assertEquals("chr", processor.process(variant).getContig());
     }
 
+    @Test
+    public void sameContigIsReplacedTheSameWayEveryTime() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("CM000686.2", processor.process(buildMockVariant("NC_000024.10")).getContig());
+            assertEquals("tstchr2", processor.process(buildMockVariant("tstchr2")).getContig());
+        }
+    }
+
+    @Test
+    public void contigNotFoundInAssemblyReportFailsEveryTime() throws Exception {
+        try {
+            processor.process(buildMockVariant("chr"));
+        } catch (IllegalStateException expected) {
+        }
+        thrown.expect(IllegalStateException.class);
+        processor.process(buildMockVariant("chr"));
+    }
+
     @Test
     public void noGenbankDontConvert() throws Exception {
         DbsnpClusteredVariantEntity variant = buildMockVariant("tstchr4");
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.processors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.BzipLazyResource;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.JsonNodeLineMapper;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.RefSnpLineMapper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the throughput of mapping and processing the test dbSNP JSON lines with the streaming
+ * {@link RefSnpLineMapper} and with a whole {@link com.fasterxml.jackson.databind.JsonNode} tree. The lines are read
+ * in memory beforehand, so only the parsing and processing are measured. Run it from the module directory after
+ * compiling the tests, with the main method or with the JMH command line ({@code org.openjdk.jmh.Main}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DbsnpJsonMappingBenchmark {
+
+    private static final String INPUT_FILE = "src/test/resources/input-files/test-dbsnp.json.bz2";
+
+    private static final String REFSEQ_ASSEMBLY = "GCF_000001405.38";
+
+    private static final String GENBANK_ASSEMBLY = "GCA_000001405.27";
+
+    private List<String> lines;
+
+    private JsonNodeLineMapper jsonNodeLineMapper;
+
+    private JsonNodeToClusteredVariantProcessor jsonNodeProcessor;
+
+    private RefSnpLineMapper refSnpLineMapper;
+
+    private RefSnpToClusteredVariantProcessor refSnpProcessor;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new BzipLazyResource(new File(INPUT_FILE)).getInputStream(), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        jsonNodeLineMapper = new JsonNodeLineMapper();
+        jsonNodeProcessor = new JsonNodeToClusteredVariantProcessor(REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, false);
+        refSnpLineMapper = new RefSnpLineMapper();
+        refSnpProcessor = new RefSnpToClusteredVariantProcessor(REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, false);
+    }
+
+    @Benchmark
+    public void jsonNodeTree(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < lines.size(); i++) {
+            blackhole.consume(jsonNodeProcessor.process(jsonNodeLineMapper.mapLine(lines.get(i), i)));
+        }
+    }
+
+    @Benchmark
+    public void streamingParser(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < lines.size(); i++) {
+            blackhole.consume(refSnpProcessor.process(refSnpLineMapper.mapLine(lines.get(i), i)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DbsnpJsonMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -34,7 +34,9 @@ import java.util.Set;
 import java.util.function.Function;
 
 /**
- * Processes a DbSNP JsonNode to produce a clustered variant entity.
+ * Processes a DbSNP JsonNode to produce a clustered variant entity. This is how the variants were built before
+ * {@link RefSnpToClusteredVariantProcessor}, and it is kept as the reference that the streaming parser is tested
+ * against.
  */
 public class JsonNodeToClusteredVariantProcessor implements ItemProcessor<JsonNode, DbsnpClusteredVariantEntity> {
 
@@ -105,7 +107,8 @@ public class JsonNodeToClusteredVariantProcessor implements ItemProcessor<JsonNo
         // JSON date in ISO-8601 format
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-d'T'HH:mm'Z'");
         LocalDateTime createdDate = LocalDateTime.parse(jsonRootNode.path("create_date").asText(), formatter);
-        VariantType type = translateVariantType(jsonRootNode.path("primary_snapshot_data").path("variant_type").asText());
+        VariantType type = RefSnpToClusteredVariantProcessor.translateVariantType(
+                jsonRootNode.path("primary_snapshot_data").path("variant_type").asText());
         JsonNode infoNode = jsonRootNode.path("primary_snapshot_data").path("placements_with_allele");
         for(JsonNode alleleInfo : infoNode) {
             boolean isPtlp = alleleInfo.path("is_ptlp").asBoolean();
@@ -140,30 +143,4 @@ public class JsonNodeToClusteredVariantProcessor implements ItemProcessor<JsonNo
                      jsonRootNode.path("refsnp_id").asLong());
         return null;
     }
-
-    /**
-     * Translates a dbSNP variant type to the corresponding EVA one
-     * @see <a href=https://api.ncbi.nlm.nih.gov/variation/v0/>DbSNP JSON 2.0 schema specification</a>
-     * @param variantType DbSNP2.0 JSON variant type
-     * @return EVA variant type representation
-     */
-    private VariantType translateVariantType(String variantType) {
-        switch(variantType.toUpperCase()) {
-            case "SNV":
-                return VariantType.SNV;
-            case "MNV":
-                return VariantType.MNV;
-            case "INS":
-                return VariantType.INS;
-            case "DEL":
-                return VariantType.DEL;
-            case "DELINS":
-                return VariantType.INDEL;
-            case "IDENTITY":
-                return VariantType.NO_SEQUENCE_ALTERATION;
-            default:
-                throw new IllegalArgumentException(
-                    "The dbSNP variant type provided doesn't have a direct mapping to an EVA type");
-        }
-    }
 }
@@ -25,7 +25,6 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.test.StepScopeTestExecutionListener;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.TestPropertySource;
@@ -47,7 +46,6 @@ import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
-import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_VARIANT_READER;
 
 @RunWith(SpringRunner.class)
 @ContextConfiguration(classes = {BatchTestConfiguration.class})
@@ -56,8 +54,6 @@ import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.DBSNP_JSON_
 @TestPropertySource({"classpath:application.properties"})
 public class JsonNodeToClusteredVariantProcessorTest {
 
-    @Autowired
-    @Qualifier(DBSNP_JSON_VARIANT_READER)
     private FlatFileItemReader<JsonNode> reader;
     @Autowired
     private InputParameters inputParameters;
@@ -68,6 +64,8 @@ public class JsonNodeToClusteredVariantProcessorTest {
 
     @Before
     public void setUp() throws Exception {
+        reader = new FlatFileItemReader<>();
+        reader.setLineMapper(new JsonNodeLineMapper());
         reader.setResource(new BzipLazyResource(
             new File("src/test/resources/input-files/test-dbsnp.json.bz2")));
         reader.open(new ExecutionContext());
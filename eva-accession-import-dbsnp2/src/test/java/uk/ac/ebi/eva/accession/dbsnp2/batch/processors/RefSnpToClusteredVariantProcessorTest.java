@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.batch.processors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.BzipLazyResource;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.JsonNodeLineMapper;
+import uk.ac.ebi.eva.accession.dbsnp2.batch.io.RefSnpLineMapper;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class RefSnpToClusteredVariantProcessorTest {
+
+    private static final String REFSEQ_ASSEMBLY = "GCF_000001405.38";
+
+    private static final String GENBANK_ASSEMBLY = "GCA_000001405.27";
+
+    private static final String OTHER_REFSEQ_ASSEMBLY = "GCF_000001405.25";
+
+    private static final String VARIANT_LINE = "{\"refsnp_id\":\"3906\",\"create_date\":\"2000-09-19T17:02Z\","
+            + "\"present_obs_movements\":[{\"last_added_to_this_rs\":\"36\"}],"
+            + "\"primary_snapshot_data\":{\"variant_type\":\"delins\",\"placements_with_allele\":["
+            + "{\"is_ptlp\":true,\"placement_annot\":{\"seq_id_traits_by_assembly\":["
+            + "{\"assembly_accession\":\"GCF_000001405.38\"}]},%s}]}}";
+
+    private static final String ALLELES = "\"alleles\":[{\"allele\":{\"spdi\":{\"seq_id\":\"NC_000024.10\","
+            + "\"position\":19562812}}}]";
+
+    private static List<String> lines;
+
+    private RefSnpLineMapper refSnpLineMapper = new RefSnpLineMapper();
+
+    private JsonNodeLineMapper jsonNodeLineMapper = new JsonNodeLineMapper();
+
+    @BeforeClass
+    public static void readLines() throws IOException {
+        lines = new ArrayList<>();
+        for (String fileName : new String[]{"test-dbsnp.json.bz2", "test-dbsnp-no-ptlp.json.bz2",
+                "test-dbsnp-not-new-rs.json.bz2"}) {
+            File file = new File("src/test/resources/input-files/" + fileName);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new BzipLazyResource(file).getInputStream(), StandardCharsets.UTF_8))) {
+                lines.addAll(reader.lines().collect(Collectors.toList()));
+            }
+        }
+        assertEquals(28, lines.size());
+    }
+
+    @Test
+    public void sameVariantsAsJsonNodeProcessor() throws Exception {
+        for (String refseqAssembly : new String[]{REFSEQ_ASSEMBLY, OTHER_REFSEQ_ASSEMBLY}) {
+            for (int previousImportedBuild : new int[]{10, 100}) {
+                for (boolean incrementalImport : new boolean[]{true, false}) {
+                    assertSameVariants(refseqAssembly, previousImportedBuild, incrementalImport);
+                }
+            }
+        }
+    }
+
+    private void assertSameVariants(String refseqAssembly, int previousImportedBuild, boolean incrementalImport)
+            throws Exception {
+        JsonNodeToClusteredVariantProcessor jsonNodeProcessor = new JsonNodeToClusteredVariantProcessor(
+                refseqAssembly, GENBANK_ASSEMBLY, previousImportedBuild, incrementalImport);
+        RefSnpToClusteredVariantProcessor refSnpProcessor = new RefSnpToClusteredVariantProcessor(
+                refseqAssembly, GENBANK_ASSEMBLY, previousImportedBuild, incrementalImport);
+        for (int i = 0; i < lines.size(); i++) {
+            String message = "Line " + i + " with assembly " + refseqAssembly + ", previous build "
+                    + previousImportedBuild + " and incremental import " + incrementalImport;
+            DbsnpClusteredVariantEntity expected = jsonNodeProcessor.process(
+                    jsonNodeLineMapper.mapLine(lines.get(i), i));
+            DbsnpClusteredVariantEntity actual = refSnpProcessor.process(refSnpLineMapper.mapLine(lines.get(i), i));
+            if (expected == null) {
+                assertNull(message, actual);
+                continue;
+            }
+            assertNotNull(message, actual);
+            assertEquals(message, expected.getAccession(), actual.getAccession());
+            assertEquals(message, expected.getHashedMessage(), actual.getHashedMessage());
+            assertEquals(message, expected.getModel(), actual.getModel());
+            assertEquals(message, expected.getCreatedDate(), actual.getCreatedDate());
+        }
+    }
+
+    @Test
+    public void irrelevantAttributesAreSkipped() throws Exception {
+        String line = String.format(VARIANT_LINE, "\"extra\":{\"alleles\":[{\"allele\":{\"spdi\":{\"position\":1}}}]},"
+                + "\"alleles\":[{\"hgvs\":\"NC_000024.10:g.19562813_19562814GG=\",\"allele\":{\"spdi\":"
+                + "{\"deleted_sequence\":\"GG\",\"seq_id\":\"NC_000024.10\",\"position\":19562812}}},"
+                + "{\"allele\":{\"spdi\":{\"seq_id\":\"NC_000001.11\",\"position\":1}}}]");
+        RefSnpToClusteredVariantProcessor processor = new RefSnpToClusteredVariantProcessor(
+                REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, true);
+        DbsnpClusteredVariantEntity variant = processor.process(refSnpLineMapper.mapLine(line, 1));
+        assertEquals(3906L, variant.getAccession().longValue());
+        assertEquals("NC_000024.10", variant.getContig());
+        assertEquals(19562813L, variant.getStart());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void primaryTopLevelPlacementWithoutAlleles() throws Exception {
+        String line = String.format(VARIANT_LINE, "\"alleles\":[]");
+        RefSnpToClusteredVariantProcessor processor = new RefSnpToClusteredVariantProcessor(
+                REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, true);
+        processor.process(refSnpLineMapper.mapLine(line, 1));
+    }
+
+    @Test
+    public void missingCreateDateFailsAsWithJsonNodeProcessor() throws Exception {
+        String line = String.format(VARIANT_LINE, ALLELES).replace("\"create_date\":\"2000-09-19T17:02Z\",", "");
+        assertSameException(line);
+    }
+
+    @Test
+    public void missingVariantTypeFailsAsWithJsonNodeProcessor() throws Exception {
+        String line = String.format(VARIANT_LINE, ALLELES).replace("\"variant_type\":\"delins\",", "");
+        assertSameException(line);
+    }
+
+    private void assertSameException(String line) throws Exception {
+        JsonNodeToClusteredVariantProcessor jsonNodeProcessor = new JsonNodeToClusteredVariantProcessor(
+                REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, true);
+        RefSnpToClusteredVariantProcessor refSnpProcessor = new RefSnpToClusteredVariantProcessor(
+                REFSEQ_ASSEMBLY, GENBANK_ASSEMBLY, 10, true);
+        JsonNode jsonNode = jsonNodeLineMapper.mapLine(line, 1);
+        RefSnp refSnp = refSnpLineMapper.mapLine(line, 1);
+
+        Exception expected = getException(() -> jsonNodeProcessor.process(jsonNode));
+        Exception actual = getException(() -> refSnpProcessor.process(refSnp));
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    private Exception getException(Callable<?> callable) {
+        try {
+            callable.call();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp2.configuration.jobs;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
+import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
+import uk.ac.ebi.eva.accession.dbsnp2.test.BatchTestConfiguration;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static uk.ac.ebi.eva.accession.dbsnp2.test.BatchTestConfiguration.JOB_LAUNCHER_IMPORT_DBSNP_JSON_FILES;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = {BatchTestConfiguration.class})
+@TestPropertySource(value = "classpath:application.properties", properties = "parameters.partitionThreads=2")
+public class ImportDbsnpJsonFilesJobConfigurationTest {
+
+    private static final String INPUT_FILE = "src/test/resources/input-files/test-dbsnp.json.bz2";
+
+    private static final String MITOCHONDRIAL_REFSEQ = "NC_012920.1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Autowired
+    private InputParameters inputParameters;
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    @Qualifier(JOB_LAUNCHER_IMPORT_DBSNP_JSON_FILES)
+    private JobLauncherTestUtils filesJobLauncherTestUtils;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private List<File> inputFiles;
+
+    @Before
+    public void setUp() throws IOException {
+        dropCollections();
+
+        // one file per chromosome, and each file has a variant with a new RS ID at the position of another one, so
+        // the import has to merge them
+        List<String> chromosomeYVariants = new ArrayList<>();
+        List<String> mitochondrialVariants = new ArrayList<>();
+        for (String line : readLines(new File(INPUT_FILE))) {
+            (line.contains(MITOCHONDRIAL_REFSEQ) ? mitochondrialVariants : chromosomeYVariants).add(line);
+        }
+        assertFalse(chromosomeYVariants.isEmpty());
+        assertFalse(mitochondrialVariants.isEmpty());
+        chromosomeYVariants.add(withNewRsId(chromosomeYVariants.get(0)));
+        mitochondrialVariants.add(withNewRsId(mitochondrialVariants.get(0)));
+
+        inputFiles = Arrays.asList(writeLines("1-chrY.json.bz2", chromosomeYVariants),
+                                   writeLines("2-chrMT.json.bz2", mitochondrialVariants));
+    }
+
+    @Test
+    @DirtiesContext
+    public void partitionedImportWritesTheSameVariantsAsSequentialImports() throws Exception {
+        for (File inputFile : inputFiles) {
+            inputParameters.setInput(inputFile.getAbsolutePath());
+            assertEquals(BatchStatus.COMPLETED, jobLauncherTestUtils.launchJob().getStatus());
+        }
+        List<String> sequentialVariants = getClusteredVariants();
+        List<String> sequentialOperations = getOperations();
+        assertFalse(sequentialOperations.isEmpty());
+        dropCollections();
+
+        inputParameters.setInput(temporaryFolder.getRoot().getAbsolutePath());
+        JobExecution jobExecution = filesJobLauncherTestUtils.launchJob();
+
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        assertEquals(sequentialVariants, getClusteredVariants());
+        assertEquals(sequentialOperations, getOperations());
+    }
+
+    private void dropCollections() {
+        mongoTemplate.dropCollection(DbsnpClusteredVariantEntity.class);
+        mongoTemplate.dropCollection(DbsnpClusteredVariantOperationEntity.class);
+    }
+
+    private List<String> readLines(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new BZip2CompressorInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private String withNewRsId(String line) {
+        return line.replaceFirst("\"refsnp_id\":\"(\\d+)\"", "\"refsnp_id\":\"9999$1\"");
+    }
+
+    private File writeLines(String fileName, List<String> lines) throws IOException {
+        File file = temporaryFolder.newFile(fileName);
+        try (OutputStream output = new BZip2CompressorOutputStream(new FileOutputStream(file))) {
+            output.write(String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+
+    private List<String> getClusteredVariants() {
+        return mongoTemplate.findAll(DbsnpClusteredVariantEntity.class).stream()
+                            .map(variant -> String.join(" ", variant.getHashedMessage(),
+                                                        String.valueOf(variant.getAccession()), variant.getContig(),
+                                                        String.valueOf(variant.getStart()),
+                                                        String.valueOf(variant.getType())))
+                            .sorted()
+                            .collect(Collectors.toList());
+    }
+
+    private List<String> getOperations() {
+        return mongoTemplate.findAll(DbsnpClusteredVariantOperationEntity.class).stream()
+                            .map(operation -> String.join(" ", String.valueOf(operation.getAccession()),
+                                                          String.valueOf(operation.getMergedInto()),
+                                                          String.valueOf(operation.getEventType())))
+                            .sorted()
+                            .collect(Collectors.toList());
+    }
+}
@@ -15,7 +15,6 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.runner;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -37,6 +36,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import uk.ac.ebi.eva.accession.core.runner.CommandLineRunnerUtils;
 import uk.ac.ebi.eva.accession.dbsnp2.batch.io.BzipLazyResource;
+import uk.ac.ebi.eva.accession.dbsnp2.model.RefSnp;
 import uk.ac.ebi.eva.accession.dbsnp2.parameters.InputParameters;
 import uk.ac.ebi.eva.accession.dbsnp2.test.BatchTestConfiguration;
 import uk.ac.ebi.eva.commons.core.utils.FileUtils;
@@ -81,7 +81,7 @@ public class DbsnpJsonImportVariantsJobLauncherCommandLineRunnerTest {
     private DbsnpJsonImportVariantsJobLauncherCommandLineRunner runner;
 
     @Autowired
-    private FlatFileItemReader<JsonNode> variantReader;
+    private FlatFileItemReader<RefSnp> variantReader;
 
     private JobRepositoryTestUtils jobRepositoryTestUtils;
 
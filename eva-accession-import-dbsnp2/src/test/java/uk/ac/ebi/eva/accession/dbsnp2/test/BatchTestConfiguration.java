@@ -15,29 +15,37 @@
  */
 package uk.ac.ebi.eva.accession.dbsnp2.test;
 
+import org.springframework.batch.core.Job;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.batch.BatchProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.policies.ChunkSizeCompletionPolicyConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.flow.ImportDbsnpJsonFlowConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.jobs.ImportDbsnpJsonFilesJobConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.jobs.ImportDbsnpJsonVariantsJobConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.io.ImportDbsnpJsonVariantsReaderConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.steps.ImportDbsnpJsonFilesStepConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.steps.ImportDbsnpJsonVariantsStepConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.io.ImportDbsnpJsonVariantsWriterConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.InputParametersConfiguration;
-import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.processors.JsonNodeToClusteredVariantProcessorConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.processors.RefSnpToClusteredVariantProcessorConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.configuration.batch.listeners.ListenersConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp2.runner.DbsnpJsonImportVariantsJobLauncherCommandLineRunner;
 import uk.ac.ebi.eva.commons.batch.job.JobExecutionApplicationListener;
 
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_FILES_JOB;
+import static uk.ac.ebi.eva.accession.dbsnp2.configuration.BeanNames.IMPORT_DBSNP_JSON_VARIANTS_JOB;
+
 @Configuration
 @EnableAutoConfiguration
 @EnableBatchProcessing
@@ -45,8 +53,10 @@ import uk.ac.ebi.eva.commons.batch.job.JobExecutionApplicationListener;
         MongoConfiguration.class,
         ImportDbsnpJsonVariantsJobConfiguration.class,
         ImportDbsnpJsonVariantsStepConfiguration.class,
+        ImportDbsnpJsonFilesJobConfiguration.class,
+        ImportDbsnpJsonFilesStepConfiguration.class,
         ImportDbsnpJsonVariantsReaderConfiguration.class,
-        JsonNodeToClusteredVariantProcessorConfiguration.class,
+        RefSnpToClusteredVariantProcessorConfiguration.class,
         ImportDbsnpJsonVariantsWriterConfiguration.class,
         ChunkSizeCompletionPolicyConfiguration.class,
         InputParametersConfiguration.class,
@@ -60,9 +70,29 @@ public class BatchTestConfiguration {
     @Autowired
     private PlatformTransactionManager platformTransactionManager;
 
+    public static final String JOB_LAUNCHER_IMPORT_DBSNP_JSON_FILES = "JOB_LAUNCHER_IMPORT_DBSNP_JSON_FILES";
+
     @Bean
+    @Primary
     public JobLauncherTestUtils jobLauncherTestUtils() {
-        return new JobLauncherTestUtils();
+        return new JobLauncherTestUtils() {
+            @Override
+            @Autowired
+            public void setJob(@Qualifier(IMPORT_DBSNP_JSON_VARIANTS_JOB) Job job) {
+                super.setJob(job);
+            }
+        };
+    }
+
+    @Bean(JOB_LAUNCHER_IMPORT_DBSNP_JSON_FILES)
+    public JobLauncherTestUtils jobLauncherTestUtilsImportDbsnpJsonFiles() {
+        return new JobLauncherTestUtils() {
+            @Override
+            @Autowired
+            public void setJob(@Qualifier(IMPORT_DBSNP_JSON_FILES_JOB) Job job) {
+                super.setJob(job);
+            }
+        };
     }
 
     @Bean
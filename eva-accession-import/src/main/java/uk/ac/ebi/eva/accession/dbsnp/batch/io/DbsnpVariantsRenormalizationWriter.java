@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp.batch.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemWriter;
+
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantDeclusterProcessor;
+import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantRenormalizationProcessor;
+import uk.ac.ebi.eva.accession.dbsnp.model.DbsnpVariantsWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renormalizes and declusters the submitted variants of a whole chunk before writing it, so that the renormalization
+ * can read the context bases of all the chunk variants from the FASTA sorted by position, instead of one by one.
+ *
+ * The wrappers received are not modified, so that writing the same chunk again (e.g. after a retry) doesn't
+ * renormalize the variants twice.
+ */
+public class DbsnpVariantsRenormalizationWriter implements ItemWriter<DbsnpVariantsWrapper> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbsnpVariantsRenormalizationWriter.class);
+
+    private final SubmittedVariantRenormalizationProcessor renormalizationProcessor;
+
+    private final SubmittedVariantDeclusterProcessor declusterProcessor;
+
+    private final ItemWriter<DbsnpVariantsWrapper> delegate;
+
+    public DbsnpVariantsRenormalizationWriter(SubmittedVariantRenormalizationProcessor renormalizationProcessor,
+                                              SubmittedVariantDeclusterProcessor declusterProcessor,
+                                              ItemWriter<DbsnpVariantsWrapper> delegate) {
+        this.renormalizationProcessor = renormalizationProcessor;
+        this.declusterProcessor = declusterProcessor;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(List<? extends DbsnpVariantsWrapper> wrappers) throws Exception {
+        List<DbsnpSubmittedVariantEntity> submittedVariants = new ArrayList<>();
+        for (DbsnpVariantsWrapper wrapper : wrappers) {
+            submittedVariants.addAll(wrapper.getSubmittedVariants());
+        }
+
+        long fastaReads = renormalizationProcessor.getFastaReads();
+        long fastaBasesRead = renormalizationProcessor.getFastaBasesRead();
+        long fastaReadMillis = renormalizationProcessor.getFastaReadMillis();
+        List<DbsnpSubmittedVariantEntity> renormalizedVariants = renormalizationProcessor.process(submittedVariants);
+        logger.debug("Renormalized {} submitted variants with {} FASTA reads ({} bases) in {} ms",
+                     submittedVariants.size(), renormalizationProcessor.getFastaReads() - fastaReads,
+                     renormalizationProcessor.getFastaBasesRead() - fastaBasesRead,
+                     renormalizationProcessor.getFastaReadMillis() - fastaReadMillis);
+
+        List<DbsnpVariantsWrapper> renormalizedWrappers = new ArrayList<>();
+        int nextVariant = 0;
+        for (DbsnpVariantsWrapper wrapper : wrappers) {
+            int variantsInWrapper = wrapper.getSubmittedVariants().size();
+            DbsnpVariantsWrapper renormalizedWrapper = new DbsnpVariantsWrapper();
+            renormalizedWrapper.setDbsnpVariantType(wrapper.getDbsnpVariantType());
+            renormalizedWrapper.setClusteredVariant(wrapper.getClusteredVariant());
+            renormalizedWrapper.setSubmittedVariants(
+                    new ArrayList<>(renormalizedVariants.subList(nextVariant, nextVariant + variantsInWrapper)));
+            nextVariant += variantsInWrapper;
+            renormalizedWrappers.add(declusterProcessor.process(renormalizedWrapper));
+        }
+        delegate.write(renormalizedWrappers);
+    }
+}
@@ -21,8 +21,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.Pair;
 import uk.ac.ebi.ampt2d.commons.accession.core.models.EventType;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.AccessionedDocument;
 import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.EventDocument;
 
 import uk.ac.ebi.eva.accession.core.batch.io.DbsnpClusteredVariantOperationWriter;
@@ -47,16 +50,41 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static uk.ac.ebi.eva.accession.core.exceptions.MongoBulkWriteExceptionUtils.extractUniqueHashesForDuplicateKeyError;
 import static uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpClusteredVariantDeclusteredWriter.DBSNP_CLUSTERED_VARIANT_DECLUSTERED_COLLECTION_NAME;
 
+/**
+ * Writes the clustered and submitted variants of a chunk, merging the variants with the same hash as a variant already
+ * written into it.
+ *
+ * When several partitions of the dbSNP import write at the same time (see
+ * {@link uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner}), the variant already written with a
+ * hash might come from another partition, so which one is written first depends on the timing of the partitions. In
+ * that case the writers share a lock to write one chunk at a time, and the variant with the lowest accession is kept
+ * active: if a variant already written has a higher accession, it's replaced and merged into the new one, and the
+ * submitted variants of a replaced clustered variant are updated to the new one in the whole assembly. This way the
+ * active variants don't depend on the order of the writes.
+ */
 public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
 
     private static final Logger logger = LoggerFactory.getLogger(DbsnpVariantsWriter.class);
 
+    private static final String ID_FIELD = "_id";
+
+    private static final String ASSEMBLY_FIELD = "seq";
+
+    private static final String CLUSTERED_VARIANT_ACCESSION_FIELD = "rs";
+
     private final MongoTemplate mongoTemplate;
 
+    private final Lock partitionsWriteLock;
+
     private DbsnpSubmittedVariantWriter dbsnpSubmittedVariantWriter;
 
     private DbsnpClusteredVariantWriter dbsnpClusteredVariantWriter;
@@ -82,7 +110,22 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
                                DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
                                DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository,
                                ImportCounts importCounts) {
+        this(mongoTemplate, submittedOperationRepository, submittedVariantRepository, clusteredOperationRepository,
+             clusteredVariantRepository, importCounts, null);
+    }
+
+    /**
+     * @param partitionsWriteLock lock shared by the writers of all the partitions that run at the same time, or null
+     * if there is only one
+     */
+    public DbsnpVariantsWriter(MongoTemplate mongoTemplate,
+                               DbsnpSubmittedVariantOperationRepository submittedOperationRepository,
+                               DbsnpSubmittedVariantAccessioningRepository submittedVariantRepository,
+                               DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
+                               DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository,
+                               ImportCounts importCounts, Lock partitionsWriteLock) {
         this.mongoTemplate = mongoTemplate;
+        this.partitionsWriteLock = partitionsWriteLock;
         this.dbsnpSubmittedVariantWriter = new DbsnpSubmittedVariantWriter(mongoTemplate, importCounts);
         this.dbsnpClusteredVariantWriter = new DbsnpClusteredVariantWriter(mongoTemplate, importCounts);
         this.dbsnpSubmittedVariantOperationWriter = new DbsnpSubmittedVariantOperationWriter(mongoTemplate,
@@ -92,14 +135,15 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
         this.dbsnpClusteredVariantDeclusteredWriter = new DbsnpClusteredVariantDeclusteredWriter(mongoTemplate);
 
         this.submittedOperationBuilder = new MergeOperationBuilder<>(
-                submittedOperationRepository, submittedVariantRepository, this::buildSubmittedMergeOperation);
+                submittedVariantRepository::findAllById, submittedOperationRepository::findAllByAccessionIn,
+                this::buildSubmittedMergeOperation);
         this.clusteredOperationBuilder = new MergeOperationBuilder<>(
-                clusteredOperationRepository, clusteredVariantRepository, this::buildClusteredMergeOperation);
+                clusteredVariantRepository::findAllById, clusteredOperationRepository::findAllByAccessionIn,
+                this::buildClusteredMergeOperation);
         this.declusteredOperationBuilder = new MergeOperationBuilder<>(
-                clusteredOperationRepository,
-                id -> java.util.Optional.ofNullable(
-                        mongoTemplate.findById(id, DbsnpClusteredVariantEntity.class,
-                                               DBSNP_CLUSTERED_VARIANT_DECLUSTERED_COLLECTION_NAME)),
+                ids -> mongoTemplate.find(query(where(ID_FIELD).in(ids)), DbsnpClusteredVariantEntity.class,
+                                          DBSNP_CLUSTERED_VARIANT_DECLUSTERED_COLLECTION_NAME),
+                clusteredOperationRepository::findAllByAccessionIn,
                 this::buildClusteredMergeOperation);
     }
 
@@ -129,6 +173,19 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
 
     @Override
     public void write(List<? extends DbsnpVariantsWrapper> wrappers) throws Exception {
+        if (partitionsWriteLock == null) {
+            writeVariants(wrappers);
+            return;
+        }
+        partitionsWriteLock.lock();
+        try {
+            writeVariants(wrappers);
+        } finally {
+            partitionsWriteLock.unlock();
+        }
+    }
+
+    private void writeVariants(List<? extends DbsnpVariantsWrapper> wrappers) throws Exception {
         List<DbsnpClusteredVariantEntity> declusteredClusteredVariants = new ArrayList<>();
         List<DbsnpSubmittedVariantOperationEntity> declusterOperations = new ArrayList<>();
 
@@ -170,13 +227,19 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
             return Collections.emptyList();
         } catch (DuplicateKeyException exception) {
             MongoBulkWriteException writeException = ((MongoBulkWriteException) exception.getCause());
-            return declusteredOperationBuilder.buildMergeOperationsFromException(clusteredVariantsDeclustered,
-                                                                                 writeException);
+            List<DbsnpClusteredVariantEntity> variantsToMerge = new ArrayList<>(clusteredVariantsDeclustered);
+            if (partitionsWriteLock != null) {
+                activateLowestAccessions(clusteredVariantsDeclustered, writeException,
+                                         DbsnpClusteredVariantEntity.class,
+                                         DBSNP_CLUSTERED_VARIANT_DECLUSTERED_COLLECTION_NAME)
+                        .forEach(replacement -> variantsToMerge.add(replacement.getFirst()));
+            }
+            return declusteredOperationBuilder.buildMergeOperationsFromException(variantsToMerge, writeException);
         }
     }
 
     private List<DbsnpClusteredVariantOperationEntity> writeClusteredVariants(
-            List<? extends DbsnpVariantsWrapper> wrappers) {
+            List<? extends DbsnpVariantsWrapper> wrappers) throws Exception {
         List<DbsnpClusteredVariantEntity> clusteredVariants = getNonDeclusteredClusteredVariants(wrappers);
         try {
             if (!clusteredVariants.isEmpty()) {
@@ -185,7 +248,16 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
             return Collections.emptyList();
         } catch (DuplicateKeyException exception) {
             MongoBulkWriteException writeException = ((MongoBulkWriteException) exception.getCause());
-            return clusteredOperationBuilder.buildMergeOperationsFromException(clusteredVariants, writeException);
+            List<DbsnpClusteredVariantEntity> variantsToMerge = new ArrayList<>(clusteredVariants);
+            if (partitionsWriteLock != null) {
+                List<Pair<DbsnpClusteredVariantEntity, DbsnpClusteredVariantEntity>> replacements =
+                        activateLowestAccessions(clusteredVariants, writeException,
+                                                 DbsnpClusteredVariantEntity.class,
+                                                 mongoTemplate.getCollectionName(DbsnpClusteredVariantEntity.class));
+                replacements.forEach(replacement -> variantsToMerge.add(replacement.getFirst()));
+                updateSubmittedVariantsOfReplacedClusteredVariants(replacements);
+            }
+            return clusteredOperationBuilder.buildMergeOperationsFromException(variantsToMerge, writeException);
         }
     }
 
@@ -248,17 +320,26 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
                     .add(mergeClusteredOperation);
         }
 
-        Map<Pair<String, Long>, Long> originalToNewAccessions = new HashMap<>();
-        accessionToOperationsMap.forEach((hashAndAccession, accessionOperations) -> {
-            List<Long> mergedIntoList = accessionOperations
-                    .stream()
-                    .map(EventDocument::getMergedInto)
-                    .distinct()
-                    .collect(Collectors.toList());
+        Map<Pair<String, Long>, List<Long>> accessionToMergedIntoMap = new HashMap<>();
+        accessionToOperationsMap.forEach((hashAndAccession, accessionOperations) -> accessionToMergedIntoMap.put(
+                hashAndAccession, accessionOperations.stream()
+                                                     .map(EventDocument::getMergedInto)
+                                                     .distinct()
+                                                     .collect(Collectors.toList())));
+
+        Map<String, DbsnpClusteredVariantEntity> activeClusteredVariants = getActiveClusteredVariants(
+                accessionToMergedIntoMap.entrySet()
+                                        .stream()
+                                        .filter(entry -> entry.getValue().size() > 1)
+                                        .map(entry -> entry.getKey().getFirst())
+                                        .distinct()
+                                        .collect(Collectors.toList()));
 
+        Map<Pair<String, Long>, Long> originalToNewAccessions = new HashMap<>();
+        accessionToMergedIntoMap.forEach((hashAndAccession, mergedIntoList) -> {
             if (mergedIntoList.size() > 1) {
-                DbsnpClusteredVariantEntity activeClusteredVariant = mongoTemplate.findById(
-                        hashAndAccession.getFirst(), DbsnpClusteredVariantEntity.class);
+                DbsnpClusteredVariantEntity activeClusteredVariant = activeClusteredVariants.get(
+                        hashAndAccession.getFirst());
 
                 if (activeClusteredVariant == null || !mergedIntoList.contains(activeClusteredVariant.getAccession())) {
                     throwSeveralInactiveMergesException(hashAndAccession, mergedIntoList, activeClusteredVariant);
@@ -277,6 +358,19 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
         return originalToNewAccessions;
     }
 
+    /**
+     * Fetches with a single query the active clustered variants with the given hashes, mapped by hash
+     */
+    private Map<String, DbsnpClusteredVariantEntity> getActiveClusteredVariants(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return mongoTemplate.find(query(where(ID_FIELD).in(hashes)), DbsnpClusteredVariantEntity.class)
+                            .stream()
+                            .collect(Collectors.toMap(DbsnpClusteredVariantEntity::getHashedMessage,
+                                                      variant -> variant));
+    }
+
     private void throwSeveralInactiveMergesException(Pair<String, Long> hashAndAccession, List<Long> mergedIntoList,
                                                      DbsnpClusteredVariantEntity activeClusteredVariant) {
         String activeVariantMessage;
@@ -339,7 +433,77 @@ public class DbsnpVariantsWriter implements ItemWriter<DbsnpVariantsWrapper> {
             return Collections.emptyList();
         } catch (DuplicateKeyException exception) {
             MongoBulkWriteException writeException = ((MongoBulkWriteException) exception.getCause());
-            return submittedOperationBuilder.buildMergeOperationsFromException(submittedVariants, writeException);
+            List<DbsnpSubmittedVariantEntity> variantsToMerge = new ArrayList<>(submittedVariants);
+            if (partitionsWriteLock != null) {
+                activateLowestAccessions(submittedVariants, writeException, DbsnpSubmittedVariantEntity.class,
+                                         mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class))
+                        .forEach(replacement -> variantsToMerge.add(replacement.getFirst()));
+            }
+            return submittedOperationBuilder.buildMergeOperationsFromException(variantsToMerge, writeException);
+        }
+    }
+
+    /**
+     * Replaces the variants already written that have the same hash as any of the given variants but a higher
+     * accession, so that the lowest accession is kept active. The merge operations of the replaced variants are built
+     * along with the rest, because they are not active anymore.
+     *
+     * @return pairs of each variant replaced and the variant that replaced it
+     */
+    private <ENTITY extends AccessionedDocument<?, Long>> List<Pair<ENTITY, ENTITY>> activateLowestAccessions(
+            List<ENTITY> variants, MongoBulkWriteException exception, Class<ENTITY> entityClass,
+            String collectionName) {
+        Set<String> hashes = extractUniqueHashesForDuplicateKeyError(exception).collect(Collectors.toSet());
+        Map<String, ENTITY> lowestAccessionVariants = new HashMap<>();
+        for (ENTITY variant : variants) {
+            if (hashes.contains(variant.getHashedMessage())) {
+                lowestAccessionVariants.merge(variant.getHashedMessage(), variant,
+                                              (a, b) -> a.getAccession() <= b.getAccession() ? a : b);
+            }
+        }
+
+        List<Pair<ENTITY, ENTITY>> replacements = new ArrayList<>();
+        for (ENTITY activeVariant : mongoTemplate.find(query(where(ID_FIELD).in(hashes)), entityClass,
+                                                       collectionName)) {
+            ENTITY lowestAccessionVariant = lowestAccessionVariants.get(activeVariant.getHashedMessage());
+            if (lowestAccessionVariant != null
+                    && lowestAccessionVariant.getAccession() < activeVariant.getAccession()) {
+                mongoTemplate.remove(query(where(ID_FIELD).is(activeVariant.getHashedMessage())), entityClass,
+                                     collectionName);
+                mongoTemplate.insert(lowestAccessionVariant, collectionName);
+                replacements.add(Pair.of(activeVariant, lowestAccessionVariant));
+                logger.debug("Variant with accession {} replaced the active variant with accession {} and hash {}",
+                             lowestAccessionVariant.getAccession(), activeVariant.getAccession(),
+                             activeVariant.getHashedMessage());
+            }
+        }
+        return replacements;
+    }
+
+    /**
+     * Points the submitted variants already written of each replaced clustered variant to the clustered variant that
+     * replaced it, as {@link #updateClusteredVariantAccessionsInSubmittedVariants} does with the submitted variants of
+     * the chunk.
+     */
+    private void updateSubmittedVariantsOfReplacedClusteredVariants(
+            List<Pair<DbsnpClusteredVariantEntity, DbsnpClusteredVariantEntity>> replacements) throws Exception {
+        List<DbsnpSubmittedVariantOperationEntity> operations = new ArrayList<>();
+        for (Pair<DbsnpClusteredVariantEntity, DbsnpClusteredVariantEntity> replacement : replacements) {
+            DbsnpClusteredVariantEntity replacedVariant = replacement.getFirst();
+            Long mergedInto = replacement.getSecond().getAccession();
+            Query submittedVariantsQuery = query(where(ASSEMBLY_FIELD).is(replacedVariant.getAssemblyAccession())
+                                                         .and(CLUSTERED_VARIANT_ACCESSION_FIELD)
+                                                         .is(replacedVariant.getAccession()));
+            for (DbsnpSubmittedVariantEntity submittedVariant : mongoTemplate.find(submittedVariantsQuery,
+                                                                                   DbsnpSubmittedVariantEntity.class)) {
+                operations.add(buildOperation(submittedVariant, mergedInto));
+            }
+            mongoTemplate.updateMulti(submittedVariantsQuery,
+                                      new Update().set(CLUSTERED_VARIANT_ACCESSION_FIELD, mergedInto),
+                                      DbsnpSubmittedVariantEntity.class);
+        }
+        if (!operations.isEmpty()) {
+            dbsnpSubmittedVariantOperationWriter.write(operations);
         }
     }
 
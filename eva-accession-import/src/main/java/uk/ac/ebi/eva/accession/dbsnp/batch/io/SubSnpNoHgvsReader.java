@@ -19,6 +19,7 @@ package uk.ac.ebi.eva.accession.dbsnp.batch.io;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.util.DigestUtils;
 
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
@@ -50,6 +51,14 @@ import static uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsRowMapper.SUBSN
 import static uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsRowMapper.SUBSNP_VALIDATED_COLUMN;
 import static uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsRowMapper.TAXONOMY_ID_COLUMN;
 
+/**
+ * Reads the variants of an assembly from the dbSNP mirror, in load order.
+ *
+ * It can also read only the variants with an RS ID in a range, or only the variants without RS, to import an assembly
+ * in several partitions (see {@link uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner}). The
+ * variants of a range are sorted by RS ID and then by load order, so that an index on those two columns can serve
+ * both the filter and the order, and the variants of the same RS keep their relative order.
+ */
 public class SubSnpNoHgvsReader extends JdbcCursorItemReader<SubSnpNoHgvs> {
 
     private static final Logger logger = LoggerFactory.getLogger(SubSnpNoHgvsReader.class);
@@ -61,6 +70,23 @@ public class SubSnpNoHgvsReader extends JdbcCursorItemReader<SubSnpNoHgvs> {
         setFetchSize(pageSize);
     }
 
+    /**
+     * @param firstRsId first RS ID to read, inclusive, or null to read the variants without RS
+     * @param lastRsId last RS ID to read, inclusive, or null to read the variants without RS
+     */
+    public SubSnpNoHgvsReader(String assembly, String buildNumber, DataSource dataSource, int pageSize,
+                              Long firstRsId, Long lastRsId) throws Exception {
+        setDataSource(dataSource);
+        if (firstRsId == null || lastRsId == null) {
+            setSql(buildWithoutRsSql(assembly, buildNumber));
+        } else {
+            setSql(buildRsIdRangeSql(assembly, buildNumber));
+            setPreparedStatementSetter(new ArgumentPreparedStatementSetter(new Object[]{firstRsId, lastRsId}));
+        }
+        setRowMapper(new SubSnpNoHgvsRowMapper(assembly));
+        setFetchSize(pageSize);
+    }
+
     @Override
     protected void openCursor(Connection connection) {
         try {
@@ -72,6 +98,22 @@ public class SubSnpNoHgvsReader extends JdbcCursorItemReader<SubSnpNoHgvs> {
     }
 
     private String buildSql(String assembly, String buildNumber) {
+        return buildSelectFrom(assembly, buildNumber) + " ORDER BY " + LOAD_ORDER_COLUMN;
+    }
+
+    private String buildRsIdRangeSql(String assembly, String buildNumber) {
+        return buildSelectFrom(assembly, buildNumber) +
+                " WHERE " + RS_ID_COLUMN + " >= ? AND " + RS_ID_COLUMN + " <= ?" +
+                " ORDER BY " + RS_ID_COLUMN + "," + LOAD_ORDER_COLUMN;
+    }
+
+    private String buildWithoutRsSql(String assembly, String buildNumber) {
+        return buildSelectFrom(assembly, buildNumber) +
+                " WHERE " + RS_ID_COLUMN + " IS NULL" +
+                " ORDER BY " + LOAD_ORDER_COLUMN;
+    }
+
+    private String buildSelectFrom(String assembly, String buildNumber) {
         String tableName = getTableName(assembly, buildNumber);
         logger.debug("querying table {} for assembly {}", tableName, assembly);
         String sql =
@@ -97,13 +139,12 @@ public class SubSnpNoHgvsReader extends JdbcCursorItemReader<SubSnpNoHgvs> {
                         "," + SS_CREATE_TIME_COLUMN +
                         "," + RS_CREATE_TIME_COLUMN +
                         "," + TAXONOMY_ID_COLUMN +
-                        " FROM " + tableName +
-                        " ORDER BY " + LOAD_ORDER_COLUMN;
+                        " FROM " + tableName;
 
         return sql;
     }
 
-    private String getTableName(String assembly, String buildNumber) {
+    public static String getTableName(String assembly, String buildNumber) {
         if (buildNumber == null) {
             return "dbsnp_variant_load_nohgvslink_" + hash(assembly);
         } else {
@@ -111,7 +152,7 @@ public class SubSnpNoHgvsReader extends JdbcCursorItemReader<SubSnpNoHgvs> {
         }
     }
 
-    private String hash(String string) {
+    private static String hash(String string) {
         return DigestUtils.md5DigestAsHex(string.getBytes());
     }
 
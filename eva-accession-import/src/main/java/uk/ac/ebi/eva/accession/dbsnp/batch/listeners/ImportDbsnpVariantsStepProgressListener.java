@@ -27,6 +27,13 @@ import uk.ac.ebi.eva.accession.core.batch.listeners.ImportCounts;
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
 import uk.ac.ebi.eva.accession.dbsnp.model.DbsnpVariantsWrapper;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the progress of the import, keeps the import counts in the execution context so that they survive restarts,
+ * and measures how long the writer takes per chunk.
+ */
 public class ImportDbsnpVariantsStepProgressListener extends GenericProgressListener<SubSnpNoHgvs,
         DbsnpVariantsWrapper> {
 
@@ -34,6 +41,12 @@ public class ImportDbsnpVariantsStepProgressListener extends GenericProgressList
 
     private ImportCounts importCounts;
 
+    private long writeStartNanos;
+
+    private long totalWriteNanos;
+
+    private long chunksWritten;
+
     public ImportDbsnpVariantsStepProgressListener(long chunkSize, ImportCounts importCounts) {
         super(chunkSize);
         this.importCounts = importCounts;
@@ -53,6 +66,29 @@ public class ImportDbsnpVariantsStepProgressListener extends GenericProgressList
         }
     }
 
+    @Override
+    public void beforeWrite(List<? extends DbsnpVariantsWrapper> items) {
+        super.beforeWrite(items);
+        writeStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(List<? extends DbsnpVariantsWrapper> items) {
+        super.afterWrite(items);
+        long writeNanos = System.nanoTime() - writeStartNanos;
+        totalWriteNanos += writeNanos;
+        chunksWritten++;
+        logger.debug("Wrote chunk of {} items in {} ms", items.size(), TimeUnit.NANOSECONDS.toMillis(writeNanos));
+    }
+
+    public long getTotalWriteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWriteNanos);
+    }
+
+    public long getChunksWritten() {
+        return chunksWritten;
+    }
+
     @Override
     public void afterChunk(ChunkContext context) {
         super.afterChunk(context);
@@ -69,6 +105,10 @@ public class ImportDbsnpVariantsStepProgressListener extends GenericProgressList
         logger.info("Step {} finished: Items read = {}, ss written = {}, rs written = {}, operations written = {}",
                     stepName, numTotalItemsRead, importCounts.getSubmittedVariantsWritten(),
                     importCounts.getClusteredVariantsWritten(), importCounts.getOperationsWritten());
+        if (chunksWritten > 0) {
+            logger.info("Step {} spent {} ms writing {} chunks ({} ms per chunk)", stepName, getTotalWriteMillis(),
+                        chunksWritten, getTotalWriteMillis() / chunksWritten);
+        }
 
         // add import counts to execution context, so they can be retrieved later if the job is restarted
         ExecutionContext executionContext = stepExecution.getExecutionContext();
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp.batch.partitioners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsReader;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsRowMapper.RS_ID_COLUMN;
+
+/**
+ * Splits the variants of an assembly in the dbSNP mirror into contiguous RS ID ranges, so that all the variants of an
+ * RS are read by the same partition.
+ *
+ * The ranges have a similar number of variants: their boundaries are the RS IDs found at evenly spaced positions of
+ * the table sorted by RS ID, which an index on the RS ID column can serve without sorting the table. The variants
+ * without RS are read by an additional partition.
+ *
+ * Two RS from different ranges can still have the same hash, see
+ * {@link uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpVariantsWriter} for how that is handled.
+ */
+public class RsIdRangePartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RsIdRangePartitioner.class);
+
+    public static final String FIRST_RS_ID = "firstRsId";
+
+    public static final String LAST_RS_ID = "lastRsId";
+
+    public static final String VARIANTS_WITHOUT_RS = "variantsWithoutRs";
+
+    private static final String PARTITION_PREFIX = "partition";
+
+    private static final String WITHOUT_RS_PARTITION = "partitionWithoutRs";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String tableName;
+
+    public RsIdRangePartitioner(DataSource dataSource, String assembly, String buildNumber) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableName = SubSnpNoHgvsReader.getTableName(assembly, buildNumber);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        if (gridSize < 1) {
+            throw new IllegalArgumentException("The number of partitions must be at least 1, but it was " + gridSize);
+        }
+        Map<String, Object> counts = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS variants, COUNT(" + RS_ID_COLUMN + ") AS variants_with_rs FROM " + tableName);
+        long variants = ((Number) counts.get("variants")).longValue();
+        long variantsWithRs = ((Number) counts.get("variants_with_rs")).longValue();
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        List<Long> firstRsIds = getFirstRsIds(variantsWithRs, gridSize);
+        for (int i = 0; i < firstRsIds.size(); i++) {
+            long firstRsId = firstRsIds.get(i);
+            long lastRsId = i + 1 < firstRsIds.size() ? firstRsIds.get(i + 1) - 1 : getRsIdAt(variantsWithRs - 1);
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putLong(FIRST_RS_ID, firstRsId);
+            executionContext.putLong(LAST_RS_ID, lastRsId);
+            partitions.put(PARTITION_PREFIX + i, executionContext);
+            logger.info("Partition {} of table {} reads RS IDs {} to {}", i, tableName, firstRsId, lastRsId);
+        }
+        if (variants > variantsWithRs) {
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.put(VARIANTS_WITHOUT_RS, true);
+            partitions.put(WITHOUT_RS_PARTITION, executionContext);
+            logger.info("Partition {} of table {} reads {} variants without RS", WITHOUT_RS_PARTITION, tableName,
+                        variants - variantsWithRs);
+        }
+        return partitions;
+    }
+
+    /**
+     * @return the first RS ID of each range, without repetitions, so that an RS with many variants is not split
+     */
+    private List<Long> getFirstRsIds(long variantsWithRs, int gridSize) {
+        List<Long> firstRsIds = new ArrayList<>();
+        if (variantsWithRs == 0) {
+            return firstRsIds;
+        }
+        for (int i = 0; i < gridSize; i++) {
+            long rsId = getRsIdAt(variantsWithRs * i / gridSize);
+            if (firstRsIds.isEmpty() || firstRsIds.get(firstRsIds.size() - 1) < rsId) {
+                firstRsIds.add(rsId);
+            }
+        }
+        return firstRsIds;
+    }
+
+    private long getRsIdAt(long position) {
+        return jdbcTemplate.queryForObject("SELECT " + RS_ID_COLUMN + " FROM " + tableName
+                                                   + " WHERE " + RS_ID_COLUMN + " IS NOT NULL"
+                                                   + " ORDER BY " + RS_ID_COLUMN
+                                                   + " OFFSET " + position + " ROWS FETCH FIRST 1 ROWS ONLY",
+                                           Long.class);
+    }
+}
@@ -24,7 +24,11 @@ import uk.ac.ebi.eva.accession.core.contig.ContigSynonyms;
 import uk.ac.ebi.eva.accession.dbsnp.exceptions.NonIdenticalChromosomeAccessionsException;
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.IMPORT_DBSNP_VARIANTS_STEP;
@@ -35,6 +39,9 @@ import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.VALIDATE_CON
  *
  * This class should only be used when importing from dbSNP! The replacement strategy is subtle in the details, so
  * don't try to reuse the class as it is for other purposes.
+ *
+ * The replacement only depends on the contig, the chromosome and whether the chromosome coordinates are present, so it
+ * is decided once per combination of those and remembered for the following variants.
  */
 public class ContigReplacerProcessor implements ItemProcessor<SubSnpNoHgvs, SubSnpNoHgvs> {
 
@@ -48,15 +55,40 @@ public class ContigReplacerProcessor implements ItemProcessor<SubSnpNoHgvs, SubS
 
     private Set<String> nonIdenticalChromosomes;
 
+    private Map<List<Object>, Replacement> replacements;
+
     public ContigReplacerProcessor(ContigMapping contigMapping, String assemblyAccession) {
         this.contigMapping = contigMapping;
         this.assemblyAccession = assemblyAccession;
         this.processedContigs = new HashSet<>();
         this.nonIdenticalChromosomes = new HashSet<>();
+        this.replacements = new HashMap<>();
     }
 
     @Override
     public SubSnpNoHgvs process(SubSnpNoHgvs subSnpNoHgvs) throws Exception {
+        List<Object> replacementKey = Arrays.asList(subSnpNoHgvs.getContigName(), subSnpNoHgvs.getChromosome(),
+                                                    subSnpNoHgvs.getChromosomeStart() != null);
+        Replacement replacement = replacements.get(replacementKey);
+        if (replacement == null) {
+            replacement = getReplacement(subSnpNoHgvs);
+            replacements.put(replacementKey, replacement);
+        }
+
+        if (replacement == Replacement.CHROMOSOME) {
+            replaceChromosomeWithGenbankAccession(subSnpNoHgvs,
+                                                  contigMapping.getContigSynonyms(subSnpNoHgvs.getChromosome()));
+        } else if (replacement == Replacement.CONTIG) {
+            replaceContigWithGenbankAccession(subSnpNoHgvs,
+                                              contigMapping.getContigSynonyms(subSnpNoHgvs.getContigName()));
+        } else {
+            // No replacement is possible. We must keep the original RefSeq accession
+        }
+
+        return subSnpNoHgvs;
+    }
+
+    private Replacement getReplacement(SubSnpNoHgvs subSnpNoHgvs) {
         String contigName = subSnpNoHgvs.getContigName();
         ContigSynonyms contigSynonyms = contigMapping.getContigSynonyms(contigName);
         ContigSynonyms chromosomeSynonyms = contigMapping.getContigSynonyms(subSnpNoHgvs.getChromosome());
@@ -83,14 +115,12 @@ public class ContigReplacerProcessor implements ItemProcessor<SubSnpNoHgvs, SubS
         }
 
         if (isChromosomeReplaceable(subSnpNoHgvs, chromosomeSynonyms)) {
-            replaceChromosomeWithGenbankAccession(subSnpNoHgvs, chromosomeSynonyms);
+            return Replacement.CHROMOSOME;
         } else if (isContigReplaceable(contigSynonyms)) {
-            replaceContigWithGenbankAccession(subSnpNoHgvs, contigSynonyms);
+            return Replacement.CONTIG;
         } else {
-            // No replacement is possible. We must keep the original RefSeq accession
+            return Replacement.NONE;
         }
-
-        return subSnpNoHgvs;
     }
 
     private boolean isChromosomeReplaceable(SubSnpNoHgvs subSnpNoHgvs, ContigSynonyms chromosomeSynonyms) {
@@ -127,4 +157,8 @@ public class ContigReplacerProcessor implements ItemProcessor<SubSnpNoHgvs, SubS
     private void replaceContigWithGenbankAccession(SubSnpNoHgvs subSnpNoHgvs, ContigSynonyms contigSynonyms) {
         subSnpNoHgvs.setContigName(contigSynonyms.getGenBank());
     }
+
+    private enum Replacement {
+        CHROMOSOME, CONTIG, NONE
+    }
 }
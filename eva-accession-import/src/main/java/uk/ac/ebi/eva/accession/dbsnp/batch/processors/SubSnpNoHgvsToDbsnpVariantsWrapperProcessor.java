@@ -50,8 +50,19 @@ public class SubSnpNoHgvsToDbsnpVariantsWrapperProcessor implements ItemProcesso
     public SubSnpNoHgvsToDbsnpVariantsWrapperProcessor(String assemblyAccession,
                                                        FastaSynonymSequenceReader fastaSequenceReader,
                                                        List<ProjectAccessionMapping> projectAccessionMappings) {
-        this.assemblyAccession = assemblyAccession;
+        this(assemblyAccession, projectAccessionMappings);
         this.renormalizationProcessor = new SubmittedVariantRenormalizationProcessor(fastaSequenceReader);
+    }
+
+    /**
+     * Creates a processor that doesn't renormalize the submitted variants, so that they can be renormalized a whole
+     * chunk at a time.
+     *
+     * @see uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpVariantsRenormalizationWriter
+     */
+    public SubSnpNoHgvsToDbsnpVariantsWrapperProcessor(String assemblyAccession,
+                                                       List<ProjectAccessionMapping> projectAccessionMappings) {
+        this.assemblyAccession = assemblyAccession;
         this.subSnpNoHgvsToClusteredVariantProcessor = new SubSnpNoHgvsToClusteredVariantProcessor(assemblyAccession);
         this.hashingFunction = new SubmittedVariantSummaryFunction().andThen(new SHA1HashingFunction());
         this.projectAccessionMappings = projectAccessionMappings;
@@ -69,8 +80,10 @@ public class SubSnpNoHgvsToDbsnpVariantsWrapperProcessor implements ItemProcesso
             addSubmittedVariantEntity(subSnpNoHgvs, submittedVariant, submittedVariants);
         }
 
-        List<DbsnpSubmittedVariantEntity> normalisedSubmittedVariants =
-                renormalizationProcessor.process(submittedVariants);
+        List<DbsnpSubmittedVariantEntity> normalisedSubmittedVariants = submittedVariants;
+        if (renormalizationProcessor != null) {
+            normalisedSubmittedVariants = renormalizationProcessor.process(submittedVariants);
+        }
 
         dbsnpVariantsWrapper.setDbsnpVariantType(subSnpNoHgvs.getDbsnpVariantType());
         dbsnpVariantsWrapper.setClusteredVariant(clusteredVariant);
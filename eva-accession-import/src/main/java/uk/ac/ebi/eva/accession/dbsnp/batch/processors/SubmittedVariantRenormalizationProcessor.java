@@ -26,23 +26,52 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.summary.SubmittedVariantSummaryFunction;
 import uk.ac.ebi.eva.accession.core.batch.io.FastaSynonymSequenceReader;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Moves the context base of ambiguous indels from the left to the right of the variant.
+ *
+ * The context bases needed by a list of variants are looked up sorted by contig and position, and the positions that
+ * are close to each other are read from the FASTA in a single window, so a whole chunk of variants needs only a few
+ * FASTA reads. If a window can't be read (e.g. because a variant is outside of its contig) the variants in it fall
+ * back to reading their context base one by one, so the results and the warnings are the same as without the windows.
+ */
 public class SubmittedVariantRenormalizationProcessor implements
         ItemProcessor<List<DbsnpSubmittedVariantEntity>, List<DbsnpSubmittedVariantEntity>> {
 
     private static final Logger logger = LoggerFactory.getLogger(SubmittedVariantRenormalizationProcessor.class);
 
+    /**
+     * Context positions closer than this are read in the same window, as reading a few extra bases is cheaper than
+     * seeking again in the FASTA
+     */
+    static final long MAX_GAP_IN_WINDOW = 1000;
+
+    static final long MAX_WINDOW_LENGTH = 1_000_000;
+
     private FastaSynonymSequenceReader fastaSequenceReader;
 
     private Function<ISubmittedVariant, String> hashingFunction;
 
     private Set<String> processedContigs;
 
+    private long fastaReads;
+
+    private long fastaBasesRead;
+
+    private long fastaReadNanos;
+
     public SubmittedVariantRenormalizationProcessor(FastaSynonymSequenceReader fastaSequenceReader) {
         this.fastaSequenceReader = fastaSequenceReader;
         hashingFunction = new SubmittedVariantSummaryFunction().andThen(new SHA1HashingFunction());
@@ -51,16 +80,100 @@ public class SubmittedVariantRenormalizationProcessor implements
 
     @Override
     public List<DbsnpSubmittedVariantEntity> process(List<DbsnpSubmittedVariantEntity> variants) {
-        return variants.stream().map(this::process).collect(Collectors.toList());
+        Map<String, NavigableMap<Long, String>> contextWindows = readContextWindows(variants);
+        return variants.stream().map(variant -> process(variant, contextWindows)).collect(Collectors.toList());
     }
 
-    private DbsnpSubmittedVariantEntity process(DbsnpSubmittedVariantEntity variant) {
-        if (isAmbiguous(variant)) {
+    private DbsnpSubmittedVariantEntity process(DbsnpSubmittedVariantEntity variant,
+                                                Map<String, NavigableMap<Long, String>> contextWindows) {
+        if (isAmbiguous(variant, contextWindows)) {
             return renormalize(variant);
         }
         return variant;
     }
 
+    /**
+     * @return for each contig, the sequence of every window read, indexed by the position of its first base
+     */
+    private Map<String, NavigableMap<Long, String>> readContextWindows(List<DbsnpSubmittedVariantEntity> variants) {
+        Map<String, TreeSet<Long>> contextPositionsByContig = new HashMap<>();
+        for (ISubmittedVariant variant : variants) {
+            long contextPosition = variant.getStart() - 1;
+            if (isIndelWithOneEmptyAllele(variant) && contextPosition >= 1) {
+                contextPositionsByContig.computeIfAbsent(variant.getContig(), contig -> new TreeSet<>())
+                                        .add(contextPosition);
+            }
+        }
+        if (contextPositionsByContig.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, NavigableMap<Long, String>> contextWindows = new HashMap<>();
+        for (String contig : new TreeSet<>(contextPositionsByContig.keySet())) {
+            NavigableMap<Long, String> windows = new TreeMap<>();
+            for (long[] window : groupInWindows(contextPositionsByContig.get(contig))) {
+                try {
+                    String sequence = readSequence(contig, window[0], window[1]);
+                    if (sequence != null && sequence.length() == window[1] - window[0] + 1) {
+                        windows.put(window[0], sequence);
+                    }
+                } catch (Exception e) {
+                    // the variants in this window will read their context base one by one, and report any error then
+                }
+            }
+            contextWindows.put(contig, windows);
+        }
+        return contextWindows;
+    }
+
+    private List<long[]> groupInWindows(TreeSet<Long> sortedPositions) {
+        List<long[]> windows = new ArrayList<>();
+        long[] currentWindow = null;
+        for (long position : sortedPositions) {
+            if (currentWindow != null && position - currentWindow[1] <= MAX_GAP_IN_WINDOW
+                    && position - currentWindow[0] < MAX_WINDOW_LENGTH) {
+                currentWindow[1] = position;
+            } else {
+                currentWindow = new long[]{position, position};
+                windows.add(currentWindow);
+            }
+        }
+        return windows;
+    }
+
+    private String readSequence(String contig, long start, long end) {
+        long startTime = System.nanoTime();
+        try {
+            String sequence = fastaSequenceReader.getSequence(contig, start, end);
+            fastaBasesRead += end - start + 1;
+            return sequence;
+        } finally {
+            fastaReads++;
+            fastaReadNanos += System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Number of reads done in the FASTA since this processor was created
+     */
+    public long getFastaReads() {
+        return fastaReads;
+    }
+
+    /**
+     * Number of bases read from the FASTA since this processor was created
+     */
+    public long getFastaBasesRead() {
+        return fastaBasesRead;
+    }
+
+    /**
+     * Time spent reading the FASTA since this processor was created
+     */
+    public long getFastaReadMillis() {
+        return fastaReadNanos / 1_000_000;
+    }
+
     /**
      * We define the requirements to be an ambiguous variant as: being an indel (one allele is empty) and the non empty
      * allele ends with the same nucleotide as what is in the reference assembly right before the variant.
@@ -79,11 +192,9 @@ public class SubmittedVariantRenormalizationProcessor implements
      * @see SubmittedVariantRenormalizationProcessor#renormalize(DbsnpSubmittedVariantEntity)
      * @see SubmittedVariantRenormalizationProcessor#renormalizeAllele(java.lang.String)
      */
-    private boolean isAmbiguous(ISubmittedVariant variant) {
+    private boolean isAmbiguous(ISubmittedVariant variant, Map<String, NavigableMap<Long, String>> contextWindows) {
         try {
-            boolean isIndel = variant.getReferenceAllele().length() != variant.getAlternateAllele().length();
-            boolean oneAlleleIsEmpty = variant.getReferenceAllele().isEmpty() ^ variant.getAlternateAllele().isEmpty();
-            return isIndel && oneAlleleIsEmpty && areContextAndLastNucleotideEqual(variant);
+            return isIndelWithOneEmptyAllele(variant) && areContextAndLastNucleotideEqual(variant, contextWindows);
         } catch (Exception e) {
             if (!processedContigs.contains(variant.getContig())) {
                 processedContigs.add(variant.getContig());
@@ -94,18 +205,33 @@ public class SubmittedVariantRenormalizationProcessor implements
         }
     }
 
-    private boolean areContextAndLastNucleotideEqual(ISubmittedVariant variant) {
+    private boolean isIndelWithOneEmptyAllele(ISubmittedVariant variant) {
+        boolean isIndel = variant.getReferenceAllele().length() != variant.getAlternateAllele().length();
+        boolean oneAlleleIsEmpty = variant.getReferenceAllele().isEmpty() ^ variant.getAlternateAllele().isEmpty();
+        return isIndel && oneAlleleIsEmpty;
+    }
+
+    private boolean areContextAndLastNucleotideEqual(ISubmittedVariant variant,
+                                                     Map<String, NavigableMap<Long, String>> contextWindows) {
         String nonEmptyAllele = variant.getReferenceAllele().isEmpty() ? variant.getAlternateAllele() :
                 variant.getReferenceAllele();
         char lastNucleotideInAllele = nonEmptyAllele.charAt(nonEmptyAllele.length() - 1);
-        char contextBaseInAssembly = getContextBaseInAssembly(variant);
+        char contextBaseInAssembly = getContextBaseInAssembly(variant, contextWindows);
 
         return lastNucleotideInAllele == contextBaseInAssembly;
     }
 
-    private char getContextBaseInAssembly(ISubmittedVariant variant) {
+    private char getContextBaseInAssembly(ISubmittedVariant variant,
+                                          Map<String, NavigableMap<Long, String>> contextWindows) {
         long contextPosition = variant.getStart() - 1;
-        String sequence = fastaSequenceReader.getSequence(variant.getContig(), contextPosition, contextPosition);
+        NavigableMap<Long, String> windows = contextWindows.get(variant.getContig());
+        if (windows != null) {
+            Map.Entry<Long, String> window = windows.floorEntry(contextPosition);
+            if (window != null && contextPosition - window.getKey() < window.getValue().length()) {
+                return window.getValue().charAt((int) (contextPosition - window.getKey()));
+            }
+        }
+        String sequence = readSequence(variant.getContig(), contextPosition, contextPosition);
         if (sequence == null || sequence.length() != 1) {
             throw new RuntimeException(
                     "Reference sequence could not be retrieved correctly for chromosome=\"" + variant.getContig()
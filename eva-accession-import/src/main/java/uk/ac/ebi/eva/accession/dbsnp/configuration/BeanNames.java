@@ -43,4 +43,8 @@ public class BeanNames {
     public static final String FORCE_IMPORT_DECIDER = "FORCE_IMPORT_DECIDER";
 
     public static final String IMPORT_DBSNP_VARIANTS_FLOW_WITH_DECIDER = "IMPORT_DBSNP_VARIANTS_FLOW_WITH_DECIDER";
+
+    public static final String IMPORT_DBSNP_VARIANTS_PARTITIONED_STEP = "IMPORT_DBSNP_VARIANTS_PARTITIONED_STEP";
+
+    public static final String RS_ID_RANGE_PARTITIONER = "RS_ID_RANGE_PARTITIONER";
 }
@@ -18,6 +18,7 @@ package uk.ac.ebi.eva.accession.dbsnp.configuration.batch.io;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +29,9 @@ import uk.ac.ebi.eva.accession.dbsnp.parameters.InputParameters;
 
 import javax.sql.DataSource;
 
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.FIRST_RS_ID;
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.LAST_RS_ID;
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.VARIANTS_WITHOUT_RS;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_READER;
 
 @Configuration
@@ -38,10 +42,19 @@ public class ImportDbsnpVariantsReaderConfiguration {
 
     @Bean(name = DBSNP_VARIANT_READER)
     @StepScope
-    SubSnpNoHgvsReader subSnpCoreFieldsReader(InputParameters parameters, DbsnpDataSource dbsnpDataSource)
+    SubSnpNoHgvsReader subSnpCoreFieldsReader(
+            InputParameters parameters, DbsnpDataSource dbsnpDataSource,
+            @Value("#{stepExecutionContext['" + FIRST_RS_ID + "']}") Long firstRsId,
+            @Value("#{stepExecutionContext['" + LAST_RS_ID + "']}") Long lastRsId,
+            @Value("#{stepExecutionContext['" + VARIANTS_WITHOUT_RS + "']}") Boolean variantsWithoutRs)
             throws Exception {
         logger.info("Injecting SubSnpNoHgvsReader with parameters: {}, {}", parameters, dbsnpDataSource);
         DataSource dataSource = dbsnpDataSource.getDatasource();
+        if ((firstRsId != null && lastRsId != null) || Boolean.TRUE.equals(variantsWithoutRs)) {
+            logger.info("Reading partition with RS IDs {} to {}", firstRsId, lastRsId);
+            return new SubSnpNoHgvsReader(parameters.getAssemblyName(), parameters.getBuildNumber(), dataSource,
+                                          parameters.getPageSize(), firstRsId, lastRsId);
+        }
         return new SubSnpNoHgvsReader(parameters.getAssemblyName(), parameters.getBuildNumber(), dataSource, parameters.getPageSize());
     }
 }
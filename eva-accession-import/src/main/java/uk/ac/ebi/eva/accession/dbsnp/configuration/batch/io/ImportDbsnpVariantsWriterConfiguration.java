@@ -18,6 +18,7 @@ package uk.ac.ebi.eva.accession.dbsnp.configuration.batch.io;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -29,9 +30,16 @@ import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVari
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVariantOperationRepository;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpSubmittedVariantAccessioningRepository;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpSubmittedVariantOperationRepository;
+import uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpVariantsRenormalizationWriter;
 import uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpVariantsWriter;
+import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantDeclusterProcessor;
+import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantRenormalizationProcessor;
+import uk.ac.ebi.eva.accession.dbsnp.model.DbsnpVariantsWrapper;
 import uk.ac.ebi.eva.accession.dbsnp.parameters.InputParameters;
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_WRITER;
 
 @Configuration
@@ -40,17 +48,29 @@ public class ImportDbsnpVariantsWriterConfiguration {
 
     private static final Logger logger = LoggerFactory.getLogger(ImportDbsnpVariantsWriterConfiguration.class);
 
+    /**
+     * Shared by the step scoped writers of all the partitions
+     */
+    private final Lock partitionsWriteLock = new ReentrantLock();
+
     @Bean(name = DBSNP_VARIANT_WRITER)
     @StepScope
-    DbsnpVariantsWriter dbsnpVariantWriter(InputParameters parameters, MongoTemplate mongoTemplate,
-                                           ImportCounts importCounts,
-                                           DbsnpSubmittedVariantOperationRepository operationRepository,
-                                           DbsnpSubmittedVariantAccessioningRepository submittedVariantRepository,
-                                           DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
-                                           DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository)
-            throws Exception {
+    ItemWriter<DbsnpVariantsWrapper> dbsnpVariantWriter(
+            InputParameters parameters, MongoTemplate mongoTemplate, ImportCounts importCounts,
+            DbsnpSubmittedVariantOperationRepository operationRepository,
+            DbsnpSubmittedVariantAccessioningRepository submittedVariantRepository,
+            DbsnpClusteredVariantOperationRepository clusteredOperationRepository,
+            DbsnpClusteredVariantAccessioningRepository clusteredVariantRepository,
+            SubmittedVariantRenormalizationProcessor submittedVariantRenormalizationProcessor,
+            SubmittedVariantDeclusterProcessor submittedVariantDeclusterProcessor) throws Exception {
         logger.info("Injecting dbsnpVariantWriter with parameters: {}", parameters);
-        return new DbsnpVariantsWriter(mongoTemplate, operationRepository, submittedVariantRepository,
-                                       clusteredOperationRepository, clusteredVariantRepository, importCounts);
+        Lock writeLock = parameters.getPartitions() > 1 ? partitionsWriteLock : null;
+        DbsnpVariantsWriter dbsnpVariantsWriter = new DbsnpVariantsWriter(mongoTemplate, operationRepository,
+                                                                          submittedVariantRepository,
+                                                                          clusteredOperationRepository,
+                                                                          clusteredVariantRepository, importCounts,
+                                                                          writeLock);
+        return new DbsnpVariantsRenormalizationWriter(submittedVariantRenormalizationProcessor,
+                                                      submittedVariantDeclusterProcessor, dbsnpVariantsWriter);
     }
 }
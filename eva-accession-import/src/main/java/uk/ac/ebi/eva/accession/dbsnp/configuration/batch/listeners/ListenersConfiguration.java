@@ -64,6 +64,7 @@ public class ListenersConfiguration {
     }
 
     @Bean(IMPORT_DBSNP_VARIANTS_PROGRESS_LISTENER)
+    @StepScope
     public StepListenerSupport<SubSnpNoHgvs, DbsnpVariantsWrapper> importDbsnpVariantsProgressListener(
             InputParameters parameters, ImportCounts importCounts) {
         return new ImportDbsnpVariantsStepProgressListener(parameters.getChunkSize(), importCounts);
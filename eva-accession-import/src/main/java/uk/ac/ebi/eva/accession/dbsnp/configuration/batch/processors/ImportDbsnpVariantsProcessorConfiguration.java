@@ -25,6 +25,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 import uk.ac.ebi.eva.accession.core.contig.ContigMapping;
+import uk.ac.ebi.eva.accession.core.contig.ContigMappingCache;
 import uk.ac.ebi.eva.accession.core.batch.io.FastaSynonymSequenceReader;
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
 import uk.ac.ebi.eva.accession.dbsnp.parameters.InputParameters;
@@ -34,6 +35,7 @@ import uk.ac.ebi.eva.accession.dbsnp.batch.processors.AssemblyCheckerProcessor;
 import uk.ac.ebi.eva.accession.dbsnp.batch.processors.ContigReplacerProcessor;
 import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubSnpNoHgvsToDbsnpVariantsWrapperProcessor;
 import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantDeclusterProcessor;
+import uk.ac.ebi.eva.accession.dbsnp.batch.processors.SubmittedVariantRenormalizationProcessor;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -43,6 +45,10 @@ import java.util.List;
 
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_PROCESSOR;
 
+/**
+ * The processors are step scoped because they are not thread-safe (they keep the contigs already checked, and read the
+ * FASTA with a single file handle), so every partition of a partitioned import needs its own instances.
+ */
 @Configuration
 public class ImportDbsnpVariantsProcessorConfiguration {
 
@@ -54,46 +60,52 @@ public class ImportDbsnpVariantsProcessorConfiguration {
             InputParameters parameters,
             ContigReplacerProcessor contigReplacerProcessor,
             AssemblyCheckerProcessor assemblyCheckerProcessor,
-            SubSnpNoHgvsToDbsnpVariantsWrapperProcessor subSnpNoHgvsToDbsnpVariantsWrapperProcessor,
-            SubmittedVariantDeclusterProcessor submittedVariantDeclusterProcessor)
+            SubSnpNoHgvsToDbsnpVariantsWrapperProcessor subSnpNoHgvsToDbsnpVariantsWrapperProcessor)
             throws Exception {
         logger.info("Injecting dbsnpVariantProcessor with parameters: {}", parameters);
         CompositeItemProcessor<SubSnpNoHgvs, DbsnpVariantsWrapper> compositeProcessor = new CompositeItemProcessor<>();
         compositeProcessor.setDelegates(Arrays.asList(contigReplacerProcessor,
                                                       assemblyCheckerProcessor,
-                                                      subSnpNoHgvsToDbsnpVariantsWrapperProcessor,
-                                                      submittedVariantDeclusterProcessor));
+                                                      subSnpNoHgvsToDbsnpVariantsWrapperProcessor));
         return compositeProcessor;
     }
 
     @Bean
+    @StepScope
     ContigReplacerProcessor contigReplacerProcessor(ContigMapping contigMapping, InputParameters parameters) {
         return new ContigReplacerProcessor(contigMapping, parameters.getAssemblyAccession());
     }
 
     @Bean
     ContigMapping contigMapping(InputParameters parameters) throws Exception {
-        return new ContigMapping(parameters.getAssemblyReportUrl());
+        return ContigMappingCache.loadContigMapping(parameters.getAssemblyReportUrl(),
+                                                    parameters.getAssemblyReportCacheDir());
     }
 
     @Bean
+    @StepScope
     AssemblyCheckerProcessor assemblyCheckerProcessor(FastaSynonymSequenceReader fastaSynonymSequenceReader) {
         return new AssemblyCheckerProcessor(fastaSynonymSequenceReader);
     }
 
     @Bean
+    @StepScope
     FastaSynonymSequenceReader fastaSynonymSequenceReader(ContigMapping contigMapping, InputParameters parameters)
             throws IOException {
         Path referenceFastaFile = Paths.get(parameters.getFasta());
         return new FastaSynonymSequenceReader(contigMapping, referenceFastaFile);
     }
 
+    /**
+     * The submitted variants are renormalized and declustered a chunk at a time in the writer, see
+     * {@link uk.ac.ebi.eva.accession.dbsnp.batch.io.DbsnpVariantsRenormalizationWriter}
+     */
     @Bean
+    @StepScope
     SubSnpNoHgvsToDbsnpVariantsWrapperProcessor subSnpNoHgvsToDbsnpVariantsWrapperProcessor(
-            InputParameters parameters, FastaSynonymSequenceReader fastaSynonymSequenceReader,
-            List<ProjectAccessionMapping> projectAccessionMappings) {
+            InputParameters parameters, List<ProjectAccessionMapping> projectAccessionMappings) {
         return new SubSnpNoHgvsToDbsnpVariantsWrapperProcessor(parameters.getAssemblyAccession(),
-                                                               fastaSynonymSequenceReader, projectAccessionMappings);
+                                                               projectAccessionMappings);
     }
 
     @Bean
@@ -102,6 +114,14 @@ public class ImportDbsnpVariantsProcessorConfiguration {
     }
 
     @Bean
+    @StepScope
+    SubmittedVariantRenormalizationProcessor submittedVariantRenormalizationProcessor(
+            FastaSynonymSequenceReader fastaSynonymSequenceReader) {
+        return new SubmittedVariantRenormalizationProcessor(fastaSynonymSequenceReader);
+    }
+
+    @Bean
+    @StepScope
     SubmittedVariantDeclusterProcessor submittedVariantDeclusterProcessor() {
         return new SubmittedVariantDeclusterProcessor();
     }
@@ -19,6 +19,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import uk.ac.ebi.eva.accession.core.contig.ContigMapping;
+import uk.ac.ebi.eva.accession.core.contig.ContigMappingCache;
 import uk.ac.ebi.eva.accession.dbsnp.parameters.InputParameters;
 import uk.ac.ebi.eva.accession.dbsnp.batch.processors.ContigSynonymValidationProcessor;
 
@@ -34,6 +35,7 @@ public class ValidateContigsProcessorConfiguration {
 
     @Bean
     ContigMapping contigMapping(InputParameters parameters) throws Exception {
-        return new ContigMapping(parameters.getAssemblyReportUrl());
+        return ContigMappingCache.loadContigMapping(parameters.getAssemblyReportUrl(),
+                                                    parameters.getAssemblyReportCacheDir());
     }
 }
@@ -20,6 +20,7 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.step.tasklet.TaskletStep;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
@@ -29,16 +30,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
+import uk.ac.ebi.eva.accession.core.configuration.DbsnpDataSource;
+import uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner;
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
 import uk.ac.ebi.eva.accession.dbsnp.model.DbsnpVariantsWrapper;
+import uk.ac.ebi.eva.accession.dbsnp.parameters.InputParameters;
 
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.ASSEMBLY_CHECK_STEP_LISTENER;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_PROCESSOR;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_READER;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.DBSNP_VARIANT_WRITER;
+import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.IMPORT_DBSNP_VARIANTS_PARTITIONED_STEP;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.IMPORT_DBSNP_VARIANTS_PROGRESS_LISTENER;
 import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.IMPORT_DBSNP_VARIANTS_STEP;
+import static uk.ac.ebi.eva.accession.dbsnp.configuration.BeanNames.RS_ID_RANGE_PARTITIONER;
 
 @Configuration
 @EnableBatchProcessing
@@ -77,4 +84,27 @@ public class ImportDbsnpVariantsStepConfiguration {
                 .build();
         return step;
     }
+
+    /**
+     * Runs the import step once per RS ID range, using up to parameters.partitionThreads threads at the same time
+     */
+    @Bean(IMPORT_DBSNP_VARIANTS_PARTITIONED_STEP)
+    public Step importDbsnpVariantsPartitionedStep(StepBuilderFactory stepBuilderFactory, InputParameters parameters,
+                                                   @Qualifier(IMPORT_DBSNP_VARIANTS_STEP) Step importDbsnpVariantsStep,
+                                                   @Qualifier(RS_ID_RANGE_PARTITIONER) Partitioner partitioner) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(IMPORT_DBSNP_VARIANTS_STEP + "-");
+        taskExecutor.setConcurrencyLimit(parameters.getPartitionThreads());
+        return stepBuilderFactory.get(IMPORT_DBSNP_VARIANTS_PARTITIONED_STEP)
+                .partitioner(IMPORT_DBSNP_VARIANTS_STEP, partitioner)
+                .step(importDbsnpVariantsStep)
+                .gridSize(parameters.getPartitions())
+                .taskExecutor(taskExecutor)
+                .build();
+    }
+
+    @Bean(RS_ID_RANGE_PARTITIONER)
+    public Partitioner rsIdRangePartitioner(InputParameters parameters, DbsnpDataSource dbsnpDataSource) {
+        return new RsIdRangePartitioner(dbsnpDataSource.getDatasource(), parameters.getAssemblyName(),
+                                        parameters.getBuildNumber());
+    }
 }
@@ -28,6 +28,8 @@ public class InputParameters {
 
     private String assemblyReportUrl;
 
+    private String assemblyReportCacheDir;
+
     private int taxonomyAccession;
 
     private String buildNumber;
@@ -40,6 +42,10 @@ public class InputParameters {
 
     private boolean forceImport;
 
+    private int partitions = 1;
+
+    private int partitionThreads = 1;
+
     public JobParameters toJobParameters() {
         return new JobParametersBuilder()
                 .addString("fasta", fasta)
@@ -50,6 +56,8 @@ public class InputParameters {
                 .addString("buildNumber", buildNumber)
                 .addLong("chunkSize", (long) chunkSize, false)
                 .addLong("pageSize", (long) pageSize, false)
+                .addLong("partitions", (long) partitions, false)
+                .addLong("partitionThreads", (long) partitionThreads, false)
                 .toJobParameters();
     }
 
@@ -101,6 +109,14 @@ public class InputParameters {
         this.assemblyReportUrl = assemblyReportUrl;
     }
 
+    public String getAssemblyReportCacheDir() {
+        return assemblyReportCacheDir;
+    }
+
+    public void setAssemblyReportCacheDir(String assemblyReportCacheDir) {
+        this.assemblyReportCacheDir = assemblyReportCacheDir;
+    }
+
     public int getPageSize() {
         return pageSize;
     }
@@ -132,4 +148,20 @@ public class InputParameters {
     public void setForceImport(boolean forceImport) {
         this.forceImport = forceImport;
     }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getPartitionThreads() {
+        return partitionThreads;
+    }
+
+    public void setPartitionThreads(int partitionThreads) {
+        this.partitionThreads = partitionThreads;
+    }
 }
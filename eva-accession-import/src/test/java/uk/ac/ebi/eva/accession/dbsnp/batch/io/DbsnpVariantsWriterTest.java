@@ -50,6 +50,7 @@ import uk.ac.ebi.eva.accession.dbsnp.test.VariantAssertions;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
@@ -582,6 +583,74 @@ public class DbsnpVariantsWriterTest {
         assertEquals(0, mongoTemplate.count(new Query(), DBSNP_CLUSTERED_VARIANT_DECLUSTERED_COLLECTION_NAME));
     }
 
+    @Test
+    public void keepLowestAccessionOfDuplicateSubmittedVariantsFromOtherPartition() throws Exception {
+        DbsnpVariantsWriter partitionedWriter = buildPartitionedWriter();
+        SubmittedVariant submittedVariant = defaultSubmittedVariant();
+        DbsnpSubmittedVariantEntity submittedVariantEntity = buildSubmittedVariantEntity(SUBMITTED_VARIANT_ACCESSION_1,
+                                                                                         submittedVariant);
+        DbsnpVariantsWrapper wrapper = buildSimpleWrapper(Collections.singletonList(submittedVariantEntity));
+        DbsnpSubmittedVariantEntity submittedVariantEntity2 = buildSubmittedVariantEntity(SUBMITTED_VARIANT_ACCESSION_2,
+                                                                                          submittedVariant);
+        DbsnpVariantsWrapper wrapper2 = buildSimpleWrapper(Collections.singletonList(submittedVariantEntity2));
+
+        // the partition with the highest accession writes first, but the lowest accession must end up active
+        partitionedWriter.write(Collections.singletonList(wrapper2));
+        partitionedWriter.write(Collections.singletonList(wrapper));
+
+        assertions.assertClusteredVariantStored(1, wrapper);
+        assertions.assertSubmittedVariantsStored(1, submittedVariantEntity);
+        assertions.assertSubmittedVariantMergeOperationStored(1, 1, submittedVariantEntity);
+    }
+
+    @Test
+    public void keepLowestAccessionOfDuplicateClusteredVariantsFromOtherPartition() throws Exception {
+        DbsnpVariantsWriter partitionedWriter = buildPartitionedWriter();
+        ClusteredVariant clusteredVariant = defaultClusteredVariant();
+
+        SubmittedVariant submittedVariant = defaultSubmittedVariant();
+        DbsnpSubmittedVariantEntity submittedVariantEntity = buildSubmittedVariantEntity(SUBMITTED_VARIANT_ACCESSION_1,
+                                                                                         submittedVariant);
+        DbsnpClusteredVariantEntity clusteredVariantEntity = buildClusteredVariantEntity(CLUSTERED_VARIANT_ACCESSION_1,
+                                                                                         clusteredVariant);
+        DbsnpVariantsWrapper wrapper = new DbsnpVariantsWrapper();
+        wrapper.setClusteredVariant(clusteredVariantEntity);
+        wrapper.setSubmittedVariants(Collections.singletonList(submittedVariantEntity));
+
+        SubmittedVariant submittedVariant2 = defaultSubmittedVariant();
+        submittedVariant2.setStart(START_2);
+        submittedVariant2.setClusteredVariantAccession(CLUSTERED_VARIANT_ACCESSION_2);
+        DbsnpSubmittedVariantEntity submittedVariantEntity2 = buildSubmittedVariantEntity(SUBMITTED_VARIANT_ACCESSION_2,
+                                                                                          submittedVariant2);
+        DbsnpClusteredVariantEntity clusteredVariantEntity2 = buildClusteredVariantEntity(CLUSTERED_VARIANT_ACCESSION_2,
+                                                                                          clusteredVariant);
+        DbsnpVariantsWrapper wrapper2 = new DbsnpVariantsWrapper();
+        wrapper2.setClusteredVariant(clusteredVariantEntity2);
+        wrapper2.setSubmittedVariants(Collections.singletonList(submittedVariantEntity2));
+
+        // the partition with the highest RS writes first, its RS and the submitted variants already written with it
+        // must be merged into the lowest RS
+        partitionedWriter.write(Collections.singletonList(wrapper2));
+        partitionedWriter.write(Collections.singletonList(wrapper));
+
+        assertions.assertClusteredVariantStored(1, wrapper);
+        DbsnpSubmittedVariantEntity expectedSubmittedVariantEntity2 = changeRS(submittedVariantEntity2,
+                                                                               clusteredVariantEntity.getAccession());
+        assertions.assertSubmittedVariantsStored(2, submittedVariantEntity, expectedSubmittedVariantEntity2);
+        assertions.assertSubmittedVariantsHaveActiveClusteredVariantsAccession(clusteredVariantEntity.getAccession(),
+                                                                               submittedVariantEntity,
+                                                                               expectedSubmittedVariantEntity2);
+        assertions.assertSubmittedVariantsUpdateOperationsHaveClusteredVariantAccession(
+                1, 1, clusteredVariantEntity2.getAccession());
+        assertions.assertClusteredVariantMergeOperationStored(1, 1, clusteredVariantEntity);
+    }
+
+    private DbsnpVariantsWriter buildPartitionedWriter() {
+        return new DbsnpVariantsWriter(mongoTemplate, operationRepository, submittedVariantRepository,
+                                       clusteredOperationRepository, clusteredVariantRepository, importCounts,
+                                       new ReentrantLock());
+    }
+
     @Test
     public void mergeThreeDuplicateClusteredVariantsInSameChunk() throws Exception {
         SubmittedVariant submittedVariant = defaultSubmittedVariant();
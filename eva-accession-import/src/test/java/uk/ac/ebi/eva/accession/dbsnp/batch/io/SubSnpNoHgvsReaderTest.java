@@ -32,7 +32,9 @@ import uk.ac.ebi.eva.accession.core.test.configuration.TestConfiguration;
 import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 
@@ -76,6 +78,26 @@ public class SubSnpNoHgvsReaderTest {
         assertEquals(3, variants.size());
     }
 
+    @Test
+    public void readChickenVariantsInRsIdRange() throws Exception {
+        reader = new SubSnpNoHgvsReader(CHICKEN_ASSEMBLY_5, null, dbsnpDataSource.getDatasource(), PAGE_SIZE, 33333L,
+                                        13700000L);
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        List<SubSnpNoHgvs> variants = readAll(reader);
+        assertEquals(Arrays.asList(33333L, 6666666L, 7777777L, 13677177L),
+                     variants.stream().map(SubSnpNoHgvs::getRsId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void readChickenVariantsWithoutRs() throws Exception {
+        reader = new SubSnpNoHgvsReader(CHICKEN_ASSEMBLY_5, null, dbsnpDataSource.getDatasource(), PAGE_SIZE, null,
+                                        null);
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        assertEquals(0, readAll(reader).size());
+    }
+
     @Test
     public void readWrongAssembly() throws Exception {
         thrown.expect(ItemStreamException.class);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.dbsnp.batch.partitioners;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import uk.ac.ebi.eva.accession.core.configuration.DbsnpDataSource;
+import uk.ac.ebi.eva.accession.core.test.configuration.TestConfiguration;
+import uk.ac.ebi.eva.accession.dbsnp.batch.io.SubSnpNoHgvsReader;
+import uk.ac.ebi.eva.accession.dbsnp.model.SubSnpNoHgvs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.FIRST_RS_ID;
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.LAST_RS_ID;
+import static uk.ac.ebi.eva.accession.dbsnp.batch.partitioners.RsIdRangePartitioner.VARIANTS_WITHOUT_RS;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource({"classpath:application.properties"})
+@ContextConfiguration(classes = {TestConfiguration.class})
+public class RsIdRangePartitionerTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final String CHICKEN_ASSEMBLY_5 = "Gallus_gallus-5.0";
+
+    private static final String CHICKEN_ASSEMBLY_4 = "Gallus_gallus-4.0";
+
+    @Autowired
+    private DbsnpDataSource dbsnpDataSource;
+
+    @Test
+    public void partitionsCoverAllTheVariants() throws Exception {
+        List<Long> expectedSsIds = getSsIds(readAll(CHICKEN_ASSEMBLY_5, null, null));
+        for (int gridSize = 1; gridSize <= 10; gridSize++) {
+            List<Long> ssIds = new ArrayList<>();
+            for (ExecutionContext partition : partition(CHICKEN_ASSEMBLY_5, null, gridSize).values()) {
+                ssIds.addAll(getSsIds(readAll(CHICKEN_ASSEMBLY_5, null, partition)));
+            }
+            assertEquals("Grid size " + gridSize, expectedSsIds.stream().sorted().collect(Collectors.toList()),
+                         ssIds.stream().sorted().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void variantsOfTheSameRsAreInTheSamePartition() throws Exception {
+        Map<Long, String> partitionByRsId = new HashMap<>();
+        for (Map.Entry<String, ExecutionContext> partition : partition(CHICKEN_ASSEMBLY_5, null, 4).entrySet()) {
+            for (SubSnpNoHgvs variant : readAll(CHICKEN_ASSEMBLY_5, null, partition.getValue())) {
+                String previousPartition = partitionByRsId.putIfAbsent(variant.getRsId(), partition.getKey());
+                assertTrue(previousPartition == null || previousPartition.equals(partition.getKey()));
+            }
+        }
+        // rs13823349 has 3 submitted variants
+        assertEquals(6, partitionByRsId.size());
+    }
+
+    @Test
+    public void rangesAreContiguousAndDoNotOverlap() {
+        List<ExecutionContext> partitions = new ArrayList<>(partition(CHICKEN_ASSEMBLY_4, "145", 3).values());
+        for (int i = 0; i < partitions.size(); i++) {
+            ExecutionContext partition = partitions.get(i);
+            assertTrue(partition.getLong(FIRST_RS_ID) <= partition.getLong(LAST_RS_ID));
+            if (i > 0) {
+                assertEquals(partitions.get(i - 1).getLong(LAST_RS_ID) + 1, partition.getLong(FIRST_RS_ID));
+            }
+        }
+    }
+
+    @Test
+    public void noPartitionOfVariantsWithoutRsIfAllHaveRs() {
+        for (ExecutionContext partition : partition(CHICKEN_ASSEMBLY_5, null, 3).values()) {
+            assertFalse(partition.containsKey(VARIANTS_WITHOUT_RS));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidGridSize() {
+        partition(CHICKEN_ASSEMBLY_5, null, 0);
+    }
+
+    private Map<String, ExecutionContext> partition(String assembly, String buildNumber, int gridSize) {
+        return new RsIdRangePartitioner(dbsnpDataSource.getDatasource(), assembly, buildNumber).partition(gridSize);
+    }
+
+    private List<SubSnpNoHgvs> readAll(String assembly, String buildNumber, ExecutionContext partition)
+            throws Exception {
+        SubSnpNoHgvsReader reader;
+        if (partition == null) {
+            reader = new SubSnpNoHgvsReader(assembly, buildNumber, dbsnpDataSource.getDatasource(), PAGE_SIZE);
+        } else if (partition.containsKey(VARIANTS_WITHOUT_RS)) {
+            reader = new SubSnpNoHgvsReader(assembly, buildNumber, dbsnpDataSource.getDatasource(), PAGE_SIZE, null,
+                                            null);
+        } else {
+            reader = new SubSnpNoHgvsReader(assembly, buildNumber, dbsnpDataSource.getDatasource(), PAGE_SIZE,
+                                            partition.getLong(FIRST_RS_ID), partition.getLong(LAST_RS_ID));
+        }
+        reader.afterPropertiesSet();
+        reader.open(new ExecutionContext());
+        List<SubSnpNoHgvs> variants = new ArrayList<>();
+        SubSnpNoHgvs variant;
+        while ((variant = reader.read()) != null) {
+            variants.add(variant);
+        }
+        reader.close();
+        return variants;
+    }
+
+    private List<Long> getSsIds(List<SubSnpNoHgvs> variants) {
+        return variants.stream().map(SubSnpNoHgvs::getSsId).collect(Collectors.toList());
+    }
+}
@@ -187,4 +187,54 @@ public class SubmittedVariantRenormalizationProcessorTest {
                      normalizedVariants.get(1));
         assertEquals(3, normalizedVariants.get(1).getVersion());
     }
+
+    @Test
+    public void contextBasesOfCloseVariantsAreReadTogether() {
+        List<DbsnpSubmittedVariantEntity> variants = Arrays.asList(buildVariant(7, "", "C"),
+                                                                   buildVariant(3, "C", "T"),
+                                                                   buildVariant(3, "", "G"),
+                                                                   buildVariant(5, "CG", ""),
+                                                                   buildVariant(5, "", "CC"));
+        SubmittedVariantRenormalizationProcessor chunkRenormalizer = new SubmittedVariantRenormalizationProcessor(
+                fastaSynonymSequenceReader);
+
+        List<DbsnpSubmittedVariantEntity> renormalized = chunkRenormalizer.process(variants);
+
+        assertEquals(1, chunkRenormalizer.getFastaReads());
+        assertEquals(5, chunkRenormalizer.getFastaBasesRead());
+        assertEquals(variants.size(), renormalized.size());
+        for (int i = 0; i < variants.size(); i++) {
+            assertVariantsAreEqual(renormalizer.process(Collections.singletonList(variants.get(i))).get(0),
+                                   renormalized.get(i));
+        }
+        assertEquals(6, renormalized.get(0).getStart());
+        assertEquals(3, renormalized.get(1).getStart());
+        assertEquals(2, renormalized.get(2).getStart());
+        assertEquals(4, renormalized.get(3).getStart());
+        assertEquals(5, renormalized.get(4).getStart());
+    }
+
+    @Test
+    public void variantOutsideOfContigDoesNotPreventRenormalizingTheOthers() {
+        long contigLength = 4729743;
+        List<DbsnpSubmittedVariantEntity> variants = Arrays.asList(buildVariant(contigLength + 10, "", "A"),
+                                                                   buildVariant(3, "", "G"));
+
+        List<DbsnpSubmittedVariantEntity> renormalized = renormalizer.process(variants);
+
+        assertVariantsAreEqual(variants.get(0), renormalized.get(0));
+        assertEquals(2, renormalized.get(1).getStart());
+        assertEquals("G", renormalized.get(1).getAlternateAllele());
+    }
+
+    private DbsnpSubmittedVariantEntity buildVariant(long position, String reference, String alternate) {
+        return new DbsnpSubmittedVariantEntity(SS_ID, HASH, ASSEMBLY, TAXONOMY, PROJECT, CONTIG, position, reference,
+                                               alternate, RS_ID, DEFAULT_SUPPORTED_BY_EVIDENCE, DEFAULT_ASSEMBLY_MATCH,
+                                               DEFAULT_ALLELES_MATCH, DEFAULT_VALIDATED, 1);
+    }
+
+    private void assertVariantsAreEqual(DbsnpSubmittedVariantEntity expected, DbsnpSubmittedVariantEntity actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getHashedMessage(), actual.getHashedMessage());
+    }
 }
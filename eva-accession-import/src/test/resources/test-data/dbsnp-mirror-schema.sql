@@ -29,6 +29,7 @@ CREATE TABLE dbsnp_variant_load_nohgvslink_d8c757988871529f37061fa9c79477a5 (
   rs_create_time timestamp without time zone NULL,
   load_order serial NOT NULL
 );
+CREATE INDEX rs_id_load_order_d8c757988871529f37061fa9c79477a5 ON dbsnp_variant_load_nohgvslink_d8c757988871529f37061fa9c79477a5 (rs_id, load_order);
 CREATE TABLE dbsnp_nohgvs_8a503d989bf1f58e95a7861fc999ea1d_b145 (
   batch_id integer NULL,
   batch_name varchar(64) NULL,
@@ -59,4 +60,5 @@ CREATE TABLE dbsnp_nohgvs_8a503d989bf1f58e95a7861fc999ea1d_b145 (
   ss_create_time timestamp NULL,
   rs_create_time timestamp NULL,
   load_order serial NOT NULL
-);
\ No newline at end of file
+);
+CREATE INDEX rs_id_load_order_8a503d989bf1f58e95a7861fc999ea1d_b145 ON dbsnp_nohgvs_8a503d989bf1f58e95a7861fc999ea1d_b145 (rs_id, load_order);
@@ -64,11 +64,15 @@ public class AccessionWriter implements ItemStreamWriter<IVariant> {
         if (!variants.isEmpty()) {
             List<ISubmittedVariant> submittedVariants = variants.stream().map(variantConverter::convert)
                     .collect(Collectors.toList());
+            long start = System.currentTimeMillis();
             List<GetOrCreateAccessionWrapper<ISubmittedVariant, String, Long>> accessions = service.getOrCreate(submittedVariants,
                     jobExecution.getJobId().toString());
+            metricCompute.addCount(AccessioningMetric.ACCESSIONING_MILLIS, System.currentTimeMillis() - start);
             metricCompute.addCount(AccessioningMetric.SUBMITTED_VARIANTS, variants.size());
             metricCompute.addCount(AccessioningMetric.ACCESSIONED_VARIANTS, accessions.size());
+            start = System.currentTimeMillis();
             accessionReportWriter.write(variants, accessions);
+            metricCompute.addCount(AccessioningMetric.REPORT_WRITING_MILLIS, System.currentTimeMillis() - start);
             checkCountsMatch(submittedVariants, accessions);
         }
     }
@@ -1,16 +1,14 @@
 package uk.ac.ebi.eva.accession.pipeline.batch.io;
 
-import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
-
 import java.util.List;
 
 public class DuplicateSSAccQCResult {
     private Long sveAccession;
-    private List<SubmittedVariantEntity> submittedVariantEntityList;
+    private List<SubmittedVariantSummary> submittedVariants;
 
-    public DuplicateSSAccQCResult(Long sveAccession, List<SubmittedVariantEntity> submittedVariantEntityList) {
+    public DuplicateSSAccQCResult(Long sveAccession, List<SubmittedVariantSummary> submittedVariants) {
         this.sveAccession = sveAccession;
-        this.submittedVariantEntityList = submittedVariantEntityList;
+        this.submittedVariants = submittedVariants;
     }
 
     public Long getSveAccession() {
@@ -21,11 +19,45 @@ public class DuplicateSSAccQCResult {
         this.sveAccession = sveAccession;
     }
 
-    public List<SubmittedVariantEntity> getSubmittedVariantEntityList() {
-        return submittedVariantEntityList;
+    public List<SubmittedVariantSummary> getSubmittedVariants() {
+        return submittedVariants;
+    }
+
+    public void setSubmittedVariants(List<SubmittedVariantSummary> submittedVariants) {
+        this.submittedVariants = submittedVariants;
     }
 
-    public void setSubmittedVariantEntityList(List<SubmittedVariantEntity> submittedVariantEntityList) {
-        this.submittedVariantEntityList = submittedVariantEntityList;
+    /**
+     * The fields of a submitted variant document that are enough to tell apart the documents sharing an accession
+     */
+    public static class SubmittedVariantSummary {
+        private String collection;
+        private String hash;
+        private String referenceSequenceAccession;
+        private String projectAccession;
+
+        public SubmittedVariantSummary(String collection, String hash, String referenceSequenceAccession,
+                                       String projectAccession) {
+            this.collection = collection;
+            this.hash = hash;
+            this.referenceSequenceAccession = referenceSequenceAccession;
+            this.projectAccession = projectAccession;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getReferenceSequenceAccession() {
+            return referenceSequenceAccession;
+        }
+
+        public String getProjectAccession() {
+            return projectAccession;
+        }
     }
 }
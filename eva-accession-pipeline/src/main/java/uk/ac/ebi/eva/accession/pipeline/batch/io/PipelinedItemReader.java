@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ParseException;
+
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reads and processes items in background threads, so that the parsing and processing of the next items overlaps with
+ * the writing of the current chunk.
+ *
+ * A parser thread reads batches of items from the delegate reader and hands each batch to a pool of processor
+ * threads. The batches are returned in the order they were read, so the step receives the same items in the same
+ * order as in a step with a single thread. The number of batches read ahead is bounded.
+ *
+ * {@link #read()} returns the items as read by the delegate, and rethrows the exceptions of the delegate at the
+ * position of the item that caused them. The processor of the step must be {@link #getProcessor()}, which returns the
+ * result of processing each item in the background: the processed item, null if it was filtered, or the exception
+ * thrown by the processor. This way the step counts read and process skips and filtered items as if the processor ran
+ * in the step.
+ *
+ * The delegate reader is always opened with the execution context of the step, and its state is not updated
+ * afterwards. Instead, this reader saves the number of positions consumed by the step, and on restart the parser
+ * thread discards that many positions before processing, so that the checkpoint is exact even if the delegate was
+ * ahead of the step when it failed.
+ */
+public class PipelinedItemReader<I, O> implements ItemStreamReader<I> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelinedItemReader.class);
+
+    static final String POSITIONS_READ_KEY = "PipelinedItemReader.positionsRead";
+
+    private static final int BATCHES_READ_AHEAD_PER_THREAD = 2;
+
+    private final ItemStreamReader<? extends I> delegate;
+
+    private final ItemProcessor<? super I, ? extends O> processor;
+
+    private final int processorThreads;
+
+    private final int batchSize;
+
+    private ExecutorService processorPool;
+
+    private Thread parserThread;
+
+    private BlockingQueue<CompletableFuture<Batch<I, O>>> processedBatches;
+
+    private Batch<I, O> currentBatch;
+
+    private int currentBatchIndex;
+
+    private long positionsRead;
+
+    /**
+     * The results of processing the items returned since the last checkpoint, which the step may process again if a
+     * chunk is rolled back. Items are compared by identity, because a chunk can have several equal items.
+     */
+    private final Map<I, Position<O>> processedItems = new IdentityHashMap<>();
+
+    private volatile boolean closed;
+
+    public PipelinedItemReader(ItemStreamReader<? extends I> delegate, ItemProcessor<? super I, ? extends O> processor,
+                               int processorThreads, int batchSize) {
+        if (processorThreads < 1) {
+            throw new IllegalArgumentException("At least one processor thread is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than zero");
+        }
+        this.delegate = delegate;
+        this.processor = processor;
+        this.processorThreads = processorThreads;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void open(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+        positionsRead = executionContext.getLong(POSITIONS_READ_KEY, 0);
+        currentBatch = null;
+        currentBatchIndex = 0;
+        processedItems.clear();
+        closed = false;
+
+        processorPool = Executors.newFixedThreadPool(processorThreads, DaemonThreadFactory.numbered("item-processor-"));
+        processedBatches = new ArrayBlockingQueue<>(BATCHES_READ_AHEAD_PER_THREAD * processorThreads);
+        parserThread = DaemonThreadFactory.named("item-parser").newThread(() -> parse(positionsRead));
+        parserThread.start();
+    }
+
+    private void parse(long positionsToDiscard) {
+        try {
+            if (positionsToDiscard > 0) {
+                logger.info("Discarding the first {} items already read in a previous execution", positionsToDiscard);
+            }
+            for (long i = 0; i < positionsToDiscard; i++) {
+                Position<I> position = readPosition();
+                if (position.isEndOfInput()) {
+                    break;
+                }
+                if (position.isFatal()) {
+                    List<Position<O>> notProcessed = Collections.singletonList(null);
+                    processedBatches.put(CompletableFuture.completedFuture(
+                            new Batch<>(Collections.singletonList(position), notProcessed, true)));
+                    return;
+                }
+            }
+            boolean endOfInput = false;
+            while (!endOfInput && !closed) {
+                List<Position<I>> positions = new ArrayList<>(batchSize);
+                while (!endOfInput && positions.size() < batchSize) {
+                    Position<I> position = readPosition();
+                    endOfInput = position.isEndOfInput() || position.isFatal();
+                    if (!position.isEndOfInput()) {
+                        positions.add(position);
+                    }
+                }
+                boolean lastBatch = endOfInput;
+                processedBatches.put(CompletableFuture.supplyAsync(() -> process(positions, lastBatch), processorPool));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // the step thread would otherwise wait forever for the next batch
+            CompletableFuture<Batch<I, O>> failedBatch = new CompletableFuture<>();
+            failedBatch.completeExceptionally(e);
+            processedBatches.offer(failedBatch);
+        }
+    }
+
+    private Position<I> readPosition() {
+        try {
+            I item = delegate.read();
+            return item == null ? Position.endOfInput() : new Position<>(item, null);
+        } catch (Exception e) {
+            return new Position<>(null, e);
+        }
+    }
+
+    private Batch<I, O> process(List<Position<I>> positions, boolean lastBatch) {
+        List<Position<O>> processedPositions = new ArrayList<>(positions.size());
+        for (Position<I> position : positions) {
+            if (position.getException() != null) {
+                processedPositions.add(null);
+                continue;
+            }
+            try {
+                processedPositions.add(new Position<>(processor.process(position.getItem()), null));
+            } catch (Exception e) {
+                processedPositions.add(new Position<>(null, e));
+            }
+        }
+        return new Batch<>(positions, processedPositions, lastBatch);
+    }
+
+    @Override
+    public I read() throws Exception {
+        while (true) {
+            if (currentBatch == null || currentBatchIndex == currentBatch.getPositions().size()) {
+                if (currentBatch != null && currentBatch.isLast()) {
+                    return null;
+                }
+                currentBatch = takeNextBatch();
+                currentBatchIndex = 0;
+                continue;
+            }
+            Position<I> position = currentBatch.getPositions().get(currentBatchIndex);
+            Position<O> processedPosition = currentBatch.getProcessedPositions().get(currentBatchIndex);
+            currentBatchIndex++;
+            positionsRead++;
+            if (position.getException() != null) {
+                throw position.getException();
+            }
+            processedItems.put(position.getItem(), processedPosition);
+            return position.getItem();
+        }
+    }
+
+    /**
+     * @return a processor that returns the result of processing in the background each item returned by
+     * {@link #read()}, and that must be used as the processor of the step
+     */
+    public ItemProcessor<I, O> getProcessor() {
+        return this::getProcessedItem;
+    }
+
+    private O getProcessedItem(I item) throws Exception {
+        Position<O> processedPosition = processedItems.get(item);
+        if (processedPosition == null) {
+            throw new IllegalStateException("The item was not returned by this reader since the last checkpoint: "
+                                                    + item);
+        }
+        if (processedPosition.getException() != null) {
+            throw processedPosition.getException();
+        }
+        return processedPosition.getItem();
+    }
+
+    private Batch<I, O> takeNextBatch() throws Exception {
+        try {
+            return processedBatches.take().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void update(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(POSITIONS_READ_KEY, positionsRead);
+        // the items before the checkpoint are not processed again
+        processedItems.clear();
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        closed = true;
+        if (parserThread != null) {
+            parserThread.interrupt();
+            try {
+                parserThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (processorPool != null) {
+            processorPool.shutdownNow();
+        }
+        processedItems.clear();
+        delegate.close();
+    }
+
+    /**
+     * An item read from the delegate or returned by the processor, or the exception thrown while reading or processing
+     * it
+     */
+    private static class Position<T> {
+
+        private static final Position<?> END_OF_INPUT = new Position<>(null, null);
+
+        private final T item;
+
+        private final Exception exception;
+
+        Position(T item, Exception exception) {
+            this.item = item;
+            this.exception = exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Position<T> endOfInput() {
+            return (Position<T>) END_OF_INPUT;
+        }
+
+        boolean isEndOfInput() {
+            return this == END_OF_INPUT;
+        }
+
+        /**
+         * Only parse errors are expected to leave the delegate ready to read the next item
+         */
+        boolean isFatal() {
+            return exception != null && !(exception instanceof ParseException);
+        }
+
+        T getItem() {
+            return item;
+        }
+
+        Exception getException() {
+            return exception;
+        }
+    }
+
+    /**
+     * The positions read from the delegate, and the result of processing each of them (null if it couldn't be read)
+     */
+    private static class Batch<I, O> {
+
+        private final List<Position<I>> positions;
+
+        private final List<Position<O>> processedPositions;
+
+        private final boolean last;
+
+        Batch(List<Position<I>> positions, List<Position<O>> processedPositions, boolean last) {
+            this.positions = positions;
+            this.processedPositions = processedPositions;
+            this.last = last;
+        }
+
+        List<Position<I>> getPositions() {
+            return positions;
+        }
+
+        List<Position<O>> getProcessedPositions() {
+            return processedPositions;
+        }
+
+        boolean isLast() {
+            return last;
+        }
+    }
+}
@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class SSAccFileReader implements ItemStreamReader<List<Long>> {
     private static final Logger logger = LoggerFactory.getLogger(SSAccFileReader.class);
+    private static final int ID_COLUMN = 2;
+    private static final String SS_PREFIX = "ss";
 
     private BufferedReader reader;
     private String vcfFileWithSSAcc;
@@ -45,8 +47,7 @@ public class SSAccFileReader implements ItemStreamReader<List<Long>> {
         try {
             while (submittedVariantIds.size() < chunkSize && (line = reader.readLine()) != null) {
                 if (!line.isEmpty() && !line.startsWith("#")) {
-                    String ssAcc = line.split("[ \t]+")[2].trim().substring(2);
-                    submittedVariantIds.add(Long.parseLong(ssAcc));
+                    submittedVariantIds.add(parseSubmittedVariantAccession(line));
                 }
             }
             if (submittedVariantIds.isEmpty()) {
@@ -59,6 +60,45 @@ public class SSAccFileReader implements ItemStreamReader<List<Long>> {
         }
     }
 
+    /**
+     * Parses the accession in the ID column of a VCF line (e.g. 123 from "ss123"), without splitting the line or
+     * copying the column
+     */
+    static long parseSubmittedVariantAccession(String line) {
+        int length = line.length();
+        int position = 0;
+        for (int column = 0; column < ID_COLUMN; column++) {
+            while (position < length && !isSeparator(line.charAt(position))) {
+                position++;
+            }
+            while (position < length && isSeparator(line.charAt(position))) {
+                position++;
+            }
+        }
+        if (!line.startsWith(SS_PREFIX, position)) {
+            throw new NumberFormatException("Submitted variant accession without \"" + SS_PREFIX + "\" prefix in line: "
+                                                    + line);
+        }
+        position += SS_PREFIX.length();
+
+        long accession = 0;
+        int digits = 0;
+        for (; position < length && !isSeparator(line.charAt(position)); position++, digits++) {
+            int digit = Character.digit(line.charAt(position), 10);
+            if (digit < 0 || accession > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("Invalid submitted variant accession in line: " + line);
+            }
+            accession = accession * 10 + digit;
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Missing submitted variant accession in line: " + line);
+        }
+        return accession;
+    }
+
+    private static boolean isSeparator(char character) {
+        return character == '\t' || character == ' ';
+    }
 
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
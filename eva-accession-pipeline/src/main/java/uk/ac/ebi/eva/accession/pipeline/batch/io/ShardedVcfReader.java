@@ -0,0 +1,641 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.io;
+
+import htsjdk.samtools.util.BlockCompressedFilePointerUtil;
+import htsjdk.samtools.util.BlockCompressedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+import uk.ac.ebi.eva.commons.batch.io.UnwindingItemStreamReader;
+import uk.ac.ebi.eva.commons.batch.io.VcfReader;
+import uk.ac.ebi.eva.commons.core.models.pipeline.Variant;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Reads the variants of a VCF in several threads, returning the same variants in the same order as an
+ * {@link UnwindingItemStreamReader} over a {@link VcfReader}.
+ *
+ * The file is split into shards of about {@code shardSize} bytes: plain files at any byte, and bgzip files at the
+ * boundaries of their BGZF blocks, so that every shard can be decompressed on its own. A shard contains the lines that
+ * start inside it, so the line that crosses the start of a shard belongs to the previous one. The shards are parsed
+ * in a pool of threads, and their lines are returned shard after shard, each one in the order of the file. Only a
+ * bounded number of lines is parsed ahead in every shard. Files compressed with plain gzip can't be split, see
+ * {@link #canBeSharded(File)}.
+ *
+ * The execution context stores the offset of the next line to return in the shard being read (a byte offset for plain
+ * files and a BGZF virtual offset for bgzip files), and how many variants of that line were already returned, so that
+ * a restart resumes in the middle of that shard.
+ */
+public class ShardedVcfReader implements ItemStreamReader<Variant> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedVcfReader.class);
+
+    public static final long DEFAULT_SHARD_SIZE = 16 * 1024 * 1024;
+
+    static final String POSITION_KEY = "ShardedVcfReader.position";
+
+    static final String VARIANTS_READ_IN_LINE_KEY = "ShardedVcfReader.variantsReadInLine";
+
+    static final String LINES_READ_KEY = "ShardedVcfReader.linesRead";
+
+    private static final String COMMENT_PREFIX = "#";
+
+    private static final int LINES_PER_BATCH = 1000;
+
+    private static final int BATCHES_READ_AHEAD_PER_SHARD = 2;
+
+    private static final int BGZF_HEADER_LENGTH = 12;
+
+    private static final int BGZF_FOOTER_LENGTH = 4;
+
+    private final File vcf;
+
+    private final Supplier<LineMapper<List<Variant>>> lineMapperFactory;
+
+    private final int threads;
+
+    private final long shardSize;
+
+    private final boolean bgzip;
+
+    private ExecutorService shardReaderPool;
+
+    private List<BlockingQueue<Batch>> shardOutputs;
+
+    private int currentShard;
+
+    private long linesBeforeCurrentShard;
+
+    private Batch currentBatch;
+
+    private int currentBatchIndex;
+
+    private Line currentLine;
+
+    private int currentVariantIndex;
+
+    private int variantsToSkip;
+
+    private long position;
+
+    private int variantsReadInLine;
+
+    private long linesRead;
+
+    public ShardedVcfReader(File vcf, Supplier<LineMapper<List<Variant>>> lineMapperFactory, int threads)
+            throws IOException {
+        this(vcf, lineMapperFactory, threads, DEFAULT_SHARD_SIZE);
+    }
+
+    /**
+     * @param lineMapperFactory creates a line mapper for every shard, so the line mappers don't need to be thread-safe
+     * @param shardSize approximate size in bytes of every shard, compressed in the case of bgzip files
+     * @throws IllegalArgumentException if the file is compressed with plain gzip
+     */
+    public ShardedVcfReader(File vcf, Supplier<LineMapper<List<Variant>>> lineMapperFactory, int threads,
+                            long shardSize) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("The shard size must be greater than zero");
+        }
+        if (!canBeSharded(vcf)) {
+            throw new IllegalArgumentException(
+                    "The file " + vcf + " is compressed with gzip but not with bgzip, so it can't be split in shards");
+        }
+        this.vcf = vcf;
+        this.lineMapperFactory = lineMapperFactory;
+        this.threads = threads;
+        this.shardSize = shardSize;
+        this.bgzip = isBgzip(vcf);
+    }
+
+    /**
+     * @return true if the file is not compressed or it is compressed with bgzip
+     */
+    public static boolean canBeSharded(File file) throws IOException {
+        return isBgzip(file) || !isGzip(file);
+    }
+
+    private static boolean isGzip(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            return input.length() >= 2 && input.readUnsignedByte() == 0x1f && input.readUnsignedByte() == 0x8b;
+        }
+    }
+
+    private static boolean isBgzip(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            return getBgzfBlockSize(input, 0) > 0;
+        }
+    }
+
+    /**
+     * @return the compressed size of the BGZF block that starts at the given address, or -1 if there isn't one
+     */
+    private static int getBgzfBlockSize(RandomAccessFile input, long address) throws IOException {
+        if (input.length() - address < BGZF_HEADER_LENGTH) {
+            return -1;
+        }
+        byte[] header = new byte[BGZF_HEADER_LENGTH];
+        input.seek(address);
+        input.readFully(header);
+        boolean hasExtraFields = (header[3] & 4) != 0;
+        if ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b || header[2] != 8 || !hasExtraFields) {
+            return -1;
+        }
+        int extraLength = readUnsignedShort(header, 10);
+        if (input.length() - address - BGZF_HEADER_LENGTH < extraLength) {
+            return -1;
+        }
+        byte[] extra = new byte[extraLength];
+        input.readFully(extra);
+        int offset = 0;
+        while (offset + 4 <= extraLength) {
+            int fieldLength = readUnsignedShort(extra, offset + 2);
+            if (extra[offset] == 'B' && extra[offset + 1] == 'C' && fieldLength == 2 && offset + 6 <= extraLength) {
+                return readUnsignedShort(extra, offset + 4) + 1;
+            }
+            offset += 4 + fieldLength;
+        }
+        return -1;
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+    }
+
+    @Override
+    public void open(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        position = executionContext.getLong(POSITION_KEY, 0);
+        variantsReadInLine = executionContext.getInt(VARIANTS_READ_IN_LINE_KEY, 0);
+        linesRead = executionContext.getLong(LINES_READ_KEY, 0);
+        variantsToSkip = variantsReadInLine;
+        linesBeforeCurrentShard = linesRead;
+        currentShard = 0;
+        currentBatch = null;
+        currentBatchIndex = 0;
+        currentLine = null;
+        currentVariantIndex = 0;
+
+        List<Shard> shards;
+        try {
+            shards = bgzip ? splitBgzipFile(position) : splitPlainFile(position);
+        } catch (IOException e) {
+            throw new ItemStreamException("Could not split " + vcf + " in shards", e);
+        }
+        if (position > 0) {
+            logger.info("Resuming the read of {} after line {}, at offset {}", vcf, linesRead, position);
+        }
+        logger.info("Reading {} in {} shards with {} threads", vcf, shards.size(), threads);
+
+        shardReaderPool = Executors.newFixedThreadPool(threads, DaemonThreadFactory.numbered("vcf-shard-reader-"));
+        shardOutputs = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            BlockingQueue<Batch> shardOutput = new ArrayBlockingQueue<>(BATCHES_READ_AHEAD_PER_SHARD);
+            shardOutputs.add(shardOutput);
+            // the pool runs the shards in order, so the shard being returned is always being read or already read
+            shardReaderPool.execute(() -> readShard(shard, shardOutput));
+        }
+    }
+
+    private List<Shard> splitPlainFile(long startPosition) {
+        List<Shard> shards = new ArrayList<>();
+        long length = vcf.length();
+        Shard shard = new Shard(startPosition, -1);
+        while (length - shard.getStart() > shardSize) {
+            long nextShardStart = shard.getStart() + shardSize;
+            shard.setEnd(nextShardStart);
+            shards.add(shard);
+            shard = new Shard(nextShardStart, nextShardStart - 1);
+        }
+        shards.add(shard);
+        return shards;
+    }
+
+    private List<Shard> splitBgzipFile(long startPosition) throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        try (RandomAccessFile input = new RandomAccessFile(vcf, "r")) {
+            long length = input.length();
+            Shard shard = new Shard(startPosition, -1);
+            long shardAddress = BlockCompressedFilePointerUtil.getBlockAddress(startPosition);
+            long blockAddress = shardAddress;
+            while (blockAddress < length) {
+                int blockSize = getBgzfBlockSize(input, blockAddress);
+                if (blockSize <= 0) {
+                    throw new IOException("There is no valid BGZF block at offset " + blockAddress + " of " + vcf);
+                }
+                long nextBlockAddress = blockAddress + blockSize;
+                input.seek(nextBlockAddress - BGZF_FOOTER_LENGTH);
+                int uncompressedSize = Integer.reverseBytes(input.readInt());
+                if (nextBlockAddress - shardAddress >= shardSize && uncompressedSize > 0 && nextBlockAddress < length) {
+                    // the next shard starts with the first line after the last byte of this block
+                    long nextShardStart = BlockCompressedFilePointerUtil.makeFilePointer(nextBlockAddress, 0);
+                    shard.setEnd(nextShardStart);
+                    shards.add(shard);
+                    long lastByteOfBlock = BlockCompressedFilePointerUtil.makeFilePointer(blockAddress,
+                                                                                          uncompressedSize - 1);
+                    shard = new Shard(nextShardStart, lastByteOfBlock);
+                    shardAddress = nextBlockAddress;
+                }
+                blockAddress = nextBlockAddress;
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private void readShard(Shard shard, BlockingQueue<Batch> shardOutput) {
+        try (LineSource lineSource = bgzip ? new BgzipLineSource(vcf) : new PlainLineSource(vcf)) {
+            LineMapper<List<Variant>> lineMapper = lineMapperFactory.get();
+            if (shard.getPartialLineStart() < 0) {
+                lineSource.seek(shard.getStart());
+            } else {
+                lineSource.seek(shard.getPartialLineStart());
+                lineSource.readLine();
+            }
+            List<Line> lines = new ArrayList<>(LINES_PER_BATCH);
+            int linesInShard = 0;
+            while (true) {
+                long linePosition = lineSource.getPosition();
+                if (linePosition >= shard.getEnd()) {
+                    break;
+                }
+                String line = lineSource.readLine();
+                if (line == null) {
+                    break;
+                }
+                linesInShard++;
+                if (line.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                lines.add(mapLine(lineMapper, line, linesInShard, linePosition, lineSource.getPosition()));
+                if (lines.size() == LINES_PER_BATCH) {
+                    shardOutput.put(new Batch(lines, false, 0, null));
+                    lines = new ArrayList<>(LINES_PER_BATCH);
+                }
+            }
+            shardOutput.put(new Batch(lines, true, linesInShard, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            try {
+                // the step thread would otherwise wait forever for the rest of the shard
+                shardOutput.put(new Batch(Collections.emptyList(), true, 0, e));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Line mapLine(LineMapper<List<Variant>> lineMapper, String line, int lineNumber, long linePosition,
+                                long nextLinePosition) {
+        try {
+            List<Variant> variants = lineMapper.mapLine(line, lineNumber);
+            return new Line(linePosition, nextLinePosition, lineNumber,
+                            variants == null ? Collections.emptyList() : variants, null, null);
+        } catch (Exception e) {
+            return new Line(linePosition, nextLinePosition, lineNumber, Collections.emptyList(), line, e);
+        }
+    }
+
+    @Override
+    public Variant read() throws Exception {
+        while (true) {
+            if (currentLine != null && currentVariantIndex < currentLine.getVariants().size()) {
+                Variant variant = currentLine.getVariants().get(currentVariantIndex++);
+                if (currentVariantIndex < currentLine.getVariants().size()) {
+                    saveCheckpoint(currentLine.getPosition(), currentVariantIndex, getLineNumber(currentLine) - 1);
+                } else {
+                    saveCheckpoint(currentLine.getNextPosition(), 0, getLineNumber(currentLine));
+                }
+                return variant;
+            }
+            currentLine = takeNextLine();
+            if (currentLine == null) {
+                return null;
+            }
+            currentVariantIndex = variantsToSkip;
+            variantsToSkip = 0;
+            if (currentLine.getException() != null) {
+                long lineNumber = getLineNumber(currentLine);
+                saveCheckpoint(currentLine.getNextPosition(), 0, lineNumber);
+                throw new FlatFileParseException("Parsing error at line: " + lineNumber + " in resource=[" + vcf
+                                                         + "], input=[" + currentLine.getText() + "]",
+                                                 currentLine.getException(), currentLine.getText(), (int) lineNumber);
+            }
+        }
+    }
+
+    private long getLineNumber(Line line) {
+        return linesBeforeCurrentShard + line.getLineNumberInShard();
+    }
+
+    private void saveCheckpoint(long position, int variantsReadInLine, long linesRead) {
+        this.position = position;
+        this.variantsReadInLine = variantsReadInLine;
+        this.linesRead = linesRead;
+    }
+
+    private Line takeNextLine() throws Exception {
+        while (currentShard < shardOutputs.size()) {
+            if (currentBatch == null) {
+                currentBatch = shardOutputs.get(currentShard).take();
+                currentBatchIndex = 0;
+            }
+            if (currentBatch.getException() != null) {
+                throw currentBatch.getException();
+            }
+            if (currentBatchIndex < currentBatch.getLines().size()) {
+                return currentBatch.getLines().get(currentBatchIndex++);
+            }
+            if (currentBatch.isLastInShard()) {
+                linesBeforeCurrentShard += currentBatch.getLinesInShard();
+                currentShard++;
+            }
+            currentBatch = null;
+        }
+        return null;
+    }
+
+    @Override
+    public void update(@Nonnull ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(POSITION_KEY, position);
+        executionContext.putInt(VARIANTS_READ_IN_LINE_KEY, variantsReadInLine);
+        executionContext.putLong(LINES_READ_KEY, linesRead);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (shardReaderPool != null) {
+            shardReaderPool.shutdownNow();
+            shardReaderPool = null;
+        }
+        shardOutputs = null;
+        currentBatch = null;
+        currentLine = null;
+    }
+
+    /**
+     * Lines whose offset is in [start, end). If the start is not known to be the beginning of a line, the partial line
+     * that contains the byte at partialLineStart is discarded first.
+     */
+    private static class Shard {
+
+        private final long start;
+
+        private final long partialLineStart;
+
+        private long end = Long.MAX_VALUE;
+
+        Shard(long start, long partialLineStart) {
+            this.start = start;
+            this.partialLineStart = partialLineStart;
+        }
+
+        long getStart() {
+            return start;
+        }
+
+        long getPartialLineStart() {
+            return partialLineStart;
+        }
+
+        long getEnd() {
+            return end;
+        }
+
+        void setEnd(long end) {
+            this.end = end;
+        }
+    }
+
+    /**
+     * The variants in a line of the VCF, or the exception thrown while parsing it
+     */
+    private static class Line {
+
+        private final long position;
+
+        private final long nextPosition;
+
+        private final int lineNumberInShard;
+
+        private final List<Variant> variants;
+
+        private final String text;
+
+        private final Exception exception;
+
+        Line(long position, long nextPosition, int lineNumberInShard, List<Variant> variants, String text,
+             Exception exception) {
+            this.position = position;
+            this.nextPosition = nextPosition;
+            this.lineNumberInShard = lineNumberInShard;
+            this.variants = variants;
+            this.text = text;
+            this.exception = exception;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        long getNextPosition() {
+            return nextPosition;
+        }
+
+        int getLineNumberInShard() {
+            return lineNumberInShard;
+        }
+
+        List<Variant> getVariants() {
+            return variants;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        Exception getException() {
+            return exception;
+        }
+    }
+
+    private static class Batch {
+
+        private final List<Line> lines;
+
+        private final boolean lastInShard;
+
+        private final int linesInShard;
+
+        private final Exception exception;
+
+        Batch(List<Line> lines, boolean lastInShard, int linesInShard, Exception exception) {
+            this.lines = lines;
+            this.lastInShard = lastInShard;
+            this.linesInShard = linesInShard;
+            this.exception = exception;
+        }
+
+        List<Line> getLines() {
+            return lines;
+        }
+
+        boolean isLastInShard() {
+            return lastInShard;
+        }
+
+        int getLinesInShard() {
+            return linesInShard;
+        }
+
+        Exception getException() {
+            return exception;
+        }
+    }
+
+    /**
+     * Reads lines ending in "\n" or "\r\n" and keeps track of the offset of the next byte to read
+     */
+    private abstract static class LineSource implements Closeable {
+
+        private byte[] lineBuffer = new byte[1024];
+
+        abstract void seek(long position) throws IOException;
+
+        abstract long getPosition() throws IOException;
+
+        abstract int read() throws IOException;
+
+        String readLine() throws IOException {
+            int length = 0;
+            int nextByte = read();
+            if (nextByte == -1) {
+                return null;
+            }
+            while (nextByte != -1 && nextByte != '\n') {
+                if (length == lineBuffer.length) {
+                    lineBuffer = Arrays.copyOf(lineBuffer, length * 2);
+                }
+                lineBuffer[length++] = (byte) nextByte;
+                nextByte = read();
+            }
+            if (length > 0 && lineBuffer[length - 1] == '\r') {
+                length--;
+            }
+            return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class PlainLineSource extends LineSource {
+
+        private final FileChannel channel;
+
+        private InputStream input;
+
+        private long position;
+
+        PlainLineSource(File file) throws IOException {
+            channel = FileChannel.open(file.toPath());
+        }
+
+        @Override
+        void seek(long position) throws IOException {
+            channel.position(position);
+            input = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+            this.position = position;
+        }
+
+        @Override
+        long getPosition() {
+            return position;
+        }
+
+        @Override
+        int read() throws IOException {
+            int nextByte = input.read();
+            if (nextByte != -1) {
+                position++;
+            }
+            return nextByte;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * The positions are BGZF virtual offsets
+     */
+    private static class BgzipLineSource extends LineSource {
+
+        private final BlockCompressedInputStream input;
+
+        BgzipLineSource(File file) throws IOException {
+            input = new BlockCompressedInputStream(file);
+        }
+
+        @Override
+        void seek(long position) throws IOException {
+            input.seek(position);
+        }
+
+        @Override
+        long getPosition() {
+            return input.getFilePointer();
+        }
+
+        @Override
+        int read() throws IOException {
+            return input.read();
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -2,24 +2,82 @@ package uk.ac.ebi.eva.accession.pipeline.batch.listeners;
 
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicAccessionGenerator;
 import uk.ac.ebi.eva.accession.core.batch.listeners.GenericProgressListener;
+import uk.ac.ebi.eva.accession.core.generators.PrefetchingMonotonicAccessionGenerator;
+import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.pipeline.metric.AccessioningMetric;
 import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
 import uk.ac.ebi.eva.commons.core.models.pipeline.Variant;
 import uk.ac.ebi.eva.metrics.metric.MetricCompute;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Saves the accessioning metrics when the step finishes. If the SS accessions are prefetched in background, the
+ * accessions, refills and time waited for them during the step are added to the metrics and to the step execution
+ * context.
+ */
 public class SubsnpAccessionsStepListener extends GenericProgressListener<Variant, SubmittedVariantEntity> {
+
+    static final String PREFETCH_KEY_PREFIX = "SubsnpAccessionsStepListener.";
+
     private final MetricCompute metricCompute;
 
+    private final MonotonicAccessionGenerator<ISubmittedVariant> accessionGenerator;
+
+    private Map<AccessioningMetric, Long> prefetchCountsBeforeStep;
+
     public SubsnpAccessionsStepListener(InputParameters inputParameters, MetricCompute metricCompute) {
+        this(inputParameters, metricCompute, null);
+    }
+
+    public SubsnpAccessionsStepListener(InputParameters inputParameters, MetricCompute metricCompute,
+                                        MonotonicAccessionGenerator<ISubmittedVariant> accessionGenerator) {
         super(inputParameters.getChunkSize());
         this.metricCompute = metricCompute;
+        this.accessionGenerator = accessionGenerator;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        super.beforeStep(stepExecution);
+        prefetchCountsBeforeStep = getPrefetchCounts();
     }
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
         ExitStatus status = super.afterStep(stepExecution);
+        addPrefetchCounts(stepExecution.getExecutionContext());
         metricCompute.saveMetricsCountsInDB();
         return status;
     }
+
+    private Map<AccessioningMetric, Long> getPrefetchCounts() {
+        Map<AccessioningMetric, Long> counts = new EnumMap<>(AccessioningMetric.class);
+        if (accessionGenerator instanceof PrefetchingMonotonicAccessionGenerator) {
+            PrefetchingMonotonicAccessionGenerator<ISubmittedVariant> generator =
+                    (PrefetchingMonotonicAccessionGenerator<ISubmittedVariant>) accessionGenerator;
+            counts.put(AccessioningMetric.PREFETCHED_ACCESSIONS, generator.getAccessionsGenerated());
+            counts.put(AccessioningMetric.PREFETCH_REFILLS, generator.getRefills());
+            counts.put(AccessioningMetric.PREFETCH_REFILLS_WAITED_FOR, generator.getRefillsWaitedFor());
+            counts.put(AccessioningMetric.PREFETCH_MILLIS_WAITED, generator.getMillisWaitedForRefills());
+        }
+        return counts;
+    }
+
+    private void addPrefetchCounts(ExecutionContext executionContext) {
+        if (prefetchCountsBeforeStep == null) {
+            return;
+        }
+        for (Map.Entry<AccessioningMetric, Long> metricAndCount : getPrefetchCounts().entrySet()) {
+            AccessioningMetric metric = metricAndCount.getKey();
+            long count = metricAndCount.getValue() - prefetchCountsBeforeStep.getOrDefault(metric, 0L);
+            metricCompute.addCount(metric, count);
+            executionContext.putLong(PREFETCH_KEY_PREFIX + metric.getName(), count);
+        }
+    }
 }
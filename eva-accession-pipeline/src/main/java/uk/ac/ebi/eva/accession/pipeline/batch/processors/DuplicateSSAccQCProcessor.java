@@ -1,49 +1,107 @@
 package uk.ac.ebi.eva.accession.pipeline.batch.processors;
 
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.pipeline.batch.io.DuplicateSSAccQCResult;
+import uk.ac.ebi.eva.accession.pipeline.batch.io.DuplicateSSAccQCResult.SubmittedVariantSummary;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
-public class DuplicateSSAccQCProcessor implements ItemProcessor<List<Long>, List<DuplicateSSAccQCResult>> {
+/**
+ * The EVA and dbSNP collections are queried at the same time, using an executor owned by the step. As the processor
+ * of the step it is also registered as a step listener, and the executor is shut down when the step ends.
+ */
+public class DuplicateSSAccQCProcessor implements ItemProcessor<List<Long>, List<DuplicateSSAccQCResult>>,
+        StepExecutionListener {
     private static final Logger logger = LoggerFactory.getLogger(DuplicateSSAccQCProcessor.class);
 
     private static final String ACCESSION_FIELD = "accession";
+    private static final String HASH_FIELD = "_id";
+    private static final String REFERENCE_SEQUENCE_FIELD = "seq";
+    private static final String PROJECT_FIELD = "study";
     private static final String REMAPPED_FROM_FIELD = "remappedFrom";
     private MongoTemplate mongoTemplate;
 
-    public DuplicateSSAccQCProcessor(MongoTemplate mongoTemplate) {
+    private ExecutorService executor;
+
+    /**
+     * @param executor runs the dbSNP query while the EVA one runs in the calling thread, one thread is enough
+     */
+    public DuplicateSSAccQCProcessor(MongoTemplate mongoTemplate, ExecutorService executor) {
         this.mongoTemplate = mongoTemplate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        executor.shutdown();
+        return null;
     }
 
     @Override
     public List<DuplicateSSAccQCResult> process(List<Long> sveAccessions) {
-        // get all the SVE documents for the given accessions
-        List<SubmittedVariantEntity> submittedVariantEntitiesList = getSubmittedVariantEntityList(sveAccessions);
+        Query query = query(where(ACCESSION_FIELD).in(sveAccessions).and(REMAPPED_FROM_FIELD).exists(false));
+        query.fields().include(ACCESSION_FIELD).include(REFERENCE_SEQUENCE_FIELD).include(PROJECT_FIELD);
+        logger.info("Issuing find in EVA and dbSNP collections for SVEs containing the given accessions : {}", query);
 
-        // Group SVE documents by accession and filter those which has more than one document for accession
-        List<DuplicateSSAccQCResult> duplicateSSAccQCResultList = submittedVariantEntitiesList.stream()
-                .collect(Collectors.groupingBy(SubmittedVariantEntity::getAccession))
-                .entrySet().stream()
-                .filter(e -> e.getValue().size() > 1)
-                .map(e -> new DuplicateSSAccQCResult(e.getKey(), e.getValue()))
-                .collect(Collectors.toList());
+        // the EVA and dbSNP collections are queried at the same time
+        String dbsnpCollection = mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class);
+        CompletableFuture<Map<Long, List<SubmittedVariantSummary>>> dbsnpResults = CompletableFuture.supplyAsync(
+                () -> findGroupedByAccession(query, dbsnpCollection), executor);
+        Map<Long, List<SubmittedVariantSummary>> submittedVariantsByAccession = findGroupedByAccession(
+                query, mongoTemplate.getCollectionName(SubmittedVariantEntity.class));
+        dbsnpResults.join().forEach((accession, submittedVariants) -> submittedVariantsByAccession.merge(
+                accession, submittedVariants, (evaVariants, dbsnpVariants) -> {
+                    evaVariants.addAll(dbsnpVariants);
+                    return evaVariants;
+                }));
 
+        List<DuplicateSSAccQCResult> duplicateSSAccQCResultList = new ArrayList<>();
+        submittedVariantsByAccession.forEach((accession, submittedVariants) -> {
+            if (submittedVariants.size() > 1) {
+                duplicateSSAccQCResultList.add(new DuplicateSSAccQCResult(accession, submittedVariants));
+            }
+        });
         return duplicateSSAccQCResultList;
     }
 
-    private List<SubmittedVariantEntity> getSubmittedVariantEntityList(List<Long> sveAccessions) {
-        Query query = query(where(ACCESSION_FIELD).in(sveAccessions).and(REMAPPED_FROM_FIELD).exists(false));
-        logger.info("Issuing find in EVA collection for SVEs containing the given accessions : {}", query);
-        return mongoTemplate.find(query, SubmittedVariantEntity.class);
+    /**
+     * Groups the documents by accession while they are read, without mapping them to entities
+     */
+    private Map<Long, List<SubmittedVariantSummary>> findGroupedByAccession(Query query, String collection) {
+        Map<Long, List<SubmittedVariantSummary>> submittedVariantsByAccession = new HashMap<>();
+        mongoTemplate.executeQuery(query, collection, document -> {
+            Long accession = ((Number) document.get(ACCESSION_FIELD)).longValue();
+            submittedVariantsByAccession.computeIfAbsent(accession, key -> new ArrayList<>(1))
+                                        .add(toSummary(collection, document));
+        });
+        return submittedVariantsByAccession;
+    }
+
+    private static SubmittedVariantSummary toSummary(String collection, Document document) {
+        return new SubmittedVariantSummary(collection, document.getString(HASH_FIELD),
+                                           document.getString(REFERENCE_SEQUENCE_FIELD),
+                                           document.getString(PROJECT_FIELD));
     }
 }
@@ -20,10 +20,14 @@ public class BeanNames {
 
     public static final String VARIANT_READER = "VARIANT_READER";
 
+    public static final String PIPELINED_VARIANT_READER = "PIPELINED_VARIANT_READER";
+
     public static final String REPORT_READER = "REPORT_READER";
 
     public static final String COMPOSITE_VARIANT_PROCESSOR = "COMPOSITE_VARIANT_PROCESSOR";
 
+    public static final String PIPELINED_VARIANT_PROCESSOR = "PIPELINED_VARIANT_PROCESSOR";
+
     public static final String ACCESSION_WRITER = "ACCESSION_WRITER";
 
     public static final String SUBSNP_ACCESSION_STEP = "SUBSNP_ACCESSION_STEP";
@@ -15,24 +15,40 @@
  */
 package uk.ac.ebi.eva.accession.pipeline.configuration.batch.io;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import uk.ac.ebi.eva.accession.pipeline.batch.io.PipelinedItemReader;
+import uk.ac.ebi.eva.accession.pipeline.batch.io.ShardedVcfReader;
+import uk.ac.ebi.eva.accession.pipeline.batch.processors.ContigToGenbankReplacerProcessor;
+import uk.ac.ebi.eva.accession.pipeline.batch.processors.ExcludeStructuralVariantsProcessor;
 import uk.ac.ebi.eva.accession.pipeline.configuration.InputParametersConfiguration;
+import uk.ac.ebi.eva.accession.pipeline.configuration.batch.processors.VariantProcessorConfiguration;
 import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
 import uk.ac.ebi.eva.commons.batch.io.UnwindingItemStreamReader;
 import uk.ac.ebi.eva.commons.core.models.Aggregation;
+import uk.ac.ebi.eva.commons.core.models.IVariant;
 import uk.ac.ebi.eva.commons.core.models.pipeline.Variant;
+import uk.ac.ebi.eva.commons.batch.io.AggregatedVcfLineMapper;
 import uk.ac.ebi.eva.commons.batch.io.AggregatedVcfReader;
+import uk.ac.ebi.eva.commons.batch.io.VcfLineMapper;
 import uk.ac.ebi.eva.commons.batch.io.VcfReader;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.PIPELINED_VARIANT_PROCESSOR;
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.PIPELINED_VARIANT_READER;
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.VARIANT_READER;
 
 /**
@@ -42,15 +58,79 @@ import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.VARIANT_R
 @Import(InputParametersConfiguration.class)
 public class VcfReaderConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(VcfReaderConfiguration.class);
+
     @Autowired
     private InputParameters inputParameters;
 
     @Bean(VARIANT_READER)
     @StepScope
-    public ItemStreamReader<Variant> unwindingReader(VcfReader vcfReader) {
+    public ItemStreamReader<Variant> unwindingReader(VcfReader vcfReader) throws IOException {
+        return buildVariantReader(vcfReader);
+    }
+
+    /**
+     * Reader that also applies the variant processors, in parameters.processorThreads threads. The delegate reader
+     * and the processors are not step-scoped proxies, because they are used from threads without a step context.
+     */
+    @Bean(PIPELINED_VARIANT_READER)
+    @StepScope
+    public PipelinedItemReader<IVariant, IVariant> pipelinedVariantReader(
+            VcfReader vcfReader, ExcludeStructuralVariantsProcessor excludeStructuralVariantsProcessor,
+            ContigToGenbankReplacerProcessor contigToGenbankReplacerProcessor) throws IOException {
+        ItemProcessor<IVariant, IVariant> variantProcessor =
+                VariantProcessorConfiguration.buildCompositeVariantProcessor(excludeStructuralVariantsProcessor,
+                                                                             contigToGenbankReplacerProcessor);
+        return new PipelinedItemReader<>(buildVariantReader(vcfReader), variantProcessor,
+                                         inputParameters.getProcessorThreads(), inputParameters.getChunkSize());
+    }
+
+    /**
+     * Processor of the step that uses the pipelined reader, which returns the result of processing each variant in
+     * the reader threads, so that the step counts the filtered variants and the process skips.
+     */
+    @Bean(PIPELINED_VARIANT_PROCESSOR)
+    @StepScope
+    public ItemProcessor<IVariant, IVariant> pipelinedVariantProcessor(
+            @Qualifier(PIPELINED_VARIANT_READER) PipelinedItemReader<IVariant, IVariant> pipelinedVariantReader) {
+        return pipelinedVariantReader.getProcessor();
+    }
+
+    /**
+     * With parameters.vcfReaderThreads greater than 1, the VCF is split in shards that are parsed in parallel, unless
+     * it is compressed with plain gzip instead of bgzip.
+     */
+    private ItemStreamReader<Variant> buildVariantReader(VcfReader vcfReader) throws IOException {
+        File vcfFile = new File(inputParameters.getVcf());
+        if (inputParameters.getVcfReaderThreads() > 1) {
+            if (ShardedVcfReader.canBeSharded(vcfFile)) {
+                return new ShardedVcfReader(vcfFile, this::buildLineMapper, inputParameters.getVcfReaderThreads());
+            }
+            logger.warn("The VCF {} is compressed with gzip instead of bgzip, so it will be read in a single thread",
+                        vcfFile);
+        }
         return new UnwindingItemStreamReader<>(vcfReader);
     }
 
+    /**
+     * Builds the same line mapper as {@link #vcfReader()}
+     */
+    private LineMapper<List<Variant>> buildLineMapper() {
+        String fileId = inputParameters.getProjectAccession();
+        String studyId = inputParameters.getProjectAccession();
+        Aggregation vcfAggregation = inputParameters.getVcfAggregation();
+
+        if (Aggregation.NONE.equals(vcfAggregation)) {
+            return new VcfLineMapper(fileId, studyId);
+        }
+        try {
+            return new AggregatedVcfLineMapper(fileId, studyId, vcfAggregation,
+                                               inputParameters.getAggregatedMappingFile());
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not build the line mapper for an aggregated VCF", e);
+        }
+    }
+
     /**
      * The aggregation type is passed so that spring won't cache the instance of VcfReader if it is already built
      * with other aggregation type.
@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.web.client.RestTemplate;
+import uk.ac.ebi.ampt2d.commons.accession.generators.monotonic.MonotonicAccessionGenerator;
+import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.pipeline.batch.listeners.SubsnpAccessionsStepListener;
 import uk.ac.ebi.eva.accession.pipeline.metric.AccessioningMetricCompute;
 import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
@@ -18,8 +20,11 @@ import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.SUBSNP_AC
 @Import({MetricConfiguration.class})
 public class ListenersConfiguration {
     @Bean(SUBSNP_ACCESSION_STEP_LISTENER)
-    public SubsnpAccessionsStepListener clusteringProgressListener(InputParameters parameters, MetricCompute metricCompute) {
-        return new SubsnpAccessionsStepListener(parameters, metricCompute);
+    public SubsnpAccessionsStepListener clusteringProgressListener(
+            InputParameters parameters, MetricCompute metricCompute,
+            @Qualifier("submittedVariantAccessionGenerator")
+                    MonotonicAccessionGenerator<ISubmittedVariant> submittedVariantAccessionGenerator) {
+        return new SubsnpAccessionsStepListener(parameters, metricCompute, submittedVariantAccessionGenerator);
     }
 
     @Bean
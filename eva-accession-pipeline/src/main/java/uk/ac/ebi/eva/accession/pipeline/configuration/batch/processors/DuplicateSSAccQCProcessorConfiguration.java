@@ -5,9 +5,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.MongoConfiguration;
 import uk.ac.ebi.eva.accession.pipeline.batch.processors.DuplicateSSAccQCProcessor;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.DUPLICATE_SS_ACC_QC_PROCESSOR;
 
 @Configuration
@@ -17,6 +21,8 @@ public class DuplicateSSAccQCProcessorConfiguration {
     @Bean(DUPLICATE_SS_ACC_QC_PROCESSOR)
     @StepScope
     DuplicateSSAccQCProcessor duplicateSSAccQCProcessor(MongoTemplate mongoTemplate) {
-        return new DuplicateSSAccQCProcessor(mongoTemplate);
+        // a new executor for every step execution, shut down by the processor when the step ends
+        ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.named("duplicate-ss-qc"));
+        return new DuplicateSSAccQCProcessor(mongoTemplate, executor);
     }
 }
@@ -49,6 +49,16 @@ public class VariantProcessorConfiguration {
             ContigToGenbankReplacerProcessor contigToGenbankReplacerProcessor,
             ExcludeStructuralVariantsProcessor excludeStructuralVariantsProcessor) {
         logger.info("Injecting VariantProcessor with parameters: {}", inputParameters);
+        return buildCompositeVariantProcessor(excludeStructuralVariantsProcessor, contigToGenbankReplacerProcessor);
+    }
+
+    /**
+     * Builds the composite processor out of the singleton processors, so that it can also be used outside of the
+     * step scope (e.g. in the threads of a {@link uk.ac.ebi.eva.accession.pipeline.batch.io.PipelinedItemReader})
+     */
+    public static ItemProcessor<IVariant, IVariant> buildCompositeVariantProcessor(
+            ExcludeStructuralVariantsProcessor excludeStructuralVariantsProcessor,
+            ContigToGenbankReplacerProcessor contigToGenbankReplacerProcessor) {
         CompositeItemProcessor<IVariant, IVariant> compositeProcessor = new CompositeItemProcessor<>();
         compositeProcessor.setDelegates(Arrays.asList(excludeStructuralVariantsProcessor,
                                                       contigToGenbankReplacerProcessor));
@@ -20,6 +20,7 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.tasklet.TaskletStep;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
@@ -32,11 +33,14 @@ import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.MissingUnsavedAccessionsException;
 import uk.ac.ebi.eva.accession.pipeline.batch.io.AccessionWriter;
 import uk.ac.ebi.eva.accession.pipeline.batch.policies.InvalidVariantSkipPolicy;
+import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
 import uk.ac.ebi.eva.commons.core.models.IVariant;
 import uk.ac.ebi.eva.commons.core.models.pipeline.Variant;
 
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.ACCESSION_WRITER;
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.COMPOSITE_VARIANT_PROCESSOR;
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.PIPELINED_VARIANT_PROCESSOR;
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.PIPELINED_VARIANT_READER;
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.SUBSNP_ACCESSION_STEP;
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.SUBSNP_ACCESSION_STEP_LISTENER;
 import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.VARIANT_READER;
@@ -49,10 +53,18 @@ public class SubsnpAccessionsStepConfiguration {
     @Qualifier(VARIANT_READER)
     private ItemReader<Variant> variantReader;
 
+    @Autowired
+    @Qualifier(PIPELINED_VARIANT_READER)
+    private ItemReader<IVariant> pipelinedVariantReader;
+
     @Autowired
     @Qualifier(COMPOSITE_VARIANT_PROCESSOR)
     private ItemProcessor<IVariant, IVariant> variantProcessor;
 
+    @Autowired
+    @Qualifier(PIPELINED_VARIANT_PROCESSOR)
+    private ItemProcessor<IVariant, IVariant> pipelinedVariantProcessor;
+
     @Autowired
     @Qualifier(ACCESSION_WRITER)
     private AccessionWriter accessionWriter;
@@ -64,13 +76,22 @@ public class SubsnpAccessionsStepConfiguration {
     @Autowired
     private InvalidVariantSkipPolicy invalidVariantSkipPolicy;
 
+    @Autowired
+    private InputParameters inputParameters;
+
     @Bean(SUBSNP_ACCESSION_STEP)
     public Step subsnpAccessionStep(StepBuilderFactory stepBuilderFactory,
                                     SimpleCompletionPolicy chunkSizeCompletionPolicy) {
-        TaskletStep step = stepBuilderFactory.get(SUBSNP_ACCESSION_STEP)
-                .<IVariant, IVariant>chunk(chunkSizeCompletionPolicy)
-                .reader(variantReader)
-                .processor(variantProcessor)
+        SimpleStepBuilder<IVariant, IVariant> stepBuilder = stepBuilderFactory.get(SUBSNP_ACCESSION_STEP)
+                .chunk(chunkSizeCompletionPolicy);
+        if (inputParameters.getProcessorThreads() > 1) {
+            // the VCF is parsed and processed in background threads while the previous chunk is being written. The
+            // processor of the step returns the results, so that filtered variants and process skips are counted
+            stepBuilder.reader(pipelinedVariantReader).processor(pipelinedVariantProcessor);
+        } else {
+            stepBuilder.reader(variantReader).processor(variantProcessor);
+        }
+        TaskletStep step = stepBuilder
                 .writer(accessionWriter)
                 .faultTolerant()
                 // Exception can arise from running parallel accessioning jobs for a single study, hence the retry.
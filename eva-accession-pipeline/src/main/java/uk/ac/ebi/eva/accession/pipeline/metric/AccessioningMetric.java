@@ -7,7 +7,16 @@ public enum AccessioningMetric implements Metric {
     ACCESSIONED_VARIANTS("accessioned_variants", "Number of variants accessioned", 0),
     DISTINCT_VARIANTS("distinct_variants", "Number of distinct variants accessioned", 0),
     DUPLICATE_VARIANTS("duplicate_variants", "Duplicate variants which gets same result in same accessions", 0),
-    DISCARDED_VARIANTS("discarded_variants", "Number of variants discarded", 0);
+    DISCARDED_VARIANTS("discarded_variants", "Number of variants discarded", 0),
+    ACCESSIONING_MILLIS("accessioning_millis", "Milliseconds spent getting or creating the accessions", 0),
+    REPORT_WRITING_MILLIS("report_writing_millis", "Milliseconds spent writing the accession report", 0),
+    PREFETCHED_ACCESSIONS("prefetched_accessions", "Number of accessions issued from blocks prefetched in background",
+                          0),
+    PREFETCH_REFILLS("prefetch_refills", "Number of times that accessions were prefetched in background", 0),
+    PREFETCH_REFILLS_WAITED_FOR("prefetch_refills_waited_for",
+                                "Number of prefetches that the accessioning had to wait for", 0),
+    PREFETCH_MILLIS_WAITED("prefetch_millis_waited",
+                           "Milliseconds that the accessioning waited for prefetched accessions", 0);
 
     private String name;
     private String description;
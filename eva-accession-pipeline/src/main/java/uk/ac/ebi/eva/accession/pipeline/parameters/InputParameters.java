@@ -48,6 +48,10 @@ public class InputParameters {
 
     private String duplicateSSAccFile;
 
+    private int processorThreads = 1;
+
+    private int vcfReaderThreads = 1;
+
     public JobParameters toJobParameters() {
         return new JobParametersBuilder()
                 .addString("vcf", vcf)
@@ -166,4 +170,20 @@ public class InputParameters {
     public void setDuplicateSSAccFile(String duplicateSSAccFile) {
         this.duplicateSSAccFile = duplicateSSAccFile;
     }
+
+    public int getProcessorThreads() {
+        return processorThreads;
+    }
+
+    public void setProcessorThreads(int processorThreads) {
+        this.processorThreads = processorThreads;
+    }
+
+    public int getVcfReaderThreads() {
+        return vcfReaderThreads;
+    }
+
+    public void setVcfReaderThreads(int vcfReaderThreads) {
+        this.vcfReaderThreads = vcfReaderThreads;
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.io;
+
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedItemReaderTest {
+
+    private static final int NUM_ITEMS = 1000;
+
+    private static final int PROCESSOR_THREADS = 4;
+
+    private static final int BATCH_SIZE = 7;
+
+    // multiples of 10 are filtered, and the processor fails with the ones ending in 5
+    private static final ItemProcessor<Integer, String> PROCESSOR = item -> {
+        if (item % 10 == 0) {
+            return null;
+        }
+        if (item % 10 == 5) {
+            throw new IllegalArgumentException("Item " + item);
+        }
+        return "item" + item;
+    };
+
+    @Test
+    public void itemsAreReturnedInOrder() throws Exception {
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(new CountingReader(NUM_ITEMS),
+                                                                                PROCESSOR, PROCESSOR_THREADS,
+                                                                                BATCH_SIZE);
+        reader.open(new ExecutionContext());
+        assertEquals(getExpectedItems(1, NUM_ITEMS), readAll(reader, Integer.MAX_VALUE));
+        assertNull(reader.read());
+        reader.close();
+    }
+
+    @Test
+    public void readReturnsTheItemsOfTheDelegate() throws Exception {
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(new CountingReader(20), PROCESSOR,
+                                                                                PROCESSOR_THREADS, BATCH_SIZE);
+        reader.open(new ExecutionContext());
+        List<Integer> items = new ArrayList<>();
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            try {
+                Integer item = reader.read();
+                if (item == null) {
+                    endOfInput = true;
+                } else {
+                    items.add(item);
+                }
+            } catch (ParseException e) {
+                // item 12
+            }
+        }
+        reader.close();
+
+        List<Integer> expectedItems = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            if (i != 12) {
+                expectedItems.add(i);
+            }
+        }
+        assertEquals(expectedItems, items);
+    }
+
+    @Test
+    public void exceptionsAreThrownAtTheirPosition() throws Exception {
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(new CountingReader(20), PROCESSOR,
+                                                                                PROCESSOR_THREADS, BATCH_SIZE);
+        reader.open(new ExecutionContext());
+        List<String> items = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        List<Integer> filteredItems = new ArrayList<>();
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            try {
+                Integer item = reader.read();
+                if (item == null) {
+                    endOfInput = true;
+                    continue;
+                }
+                String processedItem = reader.getProcessor().process(item);
+                if (processedItem == null) {
+                    filteredItems.add(item);
+                } else {
+                    items.add(processedItem);
+                }
+            } catch (ParseException e) {
+                errors.add("Read error: " + e.getMessage() + " after " + items.size() + " items");
+            } catch (IllegalArgumentException e) {
+                errors.add("Process error: " + e.getMessage() + " after " + items.size() + " items");
+            }
+        }
+        reader.close();
+
+        assertEquals(getExpectedItems(1, 20), items);
+        List<String> expectedErrors = new ArrayList<>();
+        expectedErrors.add("Process error: Item 5 after 4 items");
+        expectedErrors.add("Read error: Unparseable item 12 after 9 items");
+        expectedErrors.add("Process error: Item 15 after 11 items");
+        assertEquals(expectedErrors, errors);
+        assertEquals(Arrays.asList(10, 20), filteredItems);
+    }
+
+    @Test
+    public void itemsCanBeProcessedAgainUntilTheCheckpoint() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(new CountingReader(NUM_ITEMS),
+                                                                                PROCESSOR, PROCESSOR_THREADS,
+                                                                                BATCH_SIZE);
+        reader.open(executionContext);
+        List<Integer> chunk = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            chunk.add(reader.read());
+        }
+        // a fault tolerant step processes the items of a chunk again after a rollback
+        for (int i = 0; i < 2; i++) {
+            List<String> processedItems = new ArrayList<>();
+            for (Integer item : chunk) {
+                processedItems.add(reader.getProcessor().process(item));
+            }
+            assertEquals(Arrays.asList("item1", "item2", "item3", "item4"), processedItems);
+        }
+        reader.update(executionContext);
+        try {
+            reader.getProcessor().process(chunk.get(0));
+            fail("Items before the checkpoint should not be processed again");
+        } catch (IllegalStateException e) {
+            // expected
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void restartAfterTheLastCheckpoint() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(new CountingReader(NUM_ITEMS),
+                                                                                PROCESSOR, PROCESSOR_THREADS,
+                                                                                BATCH_SIZE);
+        reader.open(executionContext);
+        List<String> itemsBeforeCheckpoint = readAll(reader, 123);
+        reader.update(executionContext);
+        // the items read after the checkpoint are lost when the step fails, and must be read again on restart
+        readAll(reader, 45);
+        reader.close();
+
+        PipelinedItemReader<Integer, String> restartedReader = new PipelinedItemReader<>(
+                new CountingReader(NUM_ITEMS), PROCESSOR, PROCESSOR_THREADS, BATCH_SIZE);
+        restartedReader.open(executionContext);
+        List<String> items = new ArrayList<>(itemsBeforeCheckpoint);
+        items.addAll(readAll(restartedReader, Integer.MAX_VALUE));
+        restartedReader.close();
+
+        assertEquals(getExpectedItems(1, NUM_ITEMS), items);
+    }
+
+    @Test
+    public void closeStopsTheParserWhenTheQueueIsFull() throws Exception {
+        CountingReader delegate = new CountingReader(NUM_ITEMS);
+        PipelinedItemReader<Integer, String> reader = new PipelinedItemReader<>(delegate, PROCESSOR, 1, 1);
+        reader.open(new ExecutionContext());
+        reader.read();
+        reader.close();
+        assertTrue(delegate.isClosed());
+        assertTrue(delegate.getItemsRead() < NUM_ITEMS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void atLeastOneThread() {
+        new PipelinedItemReader<>(new CountingReader(NUM_ITEMS), PROCESSOR, 0, BATCH_SIZE);
+    }
+
+    /**
+     * Reads and processes the items until the end or until the given number of processed items, ignoring the errors
+     * and the filtered items
+     */
+    private List<String> readAll(PipelinedItemReader<Integer, String> reader, int maxItems) throws Exception {
+        List<String> items = new ArrayList<>();
+        while (items.size() < maxItems) {
+            try {
+                Integer item = reader.read();
+                if (item == null) {
+                    break;
+                }
+                String processedItem = reader.getProcessor().process(item);
+                if (processedItem != null) {
+                    items.add(processedItem);
+                }
+            } catch (IllegalArgumentException | ParseException e) {
+                // skipped, as the step would do
+            }
+        }
+        return items;
+    }
+
+    private List<String> getExpectedItems(int first, int last) {
+        List<String> items = new ArrayList<>();
+        for (int i = first; i <= last; i++) {
+            if (i % 10 != 0 && i % 10 != 5 && i % 100 != 12) {
+                items.add("item" + i);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Returns the numbers from 1 to the given maximum, failing to parse the ones ending in 12
+     */
+    private static class CountingReader implements ItemStreamReader<Integer> {
+
+        private final int maxItem;
+
+        private int itemsRead;
+
+        private boolean closed;
+
+        CountingReader(int maxItem) {
+            this.maxItem = maxItem;
+        }
+
+        @Override
+        public Integer read() {
+            if (itemsRead == maxItem) {
+                return null;
+            }
+            itemsRead++;
+            if (itemsRead % 100 == 12) {
+                throw new ParseException("Unparseable item " + itemsRead);
+            }
+            return itemsRead;
+        }
+
+        @Override
+        public void open(ExecutionContext executionContext) throws ItemStreamException {
+        }
+
+        @Override
+        public void update(ExecutionContext executionContext) throws ItemStreamException {
+            fail("The state of the delegate should not be saved");
+        }
+
+        @Override
+        public void close() throws ItemStreamException {
+            closed = true;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        int getItemsRead() {
+            return itemsRead;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SSAccFileReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void tabSeparatedColumns() {
+        assertEquals(5000000001L, SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss5000000001\tA\tT"));
+    }
+
+    @Test
+    public void spaceSeparatedColumns() {
+        assertEquals(123L, SSAccFileReader.parseSubmittedVariantAccession("1 100 ss123 A T"));
+        assertEquals(123L, SSAccFileReader.parseSubmittedVariantAccession("1  100 \t ss123   A T"));
+    }
+
+    @Test
+    public void accessionInLastColumn() {
+        assertEquals(123L, SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss123"));
+    }
+
+    @Test
+    public void largestAccession() {
+        assertEquals(Long.MAX_VALUE,
+                     SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss" + Long.MAX_VALUE + "\tA\tT"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void missingSsPrefix() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100\t123\tA\tT");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void otherPrefix() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100\trs123\tA\tT");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void accessionOverflow() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss9223372036854775808\tA\tT");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void missingAccession() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss\tA\tT");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void missingIdColumn() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void nonNumericAccession() {
+        SSAccFileReader.parseSubmittedVariantAccession("1\t100\tss12a3\tA\tT");
+    }
+
+    @Test
+    public void headersAndEmptyLinesAreSkipped() throws IOException {
+        File vcf = temporaryFolder.newFile();
+        Files.write(vcf.toPath(), Arrays.asList("##fileformat=VCFv4.2", "#CHROM\tPOS\tID\tREF\tALT",
+                                                "1\t100\tss1\tA\tT", "", "1\t200\tss2\tA\tT",
+                                                "1\t300\tss3\tA\tT"),
+                    StandardCharsets.UTF_8);
+        SSAccFileReader reader = new SSAccFileReader(vcf.getAbsolutePath(), 2);
+        reader.open(new ExecutionContext());
+
+        assertEquals(Arrays.asList(1L, 2L), reader.read());
+        assertEquals(Arrays.asList(3L), reader.read());
+        assertNull(reader.read());
+        reader.close();
+    }
+}
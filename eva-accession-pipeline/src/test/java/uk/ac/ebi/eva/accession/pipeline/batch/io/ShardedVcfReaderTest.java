@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.io;
+
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+
+import uk.ac.ebi.eva.commons.batch.io.UnwindingItemStreamReader;
+import uk.ac.ebi.eva.commons.batch.io.VcfLineMapper;
+import uk.ac.ebi.eva.commons.batch.io.VcfReader;
+import uk.ac.ebi.eva.commons.core.models.pipeline.Variant;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShardedVcfReaderTest {
+
+    private static final String FILE_ID = "fileId";
+
+    private static final String STUDY_ID = "studyId";
+
+    private static final int THREADS = 3;
+
+    private static final int LINES_PER_BGZF_BLOCK = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolderRule = new TemporaryFolder();
+
+    private File gzipVcf;
+
+    private File plainVcf;
+
+    private File bgzipVcf;
+
+    private List<Variant> expectedVariants;
+
+    @Before
+    public void setUp() throws Exception {
+        gzipVcf = new File(ShardedVcfReaderTest.class.getResource("/input-files/vcf/genotyped.vcf.gz").toURI());
+        plainVcf = temporaryFolderRule.newFile("genotyped.vcf");
+        bgzipVcf = temporaryFolderRule.newFile("genotyped.vcf.bgz");
+        // small blocks, so that the shards of the bgzipped file contain several blocks
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(gzipVcf)), StandardCharsets.UTF_8));
+             OutputStream plainOutput = new FileOutputStream(plainVcf);
+             BlockCompressedOutputStream bgzipOutput = new BlockCompressedOutputStream(bgzipVcf)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+                plainOutput.write(bytes);
+                bgzipOutput.write(bytes);
+                if (++lineNumber % LINES_PER_BGZF_BLOCK == 0) {
+                    bgzipOutput.flush();
+                }
+            }
+        }
+        UnwindingItemStreamReader<Variant> vcfReader = new UnwindingItemStreamReader<>(
+                new VcfReader(FILE_ID, STUDY_ID, gzipVcf));
+        vcfReader.open(new ExecutionContext());
+        expectedVariants = readAll(vcfReader, Integer.MAX_VALUE);
+        vcfReader.close();
+    }
+
+    @Test
+    public void plainFileIsReadInOrder() throws Exception {
+        for (long shardSize : new long[]{100, 1000, 10000, ShardedVcfReader.DEFAULT_SHARD_SIZE}) {
+            assertEquals("Shard size " + shardSize, expectedVariants, readAll(plainVcf, shardSize));
+        }
+    }
+
+    @Test
+    public void bgzipFileIsReadInOrder() throws Exception {
+        for (long shardSize : new long[]{100, 1000, 10000, ShardedVcfReader.DEFAULT_SHARD_SIZE}) {
+            assertEquals("Shard size " + shardSize, expectedVariants, readAll(bgzipVcf, shardSize));
+        }
+    }
+
+    @Test
+    public void restartPlainFile() throws Exception {
+        assertRestartContinuesAfterLastVariant(plainVcf);
+    }
+
+    @Test
+    public void restartBgzipFile() throws Exception {
+        assertRestartContinuesAfterLastVariant(bgzipVcf);
+    }
+
+    @Test
+    public void onlyPlainAndBgzipFilesCanBeSharded() throws Exception {
+        assertTrue(ShardedVcfReader.canBeSharded(plainVcf));
+        assertTrue(ShardedVcfReader.canBeSharded(bgzipVcf));
+        assertFalse(ShardedVcfReader.canBeSharded(gzipVcf));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void gzipFileIsRejected() throws Exception {
+        new ShardedVcfReader(gzipVcf, () -> new VcfLineMapper(FILE_ID, STUDY_ID), THREADS);
+    }
+
+    private void assertRestartContinuesAfterLastVariant(File vcf) throws Exception {
+        for (int variantsBeforeFailure = 0; variantsBeforeFailure <= expectedVariants.size();
+             variantsBeforeFailure += 37) {
+            ExecutionContext executionContext = new ExecutionContext();
+            ShardedVcfReader reader = buildReader(vcf, 1000);
+            reader.open(executionContext);
+            List<Variant> variants = readAll(reader, variantsBeforeFailure);
+            reader.update(executionContext);
+            reader.close();
+
+            ShardedVcfReader restartedReader = buildReader(vcf, 1000);
+            restartedReader.open(executionContext);
+            variants.addAll(readAll(restartedReader, Integer.MAX_VALUE));
+            restartedReader.close();
+            assertEquals("Restart after " + variantsBeforeFailure + " variants", expectedVariants, variants);
+        }
+    }
+
+    private List<Variant> readAll(File vcf, long shardSize) throws Exception {
+        ShardedVcfReader reader = buildReader(vcf, shardSize);
+        reader.open(new ExecutionContext());
+        List<Variant> variants = readAll(reader, Integer.MAX_VALUE);
+        reader.close();
+        return variants;
+    }
+
+    private ShardedVcfReader buildReader(File vcf, long shardSize) throws Exception {
+        return new ShardedVcfReader(vcf, () -> new VcfLineMapper(FILE_ID, STUDY_ID), THREADS, shardSize);
+    }
+
+    private static List<Variant> readAll(ItemStreamReader<Variant> reader, int maxVariants) throws Exception {
+        List<Variant> variants = new ArrayList<>();
+        Variant variant;
+        while (variants.size() < maxVariants && (variant = reader.read()) != null) {
+            variants.add(variant);
+        }
+        return variants;
+    }
+}
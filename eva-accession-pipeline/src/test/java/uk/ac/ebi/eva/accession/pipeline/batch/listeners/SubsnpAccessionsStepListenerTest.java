@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.batch.listeners;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import uk.ac.ebi.eva.accession.core.generators.PrefetchingMonotonicAccessionGenerator;
+import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
+import uk.ac.ebi.eva.accession.pipeline.metric.AccessioningMetric;
+import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
+import uk.ac.ebi.eva.metrics.metric.MetricCompute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubsnpAccessionsStepListenerTest {
+
+    @Test
+    public void prefetchCountsOfTheStepArePublished() {
+        @SuppressWarnings("unchecked")
+        PrefetchingMonotonicAccessionGenerator<ISubmittedVariant> generator =
+                Mockito.mock(PrefetchingMonotonicAccessionGenerator.class);
+        when(generator.getAccessionsGenerated()).thenReturn(100L, 350L);
+        when(generator.getRefills()).thenReturn(1L, 4L);
+        when(generator.getRefillsWaitedFor()).thenReturn(1L, 2L);
+        when(generator.getMillisWaitedForRefills()).thenReturn(30L, 45L);
+        MetricCompute metricCompute = Mockito.mock(MetricCompute.class);
+        SubsnpAccessionsStepListener listener = new SubsnpAccessionsStepListener(new InputParameters(), metricCompute,
+                                                                                 generator);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+        listener.beforeStep(stepExecution);
+        listener.afterStep(stepExecution);
+
+        verify(metricCompute).addCount(AccessioningMetric.PREFETCHED_ACCESSIONS, 250L);
+        verify(metricCompute).addCount(AccessioningMetric.PREFETCH_REFILLS, 3L);
+        verify(metricCompute).addCount(AccessioningMetric.PREFETCH_REFILLS_WAITED_FOR, 1L);
+        verify(metricCompute).addCount(AccessioningMetric.PREFETCH_MILLIS_WAITED, 15L);
+        verify(metricCompute).saveMetricsCountsInDB();
+        assertEquals(3L, stepExecution.getExecutionContext().getLong(
+                SubsnpAccessionsStepListener.PREFETCH_KEY_PREFIX + AccessioningMetric.PREFETCH_REFILLS.getName()));
+    }
+
+    @Test
+    public void noPrefetchCountsWithoutPrefetching() {
+        MetricCompute metricCompute = Mockito.mock(MetricCompute.class);
+        SubsnpAccessionsStepListener listener = new SubsnpAccessionsStepListener(new InputParameters(), metricCompute,
+                                                                                 null);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+        listener.beforeStep(stepExecution);
+        listener.afterStep(stepExecution);
+
+        verify(metricCompute, never()).addCount(any(), anyLong());
+        verify(metricCompute).saveMetricsCountsInDB();
+        assertFalse(stepExecution.getExecutionContext().containsKey(
+                SubsnpAccessionsStepListener.PREFETCH_KEY_PREFIX + AccessioningMetric.PREFETCH_REFILLS.getName()));
+    }
+}
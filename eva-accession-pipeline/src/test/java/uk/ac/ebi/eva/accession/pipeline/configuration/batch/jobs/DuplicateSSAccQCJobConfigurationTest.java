@@ -134,6 +134,26 @@ public class DuplicateSSAccQCJobConfigurationTest {
         assertDuplicateSSAccFileContains(expectedSSAccs);
     }
 
+    @Test
+    public void duplicateSSAccQCTest_DuplicateBetweenSVEAndDbsnpSVE() throws IOException {
+        SubmittedVariantEntity ss1 = createSS("GCA_000000001.1", 60711, "study1", "hash" + 1, "chr1", 1L, 1L, 100L, "C", "T");
+        SubmittedVariantEntity ss2 = createSS("GCA_000000001.1", 60711, "study2", "hash" + 2, "chr1", 2L, 2L, 100L, "C", "T");
+        DbsnpSubmittedVariantEntity dbsnpSs2 = createDbsnpSS("GCA_000000001.1", 60711, "study3", "hash" + 3, "chr1", 2L, 2L, 100L, "C", "T");
+        DbsnpSubmittedVariantEntity dbsnpSs3 = createDbsnpSS("GCA_000000001.1", 60711, "study4", "hash" + 4, "chr1", 3L, 3L, 100L, "C", "T");
+        mongoTemplate.save(ss1, mongoTemplate.getCollectionName(SubmittedVariantEntity.class));
+        mongoTemplate.save(ss2, mongoTemplate.getCollectionName(SubmittedVariantEntity.class));
+        mongoTemplate.save(dbsnpSs2, mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class));
+        mongoTemplate.save(dbsnpSs3, mongoTemplate.getCollectionName(DbsnpSubmittedVariantEntity.class));
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchStep(DUPLICATE_SS_ACC_QC_STEP);
+        assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+
+        Set<Long> expectedSSAccs = new HashSet<>();
+        expectedSSAccs.add(2L);
+
+        assertDuplicateSSAccFileContains(expectedSSAccs);
+    }
+
     public void assertDuplicateSSAccFileIsEmpty() throws IOException {
         assertTrue(Files.size(Paths.get(duplicateSsAccFile)) == 0);
     }
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.pipeline.runner;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.test.JobRepositoryTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.core.runner.CommandLineRunnerUtils;
+import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
+import uk.ac.ebi.eva.accession.pipeline.parameters.InputParameters;
+import uk.ac.ebi.eva.accession.pipeline.test.BatchTestConfiguration;
+import uk.ac.ebi.eva.commons.batch.io.VcfReader;
+import uk.ac.ebi.eva.metrics.count.CountServiceParameters;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.SUBSNP_ACCESSION_JOB;
+import static uk.ac.ebi.eva.accession.pipeline.configuration.BeanNames.SUBSNP_ACCESSION_STEP;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.deleteTemporaryContigAndVariantFiles;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.getOriginalVcfContent;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.injectErrorIntoTempVcf;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.remediateTempVcfError;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.useOriginalVcfFile;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.useTempVcfFile;
+import static uk.ac.ebi.eva.accession.pipeline.runner.RunnerUtil.writeToTempVCFFile;
+
+/**
+ * Runs the accessioning job processing the variants in background threads, and checks that the report and the counts
+ * of the step are the same as when they are processed by the step itself, also when a failed job is resumed.
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = {BatchTestConfiguration.class})
+@TestPropertySource(value = "classpath:accession-pipeline-test.properties",
+                    properties = "parameters.processorThreads=4")
+public class PipelinedProcessingJobTest {
+
+    private static final int EXPECTED_VARIANTS = 22;
+
+    private static final String NON_VARIANT_ID = "TBGI000010";
+
+    private static final String URL_PATH_SAVE_COUNT = "/v1/bulk/count";
+
+    @Autowired
+    private InputParameters inputParameters;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private DataSource datasource;
+
+    @Autowired
+    private EvaAccessionJobLauncherCommandLineRunner runner;
+
+    @Autowired
+    private VcfReader vcfReader;
+
+    @Autowired
+    private CountServiceParameters countServiceParameters;
+
+    @Autowired
+    @Qualifier("COUNT_STATS_REST_TEMPLATE")
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @SpyBean
+    private SubmittedVariantAccessioningService accessioningServiceSpy;
+
+    private JobRepositoryTestUtils jobRepositoryTestUtils;
+
+    private static File tempVcfInputFile;
+
+    private static Path tempVcfOutputDir;
+
+    private static String originalVcfInputFilePath;
+
+    private static String originalVcfContent;
+
+    @BeforeClass
+    public static void initializeTempFile() throws Exception {
+        tempVcfInputFile = File.createTempFile("pipelinedProcessingJob", ".vcf.gz");
+        tempVcfOutputDir = Files.createTempDirectory("contigs_variants_dir");
+    }
+
+    @AfterClass
+    public static void deleteTempFile() {
+        tempVcfInputFile.delete();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        if (originalVcfContent == null) {
+            originalVcfInputFilePath = inputParameters.getVcf();
+            originalVcfContent = getOriginalVcfContent(originalVcfInputFilePath);
+        }
+        writeToTempVCFFile(originalVcfContent, tempVcfInputFile);
+        jobRepositoryTestUtils = new JobRepositoryTestUtils(jobRepository, datasource);
+        runner.setJobNames(SUBSNP_ACCESSION_JOB);
+        deleteTemporaryContigAndVariantFiles(inputParameters, tempVcfOutputDir);
+        useOriginalVcfFile(inputParameters, originalVcfInputFilePath, vcfReader);
+
+        MockRestServiceServer mockServer = MockRestServiceServer.createServer(restTemplate);
+        mockServer.expect(ExpectedCount.manyTimes(),
+                          requestTo(new URI(countServiceParameters.getUrl() + URL_PATH_SAVE_COUNT)))
+                  .andExpect(method(HttpMethod.POST))
+                  .andRespond(withStatus(HttpStatus.OK));
+
+        mongoTemplate.dropCollection(SubmittedVariantEntity.class);
+        // the accession generator is reused by the resumed job
+        doNothing().when(accessioningServiceSpy).shutDownAccessionGenerator();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jobRepositoryTestUtils.removeJobExecutions();
+        deleteTemporaryContigAndVariantFiles(inputParameters, tempVcfOutputDir);
+        mongoTemplate.dropCollection(SubmittedVariantEntity.class);
+    }
+
+    @Test
+    @DirtiesContext
+    public void reportIsTheSameAsWithOneThread() throws Exception {
+        runner.run();
+        assertEquals(EvaAccessionJobLauncherCommandLineRunner.EXIT_WITHOUT_ERRORS, runner.getExitCode());
+
+        StepExecution stepExecution = getLastStepExecution();
+        assertEquals(EXPECTED_VARIANTS, stepExecution.getWriteCount());
+        assertEquals(0, stepExecution.getFilterCount());
+        assertEquals(0, stepExecution.getProcessSkipCount());
+
+        assertEquals(EXPECTED_VARIANTS, mongoTemplate.count(new Query(), SubmittedVariantEntity.class));
+        assertEquals(getExpectedReportVariants(), getReportVariants());
+    }
+
+    @Test
+    @DirtiesContext
+    public void resumeFailedJobFromTheLastCheckpoint() throws Exception {
+        useTempVcfFile(inputParameters, tempVcfInputFile, vcfReader);
+        injectErrorIntoTempVcf(originalVcfContent.replace("76852", "76852jibberish"), tempVcfInputFile);
+        runner.run();
+        assertEquals(EvaAccessionJobLauncherCommandLineRunner.EXIT_WITH_ERRORS, runner.getExitCode());
+        JobInstance failedJobInstance = getLastStepExecution().getJobExecution().getJobInstance();
+        // the variants read ahead by the background threads after the first chunk are not written
+        assertEquals(inputParameters.getChunkSize(), getLastStepExecution().getWriteCount());
+
+        remediateTempVcfError(originalVcfContent, tempVcfInputFile);
+        runner.run();
+        assertEquals(EvaAccessionJobLauncherCommandLineRunner.EXIT_WITHOUT_ERRORS, runner.getExitCode());
+        StepExecution stepExecution = getLastStepExecution();
+        assertEquals(failedJobInstance.getInstanceId(),
+                     stepExecution.getJobExecution().getJobInstance().getInstanceId());
+        assertEquals(EXPECTED_VARIANTS - inputParameters.getChunkSize(), stepExecution.getWriteCount());
+
+        assertEquals(getExpectedReportVariants(), getReportVariants());
+    }
+
+    private StepExecution getLastStepExecution() throws Exception {
+        JobInstance jobInstance = CommandLineRunnerUtils.getLastJobExecution(SUBSNP_ACCESSION_JOB, jobExplorer,
+                                                                             inputParameters.toJobParameters())
+                                                        .getJobInstance();
+        return jobRepository.getLastStepExecution(jobInstance, SUBSNP_ACCESSION_STEP);
+    }
+
+    /**
+     * With one thread, the report has the variants of the input VCF in the same order, except the non-variant
+     */
+    private List<String> getExpectedReportVariants() {
+        return getVariantColumns(Arrays.stream(originalVcfContent.split(System.lineSeparator()))
+                                       .filter(line -> !line.contains(NON_VARIANT_ID)));
+    }
+
+    private List<String> getReportVariants() throws Exception {
+        try (Stream<String> lines = Files.lines(Paths.get(inputParameters.getOutputVcf()))) {
+            return getVariantColumns(lines);
+        }
+    }
+
+    /**
+     * @return the chromosome, position, reference and alternate of each variant line, leaving out the accessions
+     */
+    private List<String> getVariantColumns(Stream<String> vcfLines) {
+        return vcfLines.filter(line -> !line.startsWith("#") && !line.isEmpty())
+                       .map(line -> line.split("\t"))
+                       .map(columns -> String.join("\t", columns[0], columns[1], columns[3], columns[4]))
+                       .collect(Collectors.toList());
+    }
+}
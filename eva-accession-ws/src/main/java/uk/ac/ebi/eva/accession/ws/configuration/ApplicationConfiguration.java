@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
@@ -33,26 +34,43 @@ import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 import uk.ac.ebi.ampt2d.commons.accession.autoconfigure.EnableBasicRestControllerAdvice;
+import uk.ac.ebi.ampt2d.commons.accession.persistence.mongodb.document.AccessionedDocument;
 import uk.ac.ebi.ampt2d.commons.accession.rest.controllers.BasicRestController;
 
+import uk.ac.ebi.eva.accession.core.concurrent.DaemonThreadFactory;
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
 import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
 import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.core.model.SubmittedVariant;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.configuration.human.HumanClusteredVariantAccessioningConfiguration;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.ClusteredVariantAccessioningConfiguration;
 import uk.ac.ebi.eva.accession.core.configuration.nonhuman.SubmittedVariantAccessioningConfiguration;
+import uk.ac.ebi.eva.accession.core.service.history.ClusteredVariantHistoryService;
+import uk.ac.ebi.eva.accession.core.service.region.MongoRegionSource;
+import uk.ac.ebi.eva.accession.core.service.region.VariantRegionService;
 import uk.ac.ebi.eva.accession.ws.response.NonRedirectingClientHttpRequestFactory;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
+import static uk.ac.ebi.eva.accession.core.service.region.MongoRegionSource.CLUSTERED_VARIANT_ASSEMBLY_FIELD;
+import static uk.ac.ebi.eva.accession.core.service.region.MongoRegionSource.SUBMITTED_VARIANT_ASSEMBLY_FIELD;
+
 @Configuration
 @EnableBasicRestControllerAdvice
 @Import({ClusteredVariantAccessioningConfiguration.class, SubmittedVariantAccessioningConfiguration.class,
@@ -81,6 +99,61 @@ public class ApplicationConfiguration {
         return new BasicRestController<>(service, SubmittedVariant::new);
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService historyQueryExecutor(@Value("${history.query.threads:8}") int threads) {
+        return Executors.newFixedThreadPool(threads, DaemonThreadFactory.numbered("history-query-"));
+    }
+
+    @Bean
+    public ClusteredVariantHistoryService clusteredVariantHistoryLookupService(
+            MongoTemplate mongoTemplate, @Qualifier("humanMongoTemplate") MongoTemplate humanMongoTemplate,
+            ContigAliasService contigAliasService, @Qualifier("historyQueryExecutor") ExecutorService executor) {
+        return new ClusteredVariantHistoryService(mongoTemplate, humanMongoTemplate, contigAliasService, executor);
+    }
+
+    /**
+     * The order of the sources must not change, as the region page tokens refer to them by index.
+     */
+    @Bean
+    public VariantRegionService<IClusteredVariant> clusteredVariantRegionService(
+            MongoTemplate mongoTemplate, @Qualifier("humanMongoTemplate") MongoTemplate humanMongoTemplate,
+            ContigAliasService contigAliasService) {
+        return new VariantRegionService<>(
+                Arrays.asList(
+                        regionSource(mongoTemplate, ClusteredVariantEntity.class,
+                                     CLUSTERED_VARIANT_ASSEMBLY_FIELD),
+                        regionSource(mongoTemplate, DbsnpClusteredVariantEntity.class,
+                                     CLUSTERED_VARIANT_ASSEMBLY_FIELD),
+                        regionSource(humanMongoTemplate, DbsnpClusteredVariantEntity.class,
+                                     CLUSTERED_VARIANT_ASSEMBLY_FIELD)),
+                IClusteredVariant::getStart, contigAliasService::createClusteredVariantAccessionWrapperWithNewContig,
+                contigAliasService);
+    }
+
+    /**
+     * The order of the sources must not change, as the region page tokens refer to them by index.
+     */
+    @Bean
+    public VariantRegionService<ISubmittedVariant> submittedVariantRegionService(
+            MongoTemplate mongoTemplate, ContigAliasService contigAliasService) {
+        return new VariantRegionService<>(
+                Arrays.asList(
+                        regionSource(mongoTemplate, SubmittedVariantEntity.class,
+                                     SUBMITTED_VARIANT_ASSEMBLY_FIELD),
+                        regionSource(mongoTemplate, DbsnpSubmittedVariantEntity.class,
+                                     SUBMITTED_VARIANT_ASSEMBLY_FIELD)),
+                ISubmittedVariant::getStart, contigAliasService::createSubmittedVariantAccessionWrapperWithNewContig,
+                contigAliasService);
+    }
+
+    private <MODEL> MongoRegionSource<MODEL> regionSource(
+            MongoTemplate mongoTemplate, Class<? extends AccessionedDocument<MODEL, Long>> entityClass,
+            String assemblyField) {
+        MongoRegionSource<MODEL> regionSource = new MongoRegionSource<>(mongoTemplate, entityClass, assemblyField);
+        regionSource.ensureIndex();
+        return regionSource;
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurerAdapter() {
@@ -0,0 +1,56 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.ws.configuration;
+
+import com.mongodb.MongoClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import uk.ac.ebi.eva.accession.ws.metrics.MongoCommandMetricsListener;
+import uk.ac.ebi.eva.accession.ws.metrics.ServiceMetricsAspect;
+
+/**
+ * Metrics exported through the actuator "prometheus" endpoint, on top of the "http.server.requests" timers that
+ * Spring Boot records for every controller method.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry meterRegistry) {
+        return new ServiceMetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    public MongoCommandMetricsListener mongoCommandMetricsListener(
+            MeterRegistry meterRegistry, @Value("${human.mongodb.database}") String humanDatabase) {
+        return new MongoCommandMetricsListener(meterRegistry, humanDatabase);
+    }
+
+    /**
+     * Both the human and non-human Mongo clients are created by
+     * {@link uk.ac.ebi.eva.accession.core.configuration.MongoClientCreator} on top of these options, so the listener
+     * receives the commands sent to either database.
+     */
+    @Bean
+    public MongoClientOptions mongoClientOptions(MongoCommandMetricsListener mongoCommandMetricsListener) {
+        return MongoClientOptions.builder().addCommandListener(mongoCommandMetricsListener).build();
+    }
+}
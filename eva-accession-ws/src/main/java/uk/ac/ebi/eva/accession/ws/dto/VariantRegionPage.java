@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.ac.ebi.eva.accession.ws.dto;
+
+import uk.ac.ebi.ampt2d.commons.accession.rest.dto.AccessionResponseDTO;
+
+import java.util.List;
+
+public class VariantRegionPage<DTO, MODEL, HASH, ACCESSION> {
+
+    private List<AccessionResponseDTO<DTO, MODEL, HASH, ACCESSION>> variants;
+
+    private String nextPageToken;
+
+    public VariantRegionPage() {
+
+    }
+
+    public VariantRegionPage(List<AccessionResponseDTO<DTO, MODEL, HASH, ACCESSION>> variants, String nextPageToken) {
+        this.variants = variants;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<AccessionResponseDTO<DTO, MODEL, HASH, ACCESSION>> getVariants() {
+        return variants;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setVariants(List<AccessionResponseDTO<DTO, MODEL, HASH, ACCESSION>> variants) {
+        this.variants = variants;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.ws.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time the Mongo driver spends on each command, tagged by command name, backend and outcome.
+ *
+ * The same listener is registered in the human and non-human Mongo clients, so the backend is worked out from the
+ * database the command was sent to. Only the started event carries the database name, so it is kept by request ID
+ * until the command finishes.
+ */
+public class MongoCommandMetricsListener implements CommandListener {
+
+    public static final String MONGO_COMMANDS_METRIC = "eva.accession.mongo.commands";
+
+    public static final String COMMAND_TAG = "command";
+
+    public static final String SUCCESS = "SUCCESS";
+
+    public static final String FAILURE = "FAILURE";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String humanDatabase;
+
+    private final Map<Integer, String> backendByRequestId;
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry, String humanDatabase) {
+        this.meterRegistry = meterRegistry;
+        this.humanDatabase = humanDatabase;
+        this.backendByRequestId = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String backend = event.getDatabaseName().equals(humanDatabase) ? ServiceMetricsAspect.HUMAN_BACKEND
+                                                                        : ServiceMetricsAspect.NON_HUMAN_BACKEND;
+        backendByRequestId.put(event.getRequestId(), backend);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), SUCCESS, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), FAILURE, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, String commandName, String outcome, long elapsedNanos) {
+        String backend = backendByRequestId.remove(requestId);
+        if (backend == null) {
+            backend = ServiceMetricsAspect.NON_HUMAN_BACKEND;
+        }
+        Timer.builder(MONGO_COMMANDS_METRIC)
+             .tag(COMMAND_TAG, commandName)
+             .tag(ServiceMetricsAspect.BACKEND_TAG, backend)
+             .tag(ServiceMetricsAspect.OUTCOME_TAG, outcome)
+             .register(meterRegistry)
+             .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.ws.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionDeprecatedException;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionDoesNotExistException;
+import uk.ac.ebi.ampt2d.commons.accession.core.exceptions.AccessionMergedException;
+
+import uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService;
+import uk.ac.ebi.eva.accession.core.service.human.dbsnp.HumanDbsnpClusteredVariantAccessioningService;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Records a timer for every call to the accessioning services and the contig alias service done by the controllers.
+ *
+ * The timers are tagged with the service and method called, the backend that served the call (human or non-human
+ * databases, or the contig alias service) and the outcome of the call, so the latency of a request can be attributed
+ * to the component that caused it. The latency of the whole request is already recorded by Spring Boot in the
+ * "http.server.requests" timer.
+ */
+@Aspect
+public class ServiceMetricsAspect {
+
+    public static final String SERVICE_CALLS_METRIC = "eva.accession.service.calls";
+
+    public static final String SERVICE_TAG = "service";
+
+    public static final String METHOD_TAG = "method";
+
+    public static final String BACKEND_TAG = "backend";
+
+    public static final String OUTCOME_TAG = "outcome";
+
+    public static final String HUMAN_BACKEND = "human";
+
+    public static final String NON_HUMAN_BACKEND = "nonhuman";
+
+    public static final String CONTIG_ALIAS_BACKEND = "contig-alias";
+
+    public static final String SUCCESS = "SUCCESS";
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    public static final String MERGED = "MERGED";
+
+    public static final String DEPRECATED = "DEPRECATED";
+
+    public static final String ERROR = "ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Pointcut("within(uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService)"
+            + " || within(uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService)"
+            + " || within(uk.ac.ebi.eva.accession.core.service.human.dbsnp.HumanDbsnpClusteredVariantAccessioningService)")
+    public void accessioningServices() {
+    }
+
+    @Pointcut("execution(public * getAllByAccession(..)) || execution(public * get*ByIdFields(..))"
+            + " || execution(public * getByClusteredVariantAccessionIn(..))")
+    public void accessioningServiceQueries() {
+    }
+
+    @Pointcut("execution(public * uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantOperationService"
+            + ".getAllOperations(..))"
+            + " || execution(public * uk.ac.ebi.eva.accession.core.service.history.ClusteredVariantHistoryService"
+            + ".getHistory(..))")
+    public void operationServiceQueries() {
+    }
+
+    @Pointcut("execution(public * uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService.translateContig*(..))"
+            + " || execution(public * uk.ac.ebi.eva.accession.core.contigalias.ContigAliasService"
+            + ".get*WithTranslatedContig(..))")
+    public void contigAliasServiceCalls() {
+    }
+
+    @Around("(accessioningServices() && accessioningServiceQueries()) || operationServiceQueries()"
+            + " || contigAliasServiceCalls()")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            outcome = getOutcome(throwable);
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_CALLS_METRIC)
+                             .tag(SERVICE_TAG, joinPoint.getSignature().getDeclaringType().getSimpleName())
+                             .tag(METHOD_TAG, joinPoint.getSignature().getName())
+                             .tag(BACKEND_TAG, getBackend(joinPoint.getTarget()))
+                             .tag(OUTCOME_TAG, outcome)
+                             .register(meterRegistry));
+        }
+    }
+
+    static String getBackend(Object service) {
+        if (service instanceof ContigAliasService) {
+            return CONTIG_ALIAS_BACKEND;
+        } else if (service instanceof HumanDbsnpClusteredVariantAccessioningService) {
+            return HUMAN_BACKEND;
+        } else {
+            return NON_HUMAN_BACKEND;
+        }
+    }
+
+    /**
+     * The services report "not found", "merged" and "deprecated" through exceptions, which are expected responses
+     * rather than errors, so they get their own outcome.
+     */
+    static String getOutcome(Throwable throwable) {
+        if (throwable instanceof AccessionDoesNotExistException || throwable instanceof NoSuchElementException) {
+            return NOT_FOUND;
+        } else if (throwable instanceof AccessionMergedException) {
+            return MERGED;
+        } else if (throwable instanceof AccessionDeprecatedException) {
+            return DEPRECATED;
+        } else {
+            return ERROR;
+        }
+    }
+}
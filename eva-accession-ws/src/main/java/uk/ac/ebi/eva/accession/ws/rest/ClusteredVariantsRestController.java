@@ -42,11 +42,15 @@ import uk.ac.ebi.eva.accession.core.model.ClusteredVariant;
 import uk.ac.ebi.eva.accession.core.model.IClusteredVariant;
 import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.core.model.SubmittedVariant;
+import uk.ac.ebi.eva.accession.core.service.history.ClusteredVariantHistory;
+import uk.ac.ebi.eva.accession.core.service.history.ClusteredVariantHistoryService;
 import uk.ac.ebi.eva.accession.core.service.human.dbsnp.HumanDbsnpClusteredVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantOperationService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
+import uk.ac.ebi.eva.accession.core.service.region.RegionPage;
+import uk.ac.ebi.eva.accession.core.service.region.VariantRegionService;
 import uk.ac.ebi.eva.accession.ws.dto.VariantHistory;
+import uk.ac.ebi.eva.accession.ws.dto.VariantRegionPage;
 import uk.ac.ebi.eva.accession.ws.service.ClusteredVariantsBeaconService;
 import uk.ac.ebi.eva.commons.beacon.models.BeaconAlleleResponse;
 import uk.ac.ebi.eva.commons.core.models.VariantType;
@@ -72,20 +76,24 @@ public class ClusteredVariantsRestController {
 
     private ClusteredVariantAccessioningService nonHumanActiveService;
 
-    private ClusteredVariantOperationService clusteredVariantOperationService;
+    private ClusteredVariantHistoryService historyService;
+
+    private VariantRegionService<IClusteredVariant> regionService;
 
     public ClusteredVariantsRestController(
             SubmittedVariantAccessioningService submittedVariantsService,
             ClusteredVariantsBeaconService beaconService,
             @Qualifier("humanService") HumanDbsnpClusteredVariantAccessioningService humanService,
             @Qualifier("nonhumanActiveService") ClusteredVariantAccessioningService nonHumanActiveService,
-            ClusteredVariantOperationService clusterdVariantOperationService
+            ClusteredVariantHistoryService historyService,
+            VariantRegionService<IClusteredVariant> regionService
     ) {
         this.submittedVariantsService = submittedVariantsService;
         this.beaconService = beaconService;
         this.humanService = humanService;
         this.nonHumanActiveService = nonHumanActiveService;
-        this.clusteredVariantOperationService = clusterdVariantOperationService;
+        this.historyService = historyService;
+        this.regionService = regionService;
     }
 
     /**
@@ -130,29 +138,24 @@ public class ClusteredVariantsRestController {
             @PathVariable @ApiParam(value = "Numerical identifier of a clustered variant, e.g.: 43678406",
                     required = true) Long identifier,
             @RequestParam(required = false) @ApiParam(value = "Contig naming convention desired, default is INSDC")
-                    ContigNamingConvention contigNamingConvention) throws AccessionDoesNotExistException {
-        List<AccessionResponseDTO<ClusteredVariant, IClusteredVariant, String, Long>> allVariants =
-                new ArrayList<>();
+                    ContigNamingConvention contigNamingConvention,
+            @RequestParam(required = false, defaultValue = "false")
+            @ApiParam(value = "Also return the history of the clustered variants (RS) this one was merged into, "
+                    + "following the whole merge chain") boolean resolveMergeChain)
+            throws AccessionDoesNotExistException {
+        ClusteredVariantHistory history;
         try {
-            allVariants.addAll(getNonHumanClusteredVariants(identifier, contigNamingConvention));
-            allVariants.addAll(humanService.getAllByAccession(identifier, contigNamingConvention).stream().map(this::toDTO)
-                                           .collect(Collectors.toList()));
+            history = historyService.getHistory(identifier, contigNamingConvention, resolveMergeChain);
         } catch (NoSuchElementException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
-        } catch (AccessionDeprecatedException e) {
-            allVariants.addAll(getDeprecatedClusteredVariant(identifier));
-        }catch (AccessionMergedException e){
-            // if accession has been merged into several other accessions, we are not getting those accessions
-            // we will rely on operations to provide info about those rs ids in which the given rs has been merged
         }
-
-        List<HistoryEventDTO<Long, ClusteredVariant>> allOperations =
-                clusteredVariantOperationService.getAllOperations(identifier, contigNamingConvention)
-                .stream().map(this::toHistoryEventDTO).collect(Collectors.toList());
-
-        if (allVariants.isEmpty() && allOperations.isEmpty()) {
+        if (history.isEmpty()) {
             throw new AccessionDoesNotExistException(identifier);
         }
+        List<AccessionResponseDTO<ClusteredVariant, IClusteredVariant, String, Long>> allVariants =
+                history.getVariants().stream().map(this::toDTO).collect(Collectors.toList());
+        List<HistoryEventDTO<Long, ClusteredVariant>> allOperations =
+                history.getOperations().stream().map(this::toHistoryEventDTO).collect(Collectors.toList());
         return ResponseEntity.ok(new VariantHistory<>(allVariants, allOperations));
     }
 
@@ -249,6 +252,38 @@ public class ClusteredVariantsRestController {
         }
     }
 
+    @ApiOperation(value = "Find the clustered variants (RS) in a genomic region", notes = "This endpoint returns the "
+            + "clustered variants (RS) in a region of a chromosome, from both human and non-human data, sorted by start"
+            + " position. Results are paginated: if there are more variants in the region, the response includes a "
+            + "nextPageToken that has to be provided in the next request to get the next page.")
+    @GetMapping(value = "/region", produces = "application/json")
+    public ResponseEntity<VariantRegionPage<ClusteredVariant, IClusteredVariant, String, Long>> getByRegion(
+            @RequestParam(name = "assemblyId") @ApiParam(value = "assembly accession in GCA format, e.g.: GCA_000002305.1")
+                    String assembly,
+            @RequestParam(name = "referenceName") @ApiParam(value = "chromosome name or accession, e.g.: CM000392.2")
+                    String chromosome,
+            @RequestParam(name = "start") @ApiParam(value = "first position of the region, e.g.: 66275000") long start,
+            @RequestParam(name = "end") @ApiParam(value = "last position of the region, e.g.: 66276000") long end,
+            @RequestParam(name = "pageSize", required = false, defaultValue = "100")
+            @ApiParam(value = "maximum number of variants to return, up to " + VariantRegionService.MAX_PAGE_SIZE)
+                    int pageSize,
+            @RequestParam(name = "pageToken", required = false)
+            @ApiParam(value = "nextPageToken returned in the previous page") String pageToken,
+            @RequestParam(required = false) @ApiParam(value = "Chromosome naming convention used, default is INSDC")
+                    ContigNamingConvention contigNamingConvention) {
+        try {
+            RegionPage<IClusteredVariant> page = regionService.getPage(assembly, chromosome, start, end, pageToken,
+                                                                       pageSize, contigNamingConvention);
+            return ResponseEntity.ok(new VariantRegionPage<>(
+                    page.getVariants().stream().map(this::toDTO).collect(Collectors.toList()),
+                    page.getNextPageToken()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
     private AccessionResponseDTO<ClusteredVariant, IClusteredVariant, String, Long> toDTO(
             AccessionWrapper<IClusteredVariant, String, Long> clusteredVariantWrapper) {
         return new AccessionResponseDTO<>(clusteredVariantWrapper, ClusteredVariant::new);
@@ -37,9 +37,12 @@ import uk.ac.ebi.ampt2d.commons.accession.rest.dto.AccessionResponseDTO;
 import uk.ac.ebi.eva.accession.core.model.ISubmittedVariant;
 import uk.ac.ebi.eva.accession.core.model.SubmittedVariant;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
+import uk.ac.ebi.eva.accession.core.service.region.RegionPage;
+import uk.ac.ebi.eva.accession.core.service.region.VariantRegionService;
 import uk.ac.ebi.eva.accession.ws.dto.BeaconAlleleRequest;
 import uk.ac.ebi.eva.accession.ws.dto.BeaconAlleleResponse;
 import uk.ac.ebi.eva.accession.ws.dto.BeaconError;
+import uk.ac.ebi.eva.accession.ws.dto.VariantRegionPage;
 import uk.ac.ebi.eva.accession.ws.service.SubmittedVariantsBeaconService;
 import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
 
@@ -59,10 +62,14 @@ public class SubmittedVariantsRestController {
 
     private SubmittedVariantAccessioningService service;
 
+    private VariantRegionService<ISubmittedVariant> regionService;
+
     public SubmittedVariantsRestController(
-            SubmittedVariantAccessioningService service, SubmittedVariantsBeaconService submittedVariantsBeaconService) {
+            SubmittedVariantAccessioningService service, SubmittedVariantsBeaconService submittedVariantsBeaconService,
+            VariantRegionService<ISubmittedVariant> regionService) {
         this.service = service;
         this.submittedVariantsBeaconService = submittedVariantsBeaconService;
+        this.regionService = regionService;
     }
 
     /**
@@ -178,4 +185,36 @@ public class SubmittedVariantsRestController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ArrayList<>());
         }
     }
+
+    @ApiOperation(value = "Find the submitted variants (SS) in a genomic region", notes = "This endpoint returns the "
+            + "submitted variants (SS) in a region of a chromosome, sorted by start position. Results are paginated: if "
+            + "there are more variants in the region, the response includes a nextPageToken that has to be provided in "
+            + "the next request to get the next page.")
+    @GetMapping(value = "/region", produces = "application/json")
+    public ResponseEntity<VariantRegionPage<SubmittedVariant, ISubmittedVariant, String, Long>> getByRegion(
+            @RequestParam(name="assemblyId") @ApiParam(value = "assembly accession in GCA format, e.g.: GCA_000002305.1")
+                    String assembly,
+            @RequestParam(name="referenceName") @ApiParam(value = "chromosome name or accession, e.g.: CM000392.2")
+                    String chromosome,
+            @RequestParam(name="start") @ApiParam(value = "first position of the region, e.g.: 12856000") long start,
+            @RequestParam(name="end") @ApiParam(value = "last position of the region, e.g.: 12857000") long end,
+            @RequestParam(name="pageSize", required = false, defaultValue = "100")
+            @ApiParam(value = "maximum number of variants to return, up to " + VariantRegionService.MAX_PAGE_SIZE)
+                    int pageSize,
+            @RequestParam(name="pageToken", required = false)
+            @ApiParam(value = "nextPageToken returned in the previous page") String pageToken,
+            @RequestParam(required = false) @ApiParam(value = "Chromosome naming convention used, default is INSDC")
+                    ContigNamingConvention contigNamingConvention) {
+        try {
+            RegionPage<ISubmittedVariant> page = regionService.getPage(assembly, chromosome, start, end, pageToken,
+                                                                       pageSize, contigNamingConvention);
+            return ResponseEntity.ok(new VariantRegionPage<>(
+                    page.getVariants().stream().map(this::toDTO).collect(Collectors.toList()),
+                    page.getNextPageToken()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
 }
@@ -59,18 +59,21 @@ import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantInactiveEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpClusteredVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.model.dbsnp.DbsnpSubmittedVariantEntity;
+import uk.ac.ebi.eva.accession.core.model.eva.ClusteredVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpClusteredVariantAccessioningRepository;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.dbsnp.DbsnpSubmittedVariantAccessioningRepository;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.eva.ClusteredVariantAccessioningRepository;
 import uk.ac.ebi.eva.accession.core.repository.nonhuman.eva.SubmittedVariantAccessioningRepository;
+import uk.ac.ebi.eva.accession.core.service.history.ClusteredVariantHistoryService;
 import uk.ac.ebi.eva.accession.core.service.human.dbsnp.HumanDbsnpClusteredVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantAccessioningService;
-import uk.ac.ebi.eva.accession.core.service.nonhuman.ClusteredVariantOperationService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.SubmittedVariantAccessioningService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.dbsnp.DbsnpClusteredVariantMonotonicAccessioningService;
+import uk.ac.ebi.eva.accession.core.service.region.VariantRegionService;
 import uk.ac.ebi.eva.accession.core.summary.ClusteredVariantSummaryFunction;
 import uk.ac.ebi.eva.accession.core.summary.SubmittedVariantSummaryFunction;
+import uk.ac.ebi.eva.accession.ws.dto.VariantRegionPage;
 import uk.ac.ebi.eva.accession.ws.rest.ClusteredVariantsRestController;
 import uk.ac.ebi.eva.accession.ws.service.ClusteredVariantsBeaconService;
 import uk.ac.ebi.eva.accession.ws.test.NoContigTranslationArgumentMatcher;
@@ -167,6 +170,9 @@ public class ClusteredVariantsRestControllerTest {
     @Qualifier("nonhumanActiveService")
     private ClusteredVariantAccessioningService clusteredService;
 
+    @Autowired
+    private VariantRegionService<IClusteredVariant> clusteredVariantRegionService;
+
     @Autowired
     private TestRestTemplate testRestTemplate;
 
@@ -206,7 +212,7 @@ public class ClusteredVariantsRestControllerTest {
     private DbsnpClusteredVariantEntity clusteredHumanVariantEntity3;
 
     @Mock
-    private ClusteredVariantOperationService clusteredVariantOperationService;
+    private ClusteredVariantHistoryService clusteredVariantHistoryService;
 
     @Mock
     private SubmittedVariantAccessioningService mockService;
@@ -239,7 +245,7 @@ public class ClusteredVariantsRestControllerTest {
         Mockito.doThrow(new RuntimeException("Some unexpected error")).when(mockHumanService)
                .getByIdFields("GCA_ERROR", "CHROM1", 123, VariantType.SNV,  ContigNamingConvention.INSDC);
         mockController = new ClusteredVariantsRestController(mockService, mockBeaconService, mockHumanService,
-                clusteredService, clusteredVariantOperationService
+                clusteredService, clusteredVariantHistoryService, clusteredVariantRegionService
         );
     }
 
@@ -305,6 +311,9 @@ public class ClusteredVariantsRestControllerTest {
         when(contigAliasService.getClusteredVariantsWithTranslatedContig(any(), any()))
                 .thenCallRealMethod();
 
+        when(contigAliasService.translateContigsFromInsdc(any(), any()))
+                .thenCallRealMethod();
+
         when(contigAliasService.getSubmittedVariantsWithTranslatedContig(any(), any()))
                 .thenCallRealMethod();
     }
@@ -400,6 +409,7 @@ public class ClusteredVariantsRestControllerTest {
 
     @After
     public void tearDown() {
+        clusteredVariantAccessioningRepository.deleteAll();
         dbsnpRepository.deleteAll();
         dbsnpSubmittedVariantRepository.deleteAll();
         submittedVariantRepository.deleteAll();
@@ -1117,4 +1127,73 @@ public class ClusteredVariantsRestControllerTest {
                      (int) beaconAlleleResponse.getError().getErrorCode());
         assertEmbeddedAlleleRequest(beaconAlleleResponse, assemblyId, start, VariantType.SNV);
     }
+
+    @Test
+    public void testGetByRegionRestApi() {
+        insertVariantsInRegion();
+
+        List<Long> accessions = new ArrayList<>();
+        String pageToken = null;
+        do {
+            String getRegionUrl = URL + "region?assemblyId=ASMACC02&referenceName=CHROM2&start=100&end=300&pageSize=2"
+                    + (pageToken == null ? "" : "&pageToken=" + pageToken);
+            ResponseEntity<VariantRegionPage<ClusteredVariant, IClusteredVariant, String, Long>> response =
+                    testRestTemplate.exchange(getRegionUrl, HttpMethod.GET, null, new ClusteredVariantRegionPageType());
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getBody().getVariants().size() <= 2);
+            response.getBody().getVariants().stream().map(AccessionResponseDTO::getAccession).forEach(accessions::add);
+            pageToken = response.getBody().getNextPageToken();
+        } while (pageToken != null);
+
+        // sorted by start, then EVA, dbSNP and human, then by hash
+        assertEquals(Arrays.asList(9002L, 9001L, 9101L, 9201L, 9102L), accessions);
+    }
+
+    @Test
+    public void testGetByRegionController_withContigTranslation() {
+        insertVariantsInRegion();
+
+        ResponseEntity<VariantRegionPage<ClusteredVariant, IClusteredVariant, String, Long>> response =
+                controller.getByRegion("ASMACC02", "CHROM2" + ENA_CONTIG_SUFFIX, 100, 300, 10, null,
+                                       ContigNamingConvention.ENA_SEQUENCE_NAME);
+
+        List<AccessionResponseDTO<ClusteredVariant, IClusteredVariant, String, Long>> variants =
+                response.getBody().getVariants();
+        assertEquals(5, variants.size());
+        assertTrue(variants.stream().allMatch(dto -> dto.getData().getContig().equals("CHROM2" + ENA_CONTIG_SUFFIX)));
+        assertNull(response.getBody().getNextPageToken());
+    }
+
+    @Test
+    public void testGetByRegionWithInvalidRegion() {
+        String getRegionUrl = URL + "region?assemblyId=ASMACC02&referenceName=CHROM2&start=300&end=100";
+        ResponseEntity<String> response = testRestTemplate.exchange(getRegionUrl, HttpMethod.GET, null, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private void insertVariantsInRegion() {
+        mongoTemplate.insert(Arrays.asList(createEvaRegionVariant(9001L, "hashB", 100),
+                                           createEvaRegionVariant(9002L, "hashA", 100),
+                                           createEvaRegionVariant(9003L, "hashE", 1000)),
+                             ClusteredVariantEntity.class);
+        mongoTemplate.insert(Arrays.asList(createDbsnpRegionVariant(9101L, "hashC", 100),
+                                           createDbsnpRegionVariant(9102L, "hashF", 300)),
+                             DbsnpClusteredVariantEntity.class);
+        humanMongoTemplate.insert(Collections.singletonList(createDbsnpRegionVariant(9201L, "hashD", 100)),
+                                  DbsnpClusteredVariantEntity.class);
+    }
+
+    private ClusteredVariantEntity createEvaRegionVariant(Long accession, String hash, long start) {
+        return new ClusteredVariantEntity(accession, hash, "ASMACC02", 1102, "CHROM2", start, VariantType.SNV, false,
+                                          null, VERSION_1);
+    }
+
+    private DbsnpClusteredVariantEntity createDbsnpRegionVariant(Long accession, String hash, long start) {
+        return new DbsnpClusteredVariantEntity(accession, hash, "ASMACC02", 1102, "CHROM2", start, VariantType.SNV,
+                                               false, null, VERSION_1);
+    }
+
+    private static class ClusteredVariantRegionPageType extends ParameterizedTypeReference<
+            VariantRegionPage<ClusteredVariant, IClusteredVariant, String, Long>> {
+    }
 }
@@ -59,14 +59,17 @@ import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantEntity;
 import uk.ac.ebi.eva.accession.core.model.eva.SubmittedVariantOperationEntity;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.dbsnp.DbsnpSubmittedVariantInactiveService;
 import uk.ac.ebi.eva.accession.core.service.nonhuman.dbsnp.DbsnpSubmittedVariantMonotonicAccessioningService;
+import uk.ac.ebi.eva.accession.core.service.region.VariantRegionService;
 import uk.ac.ebi.eva.accession.ws.dto.BeaconAlleleRequest;
 import uk.ac.ebi.eva.accession.ws.dto.BeaconAlleleResponse;
+import uk.ac.ebi.eva.accession.ws.dto.VariantRegionPage;
 import uk.ac.ebi.eva.accession.ws.rest.SubmittedVariantsRestController;
 import uk.ac.ebi.eva.accession.ws.service.SubmittedVariantsBeaconService;
 import uk.ac.ebi.eva.accession.ws.test.NoContigTranslationArgumentMatcher;
 import uk.ac.ebi.eva.commons.core.models.contigalias.ContigNamingConvention;
 
 import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -76,6 +79,7 @@ import java.util.stream.Collectors;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -116,6 +120,9 @@ public class SubmittedVariantsRestControllerTest {
 
     private SubmittedVariantsRestController mockController;
 
+    @Autowired
+    private VariantRegionService<ISubmittedVariant> submittedVariantRegionService;
+
     @Autowired
     private TestRestTemplate testRestTemplate;
 
@@ -157,7 +164,8 @@ public class SubmittedVariantsRestControllerTest {
         Mockito.doThrow(new RuntimeException("Some unexpected error")).when(mockSubmittedVariantsBeaconService).queryBeacon(null, "alt", "ref",
                                                                                                                             "CHROM1", 1, "ref",
                                                                                                                             ContigNamingConvention.INSDC, false);
-        mockController = new SubmittedVariantsRestController(mockService, mockSubmittedVariantsBeaconService);
+        mockController = new SubmittedVariantsRestController(mockService, mockSubmittedVariantsBeaconService,
+                                                             submittedVariantRegionService);
 
         setUpContigAliasMock();
     }
@@ -645,4 +653,70 @@ public class SubmittedVariantsRestControllerTest {
         // then
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
+
+    @Test
+    public void testGetByRegionRestTemplate() {
+        insertVariantsInRegion();
+
+        List<Long> accessions = new ArrayList<>();
+        String pageToken = null;
+        do {
+            String getRegionUrl = URL + "region?assemblyId=ASMACC03&referenceName=CHROM3&start=100&end=300&pageSize=2"
+                    + (pageToken == null ? "" : "&pageToken=" + pageToken);
+            ResponseEntity<VariantRegionPage<SubmittedVariant, ISubmittedVariant, String, Long>> response =
+                    testRestTemplate.exchange(getRegionUrl, HttpMethod.GET, null, new SubmittedVariantRegionPageType());
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getBody().getVariants().size() <= 2);
+            response.getBody().getVariants().stream().map(AccessionResponseDTO::getAccession).forEach(accessions::add);
+            pageToken = response.getBody().getNextPageToken();
+        } while (pageToken != null);
+
+        // sorted by start, then EVA before dbSNP, then by hash
+        assertEquals(Arrays.asList(9003L, 9001L, 9002L, 9101L, 9004L, 9102L), accessions);
+    }
+
+    @Test
+    public void testGetByRegionController_withContigTranslation() {
+        insertVariantsInRegion();
+
+        ResponseEntity<VariantRegionPage<SubmittedVariant, ISubmittedVariant, String, Long>> response =
+                controller.getByRegion("ASMACC03", "CHROM3" + ENA_CONTIG_SUFFIX, 100, 300, 10, null,
+                                       ContigNamingConvention.ENA_SEQUENCE_NAME);
+
+        assertEquals(6, response.getBody().getVariants().size());
+        assertUsesEnaSequenceName(response.getBody().getVariants());
+        assertNull(response.getBody().getNextPageToken());
+    }
+
+    @Test
+    public void testGetByRegionWithInvalidPageToken() {
+        String getRegionUrl = URL + "region?assemblyId=ASMACC03&referenceName=CHROM3&start=100&end=300"
+                + "&pageToken=invalid";
+        ResponseEntity<String> response = testRestTemplate.exchange(getRegionUrl, HttpMethod.GET, null, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private void insertVariantsInRegion() {
+        mongoTemplate.insert(Arrays.asList(createRegionVariant(9001L, "hashB", 100),
+                                           createRegionVariant(9002L, "hashC", 100),
+                                           createRegionVariant(9003L, "hashA", 100),
+                                           createRegionVariant(9004L, "hashD", 200),
+                                           createRegionVariant(9005L, "hashE", 1000)),
+                             SubmittedVariantEntity.class);
+        mongoTemplate.insert(Arrays.asList(
+                new DbsnpSubmittedVariantEntity(9101L, "hashF", "ASMACC03", 1103, "PROJACC04", "CHROM3", 100, "A",
+                                                "T", null, false, false, false, false, 1),
+                new DbsnpSubmittedVariantEntity(9102L, "hashG", "ASMACC03", 1103, "PROJACC04", "CHROM3", 300, "A",
+                                                "T", null, false, false, false, false, 1)),
+                             DbsnpSubmittedVariantEntity.class);
+    }
+
+    private SubmittedVariantEntity createRegionVariant(Long accession, String hash, long start) {
+        return new SubmittedVariantEntity(accession, hash, "ASMACC03", 1103, "PROJACC03", "CHROM3", start, "A", "T",
+                                          null, false, false, false, false, 1);
+    }
+
+    private static class SubmittedVariantRegionPageType extends ParameterizedTypeReference<
+            VariantRegionPage<SubmittedVariant, ISubmittedVariant, String, Long>> {
+    }
 }
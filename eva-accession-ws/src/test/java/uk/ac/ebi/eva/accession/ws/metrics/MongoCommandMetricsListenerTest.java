@@ -0,0 +1,106 @@
+/*
+ *
+ * Copyright 2026 EMBL - European Bioinformatics Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.ebi.eva.accession.ws.metrics;
+
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MongoCommandMetricsListenerTest {
+
+    private static final String HUMAN_DATABASE = "human-db";
+
+    private static final String NON_HUMAN_DATABASE = "nonhuman-db";
+
+    private MeterRegistry meterRegistry;
+
+    private MongoCommandMetricsListener listener;
+
+    private ConnectionDescription connectionDescription;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoCommandMetricsListener(meterRegistry, HUMAN_DATABASE);
+        connectionDescription = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    }
+
+    @Test
+    public void commandsAreTaggedByBackend() {
+        runCommand(1, HUMAN_DATABASE, "find", 10);
+        runCommand(2, NON_HUMAN_DATABASE, "find", 20);
+        runCommand(3, NON_HUMAN_DATABASE, "find", 30);
+
+        Timer humanTimer = getTimer("find", ServiceMetricsAspect.HUMAN_BACKEND, MongoCommandMetricsListener.SUCCESS);
+        assertEquals(1, humanTimer.count());
+        assertEquals(10, humanTimer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        Timer nonHumanTimer = getTimer("find", ServiceMetricsAspect.NON_HUMAN_BACKEND,
+                                       MongoCommandMetricsListener.SUCCESS);
+        assertEquals(2, nonHumanTimer.count());
+        assertEquals(50, nonHumanTimer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    public void failedCommandsAreTaggedAsFailures() {
+        listener.commandStarted(new CommandStartedEvent(1, connectionDescription, NON_HUMAN_DATABASE, "aggregate",
+                                                        new BsonDocument()));
+        listener.commandFailed(new CommandFailedEvent(1, connectionDescription, "aggregate",
+                                                      TimeUnit.MILLISECONDS.toNanos(5),
+                                                      new MongoException("failed")));
+
+        Timer failedTimer = getTimer("aggregate", ServiceMetricsAspect.NON_HUMAN_BACKEND,
+                                     MongoCommandMetricsListener.FAILURE);
+        assertEquals(1, failedTimer.count());
+        assertNull(meterRegistry.find(MongoCommandMetricsListener.MONGO_COMMANDS_METRIC)
+                                .tag(ServiceMetricsAspect.OUTCOME_TAG, MongoCommandMetricsListener.SUCCESS)
+                                .timer());
+    }
+
+    private void runCommand(int requestId, String database, String command, long elapsedMillis) {
+        listener.commandStarted(new CommandStartedEvent(requestId, connectionDescription, database, command,
+                                                        new BsonDocument()));
+        listener.commandSucceeded(new CommandSucceededEvent(requestId, connectionDescription, command,
+                                                            new BsonDocument(),
+                                                            TimeUnit.MILLISECONDS.toNanos(elapsedMillis)));
+    }
+
+    private Timer getTimer(String command, String backend, String outcome) {
+        return meterRegistry.get(MongoCommandMetricsListener.MONGO_COMMANDS_METRIC)
+                            .tag(MongoCommandMetricsListener.COMMAND_TAG, command)
+                            .tag(ServiceMetricsAspect.BACKEND_TAG, backend)
+                            .tag(ServiceMetricsAspect.OUTCOME_TAG, outcome)
+                            .timer();
+    }
+}